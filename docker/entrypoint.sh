@@ -26,7 +26,7 @@ cd /github/workspace
 
 log="/tmp/sysdstest.log"
 mvn -ntp test-compile 2>&1 | grep -E "BUILD|Total time:|---|Building SystemDS"
-mvn -ntp test -D maven.test.skip=false -D automatedtestbase.outputbuffering=true -D test=$1 2>&1 | grep -v "already exists in destination." | tee $log
+mvn -ntp test -D maven.test.skip=false -D automatedtestbase.outputbuffering=true -D automatedtestbase.validatedirectinstructions=true -D test=$1 2>&1 | grep -v "already exists in destination." | tee $log
 
 grep_args="SUCCESS"
 grepvals="$( tail -n 100 $log | grep $grep_args)"
@@ -55,6 +55,7 @@ public class DMLOptions {
 	public boolean              fedStats      = false;            // Whether to record and print the federated statistics
 	public int                  fedStatsCount = 10;               // Default federated statistics count
 	public boolean              memStats      = false;            // max memory statistics
+	public String               traceFile     = null;             // Path of instruction trace output (chrome json or folded stacks)
 	public Explain.ExplainType  explainType   = Explain.ExplainType.NONE;  // Whether to print the "Explain" and if so, what type
 	public ExecMode             execMode      = OptimizerUtils.getDefaultExecutionMode();  // Execution mode standalone, MR, Spark or a hybrid
 	public boolean              gpu           = false;            // Whether to use the GPU
@@ -90,6 +91,7 @@ public class DMLOptions {
 			", fedStats=" + fedStats +
 			", fedStatsCount=" + fedStatsCount +
 			", memStats=" + memStats +
+			", traceFile=" + traceFile +
 			", explainType=" + explainType +
 			", execMode=" + execMode +
 			", gpu=" + gpu +
@@ -209,6 +211,9 @@ public class DMLOptions {
 			}
 		}
 		dmlOptions.memStats = line.hasOption("mem");
+		if (line.hasOption("trace")) {
+			dmlOptions.traceFile = line.getOptionValue("trace");
+		}
 
 		dmlOptions.clean = line.hasOption("clean");
 		
@@ -285,6 +290,9 @@ public class DMLOptions {
 			.hasOptionalArg().create("fedStats");
 		Option memOpt = OptionBuilder.withDescription("monitors and reports max memory consumption in CP; default off")
 			.create("mem");
+		Option traceOpt = OptionBuilder.withArgName("filename")
+			.withDescription("records per-instruction trace events and exports them to <filename>; chrome trace-event json if the filename ends with '.json', otherwise collapsed stacks for flame graphs; default off")
+			.hasArg().create("trace");
 		Option explainOpt = OptionBuilder.withArgName("level")
 			.withDescription("explains plan levels; can be 'hops' / 'runtime'[default] / 'recompile_hops' / 'recompile_runtime'")
 			.hasOptionalArg().create("explain");
@@ -319,6 +327,7 @@ public class DMLOptions {
 		options.addOption(statsOpt);
 		options.addOption(fedStatsOpt);
 		options.addOption(memOpt);
+		options.addOption(traceOpt);
 		options.addOption(explainOpt);
 		options.addOption(execOpt);
 		options.addOption(gpuOpt);
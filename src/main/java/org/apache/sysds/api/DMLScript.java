@@ -75,6 +75,7 @@ import org.apache.sysds.runtime.privacy.CheckedConstraintsLog;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 import org.apache.sysds.runtime.util.HDFSTool;
 import org.apache.sysds.utils.Explain;
+import org.apache.sysds.utils.InstructionTracer;
 import org.apache.sysds.utils.NativeHelper;
 import org.apache.sysds.utils.Statistics;
 import org.apache.sysds.utils.Explain.ExplainCounts;
@@ -259,6 +260,9 @@ public class DMLScript
 				return true;
 			}
 
+			if (dmlOptions.traceFile != null)
+				InstructionTracer.enable(dmlOptions.traceFile);
+
 			LineageCacheConfig.setConfig(LINEAGE_REUSE);
 			LineageCacheConfig.setCachePolicy(LINEAGE_POLICY);
 			LineageCacheConfig.setEstimator(LINEAGE_ESTIMATE);
@@ -276,6 +280,7 @@ public class DMLScript
 			//reset runtime platform and visualize flag
 			setGlobalExecMode(oldrtplatform);
 			EXPLAIN = oldexplain;
+			InstructionTracer.disable();
 		}
 		
 		return true;
@@ -513,15 +518,19 @@ public class DMLScript
 		String dirSuffix = sb.toString();
 		
 		//0) cleanup federated workers if necessary
-		FederatedData.clearFederatedWorkers();
+		//(errors of deferred federated requests are thrown after local cleanup)
+		try {
+			FederatedData.clearFederatedWorkers();
+		}
+		finally {
+			//1) cleanup scratch space (everything for current uuid)
+			//(required otherwise export to hdfs would skip assumed unnecessary writes if same name)
+			HDFSTool.deleteFileIfExistOnHDFS( config.getTextValue(DMLConfig.SCRATCH_SPACE) + dirSuffix );
 
-		//1) cleanup scratch space (everything for current uuid)
-		//(required otherwise export to hdfs would skip assumed unnecessary writes if same name)
-		HDFSTool.deleteFileIfExistOnHDFS( config.getTextValue(DMLConfig.SCRATCH_SPACE) + dirSuffix );
-		
-		//2) cleanup systemds-internal working dirs
-		CacheableData.cleanupCacheDir(); //might be local/hdfs
-		LocalFileUtils.cleanupWorkingDirectory();
+			//2) cleanup systemds-internal working dirs
+			CacheableData.cleanupCacheDir(); //might be local/hdfs
+			LocalFileUtils.cleanupWorkingDirectory();
+		}
 	}
 
 	
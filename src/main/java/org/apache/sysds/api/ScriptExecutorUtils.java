@@ -36,6 +36,7 @@ import org.apache.sysds.runtime.instructions.gpu.context.GPUContextPool;
 import org.apache.sysds.runtime.instructions.gpu.context.GPUObject;
 import org.apache.sysds.runtime.lineage.LineageEstimatorStatistics;
 import org.apache.sysds.runtime.lineage.LineageGPUCacheEviction;
+import org.apache.sysds.utils.InstructionTracer;
 import org.apache.sysds.utils.Statistics;
 
 public class ScriptExecutorUtils {
@@ -87,6 +88,11 @@ public class ScriptExecutorUtils {
 				ec.setGPUContexts(gCtxs);
 			}
 			rtprog.execute(ec);
+			
+			// export per-instruction trace (if enabled, only on success
+			// in order to not mask exceptions of the program execution)
+			if (InstructionTracer.isEnabled())
+				InstructionTracer.export();
 		} catch (Throwable e) {
 			throw e;
 		} finally { // ensure cleanup/shutdown
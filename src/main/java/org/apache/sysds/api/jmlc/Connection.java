@@ -288,6 +288,24 @@ public class Connection implements Closeable
 		return new PreparedScript(rtprog, inputs, outputs, _dmlconf, _cconf);
 	}
 	
+	/**
+	 * Prepares (precompiles) a script and creates a pool of script clones for concurrent
+	 * scoring of a single matrix input and output. Additional inputs that should be shared
+	 * by all requests (e.g., model parameters) are bound via {@link PreparedScriptPool#setMatrix}.
+	 * 
+	 * @param script string representing the DML or PyDML script
+	 * @param args map of input parameters ($) and their values
+	 * @param inputs string array of input variables to register
+	 * @param outputs string array of output variables to register
+	 * @param input name of the scored matrix input variable
+	 * @param output name of the scored matrix output variable
+	 * @param size number of pooled scripts (maximum concurrency)
+	 * @return PreparedScriptPool object for concurrent scoring
+	 */
+	public PreparedScriptPool prepareScriptPool(String script, Map<String, String> args, String[] inputs, String[] outputs, String input, String output, int size) {
+		return new PreparedScriptPool(prepareScript(script, args, inputs, outputs), input, output, size);
+	}
+	
 	/**
 	 * Close connection to SystemDS, which clears the
 	 * thread-local DML and compiler configurations.
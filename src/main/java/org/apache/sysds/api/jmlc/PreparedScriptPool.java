@@ -0,0 +1,401 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.api.jmlc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.api.DMLException;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Concurrent scoring facade over a bounded pool of shallow {@link PreparedScript}
+ * clones, which allows many threads to score a precompiled script with a single
+ * matrix input and a single matrix output (e.g., online scoring services). Model
+ * parameters bound with reuse to the original prepared script are shared by all clones.
+ * 
+ * Single-row requests reuse preallocated input blocks per pooled script and can be
+ * micro-batched: concurrent requests are combined into one row-bind input, scored in
+ * a single execution, and the output rows are returned to the individual requests. 
+ * Micro-batching requires scripts that compute output row i only from input row i.
+ */
+public class PreparedScriptPool implements AutoCloseable
+{
+	private static final Log LOG = LogFactory.getLog(PreparedScriptPool.class.getName());
+	private static final int LATENCY_SAMPLES = 8192;
+	
+	private final String _input;
+	private final String _output;
+	private final int _size;
+	private final BlockingQueue<PooledScript> _scripts;
+	private final LatencyStats _latency = new LatencyStats(LATENCY_SAMPLES);
+	
+	//micro-batching of single-row requests (disabled by default)
+	private int _maxBatchSize = 1;
+	private long _maxBatchWaitNanos = 0;
+	private LinkedBlockingQueue<RowRequest> _requests = null;
+	private ExecutorService _batchExec = null;
+	private Thread _dispatcher = null;
+	private volatile boolean _closed = false;
+	private final Object _requestLock = new Object(); //closed check and enqueue
+	
+	/**
+	 * Creates a pool of the given number of clones of a prepared script.
+	 * 
+	 * @param script prepared script, including bound inputs to reuse
+	 * @param input name of the registered matrix input variable
+	 * @param output name of the registered matrix output variable
+	 * @param size number of pooled script clones (maximum concurrency)
+	 */
+	public PreparedScriptPool(PreparedScript script, String input, String output, int size) {
+		if( size < 1 )
+			throw new DMLException("Invalid pool size: "+size);
+		_input = input;
+		_output = output;
+		_size = size;
+		_scripts = new ArrayBlockingQueue<>(size);
+		for( int i=0; i<size; i++ )
+			_scripts.add(new PooledScript(script.clone(false)));
+	}
+	
+	/**
+	 * Enables micro-batching of concurrent single-row requests.
+	 * 
+	 * @param maxBatchSize maximum number of rows per batch
+	 * @param maxWaitMicros maximum time in microseconds a batch waits for further requests
+	 * @return this pool
+	 */
+	public synchronized PreparedScriptPool enableMicroBatching(int maxBatchSize, long maxWaitMicros) {
+		if( maxBatchSize < 1 || maxWaitMicros < 0 )
+			throw new DMLException("Invalid micro-batching configuration: "+maxBatchSize+", "+maxWaitMicros);
+		if( _dispatcher != null )
+			throw new DMLException("Micro-batching already enabled.");
+		_maxBatchSize = maxBatchSize;
+		_maxBatchWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+		_requests = new LinkedBlockingQueue<>();
+		_batchExec = Executors.newFixedThreadPool(getSize(), r -> {
+			Thread t = new Thread(r, "jmlc-batch");
+			t.setDaemon(true);
+			return t;
+		});
+		_dispatcher = new Thread(this::dispatchBatches, "jmlc-batch-dispatcher");
+		_dispatcher.setDaemon(true);
+		_dispatcher.start();
+		return this;
+	}
+	
+	public int getSize() {
+		return _size;
+	}
+	
+	public boolean isMicroBatching() {
+		return _dispatcher != null;
+	}
+	
+	/**
+	 * Binds a matrix (e.g., model parameters) with reuse to a registered input
+	 * variable of all pooled scripts, after all in-flight requests finished.
+	 * 
+	 * @param varname input variable name
+	 * @param matrix matrix represented as a MatrixBlock
+	 */
+	public synchronized void setMatrix(String varname, MatrixBlock matrix) {
+		List<PooledScript> tmp = new ArrayList<>();
+		try {
+			for( int i=0; i<_size; i++ )
+				tmp.add(borrow());
+			for( PooledScript ps : tmp )
+				ps._script.setMatrix(varname, matrix, true);
+		}
+		finally {
+			_scripts.addAll(tmp);
+		}
+	}
+	
+	/**
+	 * Scores the given input matrix with the next available pooled script.
+	 * 
+	 * @param in input matrix
+	 * @return output matrix
+	 */
+	public MatrixBlock score(MatrixBlock in) {
+		long t0 = System.nanoTime();
+		PooledScript ps = borrow();
+		try {
+			return ps.execute(in);
+		}
+		finally {
+			_scripts.add(ps);
+			_latency.add(System.nanoTime() - t0);
+		}
+	}
+	
+	/**
+	 * Scores a single row, which is micro-batched with concurrent
+	 * requests if enabled.
+	 * 
+	 * @param row input row
+	 * @return output row
+	 */
+	public double[] scoreRow(double[] row) {
+		return scoreRow(row, null);
+	}
+	
+	/**
+	 * Scores a single row, which is micro-batched with concurrent
+	 * requests if enabled.
+	 * 
+	 * @param row input row
+	 * @param out output row to reuse, allocated if null or too small
+	 * @return output row
+	 */
+	public double[] scoreRow(double[] row, double[] out) {
+		long t0 = System.nanoTime();
+		try {
+			if( !isMicroBatching() ) {
+				PooledScript ps = borrow();
+				try {
+					MatrixBlock in = ps.getInput(1, row.length);
+					System.arraycopy(row, 0, in.getDenseBlockValues(), 0, row.length);
+					in.recomputeNonZeros();
+					return copyRow(ps.execute(in), 0, out);
+				}
+				finally {
+					_scripts.add(ps);
+				}
+			}
+			RowRequest req = new RowRequest(row);
+			synchronized( _requestLock ) {
+				//check and enqueue atomically to avoid requests that
+				//are added after close drained the request queue
+				if( _closed )
+					throw new DMLException("Prepared script pool already closed.");
+				_requests.add(req);
+			}
+			return copyRow(req.get(), 0, out);
+		}
+		finally {
+			_latency.add(System.nanoTime() - t0);
+		}
+	}
+	
+	public long getNumRequests() {
+		return _latency.getCount();
+	}
+	
+	/**
+	 * Obtains latency percentiles (in milliseconds) over the most recent requests.
+	 * 
+	 * @param percentiles percentiles in [0, 100], e.g., 50, 99, 99.9
+	 * @return latencies in ms
+	 */
+	public double[] getLatencyPercentiles(double... percentiles) {
+		return _latency.getPercentiles(percentiles);
+	}
+	
+	@Override
+	public synchronized void close() {
+		synchronized( _requestLock ) {
+			_closed = true;
+		}
+		if( _dispatcher != null ) {
+			_dispatcher.interrupt();
+			_batchExec.shutdown();
+			//fail pending requests (no new requests after closed)
+			RowRequest req = null;
+			while( (req = _requests.poll()) != null )
+				req.completeExceptionally(new DMLException("Prepared script pool closed."));
+		}
+	}
+	
+	private PooledScript borrow() {
+		try {
+			return _scripts.take();
+		}
+		catch(InterruptedException ex) {
+			throw new DMLException(ex);
+		}
+	}
+	
+	private void dispatchBatches() {
+		List<RowRequest> batch = new ArrayList<>();
+		while( !_closed ) {
+			try {
+				//block for first request, then collect until size or wait time
+				batch.add(_requests.take());
+				long deadline = System.nanoTime() + _maxBatchWaitNanos;
+				while( batch.size() < _maxBatchSize ) {
+					long remaining = deadline - System.nanoTime();
+					RowRequest req = (remaining > 0) ?
+						_requests.poll(remaining, TimeUnit.NANOSECONDS) : _requests.poll();
+					if( req == null )
+						break;
+					batch.add(req);
+				}
+				//execute batch asynchronously on the next available script
+				PooledScript ps = borrow();
+				RowRequest[] reqs = batch.toArray(new RowRequest[0]);
+				try {
+					_batchExec.execute(() -> executeBatch(ps, reqs));
+				}
+				catch(RejectedExecutionException ex) {
+					_scripts.add(ps); //executor already shut down
+					throw ex;
+				}
+				batch.clear();
+			}
+			catch(InterruptedException | DMLException | RejectedExecutionException ex) {
+				if( !_closed )
+					LOG.error("Failed to dispatch micro-batch.", ex);
+				for( RowRequest req : batch )
+					req.completeExceptionally(ex);
+				batch.clear();
+			}
+		}
+	}
+	
+	private void executeBatch(PooledScript ps, RowRequest[] reqs) {
+		try {
+			int cols = reqs[0]._row.length;
+			MatrixBlock in = ps.getInput(reqs.length, cols);
+			for( int i=0; i<reqs.length; i++ ) {
+				if( reqs[i]._row.length != cols )
+					throw new DMLException("Inconsistent number of columns in micro-batch: "
+						+reqs[i]._row.length+" vs "+cols);
+				System.arraycopy(reqs[i]._row, 0, in.getDenseBlockValues(), i*cols, cols);
+			}
+			in.recomputeNonZeros();
+			MatrixBlock out = ps.execute(in);
+			if( out.getNumRows() != reqs.length )
+				throw new DMLException("Micro-batching requires row-wise scripts, but output has "
+					+out.getNumRows()+" rows for "+reqs.length+" input rows.");
+			for( int i=0; i<reqs.length; i++ )
+				reqs[i].complete(out.slice(i, i));
+		}
+		catch(Exception ex) {
+			for( RowRequest req : reqs )
+				req.completeExceptionally(ex);
+		}
+		finally {
+			_scripts.add(ps);
+		}
+	}
+	
+	private static double[] copyRow(MatrixBlock mb, int r, double[] out) {
+		int cols = mb.getNumColumns();
+		double[] ret = (out != null && out.length >= cols) ? out : new double[cols];
+		if( ret == out )
+			Arrays.fill(ret, 0, cols, 0);
+		if( mb.isEmptyBlock(false) )
+			return ret;
+		for( int j=0; j<cols; j++ )
+			ret[j] = mb.quickGetValue(r, j);
+		return ret;
+	}
+	
+	private class PooledScript {
+		private final PreparedScript _script;
+		private MatrixBlock _in = null;
+		
+		protected PooledScript(PreparedScript script) {
+			_script = script;
+		}
+		
+		protected MatrixBlock getInput(int rows, int cols) {
+			//recycle the preallocated dense input block if large enough
+			if( _in == null || _in.getDenseBlock() == null
+				|| _in.getDenseBlock().capacity() < (long)rows*cols )
+				_in = new MatrixBlock(rows, cols, false).allocateBlock();
+			else
+				_in.reset(rows, cols, false);
+			return _in;
+		}
+		
+		protected MatrixBlock execute(MatrixBlock in) {
+			try {
+				_script.setMatrix(_input, in, false);
+				return _script.executeScript().getMatrixBlock(_output);
+			}
+			finally {
+				_script.clearParameters();
+			}
+		}
+	}
+	
+	private static class RowRequest extends CompletableFuture<MatrixBlock> {
+		private final double[] _row;
+		
+		protected RowRequest(double[] row) {
+			_row = row;
+		}
+		
+		@Override
+		public MatrixBlock get() {
+			try {
+				return super.get();
+			}
+			catch(InterruptedException | ExecutionException ex) {
+				throw new DMLException(ex.getCause() != null ? ex.getCause() : ex);
+			}
+		}
+	}
+	
+	private static class LatencyStats {
+		private final long[] _samples;
+		private final AtomicLong _count = new AtomicLong(0);
+		
+		protected LatencyStats(int size) {
+			_samples = new long[size];
+		}
+		
+		protected void add(long nanos) {
+			_samples[(int)(_count.getAndIncrement() % _samples.length)] = nanos;
+		}
+		
+		protected long getCount() {
+			return _count.get();
+		}
+		
+		protected double[] getPercentiles(double... percentiles) {
+			int n = (int) Math.min(_count.get(), _samples.length);
+			long[] tmp = Arrays.copyOf(_samples, n);
+			Arrays.sort(tmp);
+			double[] ret = new double[percentiles.length];
+			for( int i=0; i<percentiles.length && n>0; i++ ) {
+				int pos = (int)Math.ceil(percentiles[i] / 100 * n) - 1;
+				ret[i] = tmp[Math.min(Math.max(pos, 0), n-1)] / 1e6;
+			}
+			return ret;
+		}
+	}
+}
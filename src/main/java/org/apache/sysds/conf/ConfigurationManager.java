@@ -171,6 +171,19 @@ public class ConfigurationManager
 		return getCompilerConfigFlag(ConfigType.PARALLEL_CP_MATRIX_OPERATIONS);
 	}
 	
+	/**
+	 * Gets the maximum number of independent CP instructions of a basic block
+	 * that are executed concurrently, where values &lt;= 1 disable inter-operator
+	 * parallelism and sequential instruction execution is used.
+	 * 
+	 * @return inter-operator degree of parallelism
+	 */
+	public static int getInterOpParallelism() {
+		if( !isParallelMatrixOperations() )
+			return 1;
+		return Math.max(1, getDMLConfig().getIntValue(DMLConfig.CP_PARALLEL_INTEROP));
+	}
+	
 	public static boolean isParallelParFor() {
 		return getCompilerConfigFlag(ConfigType.PARALLEL_LOCAL_OR_REMOTE_PARFOR);
 	}
@@ -92,6 +92,13 @@ public abstract class Hop implements ParseInfo {
 	 */
 	protected FederatedOutput _federatedOutput = FederatedOutput.NONE;
 	
+	/**
+	 * Field defining if the operation should be executed at the coordinator
+	 * even if some of its inputs are federated, which disables the runtime
+	 * conversion into federated instructions.
+	 */
+	protected boolean _federatedLocalExec = false;
+	
 	// Estimated size for the output produced from this Hop
 	protected double _outputMemEstimate = OptimizerUtils.INVALID_SIZE;
 	
@@ -182,6 +189,14 @@ public abstract class Hop implements ParseInfo {
 		_federatedOutput = federatedOutput;
 	}
 	
+	public void setFederatedLocalExec(boolean localExec){
+		_federatedLocalExec = localExec;
+	}
+	
+	public boolean isFederatedLocalExec(){
+		return _federatedLocalExec;
+	}
+	
 	public void resetExecType()
 	{
 		_etype = null;
@@ -314,6 +329,8 @@ public abstract class Hop implements ParseInfo {
 		//propagate federated output configuration to lops
 		if( isFederated() )
 			getLops().setFederatedOutput(_federatedOutput);
+		else if( _federatedLocalExec )
+			getLops().setFederatedLocalExec(true);
 		
 		//Step 1: construct reblock lop if required (output of hop)
 		constructAndSetReblockLopIfRequired();
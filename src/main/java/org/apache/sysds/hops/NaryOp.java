@@ -35,7 +35,7 @@ import org.apache.sysds.runtime.meta.MatrixCharacteristics;
  * of an operation that potentially takes a variable number of operands.
  *
  */
-public class NaryOp extends Hop {
+public class NaryOp extends MultiThreadedHop {
 	protected OpOpN _op = null;
 
 	protected NaryOp() {
@@ -84,6 +84,11 @@ public class NaryOp extends Hop {
 	public boolean isGPUEnabled() {
 		return false;
 	}
+	
+	@Override
+	public boolean isMultiThreadedOpType() {
+		return _op == OpOpN.CBIND || _op == OpOpN.RBIND;
+	}
 
 	/**
 	 * Construct the corresponding Lops for this Hop
@@ -100,7 +105,9 @@ public class NaryOp extends Hop {
 				inLops[i] = getInput().get(i).constructLops();
 			
 			ExecType et = optFindExecType();
-			Nary multipleCPLop = new Nary(_op, getDataType(), getValueType(), inLops, et);
+			int k = (et == ExecType.CP && isMultiThreadedOpType()) ?
+				OptimizerUtils.getConstrainedNumThreads(_maxNumThreads) : 1;
+			Nary multipleCPLop = new Nary(_op, getDataType(), getValueType(), inLops, et, k);
 			setOutputDimensions(multipleCPLop);
 			setLineNumbers(multipleCPLop);
 			setLops(multipleCPLop);
@@ -251,6 +258,7 @@ public class NaryOp extends Hop {
 
 		// copy specific attributes
 		multipleOp._op = _op;
+		multipleOp._maxNumThreads = _maxNumThreads;
 
 		return multipleOp;
 	}
@@ -262,7 +270,8 @@ public class NaryOp extends Hop {
 		
 		NaryOp that2 = (NaryOp) that;
 		boolean ret = (_op == that2._op
-			&& getInput().size() == that2.getInput().size());
+			&& getInput().size() == that2.getInput().size()
+			&& _maxNumThreads == that2._maxNumThreads);
 		for( int i=0; i<getInput().size() && ret; i++ )
 			ret &= (getInput().get(i) == that2.getInput().get(i));
 		return ret;
@@ -190,6 +190,14 @@ public class OptimizerUtils
 	 */
 	public static boolean ALLOW_LOOP_UPDATE_IN_PLACE = true;
 	
+	/**
+	 * Enables the reuse of dynamically recompiled instructions of a statement block
+	 * for inputs with equivalent size signatures (dims, nnz class, exec types).
+	 * This is opt-in because scalar inputs are part of the signature (they are
+	 * replaced by literals), which causes misses for loop-variant scalars.
+	 */
+	public static boolean ALLOW_RECOMPILE_PLAN_CACHE = false;
+	
 	/**
 	 * Enables a specific rewrite for code motion, i.e., hoisting loop invariant code
 	 * out of while, for, and parfor loops.
@@ -201,6 +209,18 @@ public class OptimizerUtils
 	 */
 	public static boolean FEDERATED_COMPILATION = false;
 	
+	/**
+	 * Cost-based placement of operations at the coordinator or the federated
+	 * workers (in addition to privacy constraints) during federated compilation.
+	 */
+	public static boolean FEDERATED_COSTBASED_PLANNING = false;
+	
+	/**
+	 * Defers federated requests whose outputs remain federated and sends them as
+	 * part of the next request batch per worker that actually requires a response.
+	 */
+	public static boolean FEDERATED_DEFERRED_REQUESTS = false;
+	
 	
 	/**
 	 * Specifies a multiplier computing the degree of parallelism of parallel
@@ -153,7 +153,7 @@ public class ParameterizedBuiltinOp extends MultiThreadedHop {
 	@Override
 	public boolean isMultiThreadedOpType() {
 		return HopRewriteUtils.isValidOp(_op, 
-			ParamBuiltinOp.GROUPEDAGG, ParamBuiltinOp.REXPAND, ParamBuiltinOp.PARAMSERV);
+			ParamBuiltinOp.GROUPEDAGG, ParamBuiltinOp.RMEMPTY, ParamBuiltinOp.REXPAND, ParamBuiltinOp.PARAMSERV);
 	}
 	
 	@Override
@@ -291,7 +291,8 @@ public class ParameterizedBuiltinOp extends MultiThreadedHop {
 		
 		if( et == ExecType.CP )
 		{
-			ParameterizedBuiltin pbilop = new ParameterizedBuiltin(inputlops, _op, getDataType(), getValueType(), et);
+			int k = OptimizerUtils.getConstrainedNumThreads( _maxNumThreads );
+			ParameterizedBuiltin pbilop = new ParameterizedBuiltin(inputlops, _op, getDataType(), getValueType(), et, k);
 			setOutputDimensions(pbilop);
 			setLineNumbers(pbilop);
 			setLops(pbilop);
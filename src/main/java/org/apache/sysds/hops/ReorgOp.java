@@ -135,6 +135,7 @@ public class ReorgOp extends MultiThreadedHop
 	@Override
 	public boolean isMultiThreadedOpType() {
 		return _op == ReOrgOp.TRANS
+			|| _op == ReOrgOp.RESHAPE
 			|| _op == ReOrgOp.SORT;
 	}
 
@@ -181,8 +182,9 @@ public class ReorgOp extends MultiThreadedHop
 					linputs[i] = getInput().get(i).constructLops();
 				_outputEmptyBlocks = (et == ExecType.SPARK &&
 						!OptimizerUtils.allowsToFilterEmptyBlockOutputs(this));
+				int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
 				Transform transform1 = new Transform(linputs,
-					_op, getDataType(), getValueType(), _outputEmptyBlocks, et);
+					_op, getDataType(), getValueType(), _outputEmptyBlocks, et, k);
 				setOutputDimensions(transform1);
 				setLineNumbers(transform1);
 
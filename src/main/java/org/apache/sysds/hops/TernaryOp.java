@@ -149,7 +149,8 @@ public class TernaryOp extends MultiThreadedHop
 	public boolean isMultiThreadedOpType() {
 		return _op == OpOp3.IFELSE
 			|| _op == OpOp3.MINUS_MULT
-			|| _op == OpOp3.PLUS_MULT;
+			|| _op == OpOp3.PLUS_MULT
+			|| _op == OpOp3.CTABLE;
 	}
 	
 	@Override
@@ -315,8 +316,9 @@ public class TernaryOp extends MultiThreadedHop
 			inputLops[1] = ((ReorgOp)getInput(1)).getInput(0).constructLops();
 		}
 		
+		int k = (et == ExecType.CP) ? OptimizerUtils.getConstrainedNumThreads( _maxNumThreads ) : 1;
 		Ctable ternary = new Ctable(inputLops, ternaryOp,
-			getDataType(), getValueType(), ignoreZeros, outputEmptyBlocks, et);
+			getDataType(), getValueType(), ignoreZeros, outputEmptyBlocks, et, k);
 		
 		ternary.getOutputParameters().setDimensions(getDim1(), getDim2(), getBlocksize(), -1);
 		setLineNumbers(ternary);
@@ -117,7 +117,8 @@ public class UnaryOp extends MultiThreadedHop
 	@Override
 	public boolean isMultiThreadedOpType() {
 		return isCumulativeUnaryOperation()
-			|| isExpensiveUnaryOperation();
+			|| isExpensiveUnaryOperation()
+			|| isLinAlgUnaryOperation();
 	}
 	
 	@Override
@@ -165,7 +166,7 @@ public class UnaryOp extends MultiThreadedHop
 				}
 				else //default unary 
 				{
-					int k = isCumulativeUnaryOperation() || isExpensiveUnaryOperation() ?
+					int k = isMultiThreadedOpType() ?
 						OptimizerUtils.getConstrainedNumThreads( _maxNumThreads ) : 1;
 					Unary unary1 = new Unary(input.constructLops(),
 						_op, getDataType(), getValueType(), et, k, false);
@@ -451,6 +452,11 @@ public class UnaryOp extends MultiThreadedHop
 			|| _op == OpOp1.DECOMPRESS);
 	}
 	
+	public boolean isLinAlgUnaryOperation() {
+		return (_op == OpOp1.INVERSE
+			|| _op == OpOp1.CHOLESKY);
+	}
+	
 	public boolean isMetadataOperation() {
 		return _op == OpOp1.NROW
 			|| _op == OpOp1.NCOL
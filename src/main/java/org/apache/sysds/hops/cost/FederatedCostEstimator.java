@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.hops.cost;
+
+import org.apache.sysds.common.Types.Direction;
+import org.apache.sysds.common.Types.OpOpN;
+import org.apache.sysds.common.Types.ReOrgOp;
+import org.apache.sysds.hops.AggBinaryOp;
+import org.apache.sysds.hops.AggUnaryOp;
+import org.apache.sysds.hops.BinaryOp;
+import org.apache.sysds.hops.DataOp;
+import org.apache.sysds.hops.Hop;
+import org.apache.sysds.hops.LiteralOp;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.hops.ReorgOp;
+import org.apache.sysds.hops.rewrite.HopRewriteUtils;
+import org.apache.sysds.parser.DataExpression;
+import org.apache.sysds.runtime.controlprogram.federated.FederationMap.FType;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+
+/**
+ * Static cost model for the placement of operations at the coordinator (local)
+ * or the federated workers. All costs are estimated execution times in seconds,
+ * composed of compute time, network transfer time, and request latency.
+ */
+public class FederatedCostEstimator
+{
+	//network characteristics between coordinator and workers
+	public static double WORKER_NETWORK_BANDWIDTH_BYTES_PS = 1024 * 1024 * 1024 / 8; //1Gbit/s
+	public static double WORKER_REQUEST_LATENCY_S = 0.005; //5ms per round trip
+	
+	//compute characteristics of coordinator and workers
+	public static double WORKER_COMPUTE_BANDWIDTH_FLOPS = 2L * 1024 * 1024 * 1024; //2GFLOPS
+	public static int WORKER_DEGREE_OF_PARALLELISM = 8;
+	private static final double LOCAL_COMPUTE_BANDWIDTH_FLOPS = 2L * 1024 * 1024 * 1024; //2GFLOPS
+	
+	//default number of workers if unknown
+	public static final int DEFAULT_NUM_WORKERS = 2;
+	
+	/**
+	 * Estimates the compute time of the given hop at the coordinator.
+	 * 
+	 * @param hop high-level operator
+	 * @return compute time in seconds
+	 */
+	public static double getLocalComputeCost(Hop hop) {
+		int k = InfrastructureAnalyzer.getLocalParallelism();
+		return getFlops(hop) / (LOCAL_COMPUTE_BANDWIDTH_FLOPS * k);
+	}
+	
+	/**
+	 * Estimates the compute time of the given hop at the federated workers,
+	 * which process their partitions in parallel, including the latency of
+	 * the federated request.
+	 * 
+	 * @param hop high-level operator
+	 * @param numWorkers number of federated workers
+	 * @return compute time in seconds
+	 */
+	public static double getFederatedComputeCost(Hop hop, int numWorkers) {
+		return getFlops(hop) / (WORKER_COMPUTE_BANDWIDTH_FLOPS
+			* WORKER_DEGREE_OF_PARALLELISM * numWorkers) + WORKER_REQUEST_LATENCY_S;
+	}
+	
+	/**
+	 * Estimates the time of transferring the given number of bytes between
+	 * the coordinator and the federated workers.
+	 * 
+	 * @param bytes number of bytes
+	 * @return transfer time in seconds
+	 */
+	public static double getTransferCost(double bytes) {
+		return bytes / WORKER_NETWORK_BANDWIDTH_BYTES_PS + WORKER_REQUEST_LATENCY_S;
+	}
+	
+	/**
+	 * Estimates the time of sending a local input of a federated operation
+	 * to the workers. Scalars are piggybacked on the request, inputs aligned
+	 * with the federated output are scattered in slices, and all other inputs
+	 * (e.g., vectors or matrix multiplication operands) are broadcast.
+	 * 
+	 * @param input local input
+	 * @param hop federated consumer
+	 * @param numWorkers number of federated workers
+	 * @return transfer time in seconds
+	 */
+	public static double getBroadcastCost(Hop input, Hop hop, int numWorkers) {
+		if( input.getDataType().isScalar() )
+			return 0;
+		boolean aligned = !(hop instanceof AggBinaryOp) && input.dimsKnown()
+			&& input.getDim1() == hop.getDim1() && input.getDim2() == hop.getDim2();
+		return getTransferCost(getOutputSize(input) * (aligned ? 1 : numWorkers));
+	}
+	
+	/**
+	 * Estimates the time of consolidating the output of a federated operation
+	 * at the coordinator. Operations that aggregate over the partitioned dimension
+	 * transfer one partial result per worker, all others transfer their slices.
+	 * 
+	 * @param hop federated operation
+	 * @param aggregate true if partial results need to be aggregated
+	 * @param numWorkers number of federated workers
+	 * @return transfer time in seconds
+	 */
+	public static double getConsolidationCost(Hop hop, boolean aggregate, int numWorkers) {
+		double size = getOutputSize(hop);
+		double ret = getTransferCost(size * (aggregate ? numWorkers : 1));
+		if( aggregate ) //local aggregation of partial results
+			ret += (size / 8) * numWorkers / LOCAL_COMPUTE_BANDWIDTH_FLOPS;
+		return ret;
+	}
+	
+	/**
+	 * Estimates the in-memory size of the output of the given hop in bytes,
+	 * with a conservative default size for unknown dimensions.
+	 * 
+	 * @param hop high-level operator
+	 * @return output size in bytes
+	 */
+	public static double getOutputSize(Hop hop) {
+		if( hop.getDataType().isScalar() )
+			return 8;
+		if( !hop.dimsKnown() )
+			return OptimizerUtils.DEFAULT_SIZE;
+		return OptimizerUtils.estimateSizeExactSparsity(
+			hop.getDim1(), hop.getDim2(), OptimizerUtils.getSparsity(hop));
+	}
+	
+	/**
+	 * Obtains the federation type (partitioning) of the output of the given
+	 * hop if it is executed federated with federated output, given the
+	 * federation type of its federated input. Returns null if the output
+	 * cannot remain federated because partial results need to be aggregated.
+	 * 
+	 * @param hop high-level operator
+	 * @param input federated input
+	 * @param ftype federation type of the federated input
+	 * @return federation type of the output, or null if not federated
+	 */
+	public static FType getOutputFederationType(Hop hop, Hop input, FType ftype) {
+		if( ftype == null || !hop.getDataType().isMatrix() )
+			return null;
+		if( hop instanceof ReorgOp ) {
+			ReOrgOp op = ((ReorgOp) hop).getOp();
+			if( op == ReOrgOp.TRANS )
+				return ftype == FType.ROW ? FType.COL : ftype == FType.COL ? FType.ROW : ftype;
+			return (op == ReOrgOp.REV) ? ftype : null;
+		}
+		else if( hop instanceof AggUnaryOp ) {
+			Direction dir = ((AggUnaryOp) hop).getDirection();
+			return (dir == Direction.Row && ftype.isRowPartitioned()) ? FType.ROW :
+				(dir == Direction.Col && ftype.isColPartitioned()) ? FType.COL : null;
+		}
+		else if( hop instanceof AggBinaryOp ) {
+			//output remains partitioned if the common dimension is not partitioned
+			boolean left = hop.getInput(0) == input;
+			return (left && ftype == FType.ROW) ? FType.ROW :
+				(!left && ftype == FType.COL) ? FType.COL : null;
+		}
+		else if( hop instanceof BinaryOp && input.dimsKnown() && hop.dimsKnown()
+			&& (input.getDim1() != hop.getDim1() || input.getDim2() != hop.getDim2()) ) {
+			return null; //federated vector expanded to the output
+		}
+		//element-wise operations preserve the partitioning
+		return ftype;
+	}
+	
+	/**
+	 * Infers the federation type of a federated data operation from its
+	 * ranges, if the ranges are known at compile time.
+	 * 
+	 * @param hop federated data operation
+	 * @return federation type, or OTHER if unknown
+	 */
+	public static FType getFederationType(DataOp hop) {
+		Hop ranges = hop.getInput(hop.getParameterIndex(DataExpression.FED_RANGES));
+		if( !isLiteralRanges(ranges) )
+			return FType.OTHER;
+		if( ranges.getInput().size() == 2 )
+			return FType.FULL;
+		boolean row = true, col = true;
+		for( int i = 0; i < ranges.getInput().size(); i+=2 ) {
+			Hop begin = ranges.getInput(i), end = ranges.getInput(i + 1);
+			row &= HopRewriteUtils.getIntValueSafe(begin.getInput(1)) == 0
+				&& HopRewriteUtils.getIntValueSafe(end.getInput(1)) == hop.getDim2();
+			col &= HopRewriteUtils.getIntValueSafe(begin.getInput(0)) == 0
+				&& HopRewriteUtils.getIntValueSafe(end.getInput(0)) == hop.getDim1();
+		}
+		return row ? FType.ROW : col ? FType.COL : FType.OTHER;
+	}
+	
+	/**
+	 * Obtains the number of federated workers of a federated data operation,
+	 * or a default if the ranges are not known at compile time.
+	 * 
+	 * @param hop federated data operation
+	 * @return number of workers
+	 */
+	public static int getNumWorkers(DataOp hop) {
+		Hop ranges = hop.getInput(hop.getParameterIndex(DataExpression.FED_RANGES));
+		return isLiteralRanges(ranges) ?
+			ranges.getInput().size() / 2 : DEFAULT_NUM_WORKERS;
+	}
+	
+	private static boolean isLiteralRanges(Hop ranges) {
+		//literal list of begin/end pairs (e.g., not a transient read of a list)
+		int len = ranges.getInput().size();
+		if( !HopRewriteUtils.isNary(ranges, OpOpN.LIST) || len < 2 || len % 2 != 0 )
+			return false;
+		for( Hop range : ranges.getInput() )
+			if( !isLiteralRange(range) )
+				return false;
+		return true;
+	}
+	
+	private static boolean isLiteralRange(Hop range) {
+		return HopRewriteUtils.isNary(range, OpOpN.LIST)
+			&& range.getInput().size() == 2
+			&& range.getInput(0) instanceof LiteralOp
+			&& range.getInput(1) instanceof LiteralOp;
+	}
+	
+	private static double getFlops(Hop hop) {
+		if( hop instanceof AggBinaryOp && hop.getInput().size() == 2 ) {
+			Hop left = hop.getInput(0), right = hop.getInput(1);
+			return 2 * getNumCells(left) * OptimizerUtils.getSparsity(left)
+				* (right.dimsKnown() ? right.getDim2() : 1);
+		}
+		//default: single pass over inputs and output
+		double ret = getNumCells(hop);
+		for( Hop in : hop.getInput() )
+			ret += getNumCells(in);
+		return ret;
+	}
+	
+	private static double getNumCells(Hop hop) {
+		if( hop.getDataType().isScalar() )
+			return 1;
+		return hop.dimsKnown() ? (double) hop.getDim1() * hop.getDim2() :
+			OptimizerUtils.DEFAULT_SIZE / 8;
+	}
+}
@@ -56,10 +56,12 @@ public class LiteralReplacement
 	private static final long REPLACE_LITERALS_MAX_MATRIX_SIZE = 1000000; //10^6 cells (8MB)
 	private static final boolean REPORT_LITERAL_REPLACE_OPS_STATS = true;
 	
-	protected static void rReplaceLiterals( Hop hop, ExecutionContext ec, boolean scalarsOnly )
+	protected static boolean rReplaceLiterals( Hop hop, ExecutionContext ec, boolean scalarsOnly )
 	{
 		if( hop.isVisited() )
-			return;
+			return false;
+		
+		boolean ret = false;
 
 		if( hop.getInput() != null )
 		{
@@ -74,7 +76,7 @@ public class LiteralReplacement
 				lit = replaceLiteralScalarRead(c, vars);
 				lit = (lit==null) ? replaceLiteralValueTypeCastScalarRead(c, vars) : lit;
 				lit = (lit==null) ? replaceLiteralValueTypeCastLiteral(c, vars) : lit;
-				if( !scalarsOnly ) {
+				if( !scalarsOnly && lit == null ) {
 					lit = (lit==null) ? replaceLiteralDataTypeCastMatrixRead(c, vars) : lit;
 					lit = (lit==null) ? replaceLiteralValueTypeCastRightIndexing(c, vars) : lit;
 					lit = (lit==null) ? replaceLiteralFullUnaryAggregate(c, vars) : lit;
@@ -83,6 +85,7 @@ public class LiteralReplacement
 					lit = (lit==null) ? replaceTReadMatrixFromListAppend(c, ec) : lit;
 					lit = (lit==null) ? replaceTReadMatrixLookupFromList(c, vars) : lit;
 					lit = (lit==null) ? replaceTReadScalarLookupFromList(c, vars) : lit;
+					ret |= (lit != null); //value derived from matrix or list
 				}
 				
 				//replace hop w/ literal on demand
@@ -105,12 +108,13 @@ public class LiteralReplacement
 				}
 				//recursively process children
 				else {
-					rReplaceLiterals(c, ec, scalarsOnly);
+					ret |= rReplaceLiterals(c, ec, scalarsOnly);
 				}
 			}
 		}
 		
 		hop.setVisited();
+		return ret;
 	}
 	
 	///////////////////////////////
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.hops.recompile;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.OpOpData;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.DataOp;
+import org.apache.sysds.hops.Hop;
+import org.apache.sysds.hops.MultiThreadedHop;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.ScalarObject;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
+import org.apache.sysds.runtime.privacy.PrivacyConstraint;
+import org.apache.sysds.utils.Statistics;
+
+/**
+ * Bounded per-statement-block cache of dynamically recompiled instructions,
+ * keyed by the signature of the DAG inputs. The signature comprises the dimensions,
+ * nnz class (log2 of the number of non-zeros), federation type, and privacy constraints
+ * of all transiently read data objects, the values of scalar inputs (which are replaced
+ * by literals during recompilation),
+ * forced execution types and parallelism constraints of all hops, as well as the
+ * execution mode and memory budget. This avoids repeated recompilation of identical 
+ * plans for loops over a small set of input shapes (e.g., mini-batch algorithms).
+ * Plans with literals derived from matrix values (e.g., as.scalar(X) or sum(X) of
+ * small matrices) are not cached, because these values are not part of the signature.
+ */
+public class RecompilePlanCache
+{
+	public static final int MAX_ENTRIES = 8;
+	
+	private final Map<String, ArrayList<Instruction>> _plans;
+	
+	public RecompilePlanCache() {
+		//LRU eviction of least recently used plans
+		_plans = new LinkedHashMap<String, ArrayList<Instruction>>(MAX_ENTRIES, 0.75f, true) {
+			private static final long serialVersionUID = -6383713283472536563L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ArrayList<Instruction>> eldest) {
+				return size() > MAX_ENTRIES;
+			}
+		};
+	}
+	
+	public synchronized ArrayList<Instruction> get(String signature) {
+		ArrayList<Instruction> ret = _plans.get(signature);
+		if( DMLScript.STATISTICS ) {
+			if( ret != null )
+				Statistics.incrementRecompilePlanCacheHits();
+			else
+				Statistics.incrementRecompilePlanCacheMisses();
+		}
+		return ret;
+	}
+	
+	public synchronized void put(String signature, ArrayList<Instruction> inst) {
+		_plans.put(signature, inst);
+	}
+	
+	public synchronized int size() {
+		return _plans.size();
+	}
+	
+	public synchronized void clear() {
+		_plans.clear();
+	}
+	
+	/**
+	 * Creates the plan signature of the given hop DAG and the current inputs.
+	 * 
+	 * @param hops list of DAG root nodes
+	 * @param ec execution context
+	 * @return signature, or null if the DAG is not eligible for plan caching
+	 */
+	public static String createSignature(ArrayList<Hop> hops, ExecutionContext ec) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(DMLScript.getGlobalExecMode().ordinal());
+		sb.append(',');
+		sb.append(OptimizerUtils.getLocalMemBudget());
+		sb.append(',');
+		sb.append(OptimizerUtils.getConstrainedNumThreads(-1));
+		sb.append(',');
+		sb.append(ConfigurationManager.isCodegenEnabled());
+		Hop.resetVisitStatus(hops);
+		boolean ret = true;
+		for( Hop hopRoot : hops )
+			ret &= rAppendSignature(hopRoot, ec, sb);
+		Hop.resetVisitStatus(hops);
+		return ret ? sb.toString() : null;
+	}
+	
+	private static boolean rAppendSignature(Hop hop, ExecutionContext ec, StringBuilder sb) {
+		if( hop.isVisited() )
+			return true;
+		boolean ret = true;
+		for( Hop c : hop.getInput() )
+			ret &= rAppendSignature(c, ec, sb);
+		
+		//hop-level constraints of external optimizers
+		int k = (hop instanceof MultiThreadedHop) ?
+			((MultiThreadedHop)hop).getMaxNumThreads() : -1;
+		if( hop.getForcedExecType() != null || k != -1 ) {
+			sb.append('|').append(hop.getHopID());
+			sb.append(':').append(hop.getForcedExecType());
+			sb.append(':').append(k);
+		}
+		
+		//meta data and values of transient reads
+		if( hop instanceof DataOp && ((DataOp)hop).getOp() == OpOpData.TRANSIENTREAD ) {
+			Data dat = ec.getVariables().get(hop.getName());
+			sb.append('|').append(hop.getName()).append('=');
+			if( dat instanceof CacheableData ) {
+				CacheableData<?> cd = (CacheableData<?>) dat;
+				DataCharacteristics dc = cd.getDataCharacteristics();
+				sb.append(dat.getDataType().ordinal()).append(':');
+				sb.append(dc.getRows()).append('x').append(dc.getCols());
+				sb.append(':').append(dc.getBlocksize());
+				sb.append(':').append(getNnzClass(dc.getNonZeros()));
+				//federated inputs and privacy constraints affect the plan
+				sb.append(':').append(cd.isFederated() ? cd.getFedMapping().getType().name() : "-");
+				PrivacyConstraint pc = dat.getPrivacyConstraint();
+				sb.append(':').append((pc != null && pc.hasConstraints()) ? pc.toString() : "-");
+			}
+			else if( dat instanceof ScalarObject ) {
+				sb.append(dat.getValueType().ordinal()).append(':');
+				sb.append(((ScalarObject)dat).getStringValue());
+			}
+			else if( dat != null ) {
+				ret = false; //e.g., lists
+			}
+		}
+		
+		hop.setVisited();
+		return ret;
+	}
+	
+	private static int getNnzClass(long nnz) {
+		return (nnz < 0) ? -1 : (nnz == 0) ? 0 :
+			65 - Long.numberOfLeadingZeros(nnz);
+	}
+}
@@ -153,7 +153,15 @@ public class Recompiler
 		//need for synchronization as we do temp changes in shared hops/lops
 		//however, we create deep copies for most dags to allow for concurrent recompile
 		synchronized( hops ) {
-			newInst = recompile(sb, hops, ec, status, inplace, replaceLit, true, false, false, null, tid);
+			//probe plan cache for equivalent inputs (only for rewrites on deep copies,
+			//and not for explain of recompiled hops, which requires the recompilation)
+			String sig = (OptimizerUtils.ALLOW_RECOMPILE_PLAN_CACHE && sb != null
+				&& !inplace && replaceLit && status == null
+				&& DMLScript.EXPLAIN != ExplainType.RECOMPILE_HOPS) ?
+				RecompilePlanCache.createSignature(hops, ec) : null;
+			newInst = (sig != null) ? sb.getRecompilePlanCache().get(sig) : null;
+			if( newInst == null )
+				newInst = recompile(sb, hops, ec, status, inplace, replaceLit, true, false, false, null, tid, sig);
 		}
 		
 		// replace thread ids in new instructions
@@ -295,15 +303,20 @@ public class Recompiler
 	 * @param pred recompile for predicate DAG
 	 * @param et given execution type
 	 * @param tid thread id, 0 for main or before worker creation
+	 * @param planSig plan cache signature of the inputs, null if not cached
 	 * @return modified list of instructions
 	 */
 	private static ArrayList<Instruction> recompile(StatementBlock sb, ArrayList<Hop> hops, ExecutionContext ec, RecompileStatus status,
-		boolean inplace, boolean replaceLit, boolean updateStats, boolean forceEt, boolean pred, ExecType et, long tid ) 
+		boolean inplace, boolean replaceLit, boolean updateStats, boolean forceEt, boolean pred, ExecType et, long tid, String planSig ) 
 	{
 		boolean codegen = ConfigurationManager.isCodegenEnabled()
 			&& !(forceEt && et == null ) //not on reset
 			&& SpoofCompiler.RECOMPILE_CODEGEN;
 		
+		// invalidate cached plans on in-place modifications of the DAG
+		if( inplace && sb != null )
+			sb.clearRecompilePlanCache();
+		
 		// prepare hops dag for recompile
 		if( !inplace ){ 
 			// deep copy hop dag (for non-reversable rewrites)
@@ -323,8 +336,13 @@ public class Recompiler
 		// replace scalar reads with literals 
 		if( !inplace && replaceLit ) {
 			Hop.resetVisitStatus(hops);
+			boolean matrixLits = false;
 			for( Hop hopRoot : hops )
-				rReplaceLiterals( hopRoot, ec, false );
+				matrixLits |= rReplaceLiterals( hopRoot, ec, false );
+			//no plan caching if values of matrices were folded into literals,
+			//because the signature only captures the meta data of matrices
+			if( matrixLits )
+				planSig = null;
 		}
 		
 		// force exec type (et=null for reset)
@@ -399,6 +417,9 @@ public class Recompiler
 				logExplainDAG(sb, hops, newInst);
 		}
 		
+		if( planSig != null )
+			sb.getRecompilePlanCache().put(planSig, newInst);
+		
 		return newInst;
 	}
 
@@ -406,7 +427,7 @@ public class Recompiler
 		boolean inplace, boolean replaceLit, boolean updateStats, boolean forceEt, boolean pred, ExecType et, long tid ) 
 	{
 		return recompile(sb, hops, new ExecutionContext(vars), status, inplace, replaceLit,
-				updateStats, forceEt, pred, et, tid);
+				updateStats, forceEt, pred, et, tid, null);
 	}
 	
 	private static void logExplainDAG(StatementBlock sb, ArrayList<Hop> hops, ArrayList<Instruction> inst) {
@@ -1472,13 +1493,14 @@ public class Recompiler
 	 * @param ec Execution context
 	 * @param scalarsOnly if true, replace only scalar variables but no matrix operations;
 	 *            if false, apply full literal replacement
+	 * @return true if values derived from matrices (or lists) were replaced
 	 */
-	public static void rReplaceLiterals( Hop hop, ExecutionContext ec, boolean scalarsOnly ) {
-		LiteralReplacement.rReplaceLiterals(hop, ec, scalarsOnly);
+	public static boolean rReplaceLiterals( Hop hop, ExecutionContext ec, boolean scalarsOnly ) {
+		return LiteralReplacement.rReplaceLiterals(hop, ec, scalarsOnly);
 	}
 
-	public static void rReplaceLiterals( Hop hop, LocalVariableMap vars, boolean scalarsOnly ) {
-		LiteralReplacement.rReplaceLiterals(hop, new ExecutionContext(vars), scalarsOnly);
+	public static boolean rReplaceLiterals( Hop hop, LocalVariableMap vars, boolean scalarsOnly ) {
+		return LiteralReplacement.rReplaceLiterals(hop, new ExecutionContext(vars), scalarsOnly);
 	}
 	
 	public static void rSetExecType( Hop hop, ExecType etype ) {
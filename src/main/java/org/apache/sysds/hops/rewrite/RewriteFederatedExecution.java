@@ -23,9 +23,20 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.sysds.api.DMLException;
+import org.apache.sysds.common.Types.OpOp1;
+import org.apache.sysds.common.Types.OpOpData;
+import org.apache.sysds.common.Types.ReOrgOp;
+import org.apache.sysds.hops.AggBinaryOp;
+import org.apache.sysds.hops.AggUnaryOp;
+import org.apache.sysds.hops.BinaryOp;
 import org.apache.sysds.hops.DataOp;
 import org.apache.sysds.hops.Hop;
 import org.apache.sysds.hops.LiteralOp;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.hops.ReorgOp;
+import org.apache.sysds.hops.TernaryOp;
+import org.apache.sysds.hops.UnaryOp;
+import org.apache.sysds.hops.cost.FederatedCostEstimator;
 import org.apache.sysds.parser.DataExpression;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
@@ -34,8 +45,10 @@ import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedUDF;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedWorkerHandlerException;
+import org.apache.sysds.runtime.controlprogram.federated.FederationMap.FType;
 import org.apache.sysds.runtime.instructions.cp.Data;
 import org.apache.sysds.runtime.instructions.fed.FEDInstruction;
+import org.apache.sysds.runtime.instructions.fed.FEDInstruction.FederatedOutput;
 import org.apache.sysds.runtime.instructions.fed.InitFEDInstruction;
 import org.apache.sysds.runtime.io.IOUtilFunctions;
 import org.apache.sysds.runtime.lineage.LineageItem;
@@ -52,6 +65,12 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Future;
 
 public class RewriteFederatedExecution extends HopRewriteRule {
@@ -61,6 +80,8 @@ public class RewriteFederatedExecution extends HopRewriteRule {
 			return null;
 		for ( Hop root : roots )
 			visitHop(root);
+		if ( OptimizerUtils.FEDERATED_COSTBASED_PLANNING )
+			new FederatedPlanner().optimize(roots);
 		return roots;
 	}
 
@@ -69,6 +90,8 @@ public class RewriteFederatedExecution extends HopRewriteRule {
 		if( root == null )
 			return null;
 		visitHop(root);
+		if ( OptimizerUtils.FEDERATED_COSTBASED_PLANNING )
+			new FederatedPlanner().optimize(Collections.singletonList(root));
 		return root;
 	}
 	
@@ -145,6 +168,259 @@ public class RewriteFederatedExecution extends HopRewriteRule {
 		return hop instanceof DataOp && ((DataOp) hop).isFederatedData();
 	}
 
+	/**
+	 * Cost-based planner for the placement of operations at the coordinator or
+	 * the federated workers. For each hop, the planner computes the minimal cost
+	 * of three alternatives (local execution, federated execution with federated
+	 * output, and federated execution with consolidated local output) given the
+	 * best alternatives of its inputs, and finally selects the cheapest plan for
+	 * the DAG roots. Hops with privacy constraints keep their federated output.
+	 */
+	private static class FederatedPlanner {
+		private static final int LOCAL = 0, FOUT = 1, LOUT = 2;
+		private final Map<Long, PlanEntry> _memo = new HashMap<>();
+		
+		private static class PlanEntry {
+			private final Hop _hop;
+			private final double[] _costs = {Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE};
+			private final int[][] _choices = new int[3][];
+			private FType _ftype = null;
+			private int _numWorkers = FederatedCostEstimator.DEFAULT_NUM_WORKERS;
+			private int _selected = -1;
+			
+			private PlanEntry(Hop hop) {
+				_hop = hop;
+			}
+			
+			private boolean isValid(int alt) {
+				return _costs[alt] < Double.MAX_VALUE;
+			}
+		}
+		
+		public void optimize(List<Hop> roots) {
+			//bottom-up costing of all alternatives
+			for( Hop root : roots )
+				costHop(root);
+			
+			//top-down selection of the cheapest alternatives
+			for( Hop root : roots ) {
+				PlanEntry entry = _memo.get(root.getHopID());
+				selectPlan(entry, getBestAlternative(entry, false));
+			}
+			
+			//bottom-up repair of federated hops w/o federated inputs and
+			//update of the federated output flags of all hops
+			Set<Long> applied = new HashSet<>();
+			for( Hop root : roots )
+				applyPlan(root, applied);
+		}
+		
+		private PlanEntry costHop(Hop hop) {
+			PlanEntry entry = _memo.get(hop.getHopID());
+			if( entry != null )
+				return entry;
+			for( Hop input : hop.getInput() )
+				costHop(input);
+			entry = new PlanEntry(hop);
+			
+			if( isFederatedDataOp(hop) ) {
+				//federated data, always federated
+				entry._ftype = FederatedCostEstimator.getFederationType((DataOp) hop);
+				entry._numWorkers = FederatedCostEstimator.getNumWorkers((DataOp) hop);
+				entry._costs[FOUT] = 0;
+				entry._choices[FOUT] = new int[0];
+			}
+			else {
+				//local execution, pulling federated inputs
+				costLocal(entry);
+				//federated execution, if supported and some input federated
+				if( isFederatedSupported(hop) )
+					costFederated(entry);
+				//privacy constraints enforce federated output
+				if( hasPrivacyConstraints(hop) && entry.isValid(FOUT) ) {
+					entry._costs[LOCAL] = Double.MAX_VALUE;
+					entry._costs[LOUT] = Double.MAX_VALUE;
+				}
+			}
+			_memo.put(hop.getHopID(), entry);
+			return entry;
+		}
+		
+		private void costLocal(PlanEntry entry) {
+			Hop hop = entry._hop;
+			List<Hop> inputs = hop.getInput();
+			int[] choices = new int[inputs.size()];
+			double cost = isTransientWrite(hop) ? 0 :
+				FederatedCostEstimator.getLocalComputeCost(hop);
+			for( int i=0; i<inputs.size(); i++ ) {
+				PlanEntry in = _memo.get(inputs.get(i).getHopID());
+				choices[i] = getBestAlternative(in, true);
+				double best = (choices[i] < 0) ? Double.MAX_VALUE : in._costs[choices[i]];
+				//federated inputs are pulled, except for transient writes,
+				//but inputs with privacy constraints cannot be pulled
+				if( in.isValid(FOUT) && (isTransientWrite(hop) || !hasPrivacyConstraints(in._hop)) ) {
+					double pull = in._costs[FOUT] + (isTransientWrite(hop) ? 0 :
+						FederatedCostEstimator.getTransferCost(FederatedCostEstimator.getOutputSize(in._hop)));
+					if( pull < best ) {
+						choices[i] = FOUT;
+						best = pull;
+					}
+				}
+				if( best == Double.MAX_VALUE )
+					return; //no valid local plan
+				cost += best;
+			}
+			entry._costs[LOCAL] = cost;
+			entry._choices[LOCAL] = choices;
+		}
+		
+		private void costFederated(PlanEntry entry) {
+			Hop hop = entry._hop;
+			List<Hop> inputs = hop.getInput();
+			
+			//determine federated input and number of workers
+			PlanEntry fedIn = null;
+			for( Hop input : inputs ) {
+				PlanEntry in = _memo.get(input.getHopID());
+				if( in.isValid(FOUT) ) {
+					fedIn = in;
+					entry._numWorkers = in._numWorkers;
+					break;
+				}
+			}
+			if( fedIn == null )
+				return;
+			
+			//cost inputs (federated inputs are aligned, local inputs are sent to the workers)
+			int[] choices = new int[inputs.size()];
+			double cost = FederatedCostEstimator.getFederatedComputeCost(hop, entry._numWorkers);
+			double minPenalty = Double.MAX_VALUE;
+			int minPenaltyIx = -1;
+			for( int i=0; i<inputs.size(); i++ ) {
+				PlanEntry in = _memo.get(inputs.get(i).getHopID());
+				int localAlt = getBestAlternative(in, true);
+				double local = (localAlt < 0) ? Double.MAX_VALUE : in._costs[localAlt]
+					+ FederatedCostEstimator.getBroadcastCost(in._hop, hop, entry._numWorkers);
+				double fed = in._costs[FOUT];
+				choices[i] = (fed <= local) ? FOUT : localAlt;
+				cost += Math.min(fed, local);
+				if( in.isValid(FOUT) && fed - local < minPenalty ) {
+					minPenalty = fed - local;
+					minPenaltyIx = i;
+				}
+			}
+			//ensure at least one federated input
+			boolean anyFed = false;
+			for( int c : choices )
+				anyFed |= (c == FOUT);
+			if( !anyFed ) {
+				choices[minPenaltyIx] = FOUT;
+				cost += minPenalty;
+			}
+			entry._ftype = getOutputFederationType(hop, choices);
+			
+			//federated output if output remains partitioned
+			if( entry._ftype != null ) {
+				entry._costs[FOUT] = cost;
+				entry._choices[FOUT] = choices;
+			}
+			//local output, consolidating slices or aggregating partial results
+			entry._costs[LOUT] = cost + FederatedCostEstimator
+				.getConsolidationCost(hop, entry._ftype == null, entry._numWorkers);
+			entry._choices[LOUT] = choices;
+		}
+		
+		private FType getOutputFederationType(Hop hop, int[] choices) {
+			//output remains federated only if all federated inputs agree on the
+			//partitioning of the output (e.g., not for X + t(Y) with row-partitioned X, Y)
+			FType ret = null;
+			for( int i=0; i<choices.length; i++ ) {
+				if( choices[i] != FOUT )
+					continue;
+				Hop input = hop.getInput(i);
+				FType ftype = FederatedCostEstimator.getOutputFederationType(
+					hop, input, _memo.get(input.getHopID())._ftype);
+				if( ftype == null || (ret != null && ret != ftype) )
+					return null;
+				ret = ftype;
+			}
+			return ret;
+		}
+		
+		private void selectPlan(PlanEntry entry, int alt) {
+			if( entry._selected >= 0 )
+				return; //shared input, already selected by other consumer
+			entry._selected = alt;
+			int[] choices = entry._choices[alt];
+			for( int i=0; i<choices.length; i++ )
+				selectPlan(_memo.get(entry._hop.getInput(i).getHopID()), choices[i]);
+		}
+		
+		private void applyPlan(Hop hop, Set<Long> applied) {
+			if( !applied.add(hop.getHopID()) )
+				return;
+			for( Hop input : hop.getInput() )
+				applyPlan(input, applied);
+			PlanEntry entry = _memo.get(hop.getHopID());
+			if( isFederatedDataOp(hop) )
+				return;
+			
+			//repair federated alternatives w/o federated inputs (shared inputs
+			//selected by other consumers) and federated outputs w/o partitioning
+			boolean fedInput = hop.getInput().stream()
+				.anyMatch(h -> isFederatedDataOp(h) || h.hasFederatedOutput());
+			if( entry._selected != LOCAL && !fedInput )
+				entry._selected = LOCAL;
+			if( entry._selected == FOUT && entry._ftype == null )
+				entry._selected = LOUT;
+			
+			hop.setFederatedLocalExec(false);
+			if( hasPrivacyConstraints(hop) )
+				hop.setFederatedOutput(FederatedOutput.FOUT);
+			else if( entry._selected == FOUT )
+				hop.setFederatedOutput(FederatedOutput.FOUT);
+			else if( entry._selected == LOUT )
+				hop.setFederatedOutput(FederatedOutput.LOUT);
+			else {
+				hop.setFederatedOutput(FederatedOutput.NONE);
+				//local execution despite federated inputs (no runtime conversion)
+				hop.setFederatedLocalExec(fedInput && isFederatedSupported(hop));
+			}
+		}
+		
+		private static int getBestAlternative(PlanEntry entry, boolean localOutput) {
+			int ret = -1;
+			for( int alt : new int[]{LOCAL, FOUT, LOUT} )
+				if( !(localOutput && alt == FOUT) && entry.isValid(alt)
+					&& (ret < 0 || entry._costs[alt] < entry._costs[ret]) )
+					ret = alt;
+			return ret;
+		}
+		
+		private static boolean hasPrivacyConstraints(Hop hop) {
+			PrivacyConstraint pc = hop.getPrivacy();
+			return pc != null && pc.hasConstraints();
+		}
+		
+		private static boolean isTransientWrite(Hop hop) {
+			return hop instanceof DataOp && ((DataOp) hop).getOp() == OpOpData.TRANSIENTWRITE;
+		}
+		
+		private static boolean isFederatedSupported(Hop hop) {
+			if( !(hop.getDataType().isMatrix() || hop.getDataType().isScalar()) )
+				return false;
+			if( hop instanceof AggBinaryOp )
+				return ((AggBinaryOp) hop).isMatrixMultiply();
+			if( hop instanceof ReorgOp )
+				return HopRewriteUtils.isReorg(hop, ReOrgOp.TRANS, ReOrgOp.REV, ReOrgOp.DIAG);
+			if( hop instanceof UnaryOp )
+				return hop.getInput(0).getDataType().isMatrix() && !((UnaryOp) hop).isMetadataOperation()
+					&& !HopRewriteUtils.isUnary(hop, OpOp1.PRINT, OpOp1.ASSERT, OpOp1.STOP, OpOp1.TYPEOF,
+						OpOp1.INVERSE, OpOp1.EIGEN, OpOp1.CHOLESKY, OpOp1.SVD);
+			return hop instanceof BinaryOp || hop instanceof AggUnaryOp || hop instanceof TernaryOp;
+		}
+	}
+
 	/**
 	 * FederatedUDF for retrieving privacy constraint of data stored in file name.
 	 */
@@ -21,6 +21,9 @@ package org.apache.sysds.lops;
 
 import org.apache.sysds.common.Types.ExecType;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.cp.BinaryCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.CPInstruction.CPType;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.OpOp2;
 import org.apache.sysds.common.Types.ValueType;
@@ -94,4 +97,14 @@ public class Binary extends Lop
 
 		return ret;
 	}
+	
+	@Override
+	public Instruction createInstruction(String instString, String[] inputs, String output) {
+		if( getExecType() != ExecType.CP || InstructionUtils.getCPTypeByOpcode(getOpcode()) != CPType.Binary )
+			return null;
+		return BinaryCPInstruction.create(getOpcode(),
+			getInputs().get(0).prepInputCPOperand(inputs[0]),
+			getInputs().get(1).prepInputCPOperand(inputs[1]),
+			prepOutputCPOperand(output), instString);
+	}
 }
@@ -21,7 +21,10 @@ package org.apache.sysds.lops;
 
 
 import org.apache.sysds.common.Types.ExecType;
+import org.apache.sysds.runtime.instructions.Instruction;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.cp.BinaryCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.CPInstruction.CPType;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.OpOp2;
 import org.apache.sysds.common.Types.ValueType;
@@ -75,4 +78,14 @@ public class BinaryScalar extends Lop
 			getInputs().get(1).prepScalarInputOperand(getExecType()),
 			prepOutputOperand(output));
 	}
+	
+	@Override
+	public Instruction createInstruction(String instString, String[] inputs, String output) {
+		if( getExecType() != ExecType.CP || InstructionUtils.getCPTypeByOpcode(operation.toString()) != CPType.Binary )
+			return null;
+		return BinaryCPInstruction.create(operation.toString(),
+			getInputs().get(0).prepInputCPOperand(inputs[0]),
+			getInputs().get(1).prepInputCPOperand(inputs[1]),
+			prepOutputCPOperand(output), instString);
+	}
 }
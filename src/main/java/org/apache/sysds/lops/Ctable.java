@@ -35,6 +35,7 @@ public class Ctable extends Lop
 {
 	private final boolean _ignoreZeros;
 	private final boolean _outputEmptyBlocks;
+	private final int _numThreads;
 	
 	public enum OperationTypes {
 		CTABLE_TRANSFORM,
@@ -58,14 +59,15 @@ public class Ctable extends Lop
 	
 
 	public Ctable(Lop[] inputLops, OperationTypes op, DataType dt, ValueType vt, ExecType et) {
-		this(inputLops, op, dt, vt, false, true, et);
+		this(inputLops, op, dt, vt, false, true, et, 1);
 	}
 	
-	public Ctable(Lop[] inputLops, OperationTypes op, DataType dt, ValueType vt, boolean ignoreZeros, boolean outputEmptyBlocks, ExecType et) {
+	public Ctable(Lop[] inputLops, OperationTypes op, DataType dt, ValueType vt, boolean ignoreZeros, boolean outputEmptyBlocks, ExecType et, int numThreads) {
 		super(Lop.Type.Ctable, dt, vt);
 		init(inputLops, op, et);
 		_ignoreZeros = ignoreZeros;
 		_outputEmptyBlocks = outputEmptyBlocks;
+		_numThreads = numThreads;
 	}
 	
 	private void init(Lop[] inputLops, OperationTypes op, ExecType et) {
@@ -174,6 +176,10 @@ public class Ctable extends Lop
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( _outputEmptyBlocks );
 		}
+		else if( getExecType() == ExecType.CP ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
 		
 		return sb.toString();
 	}
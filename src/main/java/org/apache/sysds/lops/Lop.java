@@ -25,6 +25,8 @@ import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.common.Types.ExecType;
 import org.apache.sysds.lops.compile.Dag;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
 import org.apache.sysds.runtime.instructions.fed.FEDInstruction.FederatedOutput;
 import org.apache.sysds.runtime.privacy.PrivacyConstraint;
 
@@ -122,6 +124,12 @@ public abstract class Lop
 	 */
 	protected FederatedOutput _fedOutput = null;
 	
+	/**
+	 * Boolean defining if the instruction should be executed at the coordinator
+	 * even if some of its inputs are federated (no runtime conversion).
+	 */
+	protected boolean _fedLocalExec = false;
+	
 	/**
 	 * refers to #lops whose input is equal to the output produced by this lop.
 	 * This is used in generating rmvar instructions as soon as the output produced
@@ -299,6 +307,14 @@ public abstract class Lop
 		_fedOutput = fedOutput;
 	}
 	
+	public void setFederatedLocalExec(boolean localExec){
+		_fedLocalExec = localExec;
+	}
+	
+	public boolean isFederatedLocalExec(){
+		return _fedLocalExec;
+	}
+	
 	public void setConsumerCount(int cc) {
 		consumerCount = cc;
 	}
@@ -722,4 +738,44 @@ public abstract class Lop
 			return prepScalarInputOperand(label);
 		}
 	}
+	
+	/**
+	 * Method to prepare a typed runtime operand for the given input label,
+	 * equivalent to parsing the result of {@link #prepInputOperand(String)}.
+	 * 
+	 * @param label instruction label
+	 * @return runtime operand with data type, value type, and literal status
+	 */
+	public CPOperand prepInputCPOperand(String label) {
+		if( getDataType() == DataType.MATRIX )
+			return new CPOperand(label, getValueType(), getDataType());
+		boolean isLiteral = isDataExecLocation() && ((Data)this).isLiteral();
+		return new CPOperand(label, getValueType(), getDataType(), isLiteral);
+	}
+	
+	/**
+	 * Method to prepare a typed runtime operand for the given output label,
+	 * equivalent to parsing the result of {@link #prepOutputOperand(String)}.
+	 * 
+	 * @param label instruction label
+	 * @return runtime operand with data type and value type
+	 */
+	public CPOperand prepOutputCPOperand(String label) {
+		return new CPOperand(label, getValueType(), getDataType());
+	}
+	
+	/**
+	 * Method should be overridden by lops that are able to construct their
+	 * runtime instruction directly, which avoids the parsing of the already
+	 * generated instruction string. The instruction string is still passed
+	 * along and kept for explain, lineage, and serialization.
+	 * 
+	 * @param instString generated instruction string
+	 * @param inputs input labels
+	 * @param output output label
+	 * @return runtime instruction, or null if not supported
+	 */
+	public Instruction createInstruction(String instString, String[] inputs, String output) {
+		return null;
+	}
 }
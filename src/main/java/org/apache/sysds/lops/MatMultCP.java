@@ -21,6 +21,8 @@ package org.apache.sysds.lops;
 
 import org.apache.sysds.common.Types.ExecType;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.cp.AggregateBinaryCPInstruction;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.ValueType;
 
@@ -97,4 +99,14 @@ public class MatMultCP extends Lop {
 		
 		return ret;
 	}
+	
+	@Override
+	public Instruction createInstruction(String instString, String[] inputs, String output) {
+		if( getExecType() != ExecType.CP || useTranspose )
+			return null;
+		return AggregateBinaryCPInstruction.create(
+			getInputs().get(0).prepInputCPOperand(inputs[0]),
+			getInputs().get(1).prepInputCPOperand(inputs[1]),
+			prepOutputCPOperand(output), numThreads, instString);
+	}
 }
@@ -32,11 +32,17 @@ import org.apache.sysds.common.Types.ValueType;
  */
 public class Nary extends Lop {
 	private OpOpN operationType;
+	private final int _numThreads;
 
-	public Nary(OpOpN operationType, DataType dt, ValueType vt, Lop[] inputLops, ExecType et)
+	public Nary(OpOpN operationType, DataType dt, ValueType vt, Lop[] inputLops, ExecType et) {
+		this(operationType, dt, vt, inputLops, et, 1);
+	}
+	
+	public Nary(OpOpN operationType, DataType dt, ValueType vt, Lop[] inputLops, ExecType et, int numThreads)
 	{
 		super(Lop.Type.Nary, dt, vt);
 		this.operationType = operationType;
+		_numThreads = numThreads;
 		for (Lop inputLop : inputLops) {
 			addInput(inputLop);
 			inputLop.addOutput(this);
@@ -104,6 +110,13 @@ public class Nary extends Lop {
 		}
 
 		sb.append(prepOutputOperand(output));
+		
+		//degree of parallelism for cp cbind/rbind (appended after the output)
+		if( getExecType() == ExecType.CP
+			&& (operationType == OpOpN.CBIND || operationType == OpOpN.RBIND) ) {
+			sb.append(OPERAND_DELIMITOR);
+			sb.append(_numThreads);
+		}
 
 		return sb.toString();
 	}
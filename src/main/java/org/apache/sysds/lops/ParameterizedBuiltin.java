@@ -215,7 +215,8 @@ public class ParameterizedBuiltin extends Lop
 			sb.append(OPERAND_DELIMITOR);
 		}
 		
-		if( getExecType()==ExecType.CP && _operation == ParamBuiltinOp.REXPAND ) {
+		if( getExecType()==ExecType.CP && (_operation == ParamBuiltinOp.RMEMPTY
+			|| _operation == ParamBuiltinOp.REXPAND) ) {
 			sb.append( "k" );
 			sb.append( Lop.NAME_VALUE_SEPARATOR );
 			sb.append( _numThreads );	
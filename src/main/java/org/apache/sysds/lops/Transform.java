@@ -25,6 +25,8 @@ import org.apache.sysds.common.Types.ExecType;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.ReOrgOp;
 import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.cp.ReorgCPInstruction;
 
 
 /*
@@ -43,7 +45,11 @@ public class Transform extends Lop
 	}
 	
 	public Transform(Lop[] inputs, ReOrgOp op, DataType dt, ValueType vt, boolean outputEmptyBlock, ExecType et) {
-		this(inputs, op, dt, vt, et, 1);
+		this(inputs, op, dt, vt, outputEmptyBlock, et, 1);
+	}
+	
+	public Transform(Lop[] inputs, ReOrgOp op, DataType dt, ValueType vt, boolean outputEmptyBlock, ExecType et, int k) {
+		this(inputs, op, dt, vt, et, k);
 		_outputEmptyBlock = outputEmptyBlock;
 	}
 	
@@ -177,6 +183,10 @@ public class Transform extends Lop
 				sb.append( _fedOutput.name() );
 			}
 		}
+		else if( getExecType()==ExecType.CP && _operation == ReOrgOp.RESHAPE ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
 		else if( getExecType()==ExecType.SPARK && _operation == ReOrgOp.RESHAPE ) {
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( _outputEmptyBlock );
@@ -188,4 +198,15 @@ public class Transform extends Lop
 		
 		return sb.toString();
 	}
+	
+	@Override
+	public Instruction createInstruction(String instString, String[] inputs, String output) {
+		//opcodes: r', rev, rdiag (w/o additional scalar inputs)
+		if( getExecType() != ExecType.CP || !(_operation == ReOrgOp.TRANS
+			|| _operation == ReOrgOp.REV || _operation == ReOrgOp.DIAG) )
+			return null;
+		return ReorgCPInstruction.create(getOpcode(),
+			getInputs().get(0).prepInputCPOperand(inputs[0]),
+			prepOutputCPOperand(output), _numThreads, instString);
+	}
 }
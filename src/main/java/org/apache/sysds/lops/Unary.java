@@ -131,7 +131,9 @@ public class Unary extends Lop
 			|| op==OpOp1.LOG
 			|| op==OpOp1.SIGMOID
 			|| op==OpOp1.POW2
-			|| op==OpOp1.MULT2;
+			|| op==OpOp1.MULT2
+			|| op==OpOp1.INVERSE
+			|| op==OpOp1.CHOLESKY;
 	}
 	
 	@Override
@@ -152,7 +154,7 @@ public class Unary extends Lop
 		sb.append( OPERAND_DELIMITOR );
 		sb.append( prepOutputOperand(output) );
 		
-		//num threads for cumulative cp ops
+		//num threads for cumulative, expensive, and linear algebra cp ops
 		if( getExecType() == ExecType.CP && isMultiThreadedOp(operation) ) {
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( _numThreads );
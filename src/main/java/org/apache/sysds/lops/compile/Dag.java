@@ -41,6 +41,7 @@ import org.apache.sysds.runtime.instructions.CPInstructionParser;
 import org.apache.sysds.runtime.instructions.Instruction;
 import org.apache.sysds.runtime.instructions.Instruction.IType;
 import org.apache.sysds.runtime.instructions.InstructionParser;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.instructions.SPInstructionParser;
 import org.apache.sysds.runtime.instructions.cp.CPInstruction;
 import org.apache.sysds.runtime.instructions.cp.CPInstruction.CPType;
@@ -593,7 +594,7 @@ public class Dag<N extends Lop>
 				try {
 					if( LOG.isTraceEnabled() )
 						LOG.trace("Generating instruction - "+ inst_string);
-					Instruction currInstr = InstructionParser.parseSingleInstruction(inst_string);
+					Instruction currInstr = createInstruction(node, inst_string);
 					if(currInstr == null) {
 						 throw new LopsException("Error parsing the instruction:" + inst_string);
 					}
@@ -612,6 +613,8 @@ public class Dag<N extends Lop>
 						currInstr.setLocation(node.getInputs().get(0));
 						currInstr.setPrivacyConstraint(node.getInputs().get(0));
 					}
+					if( node.isFederatedLocalExec() && currInstr instanceof CPInstruction )
+						((CPInstruction) currInstr).setFederatedLocalExec(true);
 					
 					inst.add(currInstr);
 				} catch (Exception e) {
@@ -697,6 +700,30 @@ public class Dag<N extends Lop>
 		}
 	}
 	
+	/**
+	 * Creates the runtime instruction for a given node. Lops that support direct
+	 * instruction creation construct their instructions from typed operands, while
+	 * all other lops fall back to parsing the generated instruction string.
+	 * 
+	 * @param node low-level operator
+	 * @param instString generated instruction string
+	 * @return runtime instruction
+	 */
+	private static Instruction createInstruction(Lop node, String instString) {
+		Instruction inst = null;
+		if( node.getExecType() == ExecType.CP ) {
+			String[] inputs = new String[node.getInputs().size()];
+			for( int i=0; i<inputs.length; i++ )
+				inputs[i] = node.getInputs().get(i).getOutputParameters().getLabel();
+			inst = node.createInstruction(instString,
+				inputs, node.getOutputParameters().getLabel());
+			if( inst != null && InstructionUtils.VALIDATE_DIRECT_INSTRUCTIONS )
+				InstructionUtils.validateDirectInstruction(inst);
+		}
+		return (inst != null) ? inst :
+			InstructionParser.parseSingleInstruction(instString);
+	}
+	
 	/**
 	 * Method that determines the output format for a given node.
 	 * 
@@ -376,10 +376,16 @@ public class BuiltinFunctionExpression extends DataIdentifier
 			break;
 		}
 		case SVD:
-			checkNumParameters(1);
+			checkNumParameters((getSecondExpr()!=null) ? 2 : 1);
 			checkMatrixParam(getFirstExpr());
 			
 			long minMN = Math.min(getFirstExpr().getOutput().getDim1(), getFirstExpr().getOutput().getDim2());
+			if( getSecondExpr() != null ) {
+				//randomized, truncated svd of rank k
+				checkScalarParam(getSecondExpr());
+				minMN = (getSecondExpr() instanceof IntIdentifier) ?
+					((IntIdentifier)getSecondExpr()).getValue() : -1;
+			}
 
 			// setup output properties
 			DataIdentifier svdOut1 = (DataIdentifier) getOutputs()[0];
@@ -30,6 +30,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.Hop;
+import org.apache.sysds.hops.recompile.RecompilePlanCache;
 import org.apache.sysds.hops.recompile.Recompiler;
 import org.apache.sysds.hops.rewrite.StatementBlockRewriteRule;
 import org.apache.sysds.lops.Lop;
@@ -61,6 +62,7 @@ public class StatementBlock extends LiveVariableAnalysis implements ParseInfo
 
 	private ArrayList<String> _updateInPlaceVars = null;
 	private boolean _requiresRecompile = false;
+	private RecompilePlanCache _planCache = null;
 	private boolean _splitDag = false;
 	private boolean _nondeterministic = false;
 
@@ -153,6 +155,18 @@ public class StatementBlock extends LiveVariableAnalysis implements ParseInfo
 
 	public void setHops(ArrayList<Hop> hops) {
 		_hops = hops;
+		clearRecompilePlanCache();
+	}
+	
+	public synchronized RecompilePlanCache getRecompilePlanCache() {
+		if( _planCache == null )
+			_planCache = new RecompilePlanCache();
+		return _planCache;
+	}
+	
+	public synchronized void clearRecompilePlanCache() {
+		if( _planCache != null )
+			_planCache.clear();
 	}
 
 	public void setLops(ArrayList<Lop> lops) {
@@ -881,13 +881,51 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		return ret;
 	}
 
+	private CompressedMatrixBlock sliceRows(int rl, int ru) {
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(ru - rl, getNumColumns());
+		List<AColGroup> newColGroups = new ArrayList<>(getColGroups().size());
+		for(AColGroup grp : getColGroups())
+			newColGroups.add(grp.sliceRows(rl, ru));
+		ret.allocateColGroupList(newColGroups);
+		ret.overlappingColGroups = this.isOverlapping();
+		ret.recomputeNonZeros();
+		return ret;
+	}
+
+	/**
+	 * Slice out a sub block while keeping the column group compression, which is used for partitioning compressed
+	 * matrices into broadcasts and blocked RDDs. In contrast to slice, row ranges are sliced per column group. If the
+	 * compressed slice is not smaller than its uncompressed serialized representation, the slice is decompressed.
+	 * 
+	 * @param rl row lower (inclusive)
+	 * @param ru row upper (inclusive)
+	 * @param cl column lower (inclusive)
+	 * @param cu column upper (inclusive)
+	 * @return A compressed or uncompressed matrix block of the sub block
+	 */
+	public MatrixBlock sliceCompressed(int rl, int ru, int cl, int cu) {
+		validateSliceArgument(rl, ru, cl, cu);
+		CompressedMatrixBlock tmp = this;
+		if(cl != 0 || cu != getNumColumns() - 1)
+			tmp = tmp.sliceColumns(cl, cu);
+		if(rl != 0 || ru != getNumRows() - 1)
+			tmp = tmp.sliceRows(rl, ru + 1);
+		if(tmp.getExactSizeOnDisk() < estimateSizeOnDisk(tmp.getNumRows(), tmp.getNumColumns(), tmp.getNonZeros()))
+			return tmp;
+		MatrixBlock ret = tmp.decompress();
+		ret.examSparsity();
+		return ret;
+	}
+
 	@Override
 	public void slice(ArrayList<IndexedMatrixValue> outlist, IndexRange range, int rowCut, int colCut, int blen,
 		int boundaryRlen, int boundaryClen) {
-		printDecompressWarning(
-			"slice for distribution to spark. (Could be implemented such that it does not decompress)");
-		MatrixBlock tmp = getUncompressed();
-		tmp.slice(outlist, range, rowCut, colCut, blen, boundaryRlen, boundaryClen);
+		// decompress only the sliced range, and distribute it with shifted cut indexes
+		final int rs = (int) range.rowStart;
+		final int cs = (int) range.colStart;
+		MatrixBlock tmp = getUncompressed(slice(rs, (int) range.rowEnd, cs, (int) range.colEnd));
+		IndexRange tmpRange = new IndexRange(0, range.rowEnd - rs, 0, range.colEnd - cs);
+		tmp.slice(outlist, tmpRange, rowCut - rs, colCut - cs, blen, boundaryRlen, boundaryClen);
 	}
 
 	@Override
@@ -1164,6 +1202,14 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		return tmp.removeEmptyOperations(ret, rows, emptyReturn, select);
 	}
 
+	@Override
+	public MatrixBlock removeEmptyOperations(MatrixBlock ret, boolean rows, boolean emptyReturn, MatrixBlock select,
+		int k) {
+		printDecompressWarning("removeEmptyOperations");
+		MatrixBlock tmp = getUncompressed();
+		return tmp.removeEmptyOperations(ret, rows, emptyReturn, select, k);
+	}
+
 	@Override
 	public MatrixBlock removeEmptyOperations(MatrixBlock ret, boolean rows, boolean emptyReturn) {
 		printDecompressWarning("removeEmptyOperations");
@@ -1232,6 +1278,51 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		left.ctableOperations(op, right1, right2, resultMap, resultBlock);
 	}
 
+	@Override
+	public void ctableOperations(Operator op, double scalar, MatrixValue that, CTableMap resultMap,
+		MatrixBlock resultBlock, int k) {
+		printDecompressWarning("ctableOperations Var 8");
+		MatrixBlock left = getUncompressed();
+		MatrixBlock right = getUncompressed(that);
+		left.ctableOperations(op, scalar, right, resultMap, resultBlock, k);
+	}
+
+	@Override
+	public void ctableOperations(Operator op, double scalar, double scalar2, CTableMap resultMap,
+		MatrixBlock resultBlock, int k) {
+		printDecompressWarning("ctableOperations Var 9");
+		MatrixBlock tmp = getUncompressed();
+		tmp.ctableOperations(op, scalar, scalar2, resultMap, resultBlock, k);
+	}
+
+	@Override
+	public void ctableOperations(Operator op, MatrixValue that, double scalar, boolean ignoreZeros, CTableMap resultMap,
+		MatrixBlock resultBlock, int k) {
+		printDecompressWarning("ctableOperations Var 10");
+		MatrixBlock left = getUncompressed();
+		MatrixBlock right = getUncompressed(that);
+		left.ctableOperations(op, right, scalar, ignoreZeros, resultMap, resultBlock, k);
+	}
+
+	@Override
+	public MatrixBlock ctableSeqOperations(MatrixValue that, double scalar, MatrixBlock resultBlock, boolean updateClen,
+		int k) {
+		printDecompressWarning("ctableOperations Var 11");
+		MatrixBlock left = getUncompressed();
+		MatrixBlock right = getUncompressed(that);
+		return left.ctableSeqOperations(right, scalar, resultBlock, updateClen, k);
+	}
+
+	@Override
+	public void ctableOperations(Operator op, MatrixValue that, MatrixValue that2, CTableMap resultMap,
+		MatrixBlock resultBlock, int k) {
+		printDecompressWarning("ctableOperations Var 12");
+		MatrixBlock left = getUncompressed();
+		MatrixBlock right1 = getUncompressed(that);
+		MatrixBlock right2 = getUncompressed(that2);
+		left.ctableOperations(op, right1, right2, resultMap, resultBlock, k);
+	}
+
 	@Override
 	public MatrixBlock ternaryOperations(TernaryOperator op, MatrixBlock m2, MatrixBlock m3, MatrixBlock ret) {
 		printDecompressWarning("ternaryOperations  " + op.fn);
@@ -470,6 +470,32 @@ public abstract class AColGroup implements Serializable {
 	 */
 	protected abstract AColGroup sliceMultiColumns(int idStart, int idEnd, int[] outputCols);
 
+	/**
+	 * Slice out a range of rows of this column group, for instance to partition a compressed matrix into blocks
+	 * without decompressing it entirely.
+	 *
+	 * The default implementation decompresses the requested rows into an uncompressed column group, while column
+	 * groups with a row-aligned index structure override it to keep the slice compressed.
+	 *
+	 * @param rl The row to start at
+	 * @param ru The row to end at (not included)
+	 * @return A column group with ru - rl rows containing the same columns as this column group.
+	 */
+	public AColGroup sliceRows(int rl, int ru) {
+		final int nCol = _colIndexes.length;
+		final AColGroup tmp = copy();
+		tmp._colIndexes = new int[nCol];
+		for(int i = 0; i < nCol; i++)
+			tmp._colIndexes[i] = i;
+		MatrixBlock data = new MatrixBlock(ru - rl, nCol, false).allocateDenseBlock();
+		tmp.decompressToBlockUnSafe(data, rl, ru, 0);
+		data.recomputeNonZeros();
+		if(data.isEmpty())
+			return new ColGroupEmpty(_colIndexes, ru - rl);
+		data.examSparsity();
+		return new ColGroupUncompressed(_colIndexes, data);
+	}
+
 	/**
 	 * Short hand method for getting minimum value contained in this column group.
 	 * 
@@ -170,6 +170,11 @@ public class ColGroupConst extends ColGroupValue {
 		return new ColGroupConst(_colIndexes, _numRows, applyBinaryRowOp(op, v, true, left));
 	}
 
+	@Override
+	public AColGroup sliceRows(int rl, int ru) {
+		return new ColGroupConst(_colIndexes, ru - rl, _dict);
+	}
+
 	@Override
 	public void countNonZerosPerRow(int[] rnnz, int rl, int ru) {
 
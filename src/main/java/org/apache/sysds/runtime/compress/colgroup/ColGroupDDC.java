@@ -382,6 +382,15 @@ public class ColGroupDDC extends ColGroupValue {
 		return new ColGroupDDC(_colIndexes, _numRows, aDict, _data, getCachedCounts());
 	}
 
+	@Override
+	public AColGroup sliceRows(int rl, int ru) {
+		// reuse the dictionary, and only copy the row range of the mapping
+		AMapToData data = MapToFactory.create(ru - rl, _data.getUnique());
+		for(int i = rl; i < ru; i++)
+			data.set(i - rl, _data.getIndex(i));
+		return new ColGroupDDC(_colIndexes, ru - rl, _dict, data, null);
+	}
+
 	@Override
 	public void write(DataOutput out) throws IOException {
 		super.write(out);
@@ -209,6 +209,11 @@ public class ColGroupEmpty extends ColGroupCompressed {
 		return new ColGroupEmpty(outputCols, _numRows);
 	}
 
+	@Override
+	public AColGroup sliceRows(int rl, int ru) {
+		return new ColGroupEmpty(_colIndexes, ru - rl);
+	}
+
 	@Override
 	public AColGroup rightMultByMatrix(MatrixBlock right) {
 		return null;
@@ -573,6 +573,14 @@ public class ColGroupUncompressed extends AColGroup {
 		}
 	}
 
+	@Override
+	public AColGroup sliceRows(int rl, int ru) {
+		MatrixBlock newData = _data.slice(rl, ru - 1, 0, _data.getNumColumns() - 1, true);
+		if(newData.isEmpty())
+			return new ColGroupEmpty(_colIndexes, ru - rl);
+		return new ColGroupUncompressed(_colIndexes, newData);
+	}
+
 	@Override
 	public AColGroup rightMultByMatrix(MatrixBlock right) {
 		final int nColR = right.getNumColumns();
@@ -0,0 +1,418 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.conf.CompilerConfig;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.utils.Statistics;
+
+/**
+ * Dataflow scheduler for inter-operator parallelism within a basic block,
+ * obtained from the instruction stream of the block.
+ * 
+ * The instruction stream is split into segments of schedulable CP instructions
+ * (side-effect-free computation instructions over matrices and scalars, and
+ * variable instructions such as createvar, cpvar, mvvar, and rmvar), separated
+ * by barrier instructions that are executed in program order. Within a segment,
+ * we build the dependency graph from read-after-write, write-after-read, and
+ * write-after-write conflicts on variable names, where rmvar and mvvar are
+ * writes of the removed/overwritten variables. Instructions with matrix outputs
+ * are executed concurrently (up to the inter-operator degree of parallelism)
+ * on the shared thread pool, which is also used by their multi-threaded
+ * operations, such that inter- and intra-operator parallelism share the same
+ * budget of threads. All other instructions are cheap and executed inline by
+ * the calling thread.
+ */
+public class InstructionScheduler
+{
+	//min number of concurrent instructions per segment
+	private static final int MIN_PARALLEL_INST = 2;
+	
+	private final List<Instruction> _inst;
+	private final int _numInst;
+	private final boolean[] _async;  //executed by pool workers
+	private final int[] _numPreds;   //number of predecessors per instruction
+	private final int[][] _succ;     //successors per instruction
+	private final List<int[]> _segments; //segment start, end, num async
+	private final boolean _beneficial;
+	
+	public InstructionScheduler(List<Instruction> inst) {
+		_inst = inst;
+		_numInst = inst.size();
+		_async = new boolean[_numInst];
+		_numPreds = new int[_numInst];
+		_succ = new int[_numInst][];
+		_segments = new ArrayList<>();
+		
+		//forward pass over instructions, where barriers close the current
+		//segment, and variable accesses define the edges within segments
+		List<HashSet<Integer>> succ = new ArrayList<>();
+		HashMap<String, Integer> lastWrite = new HashMap<>();
+		HashMap<String, List<Integer>> lastReads = new HashMap<>();
+		List<String> reads = new ArrayList<>();
+		List<String> writes = new ArrayList<>();
+		int start = 0, numAsync = 0;
+		boolean beneficial = false;
+		for( int i=0; i<_numInst; i++ ) {
+			succ.add(new HashSet<>());
+			reads.clear(); writes.clear();
+			if( !getVariableAccesses(inst.get(i), reads, writes) ) {
+				//close current segment and add barrier
+				beneficial |= addSegment(start, i, numAsync);
+				addSegment(i, i+1, 0);
+				lastWrite.clear();
+				lastReads.clear();
+				start = i+1;
+				numAsync = 0;
+				continue;
+			}
+			_async[i] = isAsync(inst.get(i));
+			numAsync += _async[i] ? 1 : 0;
+			//read-after-write dependencies
+			for( String var : reads ) {
+				Integer w = lastWrite.get(var);
+				if( w != null )
+					succ.get(w).add(i);
+			}
+			//write-after-write and write-after-read dependencies
+			for( String var : writes ) {
+				Integer w = lastWrite.get(var);
+				if( w != null )
+					succ.get(w).add(i);
+				List<Integer> rs = lastReads.remove(var);
+				if( rs != null )
+					for( Integer r : rs )
+						succ.get(r).add(i);
+			}
+			for( String var : reads )
+				if( !writes.contains(var) )
+					lastReads.computeIfAbsent(var, v -> new ArrayList<>()).add(i);
+			for( String var : writes )
+				lastWrite.put(var, i);
+		}
+		beneficial |= addSegment(start, _numInst, numAsync);
+		_beneficial = beneficial;
+		
+		//compact successor lists and count predecessors
+		for( int i=0; i<_numInst; i++ ) {
+			_succ[i] = succ.get(i).stream().mapToInt(Integer::intValue).sorted().toArray();
+			for( int j : _succ[i] )
+				if( j != i )
+					_numPreds[j]++;
+		}
+	}
+	
+	public boolean isValid(List<Instruction> inst) {
+		return _inst == inst && _numInst == inst.size();
+	}
+	
+	/**
+	 * Indicates if there is at least one segment with multiple
+	 * independent instructions that can run concurrently.
+	 * 
+	 * @return true if inter-operator parallelism is applicable
+	 */
+	public boolean isBeneficial() {
+		return _beneficial;
+	}
+	
+	/**
+	 * Executes all instructions of the block, where segments of independent
+	 * instructions are executed as dataflow graph with up to k concurrently
+	 * running instructions.
+	 * 
+	 * @param pb program block of the instructions
+	 * @param ec execution context
+	 * @param k inter-operator degree of parallelism
+	 */
+	public void execute(ProgramBlock pb, ExecutionContext ec, int k) {
+		for( int[] seg : _segments ) {
+			if( seg[2] < MIN_PARALLEL_INST || k <= 1 ) {
+				for( int i=seg[0]; i<seg[1]; i++ )
+					pb.executeSingleInstruction(_inst.get(i), ec);
+			}
+			else {
+				executeDataflow(pb, ec, seg[0], seg[1], k);
+			}
+		}
+	}
+	
+	private void executeDataflow(ProgramBlock pb, ExecutionContext ec, int start, int end, int k) {
+		//shared pool for inter- and intra-operator parallelism
+		ExecutorService pool = CommonThreadPool.get(InfrastructureAnalyzer.getLocalParallelism());
+		DMLConfig dconf = ConfigurationManager.getDMLConfig();
+		CompilerConfig cconf = ConfigurationManager.getCompilerConfig();
+		
+		//ready instructions in program order, and completed instructions
+		int[] preds = new int[_numInst];
+		System.arraycopy(_numPreds, start, preds, start, end-start);
+		PriorityQueue<Integer> ready = new PriorityQueue<>();
+		LinkedBlockingQueue<InstructionTask> done = new LinkedBlockingQueue<>();
+		for( int i=start; i<end; i++ )
+			if( preds[i] == 0 )
+				ready.add(i);
+		
+		int remaining = end - start;
+		int running = 0;
+		int maxRunning = 0;
+		Throwable error = null;
+		try {
+			while( remaining > 0 ) {
+				//launch ready instructions up to the degree of parallelism,
+				//where cheap instructions are executed inline
+				while( error == null && !ready.isEmpty() && (running < k || !_async[ready.peek()]) ) {
+					int i = ready.poll();
+					if( _async[i] ) {
+						pool.submit(new InstructionTask(pb, ec, i, done, dconf, cconf));
+						maxRunning = Math.max(maxRunning, ++running);
+					}
+					else {
+						try {
+							pb.executeSingleInstruction(_inst.get(i), ec);
+						}
+						catch(Throwable ex) {
+							error = ex;
+							break;
+						}
+						remaining--;
+						releaseSuccessors(i, preds, ready);
+					}
+				}
+				if( running == 0 ) {
+					if( error == null && remaining > 0 )
+						throw new DMLRuntimeException("Invalid instruction schedule: "
+							+ remaining + " instructions not executed.");
+					break;
+				}
+				//wait for the next completed instruction
+				InstructionTask task = done.take();
+				running--;
+				remaining--;
+				if( task._error != null )
+					error = (error != null) ? error : task._error;
+				else
+					releaseSuccessors(task._pos, preds, ready);
+			}
+		}
+		catch(InterruptedException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+		if( DMLScript.STATISTICS )
+			Statistics.incrementInterOpSegments(maxRunning >= MIN_PARALLEL_INST);
+		
+		//propagate errors of inline or concurrent instructions
+		if( error instanceof Error )
+			throw (Error) error;
+		else if( error instanceof RuntimeException )
+			throw (RuntimeException) error;
+		else if( error != null )
+			throw new DMLRuntimeException((Exception) error);
+	}
+	
+	private void releaseSuccessors(int pos, int[] preds, PriorityQueue<Integer> ready) {
+		for( int j : _succ[pos] )
+			if( j != pos && --preds[j] == 0 )
+				ready.add(j);
+	}
+	
+	private boolean addSegment(int start, int end, int numAsync) {
+		if( start >= end )
+			return false;
+		_segments.add(new int[] {start, end, numAsync});
+		return numAsync >= MIN_PARALLEL_INST;
+	}
+	
+	private static boolean isAsync(Instruction inst) {
+		if( !(inst instanceof ComputationCPInstruction) )
+			return false;
+		CPOperand out = ((ComputationCPInstruction) inst).getOutput();
+		return out != null && out.isMatrix();
+	}
+	
+	/**
+	 * Obtains the variables read and written by the given instruction,
+	 * or returns false if the instruction is not schedulable (e.g., due
+	 * to side effects, non-determinism, in-place updates, or operands
+	 * that are not exposed via the instruction inputs).
+	 * 
+	 * @param inst instruction
+	 * @param reads list of read variable names
+	 * @param writes list of written variable names
+	 * @return true if the instruction is schedulable
+	 */
+	private static boolean getVariableAccesses(Instruction inst, List<String> reads, List<String> writes) {
+		//labels are patched with variable values at runtime
+		if( inst.requiresLabelUpdate() )
+			return false;
+		if( inst instanceof VariableCPInstruction ) {
+			VariableCPInstruction vinst = (VariableCPInstruction) inst;
+			switch( vinst.getVariableOpcode() ) {
+				case CreateVariable:
+					if( vinst.getInput1().getDataType() == DataType.LIST )
+						return false;
+					writes.add(vinst.getInput1().getName());
+					return true;
+				case AssignVariable:
+				case CopyVariable:
+					addRead(vinst.getInput1(), reads);
+					writes.add(vinst.getInput2().getName());
+					return true;
+				case MoveVariable:
+					//only moves between variables, not to files
+					if( vinst.getInput3() != null )
+						return false;
+					writes.add(vinst.getInput1().getName());
+					writes.add(vinst.getInput2().getName());
+					return true;
+				case RemoveVariable:
+					for( CPOperand in : vinst.getInputs() )
+						writes.add(in.getName());
+					return true;
+				case CastAsScalarVariable:
+				case CastAsMatrixVariable:
+				case CastAsDoubleVariable:
+				case CastAsIntegerVariable:
+				case CastAsBooleanVariable:
+					addRead(vinst.getInput1(), reads);
+					writes.add(vinst.getOutput().getName());
+					return true;
+				default:
+					return false;
+			}
+		}
+		else if( inst instanceof ComputationCPInstruction ) {
+			ComputationCPInstruction cinst = (ComputationCPInstruction) inst;
+			if( !isSchedulable(cinst) )
+				return false;
+			for( CPOperand in : cinst.getInputs() ) {
+				if( in == null )
+					continue;
+				if( !in.isMatrix() && !in.isScalar() )
+					return false;
+				addRead(in, reads);
+			}
+			CPOperand out = cinst.getOutput();
+			if( out == null || (!out.isMatrix() && !out.isScalar()) )
+				return false;
+			writes.add(out.getName());
+			return true;
+		}
+		return false;
+	}
+	
+	private static boolean isSchedulable(ComputationCPInstruction inst) {
+		//note: all operands must be exposed via getInputs, which excludes for
+		//example indexing, reshape, ctable, and quaternary instructions
+		String opcode = inst.getOpcode();
+		switch( inst.getCPInstructionType() ) {
+			case AggregateUnary:
+				//exclude accesses of variables by name or their lineage
+				return !opcode.equals("exists") && !opcode.equals("lineage");
+			case AggregateBinary:
+			case AggregateTernary:
+			case Binary:
+			case Ternary:
+			case Append:
+			case MMTSJ:
+			case PMMJ:
+			case MMChain:
+			case QSort:
+			case QPick:
+			case CentralMoment:
+			case Covariance:
+			case UaggOuterChain:
+				return true;
+			case Unary:
+			case Builtin:
+				//exclude scalar outputs like print, stop, or assert
+				return inst.getOutput() != null && inst.getOutput().isMatrix();
+			case Reorg:
+				return opcode.equals("r'") || opcode.equals("rev") || opcode.equals("rdiag");
+			default:
+				return false;
+		}
+	}
+	
+	private static void addRead(CPOperand in, List<String> reads) {
+		if( in != null && !in.isLiteral() && !reads.contains(in.getName()) )
+			reads.add(in.getName());
+	}
+	
+	private class InstructionTask implements Runnable
+	{
+		private final ProgramBlock _pb;
+		private final ExecutionContext _ec;
+		private final int _pos;
+		private final LinkedBlockingQueue<InstructionTask> _done;
+		private final DMLConfig _dconf;
+		private final CompilerConfig _cconf;
+		private Throwable _error = null;
+		
+		protected InstructionTask(ProgramBlock pb, ExecutionContext ec, int pos,
+			LinkedBlockingQueue<InstructionTask> done, DMLConfig dconf, CompilerConfig cconf)
+		{
+			_pb = pb;
+			_ec = ec;
+			_pos = pos;
+			_done = done;
+			_dconf = dconf;
+			_cconf = cconf;
+		}
+		
+		@Override
+		public void run() {
+			try {
+				//propagate thread-local configurations of the calling thread
+				ConfigurationManager.setLocalConfig(_dconf);
+				ConfigurationManager.setLocalConfig(_cconf);
+				_pb.executeSingleInstruction(_inst.get(_pos), _ec);
+			}
+			catch(Throwable ex) {
+				_error = ex;
+			}
+			finally {
+				ConfigurationManager.clearLocalConfigs();
+				_done.add(this);
+			}
+		}
+	}
+}
@@ -43,7 +43,8 @@ public class LocalVariableMap implements Cloneable
 	private static final String ELEMENT_DELIM = ProgramConverter.ELEMENT_DELIM;
 	private static final IDSequence _seq = new IDSequence();
 	
-	//variable map data and id
+	//variable map data and id (basic accessors are synchronized
+	//for concurrent instructions, see InstructionScheduler)
 	private final HashMap<String, Data> localMap;
 	private final long localID;
 	
@@ -74,7 +75,7 @@ public class LocalVariableMap implements Cloneable
 	 * @param name the variable name for the data object
 	 * @return the direct reference to the data object
 	 */
-	public Data get( String name ) {
+	public synchronized Data get( String name ) {
 		return localMap.get( name );
 	}
 	
@@ -85,11 +86,11 @@ public class LocalVariableMap implements Cloneable
 	 * @param name the variable name for the data value
 	 * @param val the data value object (such as envelope)
 	 */
-	public void put(String name, Data val) {
+	public synchronized void put(String name, Data val) {
 		localMap.put( name, val );
 	}
 	
-	public void putAll(Map<String, Data> vals) {
+	public synchronized void putAll(Map<String, Data> vals) {
 		localMap.putAll(vals);
 	}
 
@@ -97,7 +98,7 @@ public class LocalVariableMap implements Cloneable
 		putAll(vars.localMap);
 	}
 
-	public Data remove( String name ) {
+	public synchronized Data remove( String name ) {
 		return localMap.remove( name );
 	}
 
@@ -115,7 +116,7 @@ public class LocalVariableMap implements Cloneable
 			e -> !excludeList.contains(e.getKey()));
 	}
 
-	public boolean hasReferences( Data d ) {
+	public synchronized boolean hasReferences( Data d ) {
 		//perf: avoid java streams here for reduced overhead in rmvar
 		for( Data o : localMap.values() )
 			if( o instanceof ListObject ? ((ListObject)o).contains(d) : o == d )
@@ -41,6 +41,7 @@ import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedData;
 import org.apache.sysds.runtime.controlprogram.parfor.DataPartitioner;
 import org.apache.sysds.runtime.controlprogram.parfor.DataPartitionerLocal;
 import org.apache.sysds.runtime.controlprogram.parfor.DataPartitionerRemoteSpark;
@@ -63,6 +64,8 @@ import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerFactoringCm
 import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerFixedsize;
 import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerNaive;
 import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerStatic;
+import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerWorkStealing;
+import org.apache.sysds.runtime.controlprogram.parfor.WorkStealingTaskQueue;
 import org.apache.sysds.runtime.controlprogram.parfor.opt.OptTreeConverter;
 import org.apache.sysds.runtime.controlprogram.parfor.opt.OptimizationWrapper;
 import org.apache.sysds.runtime.controlprogram.parfor.opt.OptimizerRuleBased;
@@ -86,6 +89,7 @@ import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.lineage.LineageItemUtils;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.util.CollectionUtils;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.ProgramConverter;
 import org.apache.sysds.runtime.util.UtilFunctions;
 import org.apache.sysds.utils.Statistics;
@@ -99,6 +103,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -133,6 +139,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		FACTORING,      //factoring task partitioner  
 		FACTORING_CMIN, //constrained factoring task partitioner, uses tasksize as min constraint
 		FACTORING_CMAX, //constrained factoring task partitioner, uses tasksize as max constraint
+		WORK_STEALING,  //work-stealing per-worker deques w/ adaptive chunks, uses tasksize as min constraint
 		UNSPECIFIED
 	}
 	
@@ -290,6 +297,7 @@ public class ParForProgramBlock extends ForProgramBlock
 	public static final boolean ALLOW_NESTED_PARALLELISM    = true; // if not, transparently change parfor to for on program conversions (local,remote)
 	public static final boolean USE_PARALLEL_RESULT_MERGE   = false; // if result merge is run in parallel or serial 
 	public static final boolean USE_PARALLEL_RESULT_MERGE_REMOTE = true; // if remote result merge should be run in parallel for multiple result vars
+	public static final long    PAR_RESULT_MERGE_MIN_CELLS  = 4L * 1024 * 1024; // min output size for row-partitioned parallel local result merge
 	public static final boolean ALLOW_DATA_COLOCATION       = true;
 	public static final boolean CREATE_UNSCOPED_RESULTVARS  = true;
 	public static       boolean ALLOW_REUSE_PARTITION_VARS  = true; //reuse partition input matrices, applied only if read-only in surrounding loops
@@ -623,6 +631,10 @@ public class ParForProgramBlock extends ForProgramBlock
 			StatisticMonitor.putPFStat(_ID, Stat.PARFOR_EXECMODE,        _execMode.ordinal());
 		}
 		
+		//send deferred federated requests before parallel workers access federated inputs
+		if( OptimizerUtils.FEDERATED_DEFERRED_REQUESTS )
+			FederatedData.flushDeferredRequests();
+		
 		//preserve shared input/result variables of cleanup
 		ArrayList<String> varList = ec.getVarList();
 		boolean[] varState = ec.pinVariables(varList);
@@ -651,6 +663,10 @@ public class ParForProgramBlock extends ForProgramBlock
 			throw new DMLRuntimeException("PARFOR: Failed to execute loop in parallel.",ex);
 		}
 		
+		//send deferred federated requests of parallel workers before result consumption
+		if( OptimizerUtils.FEDERATED_DEFERRED_REQUESTS )
+			FederatedData.flushDeferredRequests();
+		
 		//reset state of shared input/result variables 
 		ec.unpinVariables(varList, varState);
 		
@@ -731,18 +747,25 @@ public class ParForProgramBlock extends ForProgramBlock
 		{
 			// Step 1) create task queue and init workers in parallel
 			// (including preparation of update-in-place variables)
-			LocalTaskQueue<Task> queue = new LocalTaskQueue<>();
+			// (work-stealing workers run as tasks of the shared thread pool, which
+			// allows nested parfor and multi-threaded operations to reuse this pool)
+			boolean workStealing = (_taskPartitioner == PTaskPartitioner.WORK_STEALING);
+			LocalTaskQueue<Task> queue = workStealing ?
+				new WorkStealingTaskQueue(_numThreads) : new LocalTaskQueue<>();
 			Thread[] threads         = new Thread[_numThreads];
 			LocalParWorker[] workers = new LocalParWorker[_numThreads];
 			IntStream.range(0, _numThreads).parallel().forEach(i -> {
 				workers[i] = createParallelWorker( _pwIDs[i], queue, ec, i);
-				threads[i] = new Thread( workers[i] );
-				threads[i].setPriority(Thread.MAX_PRIORITY);
+				if( !workStealing ) {
+					threads[i] = new Thread( workers[i] );
+					threads[i].setPriority(Thread.MAX_PRIORITY);
+				}
 			});
 			
 			// start threads (from now on waiting for tasks)
-			for( Thread thread : threads )
-				thread.start();
+			if( !workStealing )
+				for( Thread thread : threads )
+					thread.start();
 			
 			//maintain statistics
 			long tinit = (long) time.stop();
@@ -755,7 +778,7 @@ public class ParForProgramBlock extends ForProgramBlock
 			TaskPartitioner partitioner = createTaskPartitioner(from, to, incr);
 			long numIterations = partitioner.getNumIterations();
 			long numCreatedTasks = -1;
-			if( USE_STREAMING_TASK_CREATION )
+			if( USE_STREAMING_TASK_CREATION || workStealing )
 			{
 				//put tasks into queue (parworker start work on first tasks while creating tasks) 
 				numCreatedTasks = partitioner.createTasks(queue);
@@ -776,8 +799,14 @@ public class ParForProgramBlock extends ForProgramBlock
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_INIT_TASKS_T, time.stop());
 			
 			// Step 3) join all threads (wait for finished work)
-			for( Thread thread : threads )
-				thread.join();
+			if( workStealing ) {
+				executeWorkStealingWorkers(ec, workers);
+				numCreatedTasks = ((WorkStealingTaskQueue)queue).getNumCreatedTasks();
+			}
+			else {
+				for( Thread thread : threads )
+					thread.join();
+			}
 			
 			if( _monitor ) 
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_WAIT_EXEC_T, time.stop());
@@ -835,6 +864,53 @@ public class ParForProgramBlock extends ForProgramBlock
 		}
 	}
 
+	private void executeWorkStealingWorkers(ExecutionContext ec, LocalParWorker[] workers) {
+		//submit all but the first worker to the shared pool (if k equals the local
+		//parallelism), and execute the first worker in the current thread which
+		//would otherwise just block on join (and might itself be a pool thread)
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		
+		//obtain thread-local state of the current thread, which is overwritten
+		//by the first worker (compiler config, and fair scheduler pool)
+		CompilerConfig cconf = ConfigurationManager.getCompilerConfig();
+		boolean spark = OptimizerUtils.isSparkExecutionMode()
+			&& SparkExecutionContext.isSparkContextCreated();
+		String sparkPool = spark ? ((SparkExecutionContext)ec)
+			.getSparkContext().getLocalProperty("spark.scheduler.pool") : null;
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for( int i=1; i<workers.length; i++ ) {
+				LocalParWorker worker = workers[i];
+				tasks.add(pool.submit(() -> {
+					try {
+						worker.run();
+					}
+					finally {
+						//prevent leaking the parfor configuration into later pool tasks
+						ConfigurationManager.clearLocalConfigs();
+					}
+				}));
+			}
+			try {
+				workers[0].run();
+			}
+			finally {
+				ConfigurationManager.setLocalConfig(cconf);
+				if( spark )
+					((SparkExecutionContext)ec).getSparkContext()
+						.setLocalProperty("spark.scheduler.pool", sparkPool);
+			}
+			for( Future<?> task : tasks )
+				task.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
 	private void executeRemoteSparkParFor(ExecutionContext ec, IntObject itervar, IntObject from, IntObject to, IntObject incr) 
 	{
 		Timing time = ( _monitor ? new Timing(true) : null );
@@ -1221,6 +1297,7 @@ public class ParForProgramBlock extends ForProgramBlock
 			ParForBody body = new ParForBody( cpChildBlocks, _resultVars, cpEc );
 			pw = new LocalParWorker( pwID, queue, body, cconf, MAX_RETRYS_ON_ERROR, _monitor );
 			pw.setFunctionNames(fnNames);
+			pw.setWorkerIndex(index);
 		}
 		catch(Exception ex) {
 			throw new RuntimeException(ex);
@@ -1268,7 +1345,11 @@ public class ParForProgramBlock extends ForProgramBlock
 				//for constrained factoring the tasksize is used as the minimum constraint
 				tp = new TaskPartitionerFactoringCmax(_taskSize,_numThreads, 
 					_taskSize, _iterPredVar, from, to, incr);
-				break;	
+				break;
+			case WORK_STEALING:
+				tp = new TaskPartitionerWorkStealing(
+					_taskSize, _numThreads, _iterPredVar, from, to, incr);
+				break;
 			default:
 				throw new DMLRuntimeException("Undefined task partitioner: '"+_taskPartitioner+"'.");
 		}
@@ -1444,7 +1525,7 @@ public class ParForProgramBlock extends ForProgramBlock
 						vars.get(var._name)).toArray(MatrixObject[]::new);
 					String fname = constructResultMergeFileName();
 					ResultMerge rm = createResultMerge(_resultMerge, out, in, fname, var._isAccum, ec);
-					MatrixObject outNew = USE_PARALLEL_RESULT_MERGE ?
+					MatrixObject outNew = checkParallelLocalResultMerge(out) ?
 						rm.executeParallelMerge(_numThreads) :
 						rm.executeSerialMerge();
 					
@@ -1509,6 +1590,20 @@ public class ParForProgramBlock extends ForProgramBlock
 			&& _resultMerge == PResultMerge.REMOTE_SPARK);
 	}
 
+	/**
+	 * Indicates if the local result merge of the given output should be executed
+	 * in parallel, which is beneficial for large outputs because the in-memory
+	 * parallel merge partitions the output rows across all threads.
+	 * 
+	 * @param out output matrix object
+	 * @return true if parallel result merge
+	 */
+	private boolean checkParallelLocalResultMerge(MatrixObject out) {
+		return USE_PARALLEL_RESULT_MERGE || (_numThreads > 1
+			&& (_resultMerge == PResultMerge.LOCAL_MEM || _resultMerge == PResultMerge.LOCAL_AUTOMATIC)
+			&& out.getNumRows() * out.getNumColumns() >= PAR_RESULT_MERGE_MIN_CELLS);
+	}
+
 	private void setParForProgramBlockIDs(int IDPrefix) {
 		_IDPrefix = IDPrefix;
 		if( _IDPrefix == -1 ) //not specified
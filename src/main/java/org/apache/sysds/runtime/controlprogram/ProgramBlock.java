@@ -36,11 +36,15 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.DMLScriptException;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysds.runtime.controlprogram.caching.NextUseHints;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.Instruction;
 import org.apache.sysds.runtime.instructions.cp.BooleanObject;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.Data;
 import org.apache.sysds.runtime.instructions.cp.DoubleObject;
 import org.apache.sysds.runtime.instructions.cp.IntObject;
@@ -50,6 +54,8 @@ import org.apache.sysds.runtime.lineage.LineageCache;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.privacy.propagation.PrivacyPropagator;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.utils.InstructionTracer;
 import org.apache.sysds.utils.Statistics;
 
 public abstract class ProgramBlock implements ParseInfo {
@@ -68,6 +74,12 @@ public abstract class ProgramBlock implements ParseInfo {
 	protected StatementBlock _sb = null;
 	protected long _tid = 0; // by default _t0
 
+	// cached next-use hints for lookahead eviction
+	private volatile NextUseHints _nextUseHints = null;
+
+	// cached dataflow schedule for inter-operator parallelism
+	private volatile InstructionScheduler _scheduler = null;
+
 	public ProgramBlock(Program prog) {
 		_prog = prog;
 	}
@@ -192,11 +204,67 @@ public abstract class ProgramBlock implements ParseInfo {
 	}
 
 	protected void executeInstructions(ArrayList<Instruction> inst, ExecutionContext ec) {
+		// next-use hints for lookahead eviction
+		boolean lookahead = CacheableData.CACHING_BUFFER_POLICY == RPolicy.LOOKAHEAD
+			&& CacheableData.isCachingActive();
+
+		// optional inter-operator parallelism of independent instructions
+		int k = ConfigurationManager.getInterOpParallelism();
+		if(k > 1 && !lookahead && executeInstructionsParallel(inst, ec, k))
+			return;
+		NextUseHints hints = lookahead ? getNextUseHints(inst) : null;
+		if(hints != null)
+			hints.init(ec);
+
 		for(int i = 0; i < inst.size(); i++) {
 			// indexed access required due to dynamic add
 			Instruction currInst = inst.get(i);
+			// read-ahead of evicted inputs of the next instruction
+			if((CacheableData.CACHING_EVICTION_READAHEAD || lookahead) && i + 1 < inst.size())
+				prefetchInputs(currInst, inst.get(i + 1), ec);
 			// execute instruction
 			executeSingleInstruction(currInst, ec);
+			if(hints != null)
+				hints.update(i, ec);
+		}
+	}
+
+	private boolean executeInstructionsParallel(ArrayList<Instruction> inst, ExecutionContext ec, int k) {
+		// sequential execution for order-dependent tracing and deduplication,
+		// and in parfor workers or pool threads to avoid oversubscription
+		if(InstructionTracer.isEnabled() || CHECK_MATRIX_PROPERTIES || DMLScript.LINEAGE_DEDUP || _tid != 0
+			|| CommonThreadPool.isSharedPoolThread())
+			return false;
+		// reuse schedule across executions of unchanged instructions
+		InstructionScheduler sched = _scheduler;
+		if(sched == null || !sched.isValid(inst))
+			_scheduler = sched = new InstructionScheduler(inst);
+		if(!sched.isBeneficial())
+			return false;
+		sched.execute(this, ec, k);
+		return true;
+	}
+
+	private NextUseHints getNextUseHints(ArrayList<Instruction> inst) {
+		// reuse hints across executions of unchanged instructions
+		NextUseHints hints = _nextUseHints;
+		if(hints == null || !hints.isValid(inst))
+			_nextUseHints = hints = new NextUseHints(inst, _sb);
+		return hints;
+	}
+
+	private static void prefetchInputs(Instruction currInst, Instruction nextInst, ExecutionContext ec) {
+		if(!(nextInst instanceof ComputationCPInstruction))
+			return;
+		String currOut = (currInst instanceof ComputationCPInstruction) ?
+			((ComputationCPInstruction) currInst).getOutputVariableName() : null;
+		for(CPOperand in : ((ComputationCPInstruction) nextInst).getInputs()) {
+			// skip inputs produced by the current instruction
+			if(in == null || !in.isMatrix() || in.getName().equals(currOut))
+				continue;
+			Data dat = ec.getVariables().get(in.getName());
+			if(dat instanceof CacheableData)
+				((CacheableData<?>) dat).prefetch();
 		}
 	}
 
@@ -234,16 +302,18 @@ public abstract class ProgramBlock implements ParseInfo {
 		return ret;
 	}
 
-	private void executeSingleInstruction(Instruction currInst, ExecutionContext ec) {
+	void executeSingleInstruction(Instruction currInst, ExecutionContext ec) {
 		try {
 			// start time measurement for statistics
-			long t0 = (DMLScript.STATISTICS || LOG.isTraceEnabled()) ? System.nanoTime() : 0;
+			long t0 = (DMLScript.STATISTICS || LOG.isTraceEnabled()
+				|| InstructionTracer.isEnabled()) ? System.nanoTime() : 0;
 
 			// pre-process instruction (inst patching, listeners, lineage)
 			Instruction tmp = currInst.preprocessInstruction(ec);
 
 			// try to reuse instruction result from lineage cache
-			if(!LineageCache.reuse(tmp, ec)) {
+			boolean reused = LineageCache.reuse(tmp, ec);
+			if(!reused) {
 				long et0 = (!ReuseCacheType.isNone() || DMLScript.LINEAGE_ESTIMATE) ? System.nanoTime() : 0;
 
 				// process actual instruction
@@ -261,6 +331,10 @@ public abstract class ProgramBlock implements ParseInfo {
 				}
 			}
 
+			// optional per-instruction trace (incl input/output meta data)
+			if(InstructionTracer.isEnabled())
+				InstructionTracer.traceInstruction(tmp, this, ec, t0, reused);
+
 			// propagate input privacy constraints to output
 			PrivacyPropagator.postProcessInstruction(tmp, ec);
 
@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.DenseBlockFP64;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Recycling allocator for the double and int arrays of dense and sparse (CSR)
+ * blocks, which reduces garbage collection overheads for intermediates of
+ * iterative scripts. Arrays of exclusively owned intermediates are released
+ * on variable cleanup (rmvar) and handed out by subsequent allocations of the
+ * same size class.
+ * 
+ * Released arrays are kept in small thread-local caches and a shared pool of
+ * soft references, which is bounded by a fraction of the max heap size. Since
+ * dense and CSR arrays are exposed with their length (e.g., via the dense block
+ * values), size classes are exact array lengths, which matches the common case
+ * of equally-sized intermediates across loop iterations.
+ * 
+ * Arrays are only recycled if they were registered by exactly one instruction
+ * output, i.e., arrays of external inputs (e.g., reads, JMLC, MLContext) and
+ * arrays shared by multiple outputs (e.g., shallow copies) are never recycled.
+ */
+public class BlockBufferPool
+{
+	//enables the recycling of dense and sparse block buffers
+	public static boolean ACTIVE = false;
+	//fraction of the max heap size for the shared pool
+	public static double MEM_FRACTION = 0.05;
+	
+	//min number of elements of recycled arrays (smaller arrays are cheap to allocate)
+	public static final int MIN_SIZE = 4 * 1024;
+	//max number of elements and size classes of the thread-local caches
+	private static final int LOCAL_MAX_SIZE = 128 * 1024;
+	private static final int LOCAL_SIZE_CLASSES = 8;
+	
+	//ownership of arrays exposed by instruction outputs (true) and inputs (false),
+	//where the identity of arrays is used as weak key
+	private static final Map<Object, Boolean> _owned = new WeakHashMap<>();
+	
+	//shared pools of soft references per size class, and thread-local caches
+	private static final ConcurrentHashMap<Integer, ConcurrentLinkedDeque<SoftReference<double[]>>> _sharedFP64 = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<Integer, ConcurrentLinkedDeque<SoftReference<int[]>>> _sharedINT32 = new ConcurrentHashMap<>();
+	private static final ThreadLocal<HashMap<Integer, double[]>> _localFP64 = ThreadLocal.withInitial(HashMap::new);
+	private static final ThreadLocal<HashMap<Integer, int[]>> _localINT32 = ThreadLocal.withInitial(HashMap::new);
+	private static final AtomicLong _size = new AtomicLong(0);
+	private static long _limit = -1;
+	
+	//allocation and reuse statistics
+	private static final LongAdder _numAlloc = new LongAdder();
+	private static final LongAdder _numReuse = new LongAdder();
+	private static final LongAdder _numRelease = new LongAdder();
+	
+	public static double[] allocDouble(int len) {
+		if( !ACTIVE || len < MIN_SIZE )
+			return new double[len];
+		double[] ret = _localFP64.get().remove(len);
+		if( ret == null )
+			ret = pollShared(_sharedFP64, len, 8);
+		if( ret != null ) {
+			Arrays.fill(ret, 0);
+			_numReuse.increment();
+			return ret;
+		}
+		_numAlloc.increment();
+		return new double[len];
+	}
+	
+	public static int[] allocInt(int len) {
+		if( !ACTIVE || len < MIN_SIZE )
+			return new int[len];
+		int[] ret = _localINT32.get().remove(len);
+		if( ret == null )
+			ret = pollShared(_sharedINT32, len, 4);
+		if( ret != null ) {
+			Arrays.fill(ret, 0);
+			_numReuse.increment();
+			return ret;
+		}
+		_numAlloc.increment();
+		return new int[len];
+	}
+	
+	/**
+	 * Registers the arrays of an instruction output. Arrays that were
+	 * already exposed before (by other outputs or inputs) are marked as
+	 * shared, and thus, never recycled.
+	 * 
+	 * @param mb output matrix block
+	 */
+	public static void registerOutput(MatrixBlock mb) {
+		if( !ACTIVE )
+			return;
+		Object[] arrays = getArrays(mb);
+		if( arrays == null )
+			return;
+		synchronized( _owned ) {
+			for( Object a : arrays )
+				_owned.put(a, !_owned.containsKey(a));
+		}
+	}
+	
+	/**
+	 * Registers the arrays of an acquired input, which marks arrays
+	 * of external inputs (not registered as outputs) as shared.
+	 * 
+	 * @param mb input matrix block
+	 */
+	public static void registerInput(MatrixBlock mb) {
+		if( !ACTIVE )
+			return;
+		Object[] arrays = getArrays(mb);
+		if( arrays == null )
+			return;
+		synchronized( _owned ) {
+			for( Object a : arrays )
+				_owned.putIfAbsent(a, false);
+		}
+	}
+	
+	/**
+	 * Releases the exclusively owned arrays of the given matrix block
+	 * to the pool. The block itself is cleaned up and must not be used
+	 * afterwards.
+	 * 
+	 * @param mb matrix block of a removed variable
+	 */
+	public static void release(MatrixBlock mb) {
+		if( !ACTIVE )
+			return;
+		Object[] arrays = getArrays(mb);
+		if( arrays == null )
+			return;
+		boolean[] owned = new boolean[arrays.length];
+		synchronized( _owned ) {
+			for( int i=0; i<arrays.length; i++ ) {
+				owned[i] = Boolean.TRUE.equals(_owned.get(arrays[i]));
+				if( owned[i] )
+					_owned.remove(arrays[i]);
+			}
+		}
+		mb.cleanupBlock(true, true);
+		for( int i=0; i<arrays.length; i++ ) {
+			if( !owned[i] )
+				continue;
+			if( arrays[i] instanceof double[] )
+				releaseIntern((double[])arrays[i], ((double[])arrays[i]).length, 8, _localFP64.get(), _sharedFP64);
+			else
+				releaseIntern((int[])arrays[i], ((int[])arrays[i]).length, 4, _localINT32.get(), _sharedINT32);
+		}
+	}
+	
+	public static void clear() {
+		_sharedFP64.clear();
+		_sharedINT32.clear();
+		_localFP64.remove();
+		_localINT32.remove();
+		_size.set(0);
+		synchronized( _owned ) {
+			_owned.clear();
+		}
+	}
+	
+	public static long getNumReuses() {
+		return _numReuse.longValue();
+	}
+	
+	public static void resetStatistics() {
+		_numAlloc.reset();
+		_numReuse.reset();
+		_numRelease.reset();
+	}
+	
+	public static String displayStatistics() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numAlloc.longValue());
+		sb.append("/");
+		sb.append(_numReuse.longValue());
+		sb.append("/");
+		sb.append(_numRelease.longValue());
+		return sb.toString();
+	}
+	
+	private static Object[] getArrays(MatrixBlock mb) {
+		if( mb == null || mb.isEmptyBlock(false) )
+			return null;
+		if( !mb.isInSparseFormat() ) {
+			DenseBlock db = mb.getDenseBlock();
+			return (db instanceof DenseBlockFP64 && db.numBlocks() == 1) ?
+				new Object[]{db.valuesAt(0)} : null;
+		}
+		SparseBlock sb = mb.getSparseBlock();
+		if( sb instanceof SparseBlockCSR ) {
+			SparseBlockCSR csr = (SparseBlockCSR) sb;
+			return new Object[]{csr.rowPointers(), csr.indexes(), csr.values()};
+		}
+		return null;
+	}
+	
+	private static <T> T pollShared(ConcurrentHashMap<Integer, ConcurrentLinkedDeque<SoftReference<T>>> pool, int len, int bytes) {
+		ConcurrentLinkedDeque<SoftReference<T>> list = pool.get(len);
+		if( list == null )
+			return null;
+		SoftReference<T> ref = null;
+		while( (ref = list.pollFirst()) != null ) {
+			_size.addAndGet(-(long)len * bytes);
+			T tmp = ref.get();
+			if( tmp != null )
+				return tmp;
+		}
+		return null;
+	}
+	
+	private static <T> void releaseIntern(T data, int len, int bytes, HashMap<Integer, T> local,
+		ConcurrentHashMap<Integer, ConcurrentLinkedDeque<SoftReference<T>>> pool)
+	{
+		if( len < MIN_SIZE )
+			return;
+		_numRelease.increment();
+		//thread-local cache of small and medium arrays
+		if( len <= LOCAL_MAX_SIZE && local.size() < LOCAL_SIZE_CLASSES && !local.containsKey(len) ) {
+			local.put(len, data);
+			return;
+		}
+		//shared pool w/ memory budget (otherwise drop)
+		long size = (long)len * bytes;
+		if( _size.addAndGet(size) > getLimit() ) {
+			_size.addAndGet(-size);
+			return;
+		}
+		pool.computeIfAbsent(len, k -> new ConcurrentLinkedDeque<>())
+			.addLast(new SoftReference<>(data));
+	}
+	
+	private static long getLimit() {
+		if( _limit < 0 )
+			_limit = (long)(MEM_FRACTION * InfrastructureAnalyzer.getLocalMaxMemory());
+		return _limit;
+	}
+}
@@ -39,6 +39,7 @@ public class ByteBuffer
 	private volatile boolean _serialized;	
 	private volatile boolean _shallow;
 	private volatile boolean _matrix;
+	private boolean _freed; //guarded by this
 	private final long _size;
 	
 	protected byte[]     _bdata = null; //sparse matrix
@@ -84,10 +85,20 @@ public class ByteBuffer
 		_serialized = true;
 	}
 
-	public CacheBlock deserializeBlock() 
+	/**
+	 * Deserializes the buffered cache block. Since buffers of pending
+	 * asynchronous evictions are freed concurrently, this method returns
+	 * null if the buffer was already freed (and thus, fully evicted).
+	 * 
+	 * @return cache block, or null if already freed
+	 * @throws IOException if IOException occurs
+	 */
+	public synchronized CacheBlock deserializeBlock() 
 		throws IOException
 	{
 		CacheBlock ret = null;
+		if( _freed )
+			return null;
 		
 		if( !_shallow ) { //sparse matrix / string frame
 			DataInput din = _matrix ? new CacheDataInput(_bdata) :
@@ -104,17 +115,47 @@ public class ByteBuffer
 
 	public void evictBuffer( String fname ) 
 		throws IOException
+	{
+		evictBuffer(fname, false);
+	}
+	
+	/**
+	 * Writes the buffered cache block to the local file system.
+	 * 
+	 * @param fname file name
+	 * @param compress if true, compress the serialized block
+	 * @return number of written bytes
+	 * @throws IOException if IOException occurs
+	 */
+	public long evictBuffer( String fname, boolean compress ) 
+		throws IOException
 	{
 		if( !_shallow ) {
 			//write out byte serialized array
+			if( compress )
+				return LocalFileUtils.writeCompressedByteArrayToLocal(fname, _bdata);
 			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
+			return _bdata.length;
 		}
 		else {
 			//serialize cache block to output stream
+			if( compress )
+				return LocalFileUtils.writeCompressedCacheBlockToLocal(fname, _cdata);
 			LocalFileUtils.writeCacheBlockToLocal(fname, _cdata);
+			return _cdata.getExactSerializedSize();
 		}
 	}
 	
+	/**
+	 * Returns the serialized size in bytes, which for shallow
+	 * serialized blocks might differ from the buffer size.
+	 * 
+	 * @return serialized size in bytes
+	 */
+	public long getSerializedSize() {
+		return _shallow ? _cdata.getExactSerializedSize() : _bdata.length;
+	}
+	
 	/**
 	 * Returns the buffer size in bytes.
 	 * 
@@ -128,8 +169,11 @@ public class ByteBuffer
 		return _shallow;
 	}
 	
-	public void freeMemory()
+	public synchronized void freeMemory()
 	{
+		if( _freed )
+			return;
+		_freed = true;
 		//clear strong references to buffer/matrix
 		if( !_shallow ) {
 			if( CacheableData.CACHING_BUFFER_PAGECACHE )
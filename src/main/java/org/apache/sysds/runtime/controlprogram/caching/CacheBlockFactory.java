@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.controlprogram.caching;
 
 import java.util.ArrayList;
 
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.data.TensorBlock;
 import org.apache.sysds.runtime.data.TensorIndexes;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
@@ -40,12 +41,15 @@ public class CacheBlockFactory
 			case 0: return new MatrixBlock();
 			case 1: return new FrameBlock();
 			case 2: return new TensorBlock();
+			case 3: return new CompressedMatrixBlock();
 		}
 		throw new RuntimeException("Unsupported cache block type: "+code);
 	}
 
 	public static int getCode(CacheBlock block) {
-		if (block instanceof MatrixBlock)
+		if (block instanceof CompressedMatrixBlock)
+			return 3;
+		else if (block instanceof MatrixBlock)
 			return 0;
 		else if (block instanceof FrameBlock)
 			return 1;
@@ -57,7 +61,8 @@ public class CacheBlockFactory
 	public static ArrayList<?> getPairList(CacheBlock block) {
 		int code = getCode(block);
 		switch (code) {
-			case 0: return new ArrayList<Pair<MatrixIndexes, MatrixBlock>>();
+			case 0:
+			case 3: return new ArrayList<Pair<MatrixIndexes, MatrixBlock>>();
 			case 1: return new ArrayList<Pair<Long, FrameBlock>>();
 			case 2: return new ArrayList<Pair<TensorIndexes, TensorBlock>>();
 		}
@@ -69,6 +69,12 @@ public class CacheStatistics
 	private static final LongAdder _ctimeAcquireM   = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeRelease    = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeExport     = new LongAdder(); //in nano sec
+	
+	//spill statistics caching (eviction to local FS)
+	private static final LongAdder _numSpillBytes   = new LongAdder();
+	private static final LongAdder _numSpillRawBytes= new LongAdder();
+	private static final LongAdder _numPrefetchHits = new LongAdder();
+	private static final LongAdder _ctimeStall      = new LongAdder(); //in nano sec
 
 	public static void reset() {
 		_numHitsMem.reset();
@@ -86,6 +92,11 @@ public class CacheStatistics
 		_ctimeAcquireM.reset();
 		_ctimeRelease.reset();
 		_ctimeExport.reset();
+		
+		_numSpillBytes.reset();
+		_numSpillRawBytes.reset();
+		_numPrefetchHits.reset();
+		_ctimeStall.reset();
 	}
 
 	public static void incrementMemHits() {
@@ -228,6 +239,35 @@ public class CacheStatistics
 		return _ctimeExport.longValue();
 	}
 	
+	public static void incrementSpillBytes(long rawBytes, long bytes) {
+		_numSpillRawBytes.add(rawBytes);
+		_numSpillBytes.add(bytes);
+	}
+	
+	public static long getSpillBytes() {
+		return _numSpillBytes.longValue();
+	}
+	
+	public static long getSpillRawBytes() {
+		return _numSpillRawBytes.longValue();
+	}
+	
+	public static void incrementPrefetchHits() {
+		_numPrefetchHits.increment();
+	}
+	
+	public static long getPrefetchHits() {
+		return _numPrefetchHits.longValue();
+	}
+	
+	public static void incrementStallTime(long delta) {
+		_ctimeStall.add(delta);
+	}
+	
+	public static long getStallTime() {
+		return _ctimeStall.longValue();
+	}
+	
 	public static String displayHits() {
 		StringBuilder sb = new StringBuilder();
 		sb.append(_numHitsMem.longValue());
@@ -268,4 +308,19 @@ public class CacheStatistics
 		
 		return sb.toString();
 	}
+	
+	public static String displaySpill() {
+		long bytes = _numSpillBytes.longValue();
+		StringBuilder sb = new StringBuilder();
+		sb.append(bytes);
+		sb.append("/");
+		sb.append(String.format("%.2f", (bytes > 0) ?
+			(double)_numSpillRawBytes.longValue()/bytes : 1.0));
+		sb.append("/");
+		sb.append(_numPrefetchHits.longValue());
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimeStall.longValue())/1000000000)); //in sec
+		
+		return sb.toString();
+	}
 }
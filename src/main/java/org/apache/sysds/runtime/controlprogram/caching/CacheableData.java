@@ -59,6 +59,8 @@ import org.apache.sysds.runtime.meta.MetaData;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
 import org.apache.sysds.runtime.util.HDFSTool;
 import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.utils.InstructionTracer;
+import org.apache.sysds.utils.InstructionTracer.EventType;
 import org.apache.sysds.utils.Statistics;
 
 
@@ -83,13 +85,17 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public static final long    CACHING_THRESHOLD = (long)Math.max(4*1024, //obj not s.t. caching
 		1e-5 * InfrastructureAnalyzer.getLocalMaxMemory());       //if below threshold [in bytes]
 	public static final double CACHING_BUFFER_SIZE = 0.15;
-	public static final RPolicy CACHING_BUFFER_POLICY = RPolicy.FIFO;
+	public static RPolicy CACHING_BUFFER_POLICY = RPolicy.FIFO;
 	public static final boolean CACHING_BUFFER_PAGECACHE = false;
 	public static final boolean CACHING_WRITE_CACHE_ON_READ = false;
 	public static final String  CACHING_COUNTER_GROUP_NAME = "SystemDS Caching Counters";
 	public static final String  CACHING_EVICTION_FILEEXTENSION = ".dat";
 	public static final boolean CACHING_ASYNC_FILECLEANUP = true;
 	public static final boolean CACHING_ASYNC_SERIALIZE = false;
+	public static boolean CACHING_ASYNC_EVICTION = false;  //background writer for evictions
+	public static double  CACHING_ASYNC_EVICTION_BUFFER = 0.5; //max pending evictions (fraction of buffer)
+	public static boolean CACHING_EVICTION_COMPRESS = false; //compressed eviction files
+	public static boolean CACHING_EVICTION_READAHEAD = false; //read-ahead of evicted inputs
 	
 	//NOTE CACHING_ASYNC_SERIALIZE:
 	// The serialization of matrices and frames (ultra-sparse matrices or 
@@ -472,7 +478,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	 * @return cacheable data
 	 */
 	public T acquireRead() {
-		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		long t0 = (DMLScript.STATISTICS || InstructionTracer.isEnabled()) ? System.nanoTime() : 0;
 		
 		//core internal acquire (synchronized per object)
 		T ret = acquireReadIntern();
@@ -486,6 +492,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			long t1 = System.nanoTime();
 			CacheStatistics.incrementAcquireRTime(t1-t0);
 		}
+		if( InstructionTracer.isEnabled() )
+			InstructionTracer.traceCacheEvent(EventType.PIN, _hdfsFileName,
+				(_metaData != null) ? getDataCharacteristics() : null, t0);
 		
 		return ret;
 	}
@@ -955,6 +964,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		if (_data != null)
 			throw new DMLRuntimeException(cacheFilePathAndName + " : Cannot restore on top of existing in-memory data.");
 
+		long t0 = InstructionTracer.isEnabled() ? System.nanoTime() : 0;
 		try {
 			_data = readBlobFromCache(cacheFilePathAndName);
 		}
@@ -965,6 +975,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		//check for success
 		if (_data == null)
 			throw new DMLRuntimeException (cacheFilePathAndName + " : Restore failed.");
+		if( InstructionTracer.isEnabled() )
+			InstructionTracer.traceCacheEvent(EventType.RESTORE, cacheFilePathAndName,
+				(_metaData != null) ? getDataCharacteristics() : null, t0);
 		
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Restoring matrix - COMPLETED ... " + (System.currentTimeMillis()-begin) + " msec.");
@@ -973,6 +986,38 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	protected abstract T readBlobFromCache(String fname)
 		throws IOException;
 	
+	/**
+	 * Passes a compile-time next-use hint to the buffer pool, which is
+	 * used by the lookahead eviction policy.
+	 * 
+	 * @param distance number of instructions until the next use,
+	 *   or Long.MAX_VALUE if there is no known next use
+	 */
+	public void setNextUse(long distance) {
+		if( isCachingActive() )
+			LazyWriteBuffer.setNextUse(getCacheFilePathAndName(), distance);
+	}
+	
+	/**
+	 * Issues an asynchronous read-ahead of the evicted data blob, which
+	 * is a no-op if the blob is in memory or not evicted to local FS
+	 * (currently only matrices with known size and number of non-zeros).
+	 * This call is a hint for upcoming accesses and does not change the
+	 * cache status.
+	 */
+	public synchronized void prefetch() {
+		if( !isCachingActive() || !isCached(false) || hasValidLineage() )
+			return;
+		if( _data != null || (_cache != null && _cache.get() != null) )
+			return;
+		//prefetch only blocks w/ known size (for memory budget)
+		DataCharacteristics dc = (_metaData != null) ? getDataCharacteristics() : null;
+		if( !(this instanceof MatrixObject) || dc == null || !dc.dimsKnown(true) )
+			return;
+		LazyWriteBuffer.prefetchBlock(getCacheFilePathAndName(),
+			true, OptimizerUtils.estimateSizeExactSparsity(dc));
+	}
+	
 	/**
 	 * Low-level cache I/O method that deletes the file containing the
 	 * evicted data blob, without reading it.
@@ -20,27 +20,43 @@
 package org.apache.sysds.runtime.controlprogram.caching;
 
 import java.io.IOException;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.utils.InstructionTracer;
+import org.apache.sysds.utils.InstructionTracer.EventType;
 
 public class LazyWriteBuffer 
 {
 	public enum RPolicy {
 		FIFO, //first-in, first-out eviction
-		LRU   //least recently used eviction
+		LRU,  //least recently used eviction
+		LOOKAHEAD //furthest next use eviction (compile-time hints)
 	}
 	
 	//global size limit in bytes
 	private static final long _limit;
 	
+	//max number of concurrent read-ahead blocks
+	private static final int MAX_PREFETCH = 2;
+	
 	//current size in bytes
 	private static long _size;
 	
@@ -51,6 +67,26 @@ public class LazyWriteBuffer
 	//maintenance service for synchronous or asynchronous delete of evicted files
 	private static MaintenanceService _fClean;
 	
+	//pending asynchronous evictions of <filename,buffer> pairs and their
+	//total size in bytes, as well as deletes deferred until written out
+	//(guarded by the eviction queue, which is also used for waiting)
+	private static HashMap<String, ByteBuffer> _pending;
+	private static long _pendingSize;
+	private static HashSet<String> _pendingDeletes;
+	
+	//read-ahead of evicted files (guarded by the eviction queue)
+	private static HashMap<String, Future<CacheBlock>> _prefetch;
+	
+	//evicted files written with compression
+	private static Set<String> _compressed;
+	
+	//next-use hints of <filename,logical time> pairs for lookahead eviction, only
+	//kept for queued blocks (guarded by the eviction queue), and logical clock of instructions
+	private static HashMap<String, Long> _nextUse;
+	private static final AtomicLong _clock = new AtomicLong(0);
+	
+	private static final Log LOG = LogFactory.getLog(LazyWriteBuffer.class.getName());
+	
 	static {
 		//obtain the logical buffer size in bytes
 		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
@@ -65,6 +101,7 @@ public class LazyWriteBuffer
 		boolean requiresWrite = (lSize > _limit        //global buffer limit
 			|| !ByteBuffer.isValidCapacity(lSize, cb)); //local buffer limit
 		int numEvicted = 0;
+		long tstall = 0;
 		
 		//handle caching/eviction if it fits in writebuffer
 		if( !requiresWrite ) 
@@ -75,23 +112,48 @@ public class LazyWriteBuffer
 			//modify buffer pool
 			synchronized( _mQueue )
 			{
+				//wait for pending eviction of a previous version
+				tstall += waitForPending(() -> _pending.containsKey(fname));
+				_prefetch.remove(fname);
+				
 				//evict matrices to make room (by default FIFO)
 				while( _size+lSize > _limit && !_mQueue.isEmpty() )
 				{
 					//remove first entry from eviction queue
-					Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
+					Entry<String, ByteBuffer> entry =
+						(CacheableData.CACHING_BUFFER_POLICY == RPolicy.LOOKAHEAD) ?
+						_mQueue.removeFurthest(_nextUse, _clock.get()) : _mQueue.removeFirst();
 					String ftmp = entry.getKey();
 					ByteBuffer tmp = entry.getValue();
+					_nextUse.remove(ftmp);
 					
 					if( tmp != null ) {
+						long t0 = InstructionTracer.isEnabled() ? System.nanoTime() : 0;
+						
 						//wait for pending serialization
 						tmp.checkSerialized();
 						
-						//evict matrix
-						tmp.evictBuffer(ftmp);
-						tmp.freeMemory();
+						if( CacheableData.CACHING_ASYNC_EVICTION ) {
+							//hand over the buffer to the background writer (still readable),
+							//but bound the memory of pending evictions (w/o this buffer)
+							long tmpSize = tmp.getSize();
+							evictAsync(ftmp, tmp);
+							tstall += waitForPending(() -> _pendingSize > tmpSize && _pendingSize
+								> CacheableData.CACHING_ASYNC_EVICTION_BUFFER * _limit);
+						}
+						else {
+							//evict matrix
+							long t1 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+							evictBuffer(ftmp, tmp);
+							tmp.freeMemory();
+							if( DMLScript.STATISTICS )
+								tstall += System.nanoTime() - t1;
+						}
 						_size -= tmp.getSize();
 						numEvicted++;
+						
+						if( InstructionTracer.isEnabled() )
+							InstructionTracer.traceCacheEvent(EventType.EVICT, ftmp, null, t0);
 					}
 				}
 				
@@ -110,14 +172,27 @@ public class LazyWriteBuffer
 		}
 		else
 		{
+			synchronized( _mQueue ) {
+				//wait for pending eviction of a previous version
+				tstall += waitForPending(() -> _pending.containsKey(fname));
+				_prefetch.remove(fname);
+			}
+			
 			//write directly to local FS (bypass buffer if too large)
-			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+			long t0 = System.nanoTime();
+			writeToLocal(fname, cb);
+			if( InstructionTracer.isEnabled() )
+				InstructionTracer.traceCacheEvent(EventType.EVICT, fname, null, t0);
 			if( DMLScript.STATISTICS ) {
 				CacheStatistics.incrementFSWrites();
+				tstall += System.nanoTime() - t0;
 			}
 			numEvicted++;
 		}
 		
+		if( DMLScript.STATISTICS && tstall > 0 )
+			CacheStatistics.incrementStallTime(tstall);
+		
 		return numEvicted;
 	}
 	
@@ -134,11 +209,20 @@ public class LazyWriteBuffer
 				requiresDelete = false;
 				ldata.freeMemory(); //cleanup
 			}
+			//defer delete of pending eviction until written
+			else if( _pending.containsKey(fname) ) {
+				_pendingDeletes.add(fname);
+				requiresDelete = false;
+			}
+			_prefetch.remove(fname);
+			_nextUse.remove(fname);
 		}
 		
 		//delete from FS if required
-		if( requiresDelete )
+		if( requiresDelete ) {
+			_compressed.remove(fname);
 			_fClean.deleteFile(fname);
+		}
 	}
 	
 	public static CacheBlock readBlock(String fname, boolean matrix)
@@ -146,6 +230,7 @@ public class LazyWriteBuffer
 	{
 		CacheBlock cb = null;
 		ByteBuffer ldata = null;
+		Future<CacheBlock> fdata = null;
 		
 		//probe write buffer
 		synchronized( _mQueue )
@@ -160,36 +245,236 @@ public class LazyWriteBuffer
 				_mQueue.remove( fname );
 				_mQueue.addLast( fname, ldata );
 			}
+			
+			//probe pending evictions and read-ahead
+			if( ldata == null )
+				ldata = _pending.get(fname);
+			fdata = _prefetch.remove(fname);
 		}
 		
 		//deserialize or read from FS if required
+		//(pending evictions might be freed concurrently)
 		if( ldata != null )
 		{
 			cb = ldata.deserializeBlock();
-			if( DMLScript.STATISTICS )
+			if( cb != null && DMLScript.STATISTICS )
 				CacheStatistics.incrementFSBuffHits();
 		}
-		else
+		if( cb == null && fdata != null )
+		{
+			cb = getPrefetched(fname, fdata);
+			if( cb != null && DMLScript.STATISTICS ) {
+				CacheStatistics.incrementFSHits();
+				CacheStatistics.incrementPrefetchHits();
+			}
+		}
+		if( cb == null )
 		{
-			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
+			cb = readFromLocal(fname, matrix);
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSHits();
 		}
 		
 		return cb;
 	}
+	
+	/**
+	 * Asynchronously reads an evicted block from local FS into memory,
+	 * if the block is neither buffered nor pending, and the write buffer
+	 * has enough free memory. A subsequent read obtains the prefetched
+	 * block, while writes and deletes discard it.
+	 * 
+	 * @param fname file name of the evicted block
+	 * @param matrix true if matrix block, false if frame block
+	 * @param size estimated in-memory size in bytes
+	 */
+	public static void prefetchBlock(String fname, boolean matrix, long size) {
+		synchronized( _mQueue ) {
+			if( _mQueue.containsKey(fname) || _pending.containsKey(fname)
+				|| _prefetch.containsKey(fname) || _prefetch.size() >= MAX_PREFETCH
+				|| size > _limit - _size )
+				return;
+			Future<CacheBlock> fdata = _fClean.readData(fname, matrix);
+			if( fdata != null )
+				_prefetch.put(fname, fdata);
+		}
+	}
+	
+	/**
+	 * Sets the next-use hint of a buffered block for the lookahead eviction
+	 * policy. Hints of blocks that are not in the eviction queue are ignored,
+	 * because only queued blocks are eviction candidates, and hints are
+	 * refreshed on subsequent accesses anyway.
+	 * 
+	 * @param fname file name of the block
+	 * @param distance number of instructions until the next use,
+	 *   or Long.MAX_VALUE if there is no known next use
+	 */
+	public static void setNextUse(String fname, long distance) {
+		long time = (distance == Long.MAX_VALUE) ?
+			Long.MAX_VALUE : _clock.get() + distance;
+		synchronized( _mQueue ) {
+			if( _mQueue.containsKey(fname) )
+				_nextUse.put(fname, time);
+		}
+	}
+	
+	/**
+	 * Advances the logical clock of executed instructions,
+	 * which serves as time base for next-use hints.
+	 */
+	public static void tick() {
+		_clock.incrementAndGet();
+	}
+	
+	private static CacheBlock getPrefetched(String fname, Future<CacheBlock> fdata) {
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		try {
+			return fdata.get();
+		}
+		catch(Exception ex) {
+			//robustness for failed read-ahead (fallback to regular read)
+			LOG.warn("Failed read-ahead of evicted file "+fname+".", ex);
+			return null;
+		}
+		finally {
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementStallTime(System.nanoTime() - t0);
+		}
+	}
+	
+	private static CacheBlock readFromLocal(String fname, boolean matrix)
+		throws IOException
+	{
+		return _compressed.contains(fname) ?
+			LocalFileUtils.readCompressedCacheBlockFromLocal(fname, matrix) :
+			LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
+	}
+	
+	private static void writeToLocal(String fname, CacheBlock cb)
+		throws IOException
+	{
+		boolean compress = CacheableData.CACHING_EVICTION_COMPRESS;
+		long bytes = -1;
+		if( compress ) {
+			bytes = LocalFileUtils.writeCompressedCacheBlockToLocal(fname, cb);
+			_compressed.add(fname);
+		}
+		else {
+			_compressed.remove(fname);
+			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+		}
+		if( DMLScript.STATISTICS ) {
+			long raw = cb.getExactSerializedSize();
+			CacheStatistics.incrementSpillBytes(raw, compress ? bytes : raw);
+		}
+	}
+	
+	private static void evictBuffer(String fname, ByteBuffer bbuff)
+		throws IOException
+	{
+		boolean compress = CacheableData.CACHING_EVICTION_COMPRESS;
+		if( !compress )
+			_compressed.remove(fname);
+		long bytes = bbuff.evictBuffer(fname, compress);
+		if( compress )
+			_compressed.add(fname);
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementSpillBytes(bbuff.getSerializedSize(), bytes);
+	}
+	
+	/**
+	 * Hands over the given buffer to the background writer, where the
+	 * buffer remains readable until written. Must be called w/ lock.
+	 * 
+	 * @param fname file name
+	 * @param bbuff byte buffer
+	 */
+	private static void evictAsync(String fname, ByteBuffer bbuff) {
+		_pending.put(fname, bbuff);
+		_pendingSize += bbuff.getSize();
+		_fClean.evictData(fname, bbuff);
+	}
+	
+	/**
+	 * Writes out a pending eviction (called by the background writer),
+	 * frees its buffer, and performs deferred deletes. If the write fails,
+	 * the buffer is reinserted into the eviction queue for robustness.
+	 * 
+	 * @param fname file name
+	 * @param bbuff byte buffer
+	 */
+	private static void evictPending(String fname, ByteBuffer bbuff) {
+		boolean success = false;
+		try {
+			evictBuffer(fname, bbuff);
+			bbuff.freeMemory();
+			success = true;
+		}
+		catch(Exception ex) {
+			LOG.error("Asynchronous eviction to local path "+fname+" failed.", ex);
+		}
+		finally {
+			synchronized( _mQueue ) {
+				_pending.remove(fname);
+				_pendingSize -= bbuff.getSize();
+				if( _pendingDeletes.remove(fname) ) {
+					_compressed.remove(fname);
+					LocalFileUtils.deleteFileIfExists(fname, true);
+					bbuff.freeMemory();
+				}
+				else if( !success ) {
+					_mQueue.addLast(fname, bbuff);
+					_size += bbuff.getSize();
+				}
+				_mQueue.notifyAll();
+			}
+		}
+	}
+	
+	/**
+	 * Waits (w/ released lock on the eviction queue) as long as the given
+	 * condition on pending evictions holds. Must be called w/ lock.
+	 * 
+	 * @param cond wait condition
+	 * @return wait time in nanoseconds
+	 */
+	private static long waitForPending(BooleanSupplier cond) {
+		if( !cond.getAsBoolean() )
+			return 0;
+		long t0 = System.nanoTime();
+		try {
+			while( cond.getAsBoolean() )
+				_mQueue.wait();
+		}
+		catch(InterruptedException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		return System.nanoTime() - t0;
+	}
 
 	public static void init() {
 		_mQueue = new EvictionQueue();
 		_fClean = new MaintenanceService();
 		_size = 0;
+		_pending = new HashMap<>();
+		_pendingSize = 0;
+		_pendingDeletes = new HashSet<>();
+		_prefetch = new HashMap<>();
+		_compressed = ConcurrentHashMap.newKeySet();
+		_nextUse = new HashMap<>();
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.init();
 	}
 
 	public static void cleanup() {
-		if( _mQueue != null )
-			_mQueue.clear();
+		if( _mQueue != null ) {
+			synchronized( _mQueue ) {
+				_mQueue.clear();
+				_prefetch.clear();
+				_nextUse.clear();
+			}
+		}
 		if( _fClean != null )
 			_fClean.close();
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
@@ -272,10 +557,62 @@ public class LazyWriteBuffer
 				tmp.checkSerialized();
 				
 				//evict matrix
-				tmp.evictBuffer(entry.getKey());
+				evictBuffer(entry.getKey(), tmp);
 				tmp.freeMemory();
 			}
 		}
+		
+		//wait for pending asynchronous evictions
+		synchronized( _mQueue ) {
+			_nextUse.clear();
+			waitForPending(() -> !_pending.isEmpty());
+		}
+	}
+	
+	/**
+	 * Evicts all buffer pool entries via the background writer, without
+	 * waiting for the pending writes to complete.
+	 * NOTE: use only for debugging or testing.
+	 */
+	public static void forceEvictionAsync() {
+		synchronized( _mQueue ) {
+			while( !_mQueue.isEmpty() ) {
+				Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
+				ByteBuffer tmp = entry.getValue();
+				if( tmp != null ) {
+					//wait for pending serialization
+					tmp.checkSerialized();
+					_nextUse.remove(entry.getKey());
+					evictAsync(entry.getKey(), tmp);
+					_size -= tmp.getSize();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Returns the number of next-use hints.
+	 * NOTE: use only for debugging or testing.
+	 * 
+	 * @return number of next-use hints
+	 */
+	public static int getNumNextUseHints() {
+		synchronized( _mQueue ) {
+			return _nextUse.size();
+		}
+	}
+	
+	/**
+	 * Indicates if the given file has a pending asynchronous eviction.
+	 * NOTE: use only for debugging or testing.
+	 * 
+	 * @param fname file name
+	 * @return true if the eviction is pending
+	 */
+	public static boolean isPendingEviction(String fname) {
+		synchronized( _mQueue ) {
+			return _pending.containsKey(fname);
+		}
 	}
 	
 	public static ExecutorService getUtilThreadPool() {
@@ -307,6 +644,30 @@ public class LazyWriteBuffer
 			
 			return entry;
 		}
+		
+		public Entry<String, ByteBuffer> removeFurthest(HashMap<String, Long> nextUse, long now)
+		{
+			//scan entries in FIFO order for the furthest next use, where
+			//entries without valid hint (unknown or passed) are taken first
+			Entry<String, ByteBuffer> ret = null;
+			long max = Long.MIN_VALUE;
+			for( Entry<String, ByteBuffer> e : entrySet() ) {
+				Long time = nextUse.get(e.getKey());
+				if( time == null || time < now ) {
+					ret = e;
+					break;
+				}
+				if( time > max ) {
+					max = time;
+					ret = e;
+				}
+			}
+			
+			//remove selected entry (copy, independent of map internals)
+			ret = new SimpleEntry<>(ret.getKey(), ret.getValue());
+			remove(ret.getKey());
+			return ret;
+		}
 	}
 	
 	/**
@@ -319,6 +680,7 @@ public class LazyWriteBuffer
 	private static class MaintenanceService
 	{
 		private ExecutorService _pool = null;
+		private ExecutorService _evictPool = null;
 		
 		public MaintenanceService() {
 			//create new threadpool for async cleanup
@@ -348,10 +710,25 @@ public class LazyWriteBuffer
 			}
 		}
 		
+		public void evictData(String fname, ByteBuffer bbuff) {
+			//single background writer for sequential writes
+			//(called w/ lock on the eviction queue)
+			if( _evictPool == null )
+				_evictPool = Executors.newSingleThreadExecutor();
+			_evictPool.submit(new DataEvictionTask(fname, bbuff));
+		}
+		
+		public Future<CacheBlock> readData(String fname, boolean matrix) {
+			return (_pool != null) ?
+				_pool.submit(() -> readFromLocal(fname, matrix)) : null;
+		}
+		
 		public void close() {
 			//execute pending tasks and shutdown pool
 			if( isAsync() )
 				_pool.shutdown();
+			if( _evictPool != null )
+				_evictPool.shutdown();
 		}
 		
 		@SuppressWarnings("unused")
@@ -373,6 +750,21 @@ public class LazyWriteBuffer
 			}
 		}
 		
+		private static class DataEvictionTask implements Runnable {
+			private String _fname = null;
+			private ByteBuffer _bbuff = null;
+			
+			public DataEvictionTask(String fname, ByteBuffer bbuff) {
+				_fname = fname;
+				_bbuff = bbuff;
+			}
+			
+			@Override
+			public void run() {
+				evictPending(_fname, _bbuff);
+			}
+		}
+		
 		private static class DataSerializerTask implements Runnable {
 			private ByteBuffer _bbuff = null;
 			private CacheBlock _cb = null;
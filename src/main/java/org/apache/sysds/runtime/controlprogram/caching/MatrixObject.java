@@ -45,6 +45,7 @@ import org.apache.sysds.runtime.instructions.fed.InitFEDInstruction;
 import org.apache.sysds.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysds.runtime.io.FileFormatProperties;
 import org.apache.sysds.runtime.io.ReaderWriterFederated;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
 import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.lineage.LineageRecomputeUtils;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -179,6 +180,28 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		return _markForLinCache;
 	}
 	
+	@Override
+	public MatrixBlock acquireRead() {
+		MatrixBlock ret = super.acquireRead();
+		//mark buffers of inputs as exposed (no-op if not recycling)
+		BlockBufferPool.registerInput(ret);
+		return ret;
+	}
+	
+	/**
+	 * Releases the buffers of the in-memory matrix block to the block buffer
+	 * pool, if exclusively owned and not referenced by rdd, broadcast, GPU,
+	 * federated, or lineage cache handles. This is only called on cleanup
+	 * of unreferenced variables, right before clearing the data.
+	 */
+	public synchronized void releaseBuffers() {
+		if( _data == null || !isAvailableToModify() || _markForLinCache
+			|| getRDDHandle() != null || getBroadcastHandle() != null
+			|| _gpuObjects != null || isFederated() || !ReuseCacheType.isNone() )
+			return;
+		BlockBufferPool.release(_data);
+	}
+	
 	@Override
 	public void updateDataCharacteristics (DataCharacteristics dc) {
 		_metaData.getDataCharacteristics().set(dc);
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.apache.sysds.parser.StatementBlock;
+import org.apache.sysds.parser.VariableSet;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.Data;
+
+/**
+ * Next-use hints of matrix variables for the lookahead eviction policy
+ * (see LazyWriteBuffer.RPolicy.LOOKAHEAD), obtained from the instruction
+ * stream of a basic block and the live variables of its statement block.
+ * 
+ * For every instruction, we record the matrix inputs and outputs, and the
+ * position of their next read within the block. Variables without further
+ * reads in the block are either live-out (next use after the block, e.g.,
+ * in the next loop iteration) or dead, i.e., the preferred eviction victims.
+ */
+public class NextUseHints
+{
+	//sentinel for variables without further read in the block
+	private static final int NONE = -1;
+	
+	private final List<Instruction> _inst;
+	private final int _numInst;
+	private final String[][] _vars; //matrix variables per instruction
+	private final int[][] _next;    //position of next read per variable
+	private final HashMap<String, Integer> _first; //first read per variable
+	private final VariableSet _liveOut;
+	
+	public NextUseHints(List<Instruction> inst, StatementBlock sb) {
+		_inst = inst;
+		_numInst = inst.size();
+		_vars = new String[_numInst][];
+		_next = new int[_numInst][];
+		_liveOut = (sb != null) ? sb.liveOut() : null;
+		
+		//backwards pass over instructions, where writes end the live range
+		//of the previous value, and reads define the next use of the value
+		HashMap<String, Integer> nextRead = new HashMap<>();
+		for( int i=_numInst-1; i>=0; i-- ) {
+			Instruction linst = inst.get(i);
+			if( !(linst instanceof ComputationCPInstruction) )
+				continue;
+			ComputationCPInstruction cinst = (ComputationCPInstruction) linst;
+			ArrayList<String> vars = new ArrayList<>();
+			for( CPOperand in : cinst.getInputs() )
+				if( in != null && in.isMatrix() && !vars.contains(in.getName()) )
+					vars.add(in.getName());
+			int numIn = vars.size();
+			CPOperand out = cinst.getOutput();
+			if( out != null && out.isMatrix() && !vars.contains(out.getName()) )
+				vars.add(out.getName());
+			_vars[i] = vars.toArray(new String[0]);
+			_next[i] = new int[_vars[i].length];
+			for( int j=0; j<_vars[i].length; j++ )
+				_next[i][j] = nextRead.getOrDefault(_vars[i][j], NONE);
+			if( out != null && out.isMatrix() )
+				nextRead.remove(out.getName());
+			for( int j=0; j<numIn; j++ )
+				nextRead.put(_vars[i][j], i);
+		}
+		_first = nextRead;
+	}
+	
+	public boolean isValid(List<Instruction> inst) {
+		return _inst == inst && _numInst == inst.size();
+	}
+	
+	/**
+	 * Sets the next-use hints of all variables read in the block,
+	 * called before the first instruction.
+	 * 
+	 * @param ec execution context
+	 */
+	public void init(ExecutionContext ec) {
+		for( Entry<String, Integer> e : _first.entrySet() )
+			setNextUse(ec, e.getKey(), e.getValue());
+	}
+	
+	/**
+	 * Updates the next-use hints of the variables accessed by the
+	 * given instruction, called after its execution.
+	 * 
+	 * @param pos position of the executed instruction
+	 * @param ec execution context
+	 */
+	public void update(int pos, ExecutionContext ec) {
+		LazyWriteBuffer.tick();
+		if( pos >= _numInst || _vars[pos] == null )
+			return;
+		for( int j=0; j<_vars[pos].length; j++ ) {
+			String varName = _vars[pos][j];
+			int next = _next[pos][j];
+			long distance = (next != NONE) ? next - pos :
+				(_liveOut == null || _liveOut.containsVariable(varName)) ?
+				_numInst - pos + _first.getOrDefault(varName, _numInst) : Long.MAX_VALUE;
+			setNextUse(ec, varName, distance);
+		}
+	}
+	
+	private static void setNextUse(ExecutionContext ec, String varName, long distance) {
+		Data dat = ec.getVariables().get(varName);
+		if( dat instanceof CacheableData )
+			((CacheableData<?>) dat).setNextUse(distance);
+	}
+}
@@ -30,6 +30,7 @@ import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.LocalVariableMap;
 import org.apache.sysds.runtime.controlprogram.Program;
+import org.apache.sysds.runtime.controlprogram.caching.BlockBufferPool;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysds.runtime.controlprogram.caching.FrameObject;
@@ -553,6 +554,8 @@ public class ExecutionContext {
 		mo.acquireModify(outputData);
 		mo.setCacheLineage(li);
 		mo.release();
+		//register buffers of outputs for recycling (no-op if not recycling)
+		BlockBufferPool.registerOutput(outputData);
 	}
 
 	public void setMatrixOutput(String varName, MatrixBlock outputData, UpdateType flag) {
@@ -779,6 +782,8 @@ public class ExecutionContext {
 		try {
 			//compute ref count only if matrix cleanup actually necessary
 			if ( mo.isCleanupEnabled() && !getVariables().hasReferences(mo) )  {
+				if( BlockBufferPool.ACTIVE && mo instanceof MatrixObject )
+					((MatrixObject)mo).releaseBuffers(); //recycle owned buffers
 				mo.clearData(getTID()); //clean cached data
 				if( fileExists ) {
 					HDFSTool.deleteFileIfExistOnHDFS(mo.getFileName());
@@ -915,12 +915,19 @@ public class SparkExecutionContext extends ExecutionContext
 			//compute block sizes
 			int maxRow = UtilFunctions.computeBlockSize(mc.getRows(), blockRow+1, mc.getBlocksize());
 			int maxCol = UtilFunctions.computeBlockSize(mc.getCols(), blockCol+1, mc.getBlocksize());
-			//copy sub-matrix to block
-			MatrixBlock block = new MatrixBlock(maxRow, maxCol, mb.isInSparseFormat());
+			//copy sub-matrix to block (compressed inputs retain compressed blocks)
 			int row_offset = (int)blockRow*mc.getBlocksize();
 			int col_offset = (int)blockCol*mc.getBlocksize();
-			block = mb.slice( row_offset, row_offset+maxRow-1,
-				col_offset, col_offset+maxCol-1, block );
+			MatrixBlock block = null;
+			if( mb instanceof CompressedMatrixBlock ) {
+				block = ((CompressedMatrixBlock) mb).sliceCompressed(row_offset,
+					row_offset+maxRow-1, col_offset, col_offset+maxCol-1);
+			}
+			else {
+				block = new MatrixBlock(maxRow, maxCol, mb.isInSparseFormat());
+				block = mb.slice( row_offset, row_offset+maxRow-1,
+					col_offset, col_offset+maxCol-1, block );
+			}
 			//create key-value pair
 			return new Tuple2<>(new MatrixIndexes(blockRow+1, blockCol+1), block);
 		}
@@ -1379,8 +1386,27 @@ public class SparkExecutionContext extends ExecutionContext
 		}
 	}
 
+	/**
+	 * Releases a reference to the given lineage object that is held outside
+	 * the symbol table (e.g., by the lineage cache), and cleans up the object
+	 * and its lineage childs if there are no other consumers.
+	 *
+	 * @param lob lineage object
+	 */
+	public static void releaseLineageObject(LineageObject lob) {
+		lob.decrementNumReferences();
+		if( !isSparkContextCreated() )
+			return;
+		try {
+			rCleanupLineageObject(lob);
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
 	@SuppressWarnings({ "rawtypes", "unchecked" })
-	private void rCleanupLineageObject(LineageObject lob)
+	private static void rCleanupLineageObject(LineageObject lob)
 		throws IOException
 	{
 		//abort recursive cleanup if still consumers
@@ -1397,7 +1423,10 @@ public class SparkExecutionContext extends ExecutionContext
 		if( lob instanceof RDDObject ) {
 			RDDObject rdd = (RDDObject)lob;
 			int rddID = rdd.getRDD().id();
-			cleanupRDDVariable(rdd.getRDD());
+			//unpersist only if the rdd is not shared with a lineage child
+			//(e.g., persisted rdds handed out by the lineage cache)
+			if( !rdd.hasSharedRDDChild() )
+				cleanupRDDVariable(rdd.getRDD());
 			if( rdd.getHDFSFilename()!=null ) { //deferred file removal
 				HDFSTool.deleteFileWithMTDIfExistOnHDFS(rdd.getHDFSFilename());
 			}
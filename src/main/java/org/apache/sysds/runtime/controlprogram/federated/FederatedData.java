@@ -21,20 +21,29 @@ package org.apache.sysds.runtime.controlprogram.federated;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 
 import javax.net.ssl.SSLException;
 
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.common.Types;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse.ResponseType;
+import org.apache.sysds.runtime.instructions.cp.ScalarObject;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.ChannelFuture;
@@ -57,6 +66,8 @@ import io.netty.util.concurrent.Promise;
 public class FederatedData {
 	private static final Log LOG = LogFactory.getLog(FederatedData.class.getName());
 	private static final Set<InetSocketAddress> _allFedSites = new HashSet<>();
+	/** Deferred federated requests per worker address and thread ID, in issue order. */
+	private static final Map<Pair<InetSocketAddress, Long>, List<FederatedRequest>> _deferred = new HashMap<>();
 
 	/** A Singleton constructed SSL context, that only is assigned if ssl is enabled. */
 	private static SslContextMan instance = null;
@@ -138,7 +149,17 @@ public class FederatedData {
 	}
 
 	public synchronized Future<FederatedResponse> executeFederatedOperation(FederatedRequest... request) {
-
+		FederatedStatistics.incFedRequestBatches();
+		if( isDeferredRequests() && request.length > 0 ) {
+			// buffer requests whose responses are never consumed (outputs stay federated),
+			// and otherwise send them together with all previously deferred requests
+			Pair<InetSocketAddress, Long> key = new ImmutablePair<>(_address, request[0].getTID());
+			if( isDeferrable(request) ) {
+				deferRequests(key, request);
+				return CompletableFuture.completedFuture(new FederatedResponse(ResponseType.SUCCESS_EMPTY));
+			}
+			request = pollDeferredRequests(key, request);
+		}
 		try {
 			return executeFederatedOperation(_address, request);
 		}
@@ -157,6 +178,7 @@ public class FederatedData {
 	 */
 	public static Future<FederatedResponse> executeFederatedOperation(InetSocketAddress address,
 		FederatedRequest... request) throws SSLException {
+		FederatedStatistics.incFedRoundTrips();
 		// Careful with the number of threads. Each thread opens connections to multiple files making resulting in
 		// java.io.IOException: Too many open files
 		EventLoopGroup workerGroup = new NioEventLoopGroup(DMLConfig.DEFAULT_NUMBER_OF_FEDERATED_WORKER_THREADS);
@@ -198,10 +220,94 @@ public class FederatedData {
 		}
 	}
 
+	/**
+	 * Indicates if federated requests are deferred. Deferral is disabled for inter-operator
+	 * parallelism, because concurrently executed instructions share the thread ID, and thus, deferred
+	 * requests could be sent with an unrelated batch that reaches the worker after their consumers.
+	 *
+	 * @return true if federated requests are deferred
+	 */
+	private static boolean isDeferredRequests() {
+		return OptimizerUtils.FEDERATED_DEFERRED_REQUESTS && ConfigurationManager.getInterOpParallelism() <= 1;
+	}
+
+	/**
+	 * Indicates if a batch of requests can be deferred, i.e., if it only executes instructions
+	 * or puts immutable scalars, whose empty responses are not consumed by the coordinator.
+	 *
+	 * @param request the batch of requests
+	 * @return true if the batch can be deferred
+	 */
+	private static boolean isDeferrable(FederatedRequest... request) {
+		for(FederatedRequest fr : request) {
+			if(fr.getType() == RequestType.EXEC_INST)
+				continue;
+			if(fr.getType() != RequestType.PUT_VAR || !(fr.getParam(0) instanceof ScalarObject))
+				return false;
+		}
+		return true;
+	}
+
+	private static void deferRequests(Pair<InetSocketAddress, Long> key, FederatedRequest... request) {
+		synchronized(_deferred) {
+			_deferred.computeIfAbsent(key, k -> new ArrayList<>()).addAll(Arrays.asList(request));
+		}
+		FederatedStatistics.incFedDeferredBatches();
+	}
+
+	private static FederatedRequest[] pollDeferredRequests(Pair<InetSocketAddress, Long> key,
+		FederatedRequest... request) {
+		List<FederatedRequest> deferred;
+		synchronized(_deferred) {
+			deferred = _deferred.remove(key);
+		}
+		if(deferred == null)
+			return request;
+		deferred.addAll(Arrays.asList(request));
+		return deferred.toArray(new FederatedRequest[0]);
+	}
+
+	/**
+	 * Sends all deferred federated requests to their workers and waits for their completion. This is
+	 * required before other threads (e.g., parfor workers) access federated data of the current thread.
+	 */
+	public static void flushDeferredRequests() {
+		Map<Pair<InetSocketAddress, Long>, List<FederatedRequest>> deferred;
+		synchronized(_deferred) {
+			if(_deferred.isEmpty())
+				return;
+			deferred = new HashMap<>(_deferred);
+			_deferred.clear();
+		}
+		try {
+			List<Future<FederatedResponse>> ret = new ArrayList<>();
+			for(Map.Entry<Pair<InetSocketAddress, Long>, List<FederatedRequest>> e : deferred.entrySet())
+				ret.add(executeFederatedOperation(e.getKey().getLeft(), e.getValue().toArray(new FederatedRequest[0])));
+			for(Future<FederatedResponse> fr : ret)
+				if(!fr.get().isSuccessful())
+					throw new DMLRuntimeException("Deferred federated requests failed: " + fr.get().getErrorMessage());
+		}
+		catch(DMLRuntimeException ex) {
+			throw ex;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
 	public static void clearFederatedWorkers() {
 		if(_allFedSites.isEmpty())
 			return;
 
+		// execute remaining deferred requests to surface potential errors
+		DMLRuntimeException flushError = null;
+		try {
+			flushDeferredRequests();
+		}
+		catch(DMLRuntimeException ex) {
+			flushError = ex;
+		}
+
 		try {
 			// create and execute clear request on all workers
 			FederatedRequest fr = new FederatedRequest(RequestType.CLEAR);
@@ -218,10 +324,16 @@ public class FederatedData {
 		finally {
 			resetFederatedSites();
 		}
+
+		if(flushError != null)
+			throw new DMLRuntimeException("Failed to execute deferred federated requests.", flushError);
 	}
 
 	public static void resetFederatedSites() {
 		_allFedSites.clear();
+		synchronized(_deferred) {
+			_deferred.clear();
+		}
 	}
 
 	private static class DataRequestHandler extends ChannelInboundHandlerAdapter {
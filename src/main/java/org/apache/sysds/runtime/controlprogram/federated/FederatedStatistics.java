@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
 import javax.net.ssl.SSLException;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
@@ -49,6 +50,45 @@ import org.apache.sysds.utils.Statistics;
 
 public class FederatedStatistics {
 	private static Set<Pair<String, Integer>> _fedWorkerAddresses = new HashSet<>();
+	// coordinator-side counters of issued, deferred, and actually sent request batches
+	private static final LongAdder _fedRequestBatches = new LongAdder();
+	private static final LongAdder _fedDeferredBatches = new LongAdder();
+	private static final LongAdder _fedRoundTrips = new LongAdder();
+
+	public static void incFedRequestBatches() {
+		_fedRequestBatches.increment();
+	}
+
+	public static void incFedDeferredBatches() {
+		_fedDeferredBatches.increment();
+	}
+
+	public static void incFedRoundTrips() {
+		_fedRoundTrips.increment();
+	}
+
+	public static long getFedRequestBatches() {
+		return _fedRequestBatches.longValue();
+	}
+
+	public static long getFedDeferredBatches() {
+		return _fedDeferredBatches.longValue();
+	}
+
+	public static long getFedRoundTrips() {
+		return _fedRoundTrips.longValue();
+	}
+
+	public static void reset() {
+		_fedRequestBatches.reset();
+		_fedDeferredBatches.reset();
+		_fedRoundTrips.reset();
+	}
+
+	public static String displayFedRoundTrips() {
+		return String.format("Federated batches (Req/Def/RT):\t%d/%d/%d.\n",
+			getFedRequestBatches(), getFedDeferredBatches(), getFedRoundTrips());
+	}
 
 	public static void registerFedWorker(String host, int port) {
 		_fedWorkerAddresses.add(new ImmutablePair<>(host, new Integer(port)));
@@ -97,6 +97,21 @@ public class LocalTaskQueue<T>
 		return t;
 	}
 	
+	/**
+	 * Read and delete of the next task for the given worker. The shared FIFO
+	 * queue ignores the worker index, but specialized queues might maintain
+	 * per-worker state (e.g., work-stealing deques).
+	 *
+	 * @param workerIndex index of the requesting worker
+	 * @return task
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	public T dequeueTask( int workerIndex )
+		throws InterruptedException
+	{
+		return dequeueTask();
+	}
+
 	/**
 	 * Synchronized (logical) insert of a NO_MORE_TASKS symbol at the end of the FIFO queue in order to
 	 * mark that no more tasks will be inserted into the queue.
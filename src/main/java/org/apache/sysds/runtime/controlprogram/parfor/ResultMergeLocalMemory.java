@@ -24,18 +24,25 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.DataConverter;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Local in-memory realization of result merge. If the resulting matrix is
  * small enough to fit into the JVM memory, this class can be used for efficient 
- * serial or multi-threaded merge.
+ * serial or multi-threaded merge. The multi-threaded merge partitions the output
+ * by row ranges (independent of the number of inputs) and supports sparse outputs.
  * 
  * 
  */
@@ -43,6 +50,9 @@ public class ResultMergeLocalMemory extends ResultMerge
 {
 	private static final long serialVersionUID = -3543612508601511701L;
 	
+	//number of output row partitions per thread for load balance
+	private static final int NUM_ROW_PARTITIONS_PER_THREAD = 4;
+	
 	//internal comparison matrix
 	private DenseBlock _compare = null;
 	
@@ -149,49 +159,68 @@ public class ResultMergeLocalMemory extends ResultMerge
 		
 		try
 		{
-			//get matrix blocks through caching 
+			//get old output matrix from cache for compare
 			MatrixBlock outMB = _output.acquireRead();
+			_compare = getCompareMatrix(outMB);
+			
+			//collect relevant inputs (w/o empty inputs according to nnz meta data,
+			//except for merge with compare where empty inputs overwrite old values)
 			ArrayList<MatrixObject> inMO = new ArrayList<>();
 			for( MatrixObject in : _inputs ) {
 				//check for empty inputs (no iterations executed)
-				if( in !=null && in != _output ) 
+				if( in !=null && in != _output && (_compare != null || in.getNnz() != 0) )
 					inMO.add( in );
 			}
 			
 			if( !inMO.isEmpty() ) //if there exist something to merge
 			{
-				//get old output matrix from cache for compare
-				//NOTE: always in dense representation in order to allow for parallel unsynchronized access 
-				long rows = outMB.getNumRows();
-				long cols = outMB.getNumColumns();
-				MatrixBlock outMBNew = new MatrixBlock((int)rows, (int)cols, false);
-				outMBNew.allocateDenseBlockUnsafe((int)rows, (int)cols);
+				//read/pin all inputs
+				MatrixBlock[] inMB = new MatrixBlock[inMO.size()];
+				for( int i=0; i<inMB.length; i++ )
+					inMB[i] = inMO.get(i).acquireRead();
 				
-				//create compare matrix if required (existing data in result)
-				_compare = getCompareMatrix(outMB);
+				//create output in dense or sparse format according to the estimated nnz,
+				//where concurrent row-partitioned updates are only safe for dense and MCSR blocks
+				//(for merge with compare, always dense for initialization w/ old values)
+				int rows = outMB.getNumRows();
+				int cols = outMB.getNumColumns();
+				long estnnz = getOutputNnzEstimate();
+				boolean sparse = _compare == null
+					&& MatrixBlock.evalSparseFormatInMemory(rows, cols, estnnz);
+				MatrixBlock outMBNew = new MatrixBlock(rows, cols, sparse, estnnz).allocateBlock();
 				if( _compare != null )
-					outMBNew.copy(outMB);
+					outMBNew.getDenseBlock().set(_compare);
 				
-				//parallel merge of all inputs
-
-				int numThreads = Math.min(par, inMO.size()); //number of inputs can be lower than par
-				numThreads = Math.min(numThreads, InfrastructureAnalyzer.getLocalParallelism()); //ensure robustness for remote exec
-				Thread[] threads = new Thread[ numThreads ];
-				for( int k=0; k<inMO.size(); k+=numThreads ) //multiple waves if necessary
-				{
-					//create and start threads
-					for( int i=0; i<threads.length; i++ )
-					{
-						ResultMergeWorker rmw = new ResultMergeWorker(inMO.get(k+i), outMBNew);
-						threads[i] = new Thread(rmw);
-						threads[i].setPriority(Thread.MAX_PRIORITY);
-						threads[i].start(); // start execution
-					}	
-					//wait for all workers to finish
-					for( int i=0; i<threads.length; i++ )
-					{
-						threads[i].join();
+				//parallel merge of all inputs by disjoint output row ranges,
+				//which is independent of the number of inputs (parfor workers)
+				int k = Math.min(par, InfrastructureAnalyzer.getLocalParallelism()); //ensure robustness for remote exec
+				ArrayList<ResultMergeTask> tasks = new ArrayList<>();
+				int blklen = (int)Math.ceil((double)rows / (k * NUM_ROW_PARTITIONS_PER_THREAD));
+				for( int rl=0; rl<rows; rl+=blklen )
+					tasks.add(new ResultMergeTask(outMBNew, inMB, rl, Math.min(rl+blklen, rows)));
+				long nnz = 0;
+				if( outMBNew.isThreadSafe() ) {
+					ExecutorService pool = CommonThreadPool.get(k);
+					try {
+						for( Future<Long> task : pool.invokeAll(tasks) )
+							nnz += task.get();
 					}
+					finally {
+						pool.shutdown();
+					}
+				}
+				else {
+					//serial merge of row ranges for sparse blocks without
+					//thread-safe updates of disjoint rows (e.g., CSR, DCSR)
+					for( ResultMergeTask task : tasks )
+						nnz += task.call();
+				}
+				outMBNew.setNonZeros(nnz);
+				
+				//unpin and clear in-memory inputs
+				for( MatrixObject in : inMO ) {
+					in.release();
+					in.clearData();
 				}
 				
 				//create new output matrix 
@@ -210,8 +239,6 @@ public class ResultMergeLocalMemory extends ResultMerge
 			throw new DMLRuntimeException(ex);
 		}
 		
-		//LOG.trace("ResultMerge (local, in-memory): Executed parallel (par="+par+") merge for output "+_output.getVarName()+" (fname="+_output.getFileName()+") in "+time.stop()+"ms");
-
 		return moNew;
 	}
 
@@ -282,37 +309,138 @@ public class ResultMergeLocalMemory extends ResultMerge
 	
 	
 	/**
-	 * NOTE: only used if matrix in dense
+	 * Merges the rows [rl, ru) of all inputs into the output and returns
+	 * the number of non-zeros in this row range of the output.
 	 */
-	private class ResultMergeWorker implements Runnable
+	private class ResultMergeTask implements Callable<Long>
 	{
-		private MatrixObject _inMO  = null;
-		private MatrixBlock  _outMB = null;
+		private final MatrixBlock _out;
+		private final MatrixBlock[] _in;
+		private final int _rl;
+		private final int _ru;
 		
-		public ResultMergeWorker(MatrixObject inMO, MatrixBlock outMB)
-		{
-			_inMO  = inMO;
-			_outMB = outMB;
+		protected ResultMergeTask(MatrixBlock out, MatrixBlock[] in, int rl, int ru) {
+			_out = out;
+			_in = in;
+			_rl = rl;
+			_ru = ru;
 		}
 
 		@Override
-		public void run() 
-		{
-			//read each input if required
-			try
-			{
-				LOG.trace("ResultMerge (local, in-memory): Merge input "+_inMO.hashCode()+" (fname="+_inMO.getFileName()+")");
-				
-				MatrixBlock inMB = _inMO.acquireRead(); //incl. implicit read from HDFS
-				merge( _outMB, inMB, false );
-				_inMO.release();
-				_inMO.clearData();
+		public Long call() {
+			for( MatrixBlock in : _in ) {
+				if( _compare != null )
+					mergeRowsWithComp(_out, in, _compare, _rl, _ru);
+				else if( !in.isEmptyBlock(false) )
+					mergeRowsWithoutComp(_out, in, _rl, _ru);
 			}
-			catch(Exception ex)
-			{
-				throw new RuntimeException("Failed to parallel merge result.", ex);
+			//sort sparse rows due to append of multiple inputs
+			if( _out.isInSparseFormat() && !_isAccum ) {
+				SparseBlock c = _out.getSparseBlock();
+				for( int i=_rl; i<_ru; i++ )
+					if( !c.isEmpty(i) )
+						c.sort(i);
+			}
+			return _out.recomputeNonZeros(_rl, _ru-1);
+		}
+	}
+	
+	private void mergeRowsWithoutComp(MatrixBlock out, MatrixBlock in, int rl, int ru) {
+		int cols = in.getNumColumns();
+		if( in.isInSparseFormat() ) {
+			SparseBlock a = in.getSparseBlock();
+			for( int i=rl; i<ru; i++ ) {
+				if( a.isEmpty(i) ) continue; //skip empty rows
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				if( out.isInSparseFormat() ) {
+					SparseBlock c = out.getSparseBlock();
+					for( int j=apos; j<apos+alen; j++ ) {
+						if( _isAccum ) c.add(i, aix[j], avals[j]);
+						else c.append(i, aix[j], avals[j]);
+					}
+				}
+				else {
+					double[] cvals = out.getDenseBlock().values(i);
+					int cix = out.getDenseBlock().pos(i);
+					for( int j=apos; j<apos+alen; j++ ) {
+						if( _isAccum ) cvals[cix+aix[j]] += avals[j];
+						else cvals[cix+aix[j]] = avals[j];
+					}
+				}
+			}
+		}
+		else {
+			DenseBlock a = in.getDenseBlock();
+			for( int i=rl; i<ru; i++ ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				if( out.isInSparseFormat() ) {
+					SparseBlock c = out.getSparseBlock();
+					for( int j=0; j<cols; j++ ) {
+						double v = avals[aix+j];
+						if( v == 0 ) continue;
+						if( _isAccum ) c.add(i, j, v);
+						else c.append(i, j, v);
+					}
+				}
+				else {
+					double[] cvals = out.getDenseBlock().values(i);
+					int cix = out.getDenseBlock().pos(i);
+					for( int j=0; j<cols; j++ ) {
+						double v = avals[aix+j];
+						if( v == 0 ) continue;
+						if( _isAccum ) cvals[cix+j] += v;
+						else cvals[cix+j] = v;
+					}
+				}
+			}
+		}
+	}
+	
+	private void mergeRowsWithComp(MatrixBlock out, MatrixBlock in, DenseBlock compare, int rl, int ru) {
+		//see ResultMerge.mergeWithComp for notes on result correctness, but
+		//restricted to the given row range of the (always dense) output
+		if( in.isEmptyBlock(false) && _isAccum )
+			return; //nothing to do
+		int cols = in.getNumColumns();
+		DenseBlock c = out.getDenseBlock();
+		double[] tmp = new double[cols];
+		for( int i=rl; i<ru; i++ ) {
+			//obtain dense input row
+			Arrays.fill(tmp, 0);
+			if( in.isInSparseFormat() && !in.isEmptyBlock(false) ) {
+				SparseBlock a = in.getSparseBlock();
+				if( !a.isEmpty(i) ) {
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					double[] avals = a.values(i);
+					for( int j=apos; j<apos+alen; j++ )
+						tmp[aix[j]] = avals[j];
+				}
+			}
+			else if( !in.isEmptyBlock(false) ) {
+				System.arraycopy(in.getDenseBlock().values(i),
+					in.getDenseBlock().pos(i), tmp, 0, cols);
+			}
+			//merge changed values
+			double[] oldvals = compare.values(i);
+			int oix = compare.pos(i);
+			double[] cvals = c.values(i);
+			int cix = c.pos(i);
+			for( int j=0; j<cols; j++ ) {
+				double valOld = oldvals[oix+j];
+				double valNew = tmp[j];
+				if( (valNew != valOld && !Double.isNaN(valNew) )      //for changed values 
+					|| Double.isNaN(valNew) != Double.isNaN(valOld) ) //NaN awareness 
+				{
+					cvals[cix+j] = !_isAccum ? valNew :
+						(cvals[cix+j] + (valNew - valOld));
+				}
 			}
 		}
-		
 	}
 }
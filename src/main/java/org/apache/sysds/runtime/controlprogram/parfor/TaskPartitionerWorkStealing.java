@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.parfor;
+
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+
+/**
+ * This work-stealing task partitioner only assigns equally sized initial ranges to
+ * the per-worker deques of a WorkStealingTaskQueue, while the actual tasks are created
+ * on demand with adaptive chunk sizes (where the task size is used as minimum constraint).
+ * For all other queues and full task creation (e.g., remote execution), it falls back to
+ * factoring in order to provide similar load balance.
+ * 
+ */
+public class TaskPartitionerWorkStealing extends TaskPartitionerFactoring
+{
+	public TaskPartitionerWorkStealing( long taskSize, int numThreads, String iterVarName, IntObject fromVal, IntObject toVal, IntObject incrVal ) 
+	{
+		super(taskSize, numThreads, iterVarName, fromVal, toVal, incrVal);
+	}
+
+	@Override
+	public long createTasks(LocalTaskQueue<Task> queue) 
+	{
+		if( !(queue instanceof WorkStealingTaskQueue) )
+			return super.createTasks(queue);
+		
+		//note: number of initial ranges, the final number of tasks
+		//is only known after execution (see WorkStealingTaskQueue)
+		return ((WorkStealingTaskQueue) queue).init(_iterVarName,
+			_fromVal.getLongValue(), _incrVal.getLongValue(), _numIter, _taskSize);
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.parfor;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+
+/**
+ * Work-stealing alternative to the synchronized, single FIFO LocalTaskQueue. Each
+ * worker owns a deque of iteration ranges, which is initialized with an equal share
+ * of the loop. A worker takes chunks from the head of its own deque and lazily splits
+ * larger ranges, where the not yet executed halves remain at the head for locality.
+ * Idle workers steal the largest remaining ranges from the tail of other deques.
+ *
+ * The chunk size is adaptive (guided by the number of remaining iterations per worker
+ * and bounded below by the minimum task size), i.e., large chunks with low overhead
+ * at the beginning and small chunks for good load balance towards the end.
+ * Since the queue never blocks, workers can safely run as tasks of a shared pool.
+ */
+public class WorkStealingTaskQueue extends LocalTaskQueue<Task>
+{
+	private final ConcurrentLinkedDeque<long[]>[] _deques;
+	private final AtomicLong _remaining = new AtomicLong(0);
+	private final LongAdder _numTasks = new LongAdder();
+	private final LongAdder _numSteals = new LongAdder();
+
+	private String _iterVarName = null;
+	private long _from = -1;
+	private long _incr = -1;
+	private long _minChunk = 1;
+
+	@SuppressWarnings("unchecked")
+	public WorkStealingTaskQueue(int numWorkers) {
+		if( numWorkers < 1 )
+			throw new DMLRuntimeException("Invalid number of workers for work-stealing task queue: "+numWorkers);
+		_deques = new ConcurrentLinkedDeque[numWorkers];
+		for( int i=0; i<numWorkers; i++ )
+			_deques[i] = new ConcurrentLinkedDeque<>();
+	}
+
+	/**
+	 * Initializes the per-worker deques with equally sized ranges of the
+	 * normalized loop (from, incr, numIter) and closes the task input.
+	 *
+	 * @param iterVarName name of the iteration variable
+	 * @param from first iteration value
+	 * @param incr positive increment
+	 * @param numIter number of iterations
+	 * @param minChunk minimum number of iterations per task
+	 * @return number of initial ranges
+	 */
+	public long init(String iterVarName, long from, long incr, long numIter, long minChunk) {
+		_iterVarName = iterVarName;
+		_from = from;
+		_incr = incr;
+		_minChunk = Math.max(minChunk, 1);
+		int k = _deques.length;
+		long blen = numIter / k, rem = numIter % k;
+		long lo = 0, ret = 0;
+		for( int i=0; i<k && lo<numIter; i++ ) {
+			long hi = lo + blen + ((i < rem) ? 1 : 0);
+			_deques[i].addLast(new long[]{lo, hi});
+			lo = hi; ret++;
+		}
+		_remaining.set(numIter);
+		closeInput();
+		return ret;
+	}
+
+	@Override
+	public void enqueueTask(Task t) {
+		throw new DMLRuntimeException("Work-stealing task queue does not support explicit task enqueue.");
+	}
+
+	@Override
+	public Task dequeueTask() {
+		return dequeueTask(0);
+	}
+
+	@Override
+	public Task dequeueTask(int workerIndex) {
+		int k = _deques.length;
+		int w = workerIndex % k;
+		long[] r = null;
+		while( r == null ) {
+			//take from the head of the own deque, otherwise steal from the tail of others
+			r = _deques[w].pollFirst();
+			for( int i=1; r==null && i<k; i++ ) {
+				r = _deques[(w+i) % k].pollLast();
+				if( r != null )
+					_numSteals.increment();
+			}
+			if( r == null ) {
+				//all deques empty, but ranges might be in the process of splitting
+				if( _remaining.get() <= 0 )
+					return null; //NO_MORE_TASKS
+				Thread.yield();
+			}
+		}
+
+		//lazy splitting with adaptive chunk size (remaining halves stay stealable)
+		long chunk = Math.max(_minChunk, _remaining.get() / (2L*k));
+		while( r[1] - r[0] > chunk ) {
+			long mid = r[0] + (r[1] - r[0]) / 2;
+			_deques[w].addFirst(new long[]{mid, r[1]});
+			r = new long[]{r[0], mid};
+		}
+		_remaining.addAndGet(-(r[1] - r[0]));
+		_numTasks.increment();
+
+		//create range task in the original iteration space
+		Task t = new Task(_iterVarName, TaskType.RANGE);
+		t.addIteration(new IntObject(_from + r[0] * _incr));
+		t.addIteration(new IntObject(_from + (r[1]-1) * _incr));
+		t.addIteration(new IntObject(_incr));
+		return t;
+	}
+
+	public int getNumWorkers() {
+		return _deques.length;
+	}
+
+	public long getNumCreatedTasks() {
+		return _numTasks.longValue();
+	}
+
+	public long getNumSteals() {
+		return _numSteals.longValue();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("WORK-STEALING TASK QUEUE (workers=");
+		sb.append(_deques.length);
+		sb.append(",remaining=");
+		sb.append(_remaining.get());
+		sb.append(",tasks=");
+		sb.append(getNumCreatedTasks());
+		sb.append(",steals=");
+		sb.append(getNumSteals());
+		sb.append(")");
+		return sb.toString();
+	}
+}
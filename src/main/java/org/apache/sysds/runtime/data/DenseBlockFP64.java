@@ -20,6 +20,7 @@
 
 package org.apache.sysds.runtime.data;
 
+import org.apache.sysds.runtime.controlprogram.caching.BlockBufferPool;
 import org.apache.sysds.runtime.util.UtilFunctions;
 import org.apache.sysds.utils.MemoryEstimates;
 
@@ -38,7 +39,7 @@ public class DenseBlockFP64 extends DenseBlockDRB
 
 	@Override
 	protected void allocateBlock(int bix, int length) {
-		_data = new double[length];
+		_data = BlockBufferPool.allocDouble(length);
 	}
 
 	public DenseBlockFP64(int[] dims, double[] data) {
@@ -55,7 +56,7 @@ public class DenseBlockFP64 extends DenseBlockDRB
 	public void reset(int rlen, int[] odims, double v) {
 		int len = rlen * odims[0];
 		if( len > capacity() ) {
-			_data = new double[len];
+			_data = BlockBufferPool.allocDouble(len);
 			if( v != 0 )
 				Arrays.fill(_data, v);
 		}
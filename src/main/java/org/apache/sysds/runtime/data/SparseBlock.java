@@ -32,7 +32,7 @@ import org.apache.sysds.runtime.matrix.data.IJV;
  * against this abstraction in order to enable variability/extensibility.
  * 
  * Example sparse format that can be implemented efficiently include
- * CSR, MCSR, and - with performance drawbacks - COO.
+ * CSR, MCSR, DCSR, and - with performance drawbacks - COO.
  * 
  */
 public abstract class SparseBlock implements Serializable
@@ -48,6 +48,7 @@ public abstract class SparseBlock implements Serializable
 		MCSR,
 		CSR,
 		COO,
+		DCSR,
 	}
 	
 	
@@ -255,6 +256,25 @@ public abstract class SparseBlock implements Serializable
 	 */
 	public abstract boolean isEmpty(int r);
 
+	/**
+	 * Get the index of the first non-empty row in the row range [rl, ru),
+	 * or ru if all rows of this range are empty. Kernels can use this call
+	 * to skip empty rows, which is especially useful for formats that only
+	 * store non-empty rows (e.g., DCSR), where probing rows via isEmpty(r)
+	 * would require a search per row.
+	 * 
+	 * @param rl row lower index (inclusive)
+	 * @param ru row upper index (exclusive)
+	 * @return index of first non-empty row in [rl, ru), or ru if none exists
+	 */
+	public int nextNonEmptyRow(int rl, int ru) {
+		//default scan, override if necessary
+		int r = rl;
+		while( r < ru && isEmpty(r) )
+			r++;
+		return r;
+	}
+
 	/**
 	 * Validate the correctness of the internal data structures of the different
 	 * sparse block implementations.
@@ -23,6 +23,7 @@ import java.io.DataInput;
 import java.io.IOException;
 import java.util.Arrays;
 
+import org.apache.sysds.runtime.controlprogram.caching.BlockBufferPool;
 import org.apache.sysds.runtime.util.SortUtils;
 import org.apache.sysds.runtime.util.UtilFunctions;
 import org.apache.sysds.utils.MemoryEstimates;
@@ -57,9 +58,9 @@ public class SparseBlockCSR extends SparseBlock
 	}
 	
 	public SparseBlockCSR(int rlen, int capacity) {
-		_ptr = new int[rlen+1]; //ix0=0
-		_indexes = new int[capacity];
-		_values = new double[capacity];
+		_ptr = BlockBufferPool.allocInt(rlen+1); //ix0=0
+		_indexes = BlockBufferPool.allocInt(capacity);
+		_values = BlockBufferPool.allocDouble(capacity);
 		_size = 0;
 	}
 	
@@ -93,9 +94,9 @@ public class SparseBlockCSR extends SparseBlock
 		else {
 			int rlen = sblock.numRows();
 			
-			_ptr = new int[rlen+1];
-			_indexes = new int[(int)size];
-			_values = new double[(int)size];
+			_ptr = BlockBufferPool.allocInt(rlen+1);
+			_indexes = BlockBufferPool.allocInt((int)size);
+			_values = BlockBufferPool.allocDouble((int)size);
 			_size = (int)size;
 
 			for( int i=0, pos=0; i<rlen; i++ ) {
@@ -122,9 +123,9 @@ public class SparseBlockCSR extends SparseBlock
 	{
 		int rlen = rows.length;
 		
-		_ptr = new int[rlen+1]; //ix0=0
-		_indexes = new int[nnz];
-		_values = new double[nnz];
+		_ptr = BlockBufferPool.allocInt(rlen+1); //ix0=0
+		_indexes = BlockBufferPool.allocInt(nnz);
+		_values = BlockBufferPool.allocDouble(nnz);
 		_size = nnz;
 		
 		for( int i=0, pos=0; i<rlen; i++ ) {
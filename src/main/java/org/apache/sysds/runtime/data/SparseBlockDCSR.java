@@ -0,0 +1,934 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.data;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.apache.sysds.runtime.matrix.data.IJV;
+import org.apache.sysds.runtime.util.SortUtils;
+import org.apache.sysds.runtime.util.UtilFunctions;
+import org.apache.sysds.utils.MemoryEstimates;
+
+/**
+ * SparseBlock implementation that realizes a 'doubly compressed sparse rows'
+ * representation, where the non-empty rows are stored as a sorted array of row 
+ * indexes with an associated array of row pointers into contiguous column 
+ * index and value arrays. In contrast to CSR (with row pointers of size rlen+1) 
+ * and MCSR (with an array of sparse rows of size rlen), the size of this format
+ * is independent of the number of rows, which makes it very memory-efficient 
+ * for hyper-sparse matrices with many empty rows. Row access requires a binary 
+ * search over the non-empty rows, and similar to CSR, the nnz is limited to 
+ * Integer.MAX_VALUE.
+ * 
+ */
+public class SparseBlockDCSR extends SparseBlock
+{
+	private static final long serialVersionUID = -3957234627466826337L;
+
+	private int _rlen = -1;
+	private int[] _rindexes = null; //row index array of non-empty rows (size: >=nnzr)
+	private int[] _ptr = null;      //row pointer array of non-empty rows (size: >=nnzr+1)
+	private int[] _indexes = null;  //column index array (size: >=nnz)
+	private double[] _values = null;//value array (size: >=nnz)
+	private int _nnzr = 0;          //actual number of non-empty rows
+	private int _size = 0;          //actual number of nnz
+	
+	public SparseBlockDCSR(int rlen) {
+		this(rlen, INIT_CAPACITY);
+	}
+	
+	public SparseBlockDCSR(int rlen, int capacity) {
+		_rlen = rlen;
+		_rindexes = new int[INIT_CAPACITY];
+		_ptr = new int[INIT_CAPACITY+1];
+		_indexes = new int[capacity];
+		_values = new double[capacity];
+		_nnzr = 0;
+		_size = 0;
+	}
+	
+	public SparseBlockDCSR(int rlen, int[] rowInd, int[] rowPtr, int[] colInd, double[] values, int nnzr, int nnz) {
+		_rlen = rlen;
+		_rindexes = rowInd;
+		_ptr = rowPtr;
+		_indexes = colInd;
+		_values = values;
+		_nnzr = nnzr;
+		_size = nnz;
+	}
+	
+	/**
+	 * Copy constructor sparse block abstraction. 
+	 * 
+	 * @param sblock sparse block to copy
+	 */
+	public SparseBlockDCSR(SparseBlock sblock)
+	{
+		long size = sblock.size();
+		if( size > Integer.MAX_VALUE )
+			throw new RuntimeException("SparseBlockDCSR supports nnz<=Integer.MAX_VALUE but got "+size);
+		
+		//special case SparseBlockDCSR
+		if( sblock instanceof SparseBlockDCSR ) {
+			SparseBlockDCSR odcsr = (SparseBlockDCSR)sblock;
+			_rlen = odcsr._rlen;
+			_rindexes = Arrays.copyOf(odcsr._rindexes, odcsr._nnzr);
+			_ptr = Arrays.copyOf(odcsr._ptr, odcsr._nnzr+1);
+			_indexes = Arrays.copyOf(odcsr._indexes, odcsr._size);
+			_values = Arrays.copyOf(odcsr._values, odcsr._size);
+			_nnzr = odcsr._nnzr;
+			_size = odcsr._size;
+		}
+		//general case SparseBlock
+		else {
+			_rlen = sblock.numRows();
+			
+			//count non-empty rows for exact allocation
+			int nnzr = 0;
+			for( int i=sblock.nextNonEmptyRow(0, _rlen); i<_rlen; i=sblock.nextNonEmptyRow(i+1, _rlen) )
+				nnzr++;
+			_rindexes = new int[nnzr];
+			_ptr = new int[nnzr+1];
+			_indexes = new int[(int)size];
+			_values = new double[(int)size];
+			_nnzr = nnzr;
+			_size = (int)size;
+			
+			for( int i=sblock.nextNonEmptyRow(0, _rlen), ix=0, pos=0; i<_rlen; i=sblock.nextNonEmptyRow(i+1, _rlen), ix++ ) {
+				int apos = sblock.pos(i);
+				int alen = sblock.size(i);
+				System.arraycopy(sblock.indexes(i), apos, _indexes, pos, alen);
+				System.arraycopy(sblock.values(i), apos, _values, pos, alen);
+				_rindexes[ix] = i;
+				_ptr[ix] = pos;
+				pos += alen;
+				_ptr[ix+1] = pos;
+			}
+		}
+	}
+	
+	/**
+	 * Initializes the DCSR sparse block from an ordered input
+	 * stream of ultra-sparse ijv triples. 
+	 * 
+	 * @param nnz number of non-zeros to read
+	 * @param in data input stream of ijv triples, ordered by ij
+	 * @throws IOException if deserialization error occurs
+	 */
+	public void initUltraSparse(int nnz, DataInput in) 
+		throws IOException 
+	{
+		//allocate space if necessary
+		reset();
+		if( _values.length < nnz )
+			resizeCopy(nnz);
+		
+		//read ijv triples, append and update row indexes/pointers
+		for(int i=0; i<nnz; i++) {
+			int r = in.readInt();
+			if( _nnzr == 0 || _rindexes[_nnzr-1] != r )
+				appendRow(r, i);
+			_indexes[i] = in.readInt();
+			_values[i] = in.readDouble();
+		}
+		
+		//update meta data
+		_size = nnz;
+		_ptr[_nnzr] = nnz;
+	}
+	
+	/**
+	 * Initializes the DCSR sparse block from an ordered input
+	 * stream of sparse rows (rownnz, jv-pairs*). 
+	 * 
+	 * @param rlen number of rows
+	 * @param nnz number of non-zeros to read
+	 * @param in data input stream of sparse rows, ordered by i
+	 * @throws IOException if deserialization error occurs
+	 */
+	public void initSparse(int rlen, int nnz, DataInput in) 
+		throws IOException
+	{
+		//allocate space if necessary
+		reset();
+		if( _values.length < nnz )
+			resizeCopy(nnz);
+		
+		//read sparse rows, append and update row indexes/pointers
+		for( int r=0, pos=0; r<rlen; r++ ) {
+			int lnnz = in.readInt();
+			if( lnnz > 0 )
+				appendRow(r, pos);
+			for( int j=0; j<lnnz; j++, pos++ ) {
+				_indexes[pos] = in.readInt();
+				_values[pos] = in.readDouble();
+			}
+		}
+		
+		//update meta data
+		_size = nnz;
+		_ptr[_nnzr] = nnz;
+	}
+	
+	/**
+	 * Get the estimated in-memory size of the sparse block in DCSR 
+	 * with the given dimensions w/o accounting for overallocation. 
+	 * 
+	 * @param nrows number of rows
+	 * @param ncols number of columns
+	 * @param sparsity sparsity ratio
+	 * @return memory estimate
+	 */
+	public static long estimateSizeInMemory(long nrows, long ncols, double sparsity) {
+		double lnnz = Math.max(INIT_CAPACITY, Math.ceil(sparsity*nrows*ncols));
+		double lnnzr = Math.min(nrows, lnnz); //worst-case non-empty rows
+		
+		//32B overhead per array, int arr in nnzr, int/double arr in nnz 
+		double size = 16 + 4 + 4 + 4;                          //object + 3 int fields
+		size += MemoryEstimates.intArrayCost((long) lnnzr);    //rindexes array (row indexes)
+		size += MemoryEstimates.intArrayCost((long) lnnzr+1);  //ptr array (row pointers)
+		size += MemoryEstimates.intArrayCost((long) lnnz);     //indexes array (column indexes)
+		size += MemoryEstimates.doubleArrayCost((long) lnnz);  //values array (non-zero values)
+		
+		//robustness for long overflows
+		return (long) Math.min(size, Long.MAX_VALUE);
+	}
+	
+	/**
+	 * Get raw access to underlying array of row indexes of non-empty rows
+	 * 
+	 * @return array of row indexes
+	 */
+	public int[] rowIndexes() {
+		return _rindexes;
+	}
+	
+	/**
+	 * Get raw access to underlying array of row pointers of non-empty rows
+	 * 
+	 * @return array of row pointers
+	 */
+	public int[] rowPointers() {
+		return _ptr;
+	}
+	
+	/** 
+	 * Get raw access to underlying array of column indices
+	 * 
+	 * @return array of column indexes
+	 */
+	public int[] indexes() {
+		return _indexes;
+	}
+	
+	/**
+	 * Get raw access to underlying array of values
+	 * 
+	 * @return array of values
+	 */
+	public double[] values() {
+		return _values;
+	}
+	
+	/**
+	 * Get the number of non-empty rows, i.e., the number of valid entries
+	 * in the arrays of row indexes and row pointers.
+	 * 
+	 * @return number of non-empty rows
+	 */
+	public int numNonEmptyRows() {
+		return _nnzr;
+	}
+	
+	///////////////////
+	//SparseBlock implementation
+
+	@Override
+	public void allocate(int r) {
+		//do nothing everything preallocated
+	}
+	
+	@Override
+	public void allocate(int r, int nnz) {
+		//do nothing everything preallocated
+	}
+	
+	@Override
+	public void allocate(int r, int ennz, int maxnnz) {
+		//do nothing everything preallocated
+	}
+	
+	@Override
+	public void compact(int r) {
+		//do nothing everything preallocated
+	}
+
+	@Override
+	public int numRows() {
+		return _rlen;
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+		return false;
+	}
+	
+	@Override
+	public boolean isContiguous() {
+		return true;
+	}
+	
+	@Override
+	public boolean isAllocated(int r) {
+		return true;
+	}
+
+	@Override 
+	public void reset() {
+		_nnzr = 0;
+		_size = 0;
+		_ptr[0] = 0;
+	}
+
+	@Override 
+	public void reset(int ennz, int maxnnz) {
+		reset();
+	}
+	
+	@Override 
+	public void reset(int r, int ennz, int maxnnz) {
+		int ix = rowIndex(r);
+		if( ix < 0 )
+			return;
+		int pos = _ptr[ix];
+		int len = _ptr[ix+1] - pos;
+		
+		//overlapping array copy (shift rhs values left)
+		System.arraycopy(_indexes, pos+len, _indexes, pos, _size-(pos+len));
+		System.arraycopy(_values, pos+len, _values, pos, _size-(pos+len));
+		_size -= len;
+		decrPtr(ix, len);
+		deleteRow(ix);
+	}
+	
+	@Override
+	public long size() {
+		return _size;
+	}
+
+	@Override
+	public int size(int r) {
+		int ix = rowIndex(r);
+		return (ix >= 0) ? _ptr[ix+1] - _ptr[ix] : 0;
+	}
+	
+	@Override
+	public long size(int rl, int ru) {
+		return pos(ru) - pos(rl);
+	}
+
+	@Override
+	public long size(int rl, int ru, int cl, int cu) {
+		long nnz = 0;
+		for( int ix=rowIndexGTE(rl); ix<_nnzr && _rindexes[ix]<ru; ix++ ) {
+			int pos = _ptr[ix];
+			int len = _ptr[ix+1] - pos;
+			int start = Arrays.binarySearch(_indexes, pos, pos+len, cl);
+			int end = Arrays.binarySearch(_indexes, pos, pos+len, cu);
+			nnz += ((end >= 0) ? end : -(end+1)) - ((start >= 0) ? start : -(start+1));
+		}
+		return nnz;
+	}
+	
+	@Override
+	public boolean isEmpty(int r) {
+		int ix = rowIndex(r);
+		return (ix < 0 || _ptr[ix+1] - _ptr[ix] == 0);
+	}
+	
+	@Override
+	public int nextNonEmptyRow(int rl, int ru) {
+		//skip empty rows via binary search over non-empty rows
+		int ix = rowIndexGTE(rl);
+		while( ix < _nnzr && _ptr[ix+1] == _ptr[ix] )
+			ix++;
+		return (ix < _nnzr && _rindexes[ix] < ru) ? _rindexes[ix] : ru;
+	}
+
+	@Override
+	public boolean checkValidity(int rlen, int clen, long nnz, boolean strict) {
+		//1. correct meta data
+		if( rlen < 0 || clen < 0 || _rlen != rlen ) {
+			throw new RuntimeException("Invalid block dimensions: "+rlen+" "+clen);
+		}
+
+		//2. correct array lengths
+		if( _size != nnz || _ptr.length < _nnzr+1 || _rindexes.length < _nnzr
+			|| _values.length < nnz || _indexes.length < nnz ) {
+			throw new RuntimeException("Incorrect array lengths.");
+		}
+		
+		//3. strictly increasing row indexes and non-decreasing row pointers
+		for( int ix=0; ix<_nnzr; ix++ ) {
+			if( _rindexes[ix] < 0 || _rindexes[ix] >= rlen
+				|| (ix > 0 && _rindexes[ix-1] >= _rindexes[ix]) )
+				throw new RuntimeException("Wrong row index ordering at position: "+ix);
+			if( _ptr[ix] > _ptr[ix+1] || (strict && _ptr[ix] == _ptr[ix+1]) )
+				throw new RuntimeException("Invalid row pointers for row: "+_rindexes[ix]
+					+ ", with pointers "+_ptr[ix]+" > "+_ptr[ix+1]);
+		}
+		if( _ptr[_nnzr] != _size )
+			throw new RuntimeException("Invalid last row pointer: "+_ptr[_nnzr]+" (expected "+_size+")");
+
+		//4. sorted column indexes per row
+		for( int ix=0; ix<_nnzr; ix++ ) {
+			int apos = _ptr[ix];
+			int alen = _ptr[ix+1] - apos;
+			for( int k=apos+1; k<apos+alen; k++)
+				if( _indexes[k-1] >= _indexes[k] )
+					throw new RuntimeException("Wrong sparse row ordering: "
+						+ k + " "+_indexes[k-1]+" "+_indexes[k]);
+			for( int k=apos; k<apos+alen; k++ )
+				if( _indexes[k] < 0 || _indexes[k] >= clen )
+					throw new RuntimeException("Invalid column index at position "+k+": "+_indexes[k]);
+		}
+
+		//5. non-existing zero values
+		for( int i=0; i<_size; i++ ) {
+			if( _values[i] == 0 ) {
+				throw new RuntimeException("The values array should not contain zeros."
+					+ " The " + i + "th value is "+_values[i]);
+			}
+		}
+
+		//6. a capacity that is no larger than nnz times resize factor.
+		int capacity = _values.length;
+		if( capacity > nnz*RESIZE_FACTOR1 && capacity > INIT_CAPACITY ) {
+			throw new RuntimeException("Capacity is larger than the nnz times a resize factor."
+				+ " Current size: "+capacity+ ", while Expected size:"+nnz*RESIZE_FACTOR1);
+		}
+
+		return true;
+	}
+	
+	@Override
+	public int[] indexes(int r) {
+		return _indexes;
+	}
+
+	@Override
+	public double[] values(int r) {
+		return _values;
+	}
+
+	@Override
+	public int pos(int r) {
+		int ix = rowIndex(r);
+		return _ptr[(ix >= 0) ? ix : -(ix+1)];
+	}
+
+	@Override
+	public boolean set(int r, int c, double v) {
+		int ix = rowIndex(r);
+		int pos = (ix >= 0) ? _ptr[ix] : 0;
+		int len = (ix >= 0) ? _ptr[ix+1] - pos : 0;
+		
+		//search for existing col index
+		int index = (ix >= 0) ? Arrays.binarySearch(_indexes, pos, pos+len, c) : -1;
+		if( index >= 0 ) {
+			//delete/overwrite existing value (on value delete, we shift 
+			//left for (1) correct nnz maintenance, and (2) smaller size)
+			if( v == 0 ) {
+				shiftLeftAndDelete(index);
+				decrPtr(ix, 1);
+				deleteRow(ix);
+				return true; // nnz--
+			}
+			else {
+				_values[index] = v;
+				return false;
+			}
+		}
+		
+		//early abort on zero (if no overwrite)
+		if( v==0 ) return false;
+		
+		//insert new index-value pair (incl new row if necessary)
+		if( ix < 0 ) {
+			ix = insertRow(-(ix+1), r);
+			index = _ptr[ix];
+		}
+		else
+			index = Math.abs( index+1 );
+		insertAndIncrPtr(ix, index, c, v);
+		return true; // nnz++
+	}
+	
+	@Override
+	public boolean add(int r, int c, double v) {
+		//early abort on zero
+		if( v==0 ) return false;
+		
+		int ix = rowIndex(r);
+		if( ix >= 0 ) {
+			//search for existing col index
+			int pos = _ptr[ix];
+			int index = Arrays.binarySearch(_indexes, pos, _ptr[ix+1], c);
+			if( index >= 0 ) {
+				//add to existing value
+				_values[index] += v;
+				return false;
+			}
+			insertAndIncrPtr(ix, Math.abs(index+1), c, v);
+		}
+		else {
+			ix = insertRow(-(ix+1), r);
+			insertAndIncrPtr(ix, _ptr[ix], c, v);
+		}
+		return true; // nnz++
+	}
+
+	@Override
+	public void set(int r, SparseRow row, boolean deep) {
+		//delete existing values if necessary
+		reset(r, -1, -1);
+		
+		int alen = row.size();
+		if( alen == 0 )
+			return;
+		int[] aix = row.indexes();
+		double[] avals = row.values();
+		
+		//prepare free space (allocate and shift)
+		int ix = insertRow(-(rowIndex(r)+1), r);
+		int pos = _ptr[ix];
+		if( _values.length < _size+alen )
+			resize(_size+alen);
+		shiftRightByN(pos, alen); //incl size update
+		incrPtr(ix, alen);
+		
+		//copy input row into internal representation
+		System.arraycopy(aix, 0, _indexes, pos, alen);
+		System.arraycopy(avals, 0, _values, pos, alen);
+	}
+	
+	@Override
+	public void append(int r, int c, double v) {
+		//early abort on zero 
+		if( v==0 ) return;
+		
+		if( _nnzr == 0 || _rindexes[_nnzr-1] < r ) {
+			//append new last row
+			appendRow(r, _size);
+			appendLast(c, v);
+		}
+		else if( _rindexes[_nnzr-1] == r ) {
+			//append to last row
+			appendLast(c, v);
+		}
+		else {
+			//append to end of existing or new row (shift and insert)
+			int ix = rowIndex(r);
+			if( ix < 0 )
+				ix = insertRow(-(ix+1), r);
+			insertAndIncrPtr(ix, _ptr[ix+1], c, v);
+		}
+	}
+
+	@Override
+	public void setIndexRange(int r, int cl, int cu, double[] v, int vix, int vlen) {
+		//delete existing values in range if necessary
+		deleteIndexRange(r, cl, cu);
+		
+		//determine input nnz
+		int lnnz = UtilFunctions.computeNnz(v, vix, vlen);
+		if( lnnz == 0 )
+			return;
+		
+		//prepare free space (allocate and shift)
+		int index = prepareIndexRange(r, cl, lnnz);
+		
+		//insert values
+		for( int i=vix; i<vix+vlen; i++ )
+			if( v[i] != 0 ) {
+				_indexes[ index ] = cl+i-vix;
+				_values[ index ] = v[i];
+				index++;
+			}
+	}
+	
+	@Override
+	public void setIndexRange(int r, int cl, int cu, double[] v, int[] vix, int vpos, int vlen) {
+		//delete existing values in range if necessary
+		deleteIndexRange(r, cl, cu);
+		if( vlen == 0 )
+			return;
+		
+		//prepare free space (allocate and shift)
+		int index = prepareIndexRange(r, cl, vlen);
+		
+		//insert values
+		for( int i=vpos; i<vpos+vlen; i++ ) {
+			_indexes[ index ] = cl+vix[i];
+			_values[ index ] = v[i];
+			index++;
+		}
+	}
+
+	@Override
+	public void deleteIndexRange(int r, int cl, int cu) {
+		int ix = rowIndex(r);
+		if( ix < 0 ) //nothing to delete
+			return;
+		
+		int pos = _ptr[ix];
+		int len = _ptr[ix+1] - pos;
+		int start = Arrays.binarySearch(_indexes, pos, pos+len, cl);
+		int end = Arrays.binarySearch(_indexes, pos, pos+len, cu);
+		start = (start >= 0) ? start : -(start+1);
+		end = (end >= 0) ? end : -(end+1);
+		if( start == end ) //nothing to delete
+			return;
+		
+		//overlapping array copy (shift rhs values left)
+		System.arraycopy(_indexes, end, _indexes, start, _size-end);
+		System.arraycopy(_values, end, _values, start, _size-end);
+		_size -= (end-start);
+		decrPtr(ix, end-start);
+		deleteRow(ix);
+	}
+
+	@Override
+	public void sort() {
+		for( int ix=0; ix<_nnzr; ix++ )
+			sortRow(ix);
+	}
+
+	@Override
+	public void sort(int r) {
+		int ix = rowIndex(r);
+		if( ix >= 0 )
+			sortRow(ix);
+	}
+
+	@Override
+	public double get(int r, int c) {
+		int ix = rowIndex(r);
+		if( ix < 0 )
+			return 0;
+		
+		//search for existing col index in [pos,pos+len)
+		int index = Arrays.binarySearch(_indexes, _ptr[ix], _ptr[ix+1], c);
+		return (index >= 0) ? _values[index] : 0;
+	}
+	
+	@Override 
+	public SparseRow get(int r) {
+		int ix = rowIndex(r);
+		if( ix < 0 || _ptr[ix+1] == _ptr[ix] )
+			return new SparseRowScalar();
+		int pos = _ptr[ix];
+		int len = _ptr[ix+1] - pos;
+		
+		SparseRowVector row = new SparseRowVector(len);
+		System.arraycopy(_indexes, pos, row.indexes(), 0, len);
+		System.arraycopy(_values, pos, row.values(), 0, len);
+		row.setSize(len);
+		return row;
+	}
+	
+	@Override
+	public int posFIndexLTE(int r, int c) {
+		int ix = rowIndex(r);
+		if( ix < 0 )
+			return -1;
+		int pos = _ptr[ix];
+		int len = _ptr[ix+1] - pos;
+		
+		//search for existing col index in [pos,pos+len)
+		int index = Arrays.binarySearch(_indexes, pos, pos+len, c);
+		if( index >= 0 )
+			return index-pos;
+		
+		//search lt col index (see binary search)
+		index = Math.abs( index+1 );
+		return (index-1 >= pos) ? index-1-pos : -1;
+	}
+
+	@Override
+	public int posFIndexGTE(int r, int c) {
+		int ix = rowIndex(r);
+		if( ix < 0 )
+			return -1;
+		int pos = _ptr[ix];
+		int len = _ptr[ix+1] - pos;
+		
+		//search for existing col index
+		int index = Arrays.binarySearch(_indexes, pos, pos+len, c);
+		if( index >= 0 )
+			return index-pos;
+		
+		//search gt col index (see binary search)
+		index = Math.abs( index+1 );
+		return (index < pos+len) ? index-pos : -1;
+	}
+
+	@Override
+	public int posFIndexGT(int r, int c) {
+		int ix = rowIndex(r);
+		if( ix < 0 )
+			return -1;
+		int pos = _ptr[ix];
+		int len = _ptr[ix+1] - pos;
+		
+		//search for existing col index
+		int index = Arrays.binarySearch(_indexes, pos, pos+len, c);
+		if( index >= 0 )
+			return (index+1 < pos+len) ? index+1-pos : -1;
+		
+		//search gt col index (see binary search)
+		index = Math.abs( index+1 );
+		return (index < pos+len) ? index-pos : -1;
+	}
+	
+	@Override
+	public Iterator<IJV> getIterator() {
+		return new SparseBlockDCSRIterator(0, _nnzr);
+	}
+	
+	@Override
+	public Iterator<IJV> getIterator(int ru) {
+		return new SparseBlockDCSRIterator(0, rowIndexGTE(ru));
+	}
+
+	@Override
+	public Iterator<IJV> getIterator(int rl, int ru) {
+		return new SparseBlockDCSRIterator(rowIndexGTE(rl), rowIndexGTE(ru));
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SparseBlockDCSR: rlen=");
+		sb.append(numRows());
+		sb.append(", nnzr=");
+		sb.append(_nnzr);
+		sb.append(", nnz=");
+		sb.append(size());
+		sb.append("\n");
+		for( int ix=0; ix<_nnzr; ix++ ) {
+			sb.append("row +");
+			sb.append(_rindexes[ix]);
+			sb.append(": ");
+			//append row
+			for(int j=_ptr[ix]; j<_ptr[ix+1]; j++) {
+				sb.append(_indexes[j]);
+				sb.append(": ");
+				sb.append(_values[j]);
+				sb.append("\t");
+			}
+			sb.append("\n");
+		}
+		
+		return sb.toString();
+	}
+
+	///////////////////////////
+	// private helper methods
+	
+	private int rowIndex(int r) {
+		//position of row r in the non-empty rows (or -(insertion point)-1)
+		return Arrays.binarySearch(_rindexes, 0, _nnzr, r);
+	}
+	
+	private int rowIndexGTE(int r) {
+		//position of the first non-empty row with index >= r
+		int ix = rowIndex(r);
+		return (ix >= 0) ? ix : -(ix+1);
+	}
+	
+	private int insertRow(int ix, int r) {
+		//insert an empty row r at position ix of the non-empty rows
+		if( _nnzr == _rindexes.length )
+			resizeRows();
+		System.arraycopy(_rindexes, ix, _rindexes, ix+1, _nnzr-ix);
+		System.arraycopy(_ptr, ix, _ptr, ix+1, _nnzr+1-ix);
+		_rindexes[ix] = r;
+		_nnzr++;
+		return ix;
+	}
+	
+	private void appendRow(int r, int pos) {
+		//append an empty row r after all non-empty rows
+		if( _nnzr == _rindexes.length )
+			resizeRows();
+		_rindexes[_nnzr] = r;
+		_ptr[_nnzr] = pos;
+		_nnzr++;
+		_ptr[_nnzr] = pos;
+	}
+	
+	private void deleteRow(int ix) {
+		//remove row at position ix if it became empty
+		if( _ptr[ix+1] != _ptr[ix] )
+			return;
+		System.arraycopy(_rindexes, ix+1, _rindexes, ix, _nnzr-ix-1);
+		System.arraycopy(_ptr, ix+1, _ptr, ix, _nnzr-ix);
+		_nnzr--;
+	}
+	
+	private void resizeRows() {
+		int newCap = (int)Math.min(Math.max(INIT_CAPACITY,
+			Math.ceil(_rindexes.length * RESIZE_FACTOR1)), Integer.MAX_VALUE-1);
+		_rindexes = Arrays.copyOf(_rindexes, newCap);
+		_ptr = Arrays.copyOf(_ptr, newCap+1);
+	}
+	
+	private void sortRow(int ix) {
+		int pos = _ptr[ix];
+		int len = _ptr[ix+1] - pos;
+		if( len<=100 || !SortUtils.isSorted(pos, pos+len, _indexes) )
+			SortUtils.sortByIndex(pos, pos+len, _indexes, _values);
+	}
+	
+	private int prepareIndexRange(int r, int cl, int lnnz) {
+		//ensure existing row, capacity, and free space at the position of cl
+		int ix = rowIndex(r);
+		if( ix < 0 )
+			ix = insertRow(-(ix+1), r);
+		int index = Arrays.binarySearch(_indexes, _ptr[ix], _ptr[ix+1], cl);
+		index = (index >= 0) ? index : -(index+1);
+		if( _values.length < _size+lnnz )
+			resize(_size+lnnz);
+		shiftRightByN(index, lnnz);
+		incrPtr(ix, lnnz);
+		return index;
+	}
+	
+	private int newCapacity(int minsize) {
+		//compute new size until minsize reached
+		double tmpCap = Math.max(_values.length, 1);
+		while( tmpCap < minsize ) {
+			tmpCap *= (tmpCap <= 1024) ? 
+				RESIZE_FACTOR1 : RESIZE_FACTOR2;
+		}
+		return (int)Math.min(tmpCap, Integer.MAX_VALUE);
+	}
+
+	private void resize(int minsize) {
+		resizeCopy(newCapacity(minsize));
+	}
+
+	private void resizeCopy(int capacity) {
+		//reallocate arrays and copy old values
+		_indexes = Arrays.copyOf(_indexes, capacity);
+		_values = Arrays.copyOf(_values, capacity);
+	}
+	
+	private void appendLast(int c, double v) {
+		if( _size == _values.length )
+			resize(_size+1);
+		_indexes[_size] = c;
+		_values[_size] = v;
+		_size++;
+		_ptr[_nnzr]++;
+	}
+	
+	private void insertAndIncrPtr(int ix, int index, int c, double v) {
+		if( _size == _values.length )
+			resize(_size+1);
+		shiftRightByN(index, 1);
+		_indexes[index] = c;
+		_values[index] = v;
+		incrPtr(ix, 1);
+	}
+
+	private void shiftLeftAndDelete(int ix) {
+		//overlapping array copy (shift rhs values left by 1)
+		System.arraycopy(_indexes, ix+1, _indexes, ix, _size-ix-1);
+		System.arraycopy(_values, ix+1, _values, ix, _size-ix-1);
+		_size--;
+	}
+
+	private void shiftRightByN(int ix, int n) {
+		//overlapping array copy (shift rhs values right by n)
+		System.arraycopy(_indexes, ix, _indexes, ix+n, _size-ix);
+		System.arraycopy(_values, ix, _values, ix+n, _size-ix);
+		_size += n;
+	}
+
+	private void incrPtr(int ix, int cnt) {
+		//update row pointers of all subsequent non-empty rows
+		for( int i=ix+1; i<=_nnzr; i++ )
+			_ptr[i] += cnt;
+	}
+
+	private void decrPtr(int ix, int cnt) {
+		for( int i=ix+1; i<=_nnzr; i++ )
+			_ptr[i] -= cnt;
+	}
+	
+	/**
+	 * Custom sparse block DCSR iterator implemented against the
+	 * SparseBlockDCSR data structure in order to avoid unnecessary
+	 * binary search for row locations and lengths.
+	 * 
+	 */
+	private class SparseBlockDCSRIterator implements Iterator<IJV>
+	{
+		private int _ix = 0;  //current non-empty row position
+		private int _ixu = 0; //upper non-empty row position (exclusive)
+		private int _pos = 0; //current nnz position
+		private IJV retijv = new IJV(); //reuse output tuple
+
+		protected SparseBlockDCSRIterator(int ixl, int ixu) {
+			_ix = ixl;
+			_ixu = ixu;
+			_pos = (ixl < ixu) ? _ptr[ixl] : 0;
+			findNextNonZero();
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return _ix < _ixu;
+		}
+
+		@Override
+		public IJV next( ) {
+			retijv.set(_rindexes[_ix], _indexes[_pos], _values[_pos]);
+			_pos++;
+			findNextNonZero();
+			return retijv;
+		}
+
+		@Override
+		public void remove() {
+			throw new RuntimeException("SparseBlockDCSRIterator is unsupported!");
+		}
+		
+		private void findNextNonZero() {
+			while( _ix < _ixu && _pos >= _ptr[_ix+1] )
+				_ix++;
+		}
+	}
+}
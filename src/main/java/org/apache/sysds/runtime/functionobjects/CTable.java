@@ -106,6 +106,37 @@ public class CTable extends ValueFunction
 				ctableResult.quickGetValue((int)row-1, (int)col-1) + w);
 	}
 
+	public void execute(double v1, double v2, double w, boolean ignoreZeros, double[] ctableResult, int rlen, int clen)
+	{
+		// If any of the values are NaN (i.e., missing) then 
+		// we skip this tuple, proceed to the next tuple
+		if ( Double.isNaN(v1) || Double.isNaN(v2) || Double.isNaN(w) ) {
+			return;
+		}
+		
+		// safe casts to long for consistent behavior with indexing
+		long row = UtilFunctions.toLong( v1 );
+		long col = UtilFunctions.toLong( v2 );
+		
+		// skip this entry as it does not fall within specified output dimensions
+		if( ignoreZeros && row == 0 && col == 0 ) {
+			return;
+		}
+		
+		//check for incorrect ctable inputs
+		if( row <= 0 || col <= 0 ) {
+			throw new DMLRuntimeException("Erroneous input while computing the contingency table (one of the value <= zero): "+v1+" "+v2);
+		}
+		
+		// skip this entry as it does not fall within specified output dimensions
+		if( row > rlen || col > clen ) {
+			return;
+		}
+		
+		//add value to row-major dense (partial) result
+		ctableResult[(int)(row-1)*clen + (int)(col-1)] += w;
+	}
+
 	public int execute(int row, double v2, double w, int maxCol, MatrixBlock ctableResult) 
 	{
 		// If any of the values are NaN (i.e., missing) then 
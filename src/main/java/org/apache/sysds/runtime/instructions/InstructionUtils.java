@@ -20,6 +20,7 @@
 package org.apache.sysds.runtime.instructions;
 
 import java.util.Arrays;
+import java.util.Objects;
 import java.util.StringTokenizer;
 
 import org.apache.sysds.common.Types;
@@ -27,6 +28,7 @@ import org.apache.sysds.common.Types.AggOp;
 import org.apache.sysds.common.Types.CorrectionLocationType;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.Direction;
+import org.apache.sysds.common.Types.FileFormat;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.lops.Lop;
 import org.apache.sysds.lops.WeightedCrossEntropy;
@@ -82,6 +84,8 @@ import org.apache.sysds.runtime.functionobjects.ReduceRow;
 import org.apache.sysds.runtime.functionobjects.Xor;
 import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
 import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.VariableCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.CPInstruction.CPType;
 import org.apache.sysds.runtime.instructions.fed.FEDInstruction.FEDType;
 import org.apache.sysds.runtime.instructions.gpu.GPUInstruction.GPUINSTRUCTION_TYPE;
@@ -94,16 +98,22 @@ import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
 import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysds.runtime.matrix.operators.LeftScalarOperator;
 import org.apache.sysds.runtime.matrix.operators.Operator;
+import org.apache.sysds.runtime.matrix.operators.ReorgOperator;
 import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
 import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysds.runtime.matrix.operators.TernaryOperator;
 import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysds.runtime.matrix.operators.CMOperator;
 import org.apache.sysds.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
+import org.apache.sysds.runtime.meta.MetaData;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
 
 
 public class InstructionUtils 
 {
+	//debug flag for validating directly created instructions against the parsed instruction strings
+	public static boolean VALIDATE_DIRECT_INSTRUCTIONS = false;
+	
 	//thread-local string builders for instruction concatenation (avoid allocation)
 	private static ThreadLocal<StringBuilder> _strBuilders = new ThreadLocal<StringBuilder>() {
 		@Override
@@ -1141,4 +1151,85 @@ public class InstructionUtils
 			Lop.OPERAND_DELIMITOR+oldOperand.getName()+Lop.DATATYPE_PREFIX,
 			Lop.OPERAND_DELIMITOR+newOperandName+Lop.DATATYPE_PREFIX);
 	}
+
+	/**
+	 * Validates a directly created instruction (i.e., created without parsing its
+	 * instruction string) against the instruction obtained by parsing its instruction
+	 * string. This check is intended for testing and debugging only.
+	 * 
+	 * @param inst directly created instruction
+	 * @throws DMLRuntimeException if the two instructions do not match
+	 */
+	public static void validateDirectInstruction(Instruction inst) {
+		Instruction pinst = InstructionParser.parseSingleInstruction(inst.toString());
+		boolean valid = pinst != null
+			&& inst.getClass() == pinst.getClass()
+			&& inst.getOpcode().equals(pinst.getOpcode());
+		if( valid && inst instanceof ComputationCPInstruction ) {
+			ComputationCPInstruction cinst = (ComputationCPInstruction) inst;
+			ComputationCPInstruction cpinst = (ComputationCPInstruction) pinst;
+			valid = equalsOperands(cinst.getInputs(), cpinst.getInputs())
+				&& equalsOperand(cinst.getOutput(), cpinst.getOutput())
+				&& equalsOperator(cinst.getOperator(), cpinst.getOperator());
+		}
+		else if( valid && inst instanceof VariableCPInstruction ) {
+			VariableCPInstruction vinst = (VariableCPInstruction) inst;
+			VariableCPInstruction vpinst = (VariableCPInstruction) pinst;
+			valid = vinst.getVariableOpcode() == vpinst.getVariableOpcode()
+				&& equalsOperands(vinst.getInputs().toArray(new CPOperand[0]),
+					vpinst.getInputs().toArray(new CPOperand[0]))
+				&& equalsOperand(vinst.getOutput(), vpinst.getOutput())
+				&& Objects.equals(vinst.getMetaData(), vpinst.getMetaData())
+				&& getFileFormat(vinst.getMetaData()) == getFileFormat(vpinst.getMetaData())
+				&& vinst.getUpdateType() == vpinst.getUpdateType()
+				&& Objects.equals(vinst.getSchema(), vpinst.getSchema());
+		}
+		if( !valid )
+			throw new DMLRuntimeException("Directly created instruction does not "
+				+ "match the parsed instruction: " + inst.toString());
+	}
+	
+	private static FileFormat getFileFormat(MetaData md) {
+		return (md instanceof MetaDataFormat) ?
+			((MetaDataFormat) md).getFileFormat() : null;
+	}
+	
+	private static boolean equalsOperands(CPOperand[] ops1, CPOperand[] ops2) {
+		if( ops1.length != ops2.length )
+			return false;
+		for( int i=0; i<ops1.length; i++ )
+			if( !equalsOperand(ops1[i], ops2[i]) )
+				return false;
+		return true;
+	}
+	
+	private static boolean equalsOperand(CPOperand op1, CPOperand op2) {
+		if( op1 == null || op2 == null )
+			return op1 == op2;
+		return op1.getName().equals(op2.getName())
+			&& op1.getDataType() == op2.getDataType()
+			&& op1.getValueType() == op2.getValueType()
+			&& op1.isLiteral() == op2.isLiteral();
+	}
+	
+	private static boolean equalsOperator(Operator op1, Operator op2) {
+		if( op1 == null || op2 == null )
+			return op1 == op2;
+		if( op1.getClass() != op2.getClass() || op1.sparseSafe != op2.sparseSafe )
+			return false;
+		if( op1 instanceof BinaryOperator )
+			return ((BinaryOperator)op1).fn.getClass() == ((BinaryOperator)op2).fn.getClass()
+				&& ((BinaryOperator)op1).getNumThreads() == ((BinaryOperator)op2).getNumThreads();
+		else if( op1 instanceof ScalarOperator )
+			return ((ScalarOperator)op1).fn.getClass() == ((ScalarOperator)op2).fn.getClass()
+				&& ((ScalarOperator)op1).getConstant() == ((ScalarOperator)op2).getConstant();
+		else if( op1 instanceof ReorgOperator )
+			return ((ReorgOperator)op1).fn.getClass() == ((ReorgOperator)op2).fn.getClass()
+				&& ((ReorgOperator)op1).getNumThreads() == ((ReorgOperator)op2).getNumThreads();
+		else if( op1 instanceof AggregateBinaryOperator )
+			return ((AggregateBinaryOperator)op1).binaryFn.getClass() == ((AggregateBinaryOperator)op2).binaryFn.getClass()
+				&& ((AggregateBinaryOperator)op1).aggOp.increOp.fn.getClass() == ((AggregateBinaryOperator)op2).aggOp.increOp.fn.getClass()
+				&& ((AggregateBinaryOperator)op1).getNumThreads() == ((AggregateBinaryOperator)op2).getNumThreads();
+		return true;
+	}
 }
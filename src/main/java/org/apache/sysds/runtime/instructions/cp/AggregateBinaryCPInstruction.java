@@ -70,6 +70,21 @@ public class AggregateBinaryCPInstruction extends BinaryCPInstruction {
 		else return new AggregateBinaryCPInstruction(aggbin, in1, in2, out, opcode, str);
 	}
 
+	/**
+	 * Creates a matrix multiplication instruction from already typed operands,
+	 * which avoids parsing the instruction string during instruction generation.
+	 * 
+	 * @param in1 first input operand
+	 * @param in2 second input operand
+	 * @param out output operand
+	 * @param k degree of parallelism
+	 * @param str instruction string (for explain and serialization)
+	 * @return matrix multiplication instruction
+	 */
+	public static AggregateBinaryCPInstruction create(CPOperand in1, CPOperand in2, CPOperand out, int k, String str) {
+		return new AggregateBinaryCPInstruction(InstructionUtils.getMatMultOperator(k), in1, in2, out, "ba+*", str);
+	}
+
 	@Override
 	public void processInstruction(ExecutionContext ec) {
 		// get inputs
@@ -41,7 +41,21 @@ public abstract class BinaryCPInstruction extends ComputationCPInstruction {
 		CPOperand in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		String opcode = parseBinaryInstruction(str, in1, in2, out);
+		return create(opcode, in1, in2, out, str);
+	}
 
+	/**
+	 * Creates a binary instruction from already typed operands, which avoids
+	 * parsing the instruction string during instruction generation from lops.
+	 * 
+	 * @param opcode operation code
+	 * @param in1 first input operand
+	 * @param in2 second input operand
+	 * @param out output operand
+	 * @param str instruction string (for explain and serialization)
+	 * @return binary instruction
+	 */
+	public static BinaryCPInstruction create(String opcode, CPOperand in1, CPOperand in2, CPOperand out, String str) {
 		if(!(in1.getDataType() == DataType.FRAME || in2.getDataType() == DataType.FRAME))
 			checkOutputDataType(in1, in2, out);
 		
@@ -29,6 +29,9 @@ import org.apache.sysds.runtime.matrix.operators.Operator;
 
 public class BinaryMatrixMatrixCPInstruction extends BinaryCPInstruction {
 
+	//number of threads for linear algebra operations w/o operator (e.g., solve)
+	private int _numThreads = 1;
+
 	protected BinaryMatrixMatrixCPInstruction(Operator op, CPOperand in1, CPOperand in2, CPOperand out, String opcode,
 		String istr) {
 		super(CPType.Binary, op, in1, in2, out, opcode, istr);
@@ -36,6 +39,10 @@ public class BinaryMatrixMatrixCPInstruction extends BinaryCPInstruction {
 			String[] parts = InstructionUtils.getInstructionParts(istr);
 			((BinaryOperator) op).setNumThreads(Integer.parseInt(parts[parts.length - 1]));
 		}
+		else if(LibCommonsMath.isSupportedMatrixMatrixOperation(opcode)) {
+			String[] parts = InstructionUtils.getInstructionParts(istr);
+			_numThreads = Integer.parseInt(parts[parts.length - 1]);
+		}
 	}
 
 	@Override
@@ -50,7 +57,7 @@ public class BinaryMatrixMatrixCPInstruction extends BinaryCPInstruction {
 		MatrixBlock retBlock;
 
 		if(LibCommonsMath.isSupportedMatrixMatrixOperation(getOpcode()) && !compressedLeft && !compressedRight)
-			retBlock = LibCommonsMath.matrixMatrixOperations(inBlock1, inBlock2, getOpcode());
+			retBlock = LibCommonsMath.matrixMatrixOperations(inBlock1, inBlock2, getOpcode(), _numThreads);
 		else {
 			// Perform computation using input matrices, and produce the result matrix
 			BinaryOperator bop = (BinaryOperator) _optr;
@@ -19,7 +19,10 @@
 
 package org.apache.sysds.runtime.instructions.cp;
 
+import java.util.Arrays;
+
 import org.apache.sysds.common.Types.OpOpN;
+import org.apache.sysds.lops.Lop;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.functionobjects.Builtin;
 import org.apache.sysds.runtime.functionobjects.Plus;
@@ -59,6 +62,15 @@ public abstract class BuiltinNaryCPInstruction extends CPInstruction
 	public static BuiltinNaryCPInstruction parseInstruction(String str) {
 		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
 		String opcode = parts[0];
+		
+		//optional degree of parallelism of cbind/rbind (appended after the output)
+		int numThreads = 1;
+		if( (opcode.equals("cbind") || opcode.equals("rbind"))
+			&& !parts[parts.length-1].contains(Lop.VALUETYPE_PREFIX) ) {
+			numThreads = Integer.parseInt(parts[parts.length-1]);
+			parts = Arrays.copyOf(parts, parts.length-1);
+		}
+		
 		CPOperand outputOperand = new CPOperand(parts[parts.length - 1]);
 		CPOperand[] inputOperands = null;
 		if (parts.length > 2) {
@@ -74,7 +86,7 @@ public abstract class BuiltinNaryCPInstruction extends CPInstruction
 		}
 		else if( opcode.equals("cbind") || opcode.equals("rbind") ) {
 			return new MatrixBuiltinNaryCPInstruction(
-				null, opcode, str, outputOperand, inputOperands);
+				null, opcode, str, outputOperand, numThreads, inputOperands);
 		}
 		else if( opcode.equals("nmin") || opcode.equals("nmax") ) {
 			ValueFunction func = Builtin.getBuiltinFnObject(opcode.substring(1));
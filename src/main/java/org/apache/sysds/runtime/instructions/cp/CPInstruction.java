@@ -49,6 +49,7 @@ public abstract class CPInstruction extends Instruction
 
 	protected final CPType _cptype;
 	protected final boolean _requiresLabelUpdate;
+	protected boolean _fedLocalExec = false;
 
 	protected CPInstruction(CPType type, String opcode, String istr) {
 		this(type, null, opcode, istr);
@@ -78,6 +79,20 @@ public abstract class CPInstruction extends Instruction
 		return _requiresLabelUpdate;
 	}
 
+	/**
+	 * Marks this instruction for execution at the coordinator, even if some
+	 * of its inputs are federated (as decided by the federated planner).
+	 * 
+	 * @param localExec true to disable the runtime conversion to federated instructions
+	 */
+	public void setFederatedLocalExec(boolean localExec) {
+		_fedLocalExec = localExec;
+	}
+	
+	public boolean isFederatedLocalExec() {
+		return _fedLocalExec;
+	}
+
 	@Override
 	public String getGraphString() {
 		return getOpcode();
@@ -99,7 +114,8 @@ public abstract class CPInstruction extends Instruction
 		}
 		
 		//robustness federated instructions (runtime assignment)
-		tmp = FEDInstructionUtils.checkAndReplaceCP(tmp, ec);
+		if( !_fedLocalExec )
+			tmp = FEDInstructionUtils.checkAndReplaceCP(tmp, ec);
 		//NOTE: Retracing of lineage is not needed as the lineage trace
 		//is same for an instruction and its FED version.
 
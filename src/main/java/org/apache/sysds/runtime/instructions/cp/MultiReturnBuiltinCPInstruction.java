@@ -40,7 +40,12 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction {
 
 	private MultiReturnBuiltinCPInstruction(Operator op, CPOperand input1, ArrayList<CPOperand> outputs, String opcode,
 			String istr) {
-		super(CPType.MultiReturnBuiltin, op, input1, null, outputs.get(0), opcode, istr);
+		this(op, input1, null, outputs, opcode, istr);
+	}
+	
+	private MultiReturnBuiltinCPInstruction(Operator op, CPOperand input1, CPOperand input2, ArrayList<CPOperand> outputs,
+			String opcode, String istr) {
+		super(CPType.MultiReturnBuiltin, op, input1, input2, outputs.get(0), opcode, istr);
 		_outputs = outputs;
 	}
 	
@@ -92,13 +97,16 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction {
 		}
 		else if ( opcode.equalsIgnoreCase("svd") ) {
 			CPOperand in1 = new CPOperand(parts[1]);
+			// optional rank of randomized, truncated svd
+			CPOperand in2 = (parts.length == 6) ? new CPOperand(parts[2]) : null;
+			int pos = (in2 != null) ? 3 : 2;
 
-			// one input and three outputs
-			outputs.add ( new CPOperand(parts[2], ValueType.FP64, DataType.MATRIX) );
-			outputs.add ( new CPOperand(parts[3], ValueType.FP64, DataType.MATRIX) );
-			outputs.add ( new CPOperand(parts[4], ValueType.FP64, DataType.MATRIX) );
+			// one (or two) inputs and three outputs
+			outputs.add ( new CPOperand(parts[pos], ValueType.FP64, DataType.MATRIX) );
+			outputs.add ( new CPOperand(parts[pos+1], ValueType.FP64, DataType.MATRIX) );
+			outputs.add ( new CPOperand(parts[pos+2], ValueType.FP64, DataType.MATRIX) );
 			
-			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str);
+			return new MultiReturnBuiltinCPInstruction(null, in1, in2, outputs, opcode, str);
 
 		}
 		else {
@@ -117,7 +125,10 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction {
 			throw new DMLRuntimeException("Invalid opcode in MultiReturnBuiltin instruction: " + getOpcode());
 		
 		MatrixBlock in = ec.getMatrixInput(input1.getName());
-		MatrixBlock[] out = LibCommonsMath.multiReturnOperations(in, getOpcode());
+		MatrixBlock[] out = (input2 != null) ?
+			LibCommonsMath.multiReturnOperations(in, getOpcode(),
+				(int)ec.getScalarInput(input2).getLongValue()) :
+			LibCommonsMath.multiReturnOperations(in, getOpcode());
 		ec.releaseMatrixInput(input1.getName());
 		for(int i=0; i < _outputs.size(); i++) {
 			ec.setMatrixOutput(_outputs.get(i).getName(), out[i]);
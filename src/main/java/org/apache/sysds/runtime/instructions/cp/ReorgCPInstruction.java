@@ -85,6 +85,30 @@ public class ReorgCPInstruction extends UnaryCPInstruction {
 		_ixret = ixret;
 	}
 
+	/**
+	 * Creates a transpose, rev, or diag instruction from already typed operands,
+	 * which avoids parsing the instruction string during instruction generation.
+	 * 
+	 * @param opcode operation code (r', rev, rdiag)
+	 * @param in input operand
+	 * @param out output operand
+	 * @param k degree of parallelism (transpose only)
+	 * @param str instruction string (for explain and serialization)
+	 * @return reorg instruction
+	 */
+	public static ReorgCPInstruction create(String opcode, CPOperand in, CPOperand out, int k, String str) {
+		switch( opcode ) {
+			case "r'":
+				return new ReorgCPInstruction(new ReorgOperator(SwapIndex.getSwapIndexFnObject(), k), in, out, opcode, str);
+			case "rev":
+				return new ReorgCPInstruction(new ReorgOperator(RevIndex.getRevIndexFnObject()), in, out, opcode, str);
+			case "rdiag":
+				return new ReorgCPInstruction(new ReorgOperator(DiagIndex.getDiagIndexFnObject()), in, out, opcode, str);
+			default:
+				throw new DMLRuntimeException("Unsupported reorg operation: " + opcode);
+		}
+	}
+	
 	public static ReorgCPInstruction parseInstruction ( String str ) {
 		CPOperand in = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
@@ -39,19 +39,21 @@ public class ReshapeCPInstruction extends UnaryCPInstruction {
 	private final CPOperand _opCols;
 	private final CPOperand _opDims;
 	private final CPOperand _opByRow;
+	private final int _numThreads;
 
 	private ReshapeCPInstruction(Operator op, CPOperand in1, CPOperand in2, CPOperand in3,
-		CPOperand in4, CPOperand in5, CPOperand out, String opcode, String istr) {
+		CPOperand in4, CPOperand in5, CPOperand out, int k, String opcode, String istr) {
 		super(CPType.Reshape, op, in1, out, opcode, istr);
 		_opRows = in2;
 		_opCols = in3;
 		_opDims = in4;
 		_opByRow = in5;
+		_numThreads = k;
 	}
 
 	public static ReshapeCPInstruction parseInstruction (String str ) {
 		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
-		InstructionUtils.checkNumFields( parts, 6 );
+		InstructionUtils.checkNumFields( parts, 6, 7 );
 		String opcode = parts[0];
 		CPOperand in1 = new CPOperand(parts[1]);
 		CPOperand in2 = new CPOperand(parts[2]);
@@ -59,10 +61,11 @@ public class ReshapeCPInstruction extends UnaryCPInstruction {
 		CPOperand in4 = new CPOperand(parts[4]);
 		CPOperand in5 = new CPOperand(parts[5]);
 		CPOperand out = new CPOperand(parts[6]);
+		int k = (parts.length > 7) ? Integer.parseInt(parts[7]) : 1;
 		if(!opcode.equalsIgnoreCase("rshape"))
 			throw new DMLRuntimeException("Unknown opcode while parsing an ReshapeInstruction: " + str);
 		else
-			return new ReshapeCPInstruction(new Operator(true), in1, in2, in3, in4, in5, out, opcode, str);
+			return new ReshapeCPInstruction(new Operator(true), in1, in2, in3, in4, in5, out, k, opcode, str);
 	}
 	
 	@Override
@@ -100,7 +103,7 @@ public class ReshapeCPInstruction extends UnaryCPInstruction {
 
 			//execute operations
 			MatrixBlock out = new MatrixBlock();
-			LibMatrixReorg.reshape(in, out, rows, cols, byRow.getBooleanValue());
+			LibMatrixReorg.reshape(in, out, rows, cols, byRow.getBooleanValue(), _numThreads);
 
 			//set output and release inputs
 			ec.setMatrixOutput(output.getName(), out);
@@ -66,6 +66,11 @@ public abstract class UnaryCPInstruction extends ComputationCPInstruction {
 				UnaryOperator op = new UnaryOperator(func, Integer.parseInt(parts[3]),Boolean.parseBoolean(parts[4]));
 				return new UnaryMatrixCPInstruction(op, in, out, opcode, str);
 			}
+			else if( LibCommonsMath.isSupportedUnaryOperation(opcode) ) {
+				//inverse/cholesky w/ number of threads for the blocked kernels
+				UnaryOperator op = new UnaryOperator(null, Integer.parseInt(parts[3]), false);
+				return new UnaryMatrixCPInstruction(op, in, out, opcode, str);
+			}
 			else
 				return new UnaryScalarCPInstruction(null, in, out, opcode, str);
 		}
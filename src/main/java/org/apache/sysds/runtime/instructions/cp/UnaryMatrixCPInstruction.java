@@ -19,6 +19,7 @@
 
 package org.apache.sysds.runtime.instructions.cp;
 
+import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.matrix.data.LibCommonsMath;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -36,7 +37,9 @@ public class UnaryMatrixCPInstruction extends UnaryCPInstruction {
 		MatrixBlock retBlock = null;
 		
 		if(LibCommonsMath.isSupportedUnaryOperation(getOpcode())) {
-			retBlock = LibCommonsMath.unaryOperations(inBlock, getOpcode());
+			int k = (_optr != null) ? ((UnaryOperator) _optr).getNumThreads() :
+				OptimizerUtils.getConstrainedNumThreads(-1);
+			retBlock = LibCommonsMath.unaryOperations(inBlock, getOpcode(), k);
 			ec.releaseMatrixInput(input1.getName());
 		}
 		else {
@@ -254,10 +254,22 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 		return opcode;
 	}
 
+	public MetaData getMetaData() {
+		return metadata;
+	}
+
 	public FileFormatProperties getFormatProperties() {
 		return _formatProperties;
 	}
 
+	public UpdateType getUpdateType() {
+		return _updateType;
+	}
+
+	public String getSchema() {
+		return _schema;
+	}
+
 	public List<CPOperand> getInputs() {
 		return inputs;
 	}
@@ -1246,7 +1258,12 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 			sb.append(Lop.OPERAND_DELIMITOR);
 			sb.append(varName);
 		}
-		return parseInstruction(sb.toString());
+		//direct construction w/o parsing the instruction string
+		VariableCPInstruction rminst = new VariableCPInstruction(
+			VariableOperationCode.RemoveVariable, null, null, null, null, "rmvar", sb.toString());
+		for( String varName : varNames )
+			rminst.addInput(new CPOperand(varName, ValueType.UNKNOWN, DataType.SCALAR));
+		return validate(rminst);
 	}
 
 	public static Instruction prepareCopyInstruction(String srcVar, String destVar) {
@@ -1258,7 +1275,11 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 		sb.append(srcVar);
 		sb.append(Lop.OPERAND_DELIMITOR);
 		sb.append(destVar);
-		return parseInstruction(sb.toString());
+		if( srcVar.contains(VALUETYPE_PREFIX) || destVar.contains(VALUETYPE_PREFIX) )
+			return parseInstruction(sb.toString()); //typed operands
+		return validate(new VariableCPInstruction(VariableOperationCode.CopyVariable,
+			new CPOperand(srcVar, ValueType.UNKNOWN, DataType.UNKNOWN),
+			new CPOperand(destVar, ValueType.UNKNOWN, DataType.UNKNOWN), null, null, "cpvar", sb.toString()));
 	}
 
 	public static Instruction prepMoveInstruction(String srcVar, String destFileName, String format) {
@@ -1286,15 +1307,20 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 		sb.append(srcVar);
 		sb.append(Lop.OPERAND_DELIMITOR);
 		sb.append(destVar);
-		String str = sb.toString();
-		return parseInstruction(str);
+		return validate(new VariableCPInstruction(VariableOperationCode.MoveVariable,
+			new CPOperand(srcVar, ValueType.UNKNOWN, DataType.UNKNOWN),
+			new CPOperand(destVar, ValueType.UNKNOWN, DataType.UNKNOWN), null, null, "mvvar", sb.toString()));
 	}
 
-	private static String getBasicCreatevarString(String varName, String fileName, boolean fNameOverride, DataType dt, String format) {
+	private static boolean isFileNameOverride(boolean fNameOverride) {
 		//note: the filename override property leads to concatenation of unique ids in order to
 		//ensure conflicting filenames for objects that originate from the same instruction
-		boolean lfNameOverride = fNameOverride && !ConfigurationManager
+		return fNameOverride && !ConfigurationManager
 			.getCompilerConfigFlag(ConfigType.IGNORE_TEMPORARY_FILENAMES);
+	}
+
+	private static String getBasicCreatevarString(String varName, String fileName, boolean fNameOverride, DataType dt, String format) {
+		boolean lfNameOverride = isFileNameOverride(fNameOverride);
 
 		StringBuilder sb = new StringBuilder();
 		sb.append("CP");
@@ -1332,8 +1358,29 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 		sb.append(mc.getNonZeros());
 		sb.append(Lop.OPERAND_DELIMITOR);
 		sb.append(update.toString().toLowerCase());
+		String str = sb.toString();
 
-		return parseInstruction(sb.toString());
+		//direct construction w/o parsing the instruction string, except for
+		//tensors and formats with additional format properties
+		FileFormat fmt = FileFormat.safeValueOf(format);
+		if( dt == DataType.TENSOR || fmt == FileFormat.CSV || fmt == FileFormat.LIBSVM || fmt == FileFormat.HDF5 )
+			return parseInstruction(str);
+		boolean lfNameOverride = isFileNameOverride(fNameOverride);
+		MetaDataFormat iimd = (dt == DataType.MATRIX || dt == DataType.FRAME || dt == DataType.LIST) ?
+			new MetaDataFormat(new MatrixCharacteristics(mc.getRows(), mc.getCols(),
+				mc.getBlocksize(), mc.getNonZeros()), fmt) : null;
+		return validate(new VariableCPInstruction(VariableOperationCode.CreateVariable,
+			new CPOperand(varName, dt==DataType.MATRIX ? ValueType.FP64 : ValueType.STRING, dt),
+			new CPOperand(fileName, ValueType.STRING, DataType.SCALAR),
+			new CPOperand(String.valueOf(lfNameOverride), ValueType.BOOLEAN, DataType.SCALAR),
+			iimd, update, null, "createvar", str));
+	}
+	
+	private static VariableCPInstruction validate(VariableCPInstruction inst) {
+		//optional check of direct construction against parsed instruction
+		if( InstructionUtils.VALIDATE_DIRECT_INSTRUCTIONS )
+			InstructionUtils.validateDirectInstruction(inst);
+		return inst;
 	}
 
 	public static Instruction prepCreatevarInstruction(String varName, String fileName, boolean fNameOverride, DataType dt, String format, DataCharacteristics mc, UpdateType update, boolean hasHeader, String delim, boolean sparse) {
@@ -65,7 +65,7 @@ public class CtableFEDInstruction extends ComputationFEDInstruction {
 
 	public static CtableFEDInstruction parseInstruction(String inst) {
 		String[] parts = InstructionUtils.getInstructionPartsWithValueType(inst);
-		InstructionUtils.checkNumFields(parts, 7);
+		InstructionUtils.checkNumFields(parts, 7, 8);
 
 		String opcode = parts[0];
 
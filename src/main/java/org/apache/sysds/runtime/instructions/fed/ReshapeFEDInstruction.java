@@ -56,7 +56,7 @@ public class ReshapeFEDInstruction extends UnaryFEDInstruction {
 
 	public static ReshapeFEDInstruction parseInstruction(String str) {
 		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
-		InstructionUtils.checkNumFields(parts, 6);
+		InstructionUtils.checkNumFields(parts, 6, 7);
 		String opcode = parts[0];
 		CPOperand in1 = new CPOperand(parts[1]);
 		CPOperand in2 = new CPOperand(parts[2]);
@@ -50,11 +50,11 @@ public abstract class LineageObject
 		return (_cd != null);
 	}
 	
-	public void incrementNumReferences() {
+	public synchronized void incrementNumReferences() {
 		_numRef++;
 	}
 	
-	public void decrementNumReferences() {
+	public synchronized void decrementNumReferences() {
 		_numRef--;
 	}
 	
@@ -30,6 +30,7 @@ import java.io.ObjectOutputStream;
 import java.util.Arrays;
 
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlockFactory;
 import org.apache.sysds.runtime.util.FastBufferedDataInputStream;
@@ -46,6 +47,10 @@ import org.apache.sysds.runtime.util.UtilFunctions;
 public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 {
 	private static final long serialVersionUID = 1298817743064415129L;
+	//cache block code of compressed matrix blocks, which are serialized
+	//with a per-block code as partitions might fall back to uncompressed blocks
+	private static final int COMPRESSED = 3;
+	
 	protected CacheBlock[] _partBlocks = null;
 	protected long[] _dims = {-1, -1};
 	protected int _blen = -1;
@@ -74,9 +79,13 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 			Arrays.parallelSetAll(_partBlocks, index -> {
 				int i = index / ncblks;
 				int j = index % ncblks;
+				int rl = i * _blen, ru = Math.min((i + 1) * _blen, rlen) - 1;
+				int cl = j * _blen, cu = Math.min((j + 1) * _blen, clen) - 1;
+				//keep column group compression of compressed inputs
+				if( code == COMPRESSED )
+					return ((CompressedMatrixBlock) block).sliceCompressed(rl, ru, cl, cu);
 				T tmp = (T) CacheBlockFactory.newInstance(code);
-				return block.slice(i * _blen, Math.min((i + 1) * _blen, rlen) - 1,
-					j * _blen, Math.min((j + 1) * _blen, clen) - 1, tmp);
+				return block.slice(rl, ru, cl, cu, tmp);
 			});
 		} catch(Exception ex) {
 			throw new RuntimeException("Failed partitioning of broadcast variable input.", ex);
@@ -215,9 +224,15 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 	public long getExactSerializedSize() {
 		long ret = 24; //header
 		
-		if( _partBlocks != null )
-			for( CacheBlock block : _partBlocks )
+		if( _partBlocks != null ) {
+			boolean compressed = false;
+			for( CacheBlock block : _partBlocks ) {
 				ret += block.getExactSerializedSize();
+				compressed |= block instanceof CompressedMatrixBlock;
+			}
+			//per-block codes of compressed partitions
+			ret += compressed ? _partBlocks.length : 0;
+		}
 		
 		return ret;
 	}
@@ -282,10 +297,17 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		dos.writeInt(_blen);
 		dos.writeInt(_offset);
 		dos.writeInt(_partBlocks.length);
-		dos.writeByte(CacheBlockFactory.getCode(_partBlocks[0]));
-		
+		int code = CacheBlockFactory.getCode(_partBlocks[0]);
 		for( CacheBlock block : _partBlocks )
+			if( CacheBlockFactory.getCode(block) == COMPRESSED )
+				code = COMPRESSED;
+		dos.writeByte(code);
+		
+		for( CacheBlock block : _partBlocks ) {
+			if( code == COMPRESSED )
+				dos.writeByte(CacheBlockFactory.getCode(block));
 			block.write(dos);
+		}
 	}
 
 	private int readHeader(DataInput dis) 
@@ -310,7 +332,8 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 	{
 		int len = _partBlocks.length;
 		for( int i=0; i<len; i++ ) {
-			_partBlocks[i] = CacheBlockFactory.newInstance(code);
+			_partBlocks[i] = CacheBlockFactory.newInstance(
+				(code == COMPRESSED) ? dis.readByte() : code);
 			_partBlocks[i].readFields(dis);
 		}
 	}
@@ -101,6 +101,19 @@ public class RDDObject extends LineageObject
 		return ret;
 	}
 
+	/**
+	 * Indicates if a lineage child refers to the same rdd, in which case
+	 * the cleanup of this rdd object must not unpersist the shared rdd.
+	 * 
+	 * @return true if a lineage child shares the rdd handle
+	 */
+	public boolean hasSharedRDDChild() {
+		for( LineageObject lo : getLineageChilds() )
+			if( lo instanceof RDDObject && ((RDDObject)lo).getRDD() == _rddHandle )
+				return true;
+		return false;
+	}
+
 	public boolean allowsShortCircuitCollect()
 	{
 		return ( isCheckpointRDD() && getLineageChilds().size() == 1
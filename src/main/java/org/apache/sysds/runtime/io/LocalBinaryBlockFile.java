@@ -0,0 +1,712 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.controlprogram.caching.CacheDataInput;
+import org.apache.sysds.runtime.controlprogram.caching.CacheDataOutput;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.instructions.spark.data.IndexedMatrixValue;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+/**
+ * Native binary block format for the local file system, which bypasses Hadoop
+ * sequence files and allows memory-mapped, zero-copy reads. A file consists of
+ * (all values in little endian and all blocks aligned to 8 bytes):
+ * <ul>
+ *   <li>header: magic, version, rows, columns, blocksize, number of blocks, non-zeros</li>
+ *   <li>block index: row block index, column block index, offset, and length per block</li>
+ *   <li>blocks: type, rows, columns, non-zeros, followed by either the dense values
+ *   in row-major order or the serialized (sparse) matrix block</li>
+ * </ul>
+ * Empty blocks are omitted. Since the index gives the offsets of all blocks, readers
+ * map and copy disjoint block rows in parallel, and dense blocks can be exposed as
+ * read-only views of the mapped file without any copy.
+ * 
+ * Note that this format is only understood by the local readers, and hence only
+ * used if explicitly enabled for local writes or buffer pool evictions. Mapped regions
+ * are unmapped eagerly after use (and zero-copy views on close), such that neither
+ * virtual memory nor file handles of deleted files are retained until garbage collection.
+ */
+public class LocalBinaryBlockFile implements Closeable
+{
+	//magic number w/ high bit set in the first byte on disk, which never
+	//appears in serialized matrix blocks (non-negative number of rows)
+	public static final int MAGIC = 0x4D4253D3;
+	public static final int VERSION = 1;
+	
+	private static final int HEADER_SIZE = 40;
+	private static final int INDEX_ENTRY_SIZE = 32;
+	private static final int BLOCK_HEADER_SIZE = 24;
+	private static final int BLOCK_DENSE = 0;
+	private static final int BLOCK_SERIALIZED = 1;
+	
+	//max size of mapped regions (aligned to rows for dense blocks)
+	private static final long MAX_MAP_SIZE = 1L << 30;
+	
+	//eager unmapping of mapped buffers (Unsafe.invokeCleaner, Java 9+)
+	private static final Object UNSAFE;
+	private static final Method INVOKE_CLEANER;
+	static {
+		Object unsafe = null;
+		Method invokeCleaner = null;
+		try {
+			Class<?> clazz = Class.forName("sun.misc.Unsafe");
+			invokeCleaner = clazz.getMethod("invokeCleaner", ByteBuffer.class);
+			Field field = clazz.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			unsafe = field.get(null);
+		}
+		catch(Exception ex) {
+			//Java 8, fallback to buffer cleaner
+			unsafe = null;
+			invokeCleaner = null;
+		}
+		UNSAFE = unsafe;
+		INVOKE_CLEANER = invokeCleaner;
+	}
+	
+	private final FileChannel _channel;
+	private final long _rlen;
+	private final long _clen;
+	private final int _blen;
+	private final long _nnz;
+	private final long[] _index; //row block index, col block index, offset, length
+	private final List<MappedByteBuffer> _views = new ArrayList<>(); //zero-copy views
+	
+	private LocalBinaryBlockFile(FileChannel channel) throws IOException {
+		_channel = channel;
+		ByteBuffer hdr = readFully(channel, 0, HEADER_SIZE);
+		if( hdr.getInt() != MAGIC )
+			throw new IOException("Invalid local binary block file (magic number mismatch).");
+		int version = hdr.getInt();
+		if( version != VERSION )
+			throw new IOException("Unsupported local binary block file version: "+version);
+		_rlen = hdr.getLong();
+		_clen = hdr.getLong();
+		_blen = hdr.getInt();
+		int numBlocks = hdr.getInt();
+		_nnz = hdr.getLong();
+		_index = new long[4 * numBlocks];
+		if( numBlocks > 0 )
+			readFully(channel, HEADER_SIZE, INDEX_ENTRY_SIZE * numBlocks).asLongBuffer().get(_index);
+	}
+	
+	/**
+	 * Opens the given local binary block file for (memory-mapped) reads.
+	 * 
+	 * @param fname local file name
+	 * @return local binary block file
+	 * @throws IOException if IOException occurs
+	 */
+	public static LocalBinaryBlockFile open(String fname) throws IOException {
+		FileChannel channel = FileChannel.open(Paths.get(fname), StandardOpenOption.READ);
+		try {
+			return new LocalBinaryBlockFile(channel);
+		}
+		catch(IOException ex) {
+			IOUtilFunctions.closeSilently(channel);
+			throw ex;
+		}
+	}
+	
+	public long getNumRows() {
+		return _rlen;
+	}
+	
+	public long getNumColumns() {
+		return _clen;
+	}
+	
+	public int getBlocksize() {
+		return _blen;
+	}
+	
+	public long getNonZeros() {
+		return _nnz;
+	}
+	
+	public int getNumBlocks() {
+		return _index.length / 4;
+	}
+	
+	public MatrixIndexes getBlockIndexes(int i) {
+		return new MatrixIndexes(_index[4*i], _index[4*i+1]);
+	}
+	
+	public boolean isDenseBlock(int i) throws IOException {
+		return readFully(_channel, _index[4*i+2], BLOCK_HEADER_SIZE).getInt() == BLOCK_DENSE;
+	}
+	
+	/**
+	 * Obtains a zero-copy, read-only view of the values of the given dense
+	 * block (row-major, number of columns of the block). The view is unmapped
+	 * on {@link #close()} and must not be accessed afterwards.
+	 * 
+	 * @param i block position in the index
+	 * @return read-only double buffer of the mapped block values
+	 * @throws IOException if IOException occurs
+	 */
+	public DoubleBuffer getDenseValues(int i) throws IOException {
+		ByteBuffer hdr = readFully(_channel, _index[4*i+2], BLOCK_HEADER_SIZE);
+		if( hdr.getInt() != BLOCK_DENSE )
+			throw new IOException("Zero-copy access only supported for dense blocks.");
+		long size = 8L * hdr.getInt() * hdr.getInt();
+		if( size > Integer.MAX_VALUE )
+			throw new IOException("Dense block too large for a single mapped buffer: "+size);
+		MappedByteBuffer view = map(_index[4*i+2] + BLOCK_HEADER_SIZE, size);
+		synchronized( _views ) {
+			_views.add(view);
+		}
+		return view.asDoubleBuffer();
+	}
+	
+	/**
+	 * Reads the given block into a new matrix block.
+	 * 
+	 * @param i block position in the index
+	 * @return matrix block
+	 * @throws IOException if IOException occurs
+	 */
+	public MatrixBlock readBlock(int i) throws IOException {
+		ByteBuffer hdr = readFully(_channel, _index[4*i+2], BLOCK_HEADER_SIZE);
+		int type = hdr.getInt();
+		int rows = hdr.getInt();
+		int cols = hdr.getInt();
+		MatrixBlock ret = new MatrixBlock(rows, cols, type != BLOCK_DENSE);
+		if( type == BLOCK_DENSE ) {
+			ret.allocateDenseBlock();
+			copyDenseBlock(_index[4*i+2], rows, cols, ret, 0, 0);
+			ret.recomputeNonZeros();
+		}
+		else
+			ret.readFields(new CacheDataInput(readSerializedBlock(i)));
+		return ret;
+	}
+	
+	/**
+	 * Reads all blocks of the file, including empty blocks, which are
+	 * not materialized in the file itself.
+	 * 
+	 * @return list of indexed matrix blocks
+	 * @throws IOException if IOException occurs
+	 */
+	public ArrayList<IndexedMatrixValue> readIndexedBlocks() throws IOException {
+		ArrayList<IndexedMatrixValue> ret = new ArrayList<>();
+		int pos = 0;
+		for( long i=1; i<=Math.max((long)Math.ceil((double)_rlen/_blen), 1); i++ )
+			for( long j=1; j<=Math.max((long)Math.ceil((double)_clen/_blen), 1); j++ ) {
+				MatrixIndexes ix = new MatrixIndexes(i, j);
+				boolean exists = pos < getNumBlocks() && _index[4*pos]==i && _index[4*pos+1]==j;
+				MatrixBlock blk = exists ? readBlock(pos++) : new MatrixBlock(
+					UtilFunctions.computeBlockSize(_rlen, i, _blen),
+					UtilFunctions.computeBlockSize(_clen, j, _blen), true);
+				ret.add(new IndexedMatrixValue(ix, blk));
+			}
+		return ret;
+	}
+	
+	/**
+	 * Reads all blocks into the given, allocated output block. Disjoint
+	 * ranges of block rows are mapped and copied in parallel.
+	 * 
+	 * @param dest output matrix block of the file dimensions, allocated in dense
+	 * or MCSR format
+	 * @param k degree of parallelism
+	 * @throws IOException if IOException occurs
+	 */
+	public void readMatrix(MatrixBlock dest, int k) throws IOException {
+		int numBlocks = getNumBlocks();
+		
+		//split the index at block row boundaries into balanced ranges
+		ArrayList<ReadBlocksTask> tasks = new ArrayList<>();
+		int blocksPerTask = Math.max((int)Math.ceil((double)numBlocks/Math.max(k,1)), 1);
+		for( int s=0, e=0; s<numBlocks; s=e ) {
+			e = Math.min(s + blocksPerTask, numBlocks);
+			while( e < numBlocks && _index[4*e] == _index[4*(e-1)] )
+				e++;
+			tasks.add(new ReadBlocksTask(dest, s, e));
+		}
+		
+		long lnnz = 0;
+		try {
+			if( k <= 1 || tasks.size() <= 1 ) {
+				for( ReadBlocksTask task : tasks )
+					lnnz += task.call();
+			}
+			else {
+				ExecutorService pool = CommonThreadPool.get(Math.min(k, tasks.size()));
+				for( Future<Long> task : pool.invokeAll(tasks) )
+					lnnz += task.get();
+				pool.shutdown();
+			}
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed to read local binary block file.", ex);
+		}
+		
+		//post-processing
+		dest.setNonZeros(lnnz);
+		if( dest.isInSparseFormat() && _clen > _blen )
+			dest.sortSparseRows();
+		dest.examSparsity();
+	}
+	
+	@Override
+	public void close() throws IOException {
+		synchronized( _views ) {
+			for( MappedByteBuffer view : _views )
+				unmap(view);
+			_views.clear();
+		}
+		_channel.close();
+	}
+	
+	/**
+	 * Reads a local binary block file into the given matrix block, which is
+	 * reset to the file dimensions and reused if possible.
+	 * 
+	 * @param fname local file name
+	 * @param ret output matrix block
+	 * @param k degree of parallelism
+	 * @return matrix block
+	 * @throws IOException if IOException occurs
+	 */
+	public static MatrixBlock readMatrixBlock(String fname, MatrixBlock ret, int k) throws IOException {
+		try( LocalBinaryBlockFile file = open(fname) ) {
+			long rlen = file.getNumRows();
+			long clen = file.getNumColumns();
+			if( rlen > Integer.MAX_VALUE || clen > Integer.MAX_VALUE )
+				throw new DMLRuntimeException("Matrix dimensions too large for CP runtime: "+rlen+" x "+clen);
+			boolean sparse = MatrixBlock.evalSparseFormatInMemory(rlen, clen, file.getNonZeros());
+			ret.reset((int)rlen, (int)clen, sparse, file.getNonZeros());
+			if( sparse )
+				ret.allocateAndResetSparseBlock(true, SparseBlock.Type.MCSR);
+			else
+				ret.allocateDenseBlock();
+			file.readMatrix(ret, k);
+			return ret;
+		}
+	}
+	
+	/**
+	 * Writes the given matrix block as local binary block file. Dense inputs are
+	 * written via mapped buffers, while other blocks are serialized in parallel.
+	 * 
+	 * @param fname local file name
+	 * @param src matrix block
+	 * @param blen blocksize
+	 * @param k degree of parallelism
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeMatrixBlock(String fname, MatrixBlock src, int blen, int k) throws IOException {
+		if( src instanceof CompressedMatrixBlock )
+			src = ((CompressedMatrixBlock)src).decompress(k);
+		int rlen = src.getNumRows();
+		int clen = src.getNumColumns();
+		int nbr = Math.max((int)Math.ceil((double)rlen/blen), 1);
+		int nbc = Math.max((int)Math.ceil((double)clen/blen), 1);
+		boolean dense = !src.isInSparseFormat() && src.getDenseBlock() != null;
+		ExecutorService pool = (k > 1 && nbr > 1) ? CommonThreadPool.get(Math.min(k, nbr)) : null;
+		
+		try( FileChannel channel = FileChannel.open(Paths.get(fname), StandardOpenOption.CREATE,
+			StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE) )
+		{
+			//serialize non-dense blocks (empty blocks are omitted)
+			byte[][] ser = null;
+			long[] serNnz = null;
+			if( !dense ) {
+				ser = new byte[nbr*nbc][];
+				serNnz = new long[nbr*nbc];
+				ArrayList<SerializeBlocksTask> tasks = new ArrayList<>();
+				for( int bi=0; bi<nbr; bi++ )
+					tasks.add(new SerializeBlocksTask(src, blen, nbc, bi, ser, serNnz));
+				invoke(pool, tasks);
+			}
+			
+			//create block index
+			int numBlocks = 0;
+			for( int b=0; b<nbr*nbc; b++ )
+				numBlocks += (dense || ser[b] != null) ? 1 : 0;
+			long[] index = new long[4*numBlocks];
+			long off = HEADER_SIZE + (long)INDEX_ENTRY_SIZE * numBlocks;
+			for( int b=0, pos=0; b<nbr*nbc; b++ ) {
+				if( !dense && ser[b] == null )
+					continue;
+				long len = BLOCK_HEADER_SIZE + (dense ? 8L * 
+					UtilFunctions.computeBlockSize(rlen, b/nbc+1, blen) *
+					UtilFunctions.computeBlockSize(clen, b%nbc+1, blen) : ser[b].length);
+				index[4*pos] = b/nbc+1;
+				index[4*pos+1] = b%nbc+1;
+				index[4*pos+2] = off;
+				index[4*pos+3] = len;
+				off += (len + 7) & ~7L;
+				pos++;
+			}
+			
+			//preallocate the file to avoid concurrent extension via mapped writes
+			if( off > 0 )
+				writeFully(channel, ByteBuffer.allocate(1), off-1);
+			
+			//write blocks per block row
+			ArrayList<WriteBlocksTask> tasks = new ArrayList<>();
+			for( int s=0, e=0; s<numBlocks; s=e ) {
+				e = s + 1;
+				while( e < numBlocks && index[4*e] == index[4*s] )
+					e++;
+				tasks.add(new WriteBlocksTask(channel, src, blen, index, ser, serNnz, nbc, s, e));
+			}
+			long lnnz = 0;
+			for( Long tnnz : invoke(pool, tasks) )
+				lnnz += tnnz;
+			
+			//write header and index
+			ByteBuffer hdr = ByteBuffer.allocate(HEADER_SIZE + INDEX_ENTRY_SIZE * numBlocks)
+				.order(ByteOrder.LITTLE_ENDIAN);
+			hdr.putInt(MAGIC).putInt(VERSION).putLong(rlen).putLong(clen)
+				.putInt(blen).putInt(numBlocks).putLong(lnnz);
+			for( long v : index )
+				hdr.putLong(v);
+			hdr.flip();
+			writeFully(channel, hdr, 0);
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Indicates if the given file is a local binary block file.
+	 * 
+	 * @param fname local file name
+	 * @return true if the file starts with the magic number
+	 */
+	public static boolean isLocalBinaryBlock(String fname) {
+		File file = new File(fname);
+		if( !file.isFile() || file.length() < HEADER_SIZE )
+			return false;
+		try( RandomAccessFile raf = new RandomAccessFile(file, "r") ) {
+			return Integer.reverseBytes(raf.readInt()) == MAGIC;
+		}
+		catch(IOException ex) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Indicates if the given path refers to a local binary block file.
+	 * 
+	 * @param fs file system
+	 * @param path file path
+	 * @return true if local file system and local binary block file
+	 */
+	public static boolean isLocalBinaryBlock(FileSystem fs, Path path) {
+		return fs instanceof LocalFileSystem
+			&& isLocalBinaryBlock(getLocalFileName(fs, path));
+	}
+	
+	public static String getLocalFileName(FileSystem fs, Path path) {
+		return ((LocalFileSystem)fs).pathToFile(path).getPath();
+	}
+	
+	private MappedByteBuffer map(long pos, long len) throws IOException {
+		return (MappedByteBuffer) _channel.map(MapMode.READ_ONLY, pos, len).order(ByteOrder.LITTLE_ENDIAN);
+	}
+	
+	private byte[] readSerializedBlock(int i) throws IOException {
+		//copied anyway, so plain read w/o mapping
+		ByteBuffer buff = readFully(_channel, _index[4*i+2] + BLOCK_HEADER_SIZE,
+			(int)(_index[4*i+3] - BLOCK_HEADER_SIZE));
+		return buff.array();
+	}
+	
+	private void copyDenseBlock(long off, int rows, int cols, MatrixBlock dest, int rl, int cl) throws IOException {
+		int rowsPerMap = (int)Math.max(Math.min(MAX_MAP_SIZE / (8L*cols), rows), 1);
+		for( int r=0; r<rows; r+=rowsPerMap ) {
+			int nr = Math.min(rowsPerMap, rows - r);
+			MappedByteBuffer buff = map(off + BLOCK_HEADER_SIZE + 8L*r*cols, 8L*nr*cols);
+			try {
+				DoubleBuffer vals = buff.asDoubleBuffer();
+				if( !dest.isInSparseFormat() ) {
+					DenseBlock a = dest.getDenseBlock();
+					for( int i=0; i<nr; i++ ) {
+						vals.position(i * cols);
+						vals.get(a.values(rl+r+i), a.pos(rl+r+i)+cl, cols);
+					}
+				}
+				else {
+					SparseBlock a = dest.getSparseBlock();
+					for( int i=0, ix=0; i<nr; i++ )
+						for( int j=0; j<cols; j++, ix++ ) {
+							double v = vals.get(ix);
+							if( v != 0 )
+								a.append(rl+r+i, cl+j, v);
+						}
+				}
+			}
+			finally {
+				unmap(buff);
+			}
+		}
+	}
+	
+	/**
+	 * Releases the given mapped buffer eagerly (instead of on garbage collection),
+	 * via Unsafe.invokeCleaner for Java 9+ or the buffer's cleaner for Java 8.
+	 * Unmapping is best effort, where failures fall back to unmapping on GC.
+	 * The buffer and all its views must not be accessed afterwards.
+	 * 
+	 * @param buff mapped byte buffer (not a slice or duplicate)
+	 */
+	public static void unmap(MappedByteBuffer buff) {
+		if( buff == null || !buff.isDirect() )
+			return;
+		try {
+			if( UNSAFE != null ) {
+				INVOKE_CLEANER.invoke(UNSAFE, buff);
+			}
+			else {
+				Method mcleaner = buff.getClass().getMethod("cleaner");
+				mcleaner.setAccessible(true);
+				Object cleaner = mcleaner.invoke(buff);
+				if( cleaner != null )
+					cleaner.getClass().getMethod("clean").invoke(cleaner);
+			}
+		}
+		catch(Exception ex) {
+			//ignore, unmapped on garbage collection
+		}
+	}
+	
+	private static ByteBuffer readFully(FileChannel channel, long pos, int len) throws IOException {
+		ByteBuffer ret = ByteBuffer.allocate(len).order(ByteOrder.LITTLE_ENDIAN);
+		while( ret.hasRemaining() )
+			if( channel.read(ret, pos + ret.position()) < 0 )
+				throw new IOException("Unexpected end of local binary block file.");
+		ret.flip();
+		return ret;
+	}
+	
+	private static void writeFully(FileChannel channel, ByteBuffer buff, long pos) throws IOException {
+		while( buff.hasRemaining() )
+			pos += channel.write(buff, pos);
+	}
+	
+	private static <T> List<T> invoke(ExecutorService pool, List<? extends Callable<T>> tasks) throws IOException {
+		List<T> ret = new ArrayList<>();
+		try {
+			if( pool == null ) {
+				for( Callable<T> task : tasks )
+					ret.add(task.call());
+			}
+			else {
+				for( Future<T> task : pool.invokeAll(tasks) )
+					ret.add(task.get());
+			}
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed to write local binary block file.", ex);
+		}
+		return ret;
+	}
+	
+	private class ReadBlocksTask implements Callable<Long>
+	{
+		private final MatrixBlock _dest;
+		private final int _bl;
+		private final int _bu;
+		
+		public ReadBlocksTask(MatrixBlock dest, int bl, int bu) {
+			_dest = dest;
+			_bl = bl;
+			_bu = bu;
+		}
+		
+		@Override
+		public Long call() throws IOException {
+			long lnnz = 0;
+			for( int i=_bl; i<_bu; i++ ) {
+				long off = _index[4*i+2];
+				ByteBuffer hdr = readFully(_channel, off, BLOCK_HEADER_SIZE);
+				int type = hdr.getInt();
+				int rows = hdr.getInt();
+				int cols = hdr.getInt();
+				hdr.getInt(); //padding
+				lnnz += hdr.getLong();
+				int rl = (int)((_index[4*i]-1) * _blen);
+				int cl = (int)((_index[4*i+1]-1) * _blen);
+				if( type == BLOCK_DENSE )
+					copyDenseBlock(off, rows, cols, _dest, rl, cl);
+				else if( type == BLOCK_SERIALIZED ) {
+					MatrixBlock blk = new MatrixBlock();
+					blk.readFields(new CacheDataInput(readSerializedBlock(i)));
+					if( _dest.isInSparseFormat() )
+						_dest.appendToSparse(blk, rl, cl);
+					else
+						_dest.copy(rl, rl+rows-1, cl, cl+cols-1, blk, false);
+				}
+				else
+					throw new IOException("Invalid local binary block type: "+type);
+			}
+			return lnnz;
+		}
+	}
+	
+	private static class SerializeBlocksTask implements Callable<Long>
+	{
+		private final MatrixBlock _src;
+		private final int _blen;
+		private final int _nbc;
+		private final int _bi;
+		private final byte[][] _ser;
+		private final long[] _serNnz;
+		
+		public SerializeBlocksTask(MatrixBlock src, int blen, int nbc, int bi, byte[][] ser, long[] serNnz) {
+			_src = src;
+			_blen = blen;
+			_nbc = nbc;
+			_bi = bi;
+			_ser = ser;
+			_serNnz = serNnz;
+		}
+		
+		@Override
+		public Long call() throws IOException {
+			int rl = _bi * _blen;
+			int ru = Math.min(rl + _blen, _src.getNumRows()) - 1;
+			for( int bj=0; bj<_nbc; bj++ ) {
+				int cl = bj * _blen;
+				int cu = Math.min(cl + _blen, _src.getNumColumns()) - 1;
+				MatrixBlock blk = _src.slice(rl, ru, cl, cu);
+				if( blk.recomputeNonZeros() == 0 )
+					continue;
+				CacheDataOutput out = new CacheDataOutput((int)blk.getExactSizeOnDisk());
+				blk.write(out);
+				_ser[_bi*_nbc + bj] = out.getBytes();
+				_serNnz[_bi*_nbc + bj] = blk.getNonZeros();
+			}
+			return 0L;
+		}
+	}
+	
+	private static class WriteBlocksTask implements Callable<Long>
+	{
+		private final FileChannel _channel;
+		private final MatrixBlock _src;
+		private final int _blen;
+		private final long[] _index;
+		private final byte[][] _ser;
+		private final long[] _serNnz;
+		private final int _nbc;
+		private final int _bl;
+		private final int _bu;
+		
+		public WriteBlocksTask(FileChannel channel, MatrixBlock src, int blen, long[] index,
+			byte[][] ser, long[] serNnz, int nbc, int bl, int bu)
+		{
+			_channel = channel;
+			_src = src;
+			_blen = blen;
+			_index = index;
+			_ser = ser;
+			_serNnz = serNnz;
+			_nbc = nbc;
+			_bl = bl;
+			_bu = bu;
+		}
+		
+		@Override
+		public Long call() throws IOException {
+			long lnnz = 0;
+			for( int i=_bl; i<_bu; i++ ) {
+				long off = _index[4*i+2];
+				int rl = (int)((_index[4*i]-1) * _blen);
+				int cl = (int)((_index[4*i+1]-1) * _blen);
+				int rows = Math.min(_blen, _src.getNumRows() - rl);
+				int cols = Math.min(_blen, _src.getNumColumns() - cl);
+				long bnnz = 0;
+				if( _ser == null ) {
+					//dense block via mapped row ranges
+					DenseBlock a = _src.getDenseBlock();
+					int rowsPerMap = (int)Math.max(Math.min(MAX_MAP_SIZE / (8L*cols), rows), 1);
+					for( int r=0; r<rows; r+=rowsPerMap ) {
+						int nr = Math.min(rowsPerMap, rows - r);
+						MappedByteBuffer buff = _channel.map(MapMode.READ_WRITE,
+							off + BLOCK_HEADER_SIZE + 8L*r*cols, 8L*nr*cols);
+						try {
+							DoubleBuffer vals = buff.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+							for( int j=rl+r; j<rl+r+nr; j++ ) {
+								double[] avals = a.values(j);
+								int apos = a.pos(j) + cl;
+								vals.put(avals, apos, cols);
+								for( int k=apos; k<apos+cols; k++ )
+									bnnz += (avals[k] != 0) ? 1 : 0;
+							}
+						}
+						finally {
+							unmap(buff);
+						}
+					}
+				}
+				else {
+					int b = (int)((_index[4*i]-1)*_nbc + _index[4*i+1]-1);
+					writeFully(_channel, ByteBuffer.wrap(_ser[b]), off + BLOCK_HEADER_SIZE);
+					bnnz = _serNnz[b];
+				}
+				ByteBuffer hdr = ByteBuffer.allocate(BLOCK_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+				hdr.putInt(_ser == null ? BLOCK_DENSE : BLOCK_SERIALIZED)
+					.putInt(rows).putInt(cols).putInt(0).putLong(bnnz);
+				hdr.flip();
+				writeFully(_channel, hdr, off);
+				lnnz += bnnz;
+			}
+			return lnnz;
+		}
+	}
+}
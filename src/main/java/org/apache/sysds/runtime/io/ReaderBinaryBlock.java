@@ -57,9 +57,6 @@ public class ReaderBinaryBlock extends MatrixReader
 		if( RETURN_EMPTY_NNZ0 && estnnz == 0 )
 			return new MatrixBlock((int)rlen, (int)clen, true);
 		
-		//allocate output matrix block
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, false, false);
-		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
 		Path path = new Path( (_localFS ? "file:///" : "") + fname); 
@@ -67,6 +64,13 @@ public class ReaderBinaryBlock extends MatrixReader
 		
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
+		
+		//memory-mapped read of local binary block files
+		if( LocalBinaryBlockFile.isLocalBinaryBlock(fs, path) )
+			return readLocalBinaryBlockMatrix(fs, path, rlen, clen, 1);
+		
+		//allocate output matrix block
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, false, false);
 	
 		//core read 
 		readBinaryBlockMatrixFromHDFS(path, job, fs, ret, rlen, clen, blen);
@@ -99,6 +103,14 @@ public class ReaderBinaryBlock extends MatrixReader
 		
 		//check existence and non-empty file
 		checkValidInputFile(fs, path);
+		
+		//read of local binary block files
+		if( LocalBinaryBlockFile.isLocalBinaryBlock(fs, path) ) {
+			try( LocalBinaryBlockFile file = LocalBinaryBlockFile.open(
+				LocalBinaryBlockFile.getLocalFileName(fs, path)) ) {
+				return file.readIndexedBlocks();
+			}
+		}
 	
 		//core read 
 		readBinaryBlockMatrixBlocksFromHDFS(path, job, fs, ret, rlen, clen, blen);
@@ -106,6 +118,17 @@ public class ReaderBinaryBlock extends MatrixReader
 		return ret;
 	}
 	
+	protected static MatrixBlock readLocalBinaryBlockMatrix(FileSystem fs, Path path, long rlen, long clen, int k)
+		throws IOException
+	{
+		MatrixBlock ret = LocalBinaryBlockFile.readMatrixBlock(
+			LocalBinaryBlockFile.getLocalFileName(fs, path), new MatrixBlock(), k);
+		if( (rlen >= 0 && rlen != ret.getNumRows()) || (clen >= 0 && clen != ret.getNumColumns()) )
+			throw new IOException("Matrix dimensions mismatch with metadata: "+ret.getNumRows()
+				+"x"+ret.getNumColumns()+" vs "+rlen+"x"+clen+".");
+		return ret;
+	}
+	
 	protected static MatrixBlock getReuseBlock(int blen, boolean sparse) {
 		//note: we allocate the reuse block in CSR because this avoids unnecessary
 		//reallocations in the presence of a mix of sparse and ultra-sparse blocks,
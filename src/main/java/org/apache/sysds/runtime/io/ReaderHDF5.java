@@ -31,10 +31,9 @@ import java.io.BufferedInputStream;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
-import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.io.hdf5.H5;
 import org.apache.sysds.runtime.io.hdf5.H5Constants;
-import org.apache.sysds.runtime.io.hdf5.H5ContiguousDataset;
+import org.apache.sysds.runtime.io.hdf5.H5Dataset;
 import org.apache.sysds.runtime.io.hdf5.H5RootObject;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
@@ -50,8 +49,9 @@ public class ReaderHDF5 extends MatrixReader {
 		throws IOException, DMLRuntimeException {
 		//allocate output matrix block
 		MatrixBlock ret = null;
+		//(dense read into the dense block, sparsity examined after read)
 		if(rlen >= 0 && clen >= 0) //otherwise allocated on read
-			ret = createOutputMatrixBlock(rlen, clen, (int) rlen, estnnz, true, false);
+			ret = createOutputMatrixBlock(rlen, clen, (int) rlen, rlen * clen, true, false);
 
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
@@ -75,7 +75,7 @@ public class ReaderHDF5 extends MatrixReader {
 	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
 		throws IOException, DMLRuntimeException {
 		//allocate output matrix block
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, (int) rlen, estnnz, true, false);
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, (int) rlen, rlen * clen, true, false);
 
 		//core read
 		String datasetName = _props.getDatasetName();
@@ -115,7 +115,7 @@ public class ReaderHDF5 extends MatrixReader {
 		long lnnz = 0;
 		for(int fileNo = 0; fileNo < files.size(); fileNo++) {
 			BufferedInputStream bis = new BufferedInputStream(fs.open(files.get(fileNo)),
-				(int) (H5Constants.STATIC_HEADER_SIZE + (clen * rlen * 8)));
+				getBufferSize(fs, files.get(fileNo), rlen, clen));
 			lnnz += readMatrixFromHDF5(bis, datasetName, dest, 0, rlen, clen, blen);
 		}
 		//post processing
@@ -129,27 +129,23 @@ public class ReaderHDF5 extends MatrixReader {
 		bis.mark(0);
 		long lnnz = 0;
 		H5RootObject rootObject = H5.H5Fopen(bis);
-		H5ContiguousDataset contiguousDataset = H5.H5Dopen(rootObject, datasetName);
-
-		int[] dims = rootObject.getDimensions();
-		int ncol = dims[1];
-
-		DenseBlock denseBlock = dest.getDenseBlock();
-		double[] data = new double[ncol];
-		for(int i = row; i < rlen; i++) {
-			H5.H5Dread(contiguousDataset, i, data);
-			for(int j = 0; j < ncol; j++) {
-				if(data[j] != 0) {
-					denseBlock.set(i, j, data[j]);
-					lnnz++;
-				}
-			}
-			row++;
-		}
+		H5Dataset dataset = H5.H5Dopen(rootObject, datasetName);
+
+		//read contiguous rows or decode chunks of the row range
+		lnnz += dataset.readRows(dest.getDenseBlock(), row, (int) rlen);
+
 		IOUtilFunctions.closeSilently(bis);
 		return lnnz;
 	}
 
+	protected static int getBufferSize(FileSystem fs, Path path, long rlen, long clen) throws IOException {
+		//chunked datasets might exceed the size of the dense data (chunk index, padded chunks)
+		long size = Math.max(H5Constants.STATIC_HEADER_SIZE + (clen * rlen * 8), fs.getFileStatus(path).getLen());
+		if(size > Integer.MAX_VALUE)
+			throw new IOException("HDF5 file size exceeds the maximum buffer size: " + size);
+		return (int) size;
+	}
+
 	public static MatrixBlock computeHDF5Size(List<Path> files, FileSystem fs, String datasetName)
 		throws IOException, DMLRuntimeException {
 		int nrow = 0;
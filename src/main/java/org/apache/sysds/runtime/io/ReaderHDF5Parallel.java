@@ -27,7 +27,10 @@ import org.apache.hadoop.mapred.TextInputFormat;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
-import org.apache.sysds.runtime.io.hdf5.H5Constants;
+import org.apache.sysds.runtime.io.hdf5.H5;
+import org.apache.sysds.runtime.io.hdf5.H5ChunkedDataset;
+import org.apache.sysds.runtime.io.hdf5.H5Dataset;
+import org.apache.sysds.runtime.io.hdf5.H5RootObject;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 import java.io.BufferedInputStream;
@@ -74,30 +77,60 @@ public class ReaderHDF5Parallel extends ReaderHDF5 {
 		//create and execute tasks
 		try {
 			ExecutorService pool = CommonThreadPool.get(_numThreads);
-			int bufferSize = (src.getNumColumns() * src.getNumRows()) * 8 + H5Constants.STATIC_HEADER_SIZE;
-			ArrayList<ReadHDF5Task> tasks = new ArrayList<>();
+			int bufferSize = getBufferSize(fs, path, src.getNumRows(), src.getNumColumns());
 			rlen = src.getNumRows();
-			int blklen = (int) Math.ceil((double) rlen / _numThreads);
-			for(int i = 0; i < _numThreads & i * blklen < rlen; i++) {
-				int rl = i * blklen;
-				int ru = (int) Math.min((i + 1) * blklen, rlen);
-				BufferedInputStream bis = new BufferedInputStream(fs.open(path), bufferSize);
-
-				//BufferedInputStream bis, String datasetName, MatrixBlock src, MutableInt rl, int ru
-				tasks.add(new ReadHDF5Task(bis, _props.getDatasetName(), src, rl, ru));
+
+			//open dataset to determine its layout
+			BufferedInputStream bis0 = new BufferedInputStream(fs.open(path), bufferSize);
+			H5RootObject rootObject = H5.H5Fopen(bis0);
+			H5Dataset dataset = H5.H5Dopen(rootObject, _props.getDatasetName());
+
+			ArrayList<Callable<Long>> tasks = new ArrayList<>();
+			if( dataset instanceof H5ChunkedDataset ) {
+				//parallel chunk decoding over a shared stream, with row ranges
+				//aligned to chunk rows such that every chunk is decoded once
+				H5ChunkedDataset cdataset = (H5ChunkedDataset) dataset;
+				int cr = cdataset.getChunkDims()[0];
+				cdataset.getChunks(); //read chunk index once
+				long numBands = (rlen + cr - 1) / cr;
+				int blklen = (int) Math.ceil((double) numBands / _numThreads) * cr;
+				for(int i = 0; i < _numThreads & i * blklen < rlen; i++) {
+					int rl = i * blklen;
+					int ru = (int) Math.min((i + 1) * blklen, rlen);
+					tasks.add(new ReadHDF5ChunksTask(cdataset, src, rl, ru));
+				}
+			}
+			else {
+				IOUtilFunctions.closeSilently(bis0);
+				bis0 = null;
+				int blklen = (int) Math.ceil((double) rlen / _numThreads);
+				for(int i = 0; i < _numThreads & i * blklen < rlen; i++) {
+					int rl = i * blklen;
+					int ru = (int) Math.min((i + 1) * blklen, rlen);
+					BufferedInputStream bis = new BufferedInputStream(fs.open(path), bufferSize);
+
+					//BufferedInputStream bis, String datasetName, MatrixBlock src, MutableInt rl, int ru
+					tasks.add(new ReadHDF5Task(bis, _props.getDatasetName(), src, rl, ru));
+				}
 			}
 
 			//wait until all tasks have been executed
-			List<Future<Object>> rt = pool.invokeAll(tasks);
+			List<Future<Long>> rt = pool.invokeAll(tasks);
 			pool.shutdown();
 
-			//check for exceptions
-			for(Future<Object> task : rt)
-				task.get();
+			//check for exceptions and aggregate nnz
+			long lnnz = 0;
+			for(Future<Long> task : rt)
+				lnnz += task.get();
+			src.setNonZeros(lnnz);
+			IOUtilFunctions.closeSilently(bis0);
 		}
 		catch(Exception e) {
 			throw new IOException("Failed parallel read of HDF5 input.", e);
 		}
+
+		//finally check if change of sparse/dense block representation required
+		src.examSparsity();
 		return src;
 	}
 
@@ -108,7 +141,7 @@ public class ReaderHDF5Parallel extends ReaderHDF5 {
 		return new ReaderHDF5(_props).readMatrixFromInputStream(is, rlen, clen, blen, estnnz);
 	}
 
-	private static class ReadHDF5Task implements Callable<Object> {
+	private static class ReadHDF5Task implements Callable<Long> {
 
 		private final BufferedInputStream _bis;
 		private final String _datasetName;
@@ -125,9 +158,28 @@ public class ReaderHDF5Parallel extends ReaderHDF5 {
 		}
 
 		@Override
-		public Object call() throws IOException {
-			readMatrixFromHDF5(_bis, _datasetName, _src, _rl, _ru, 0, 0);
-			return null;
+		public Long call() throws IOException {
+			return readMatrixFromHDF5(_bis, _datasetName, _src, _rl, _ru, 0, 0);
+		}
+	}
+
+	private static class ReadHDF5ChunksTask implements Callable<Long> {
+
+		private final H5ChunkedDataset _dataset;
+		private final MatrixBlock _src;
+		private final int _rl;
+		private final int _ru;
+
+		public ReadHDF5ChunksTask(H5ChunkedDataset dataset, MatrixBlock src, int rl, int ru) {
+			_dataset = dataset;
+			_src = src;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Long call() {
+			return _dataset.readRows(_src.getDenseBlock(), _rl, _ru);
 		}
 	}
 }
@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.io;
 import java.io.IOException;
 
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.mapred.JobConf;
@@ -33,6 +34,10 @@ import org.apache.sysds.runtime.util.HDFSTool;
 
 public class WriterBinaryBlock extends MatrixWriter
 {
+	//write local files in the memory-mapped binary block format (instead of sequence
+	//files), which is only readable by local CP readers but not by Spark or Hadoop
+	public static boolean MAPPED_LOCAL_FORMAT = false;
+	
 	protected int _replication = -1;
 	
 	public WriterBinaryBlock( int replication ) {
@@ -51,6 +56,13 @@ public class WriterBinaryBlock extends MatrixWriter
 		//if the file already exists on HDFS, remove it.
 		HDFSTool.deleteFileIfExistOnHDFS( fname );
 
+		//single-file write of local binary block files
+		if( MAPPED_LOCAL_FORMAT && !diag && fs instanceof LocalFileSystem ) {
+			LocalBinaryBlockFile.writeMatrixBlock(LocalBinaryBlockFile
+				.getLocalFileName(fs, path), src, blen, getNumThreads());
+			return;
+		}
+
 		//set up preferred custom serialization framework for binary block format
 		if( HDFSTool.USE_BINARYBLOCK_SERIALIZATION )
 			HDFSTool.addBinaryBlockSerializationFramework( job );
@@ -89,6 +101,10 @@ public class WriterBinaryBlock extends MatrixWriter
 		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
 	}
 
+	protected int getNumThreads() {
+		return 1;
+	}
+
 	protected void writeBinaryBlockMatrixToHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock src, long rlen, long clen, int blen )
 		throws IOException, DMLRuntimeException
 	{
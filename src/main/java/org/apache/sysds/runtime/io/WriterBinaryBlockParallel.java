@@ -44,6 +44,11 @@ public class WriterBinaryBlockParallel extends WriterBinaryBlock
 		super(replication);
 	}
 	
+	@Override
+	protected int getNumThreads() {
+		return OptimizerUtils.getParallelBinaryWriteParallelism();
+	}
+	
 	@Override
 	protected void writeBinaryBlockMatrixToHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock src, long rlen, long clen, int blen )
 		throws IOException, DMLRuntimeException
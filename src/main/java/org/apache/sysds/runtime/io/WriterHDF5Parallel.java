@@ -20,27 +20,45 @@
 package org.apache.sysds.runtime.io;
 
 import org.apache.hadoop.fs.FileSystem;
-import org.apache.hadoop.fs.LocalFileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapred.JobConf;
-import org.apache.sysds.common.Types;
-import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
-import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.io.hdf5.H5;
+import org.apache.sysds.runtime.io.hdf5.H5Chunk;
+import org.apache.sysds.runtime.io.hdf5.H5ChunkBTree;
+import org.apache.sysds.runtime.io.hdf5.H5Constants;
+import org.apache.sysds.runtime.io.hdf5.H5Filters;
+import org.apache.sysds.runtime.io.hdf5.H5RootObject;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CommonThreadPool;
-import org.apache.sysds.runtime.util.HDFSTool;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
+/**
+ * Parallel HDF5 writer that creates a single file with chunked layout, where the chunks
+ * are shuffled and deflate-compressed in parallel (per band of chunk rows), and finally
+ * written together with the B-tree chunk index in row-major order. Unlike earlier versions,
+ * which wrote a directory of part files (where only the first part had HDF5 headers), the
+ * output is a single self-contained file that external HDF5 libraries can read as well.
+ */
 public class WriterHDF5Parallel extends WriterHDF5 {
 
+	//target size of uncompressed chunks (default chunk cache size of libhdf5)
+	public static final int CHUNK_SIZE = 1024 * 1024;
+	public static final int MAX_CHUNK_COLS = 1024;
+
 	public WriterHDF5Parallel(FileFormatPropertiesHDF5 _props) {
 		super(_props);
 	}
@@ -48,77 +66,125 @@ public class WriterHDF5Parallel extends WriterHDF5 {
 	@Override
 	public void writeHDF5MatrixToHDFS(Path path, JobConf job, FileSystem fs, MatrixBlock src)
 		throws IOException, DMLRuntimeException {
-
-		//estimate output size and number of output blocks (min 1)
-		int numPartFiles = (int) (OptimizerUtils
-			.estimateSizeTextOutput(src.getNumRows(), src.getNumColumns(), src.getNonZeros(),
-				Types.FileFormat.HDF5) / InfrastructureAnalyzer.getHDFSBlockSize());
-		numPartFiles = Math.max(numPartFiles, 1);
-
-		//determine degree of parallelism
 		int numThreads = OptimizerUtils.getParallelTextWriteParallelism();
-		numThreads = Math.min(numThreads, numPartFiles);
-
-		//fall back to sequential write if dop is 1 (e.g., <128MB) in order to create single file
-		if(numThreads <= 1) {
-			super.writeHDF5MatrixToHDFS(path, job, fs, src);
-			return;
-		}
+		writeHDF5ChunkedMatrixToFile(path, fs, src, numThreads);
+	}
 
-		//create directory for concurrent tasks
-		HDFSTool.createDirIfNotExistOnHDFS(path, DMLConfig.DEFAULT_SHARED_DIR_PERMISSION);
+	public static int[] getChunkDims(int rlen, int clen) {
+		int cc = Math.max(1, Math.min(clen, MAX_CHUNK_COLS));
+		int cr = Math.max(1, Math.min(rlen, CHUNK_SIZE / (cc * 8)));
+		return new int[] {cr, cc};
+	}
 
-		//create and execute tasks
+	protected static void writeHDF5ChunkedMatrixToFile(Path path, FileSystem fs, MatrixBlock src, int numThreads)
+		throws IOException {
+		int rlen = src.getNumRows();
+		int clen = src.getNumColumns();
+		int[] chunkDims = getChunkDims(rlen, clen);
+		int numBands = (rlen + chunkDims[0] - 1) / chunkDims[0];
+		int numChunks = numBands * ((clen + chunkDims[1] - 1) / chunkDims[1]);
+
+		//parallel encoding of chunks
+		List<byte[]> data = new ArrayList<>(numChunks);
+		List<H5Chunk> chunks = new ArrayList<>(numChunks);
 		try {
 			ExecutorService pool = CommonThreadPool.get(numThreads);
-			ArrayList<WriteHDF5Task> tasks = new ArrayList<>();
-			int rlen = src.getNumRows();
-			int blklen = (int) Math.ceil((double) rlen / numThreads);
-			for(int i = 0; i < numThreads & i * blklen < rlen; i++) {
-				Path newPath = new Path(path, IOUtilFunctions.getPartFileName(i));
-				tasks.add(new WriteHDF5Task(newPath, job, fs, src, i * blklen, Math.min((i + 1) * blklen, rlen)));
-			}
-
-			//wait until all tasks have been executed
-			List<Future<Object>> rt = pool.invokeAll(tasks);
+			ArrayList<EncodeHDF5ChunksTask> tasks = new ArrayList<>();
+			for(int i = 0; i < numBands; i++)
+				tasks.add(new EncodeHDF5ChunksTask(src, i * chunkDims[0], chunkDims));
+			List<Future<byte[][]>> rt = pool.invokeAll(tasks);
 			pool.shutdown();
 
-			//check for exceptions
-			for(Future<Object> task : rt)
-				task.get();
-
-			// delete crc files if written to local file system
-			if(fs instanceof LocalFileSystem) {
-				for(int i = 0; i < numThreads & i * blklen < rlen; i++)
-					IOUtilFunctions
-						.deleteCrcFilesFromLocalFileSystem(fs, new Path(path, IOUtilFunctions.getPartFileName(i)));
+			//chunk index in row-major order, with chunks placed after the index
+			long address = H5Constants.STATIC_HEADER_SIZE + H5ChunkBTree.getIndexSize(numChunks, 3);
+			for(int i = 0; i < numBands; i++) {
+				byte[][] encoded = rt.get(i).get();
+				for(int k = 0; k < encoded.length; k++) {
+					long[] offsets = new long[] {(long) i * chunkDims[0], (long) k * chunkDims[1]};
+					chunks.add(new H5Chunk(offsets, encoded[k].length, 0, address));
+					data.add(encoded[k]);
+					address += encoded[k].length;
+				}
 			}
 		}
 		catch(Exception e) {
 			throw new IOException("Failed parallel write of HDF5 output.", e);
 		}
+
+		//sequential write of headers, chunk index, and chunks
+		BufferedOutputStream bos = new BufferedOutputStream(fs.create(path, true));
+		try {
+			long dataSize = chunks.isEmpty() ? 0 :
+				chunks.get(chunks.size() - 1).getAddress() + data.get(data.size() - 1).length
+				- H5Constants.STATIC_HEADER_SIZE;
+			H5RootObject rootObject = H5.H5Screate(bos, rlen, clen, dataSize);
+			H5.H5Dcreate(rootObject, rlen, clen, _props.getDatasetName(),
+				chunkDims, true, H5Constants.DEFAULT_DEFLATE_LEVEL);
+			H5.H5WriteHeaders(rootObject);
+			H5.H5Dwrite(rootObject, chunks, data);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(bos);
+		}
 	}
 
-	private static class WriteHDF5Task implements Callable<Object> {
-		private final JobConf _job;
-		private final FileSystem _fs;
+	private static class EncodeHDF5ChunksTask implements Callable<byte[][]> {
 		private final MatrixBlock _src;
-		private final Path _path;
-		private final int _rl, _ru;
+		private final int _rl;
+		private final int[] _chunkDims;
 
-		public WriteHDF5Task(Path path, JobConf job, FileSystem fs, MatrixBlock src, int rl, int ru) {
-			_path = path;
-			_job = job;
-			_fs = fs;
+		public EncodeHDF5ChunksTask(MatrixBlock src, int rl, int[] chunkDims) {
 			_src = src;
 			_rl = rl;
-			_ru = ru;
+			_chunkDims = chunkDims;
 		}
 
 		@Override
-		public Object call() throws IOException {
-			writeHDF5MatrixToFile(_path, _job, _fs, _src, _rl, _ru);
-			return null;
+		public byte[][] call() {
+			int cr = _chunkDims[0];
+			int cc = _chunkDims[1];
+			int clen = _src.getNumColumns();
+			int ru = Math.min(_rl + cr, _src.getNumRows());
+			byte[][] ret = new byte[(clen + cc - 1) / cc][];
+			for(int k = 0; k < ret.length; k++) {
+				int cl = k * cc;
+				int cu = Math.min(cl + cc, clen);
+				//extract the zero-padded chunk in row-major order
+				ByteBuffer buff = ByteBuffer.allocate(cr * cc * 8).order(ByteOrder.LITTLE_ENDIAN);
+				DoubleBuffer db = buff.asDoubleBuffer();
+				if(_src.isEmptyBlock(false)) {
+					//all zeros
+				}
+				else if(_src.isInSparseFormat()) {
+					SparseBlock sb = _src.getSparseBlock();
+					for(int i = _rl; i < ru; i++) {
+						if(sb.isEmpty(i))
+							continue;
+						int apos = sb.pos(i);
+						int alen = sb.size(i);
+						int[] aix = sb.indexes(i);
+						double[] avals = sb.values(i);
+						int off = (i - _rl) * cc - cl;
+						int p = apos;
+						while(p < apos + alen && aix[p] < cl)
+							p++;
+						for(; p < apos + alen && aix[p] < cu; p++)
+							db.put(off + aix[p], avals[p]);
+					}
+				}
+				else {
+					DenseBlock a = _src.getDenseBlock();
+					for(int i = _rl; i < ru; i++) {
+						double[] avals = a.values(i);
+						int aix = a.pos(i);
+						int off = (i - _rl) * cc - cl;
+						for(int j = cl; j < cu; j++)
+							db.put(off + j, avals[aix + j]);
+					}
+				}
+				ret[k] = H5Filters.encode(buff.array(), 8, true, H5Constants.DEFAULT_DEFLATE_LEVEL);
+			}
+			return ret;
 		}
 	}
 }
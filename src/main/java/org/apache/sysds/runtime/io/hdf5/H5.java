@@ -71,6 +71,11 @@ public class H5 {
 
 	// Create Data Space
 	public static H5RootObject H5Screate(BufferedOutputStream bos, long row, long col) {
+		return H5Screate(bos, row, col, row * col * 8); // double value
+	}
+
+	// Create Data Space with given size of data (e.g., chunk index and compressed chunks)
+	public static H5RootObject H5Screate(BufferedOutputStream bos, long row, long col, long dataSize) {
 
 		try {
 			H5RootObject rootObject = new H5RootObject();
@@ -87,7 +92,7 @@ public class H5 {
 			superblock.groupInternalNodeK = 16;
 			superblock.baseAddressByte = 0;
 			superblock.addressOfGlobalFreeSpaceIndex = -1;
-			superblock.endOfFileAddress = 2048 + (row * col * 8); // double value
+			superblock.endOfFileAddress = H5Constants.STATIC_HEADER_SIZE + dataSize;
 			superblock.driverInformationBlockAddress = -1;
 			superblock.rootGroupSymbolTableAddress = 56;
 
@@ -110,7 +115,7 @@ public class H5 {
 	}
 
 	// Open a Data Space
-	public static H5ContiguousDataset H5Dopen(H5RootObject rootObject, String datasetName) {
+	public static H5Dataset H5Dopen(H5RootObject rootObject, String datasetName) {
 		try {
 			H5SymbolTableEntry symbolTableEntry = new H5SymbolTableEntry(rootObject,
 				rootObject.getSuperblock().rootGroupSymbolTableAddress - rootObject.getSuperblock().baseAddressByte);
@@ -137,8 +142,7 @@ public class H5 {
 			}
 
 			final H5ObjectHeader header = new H5ObjectHeader(rootObject, symbolTableEntry.getObjectHeaderAddress());
-			final H5ContiguousDataset contiguousDataset = new H5ContiguousDataset(rootObject, header);
-			return contiguousDataset;
+			return H5Dataset.create(rootObject, header);
 
 		}
 		catch(Exception exception) {
@@ -163,6 +167,16 @@ public class H5 {
 			throw new H5RuntimeException("Just support Matrix!");
 	}
 
+	// Create Dataset with chunked layout, where the chunk index is placed after the headers
+	public static void H5Dcreate(H5RootObject rootObject, long maxRow, long maxCol, String datasetName,
+		int[] chunkDims, boolean shuffle, int deflateLevel) {
+		rootObject.setDataLayoutClass((byte) H5Constants.CHUNKED_LAYOUT);
+		rootObject.setChunkDims(new int[] {chunkDims[0], chunkDims[1], 8}); // double value
+		rootObject.setShuffle(shuffle);
+		rootObject.setDeflateLevel(deflateLevel);
+		H5Dcreate(rootObject, maxRow, maxCol, datasetName);
+	}
+
 	public static void H5WriteHeaders(H5RootObject rootObject) {
 		try {
 			rootObject.getBufferedOutputStream().write(rootObject.bufferBuilder.build().array());
@@ -186,6 +200,20 @@ public class H5 {
 		}
 	}
 
+	// Write chunk index and encoded chunks (in row-major order, with addresses after the index)
+	public static void H5Dwrite(H5RootObject rootObject, List<H5Chunk> chunks, List<byte[]> data) {
+		try {
+			H5BufferBuilder bb = new H5BufferBuilder();
+			H5ChunkBTree.toBuffer(bb, chunks, rootObject.getChunkDims(), H5Constants.STATIC_HEADER_SIZE);
+			rootObject.getBufferedOutputStream().write(bb.build().array());
+			for(byte[] chunk : data)
+				rootObject.getBufferedOutputStream().write(chunk);
+		}
+		catch(Exception exception) {
+			throw new H5RuntimeException(exception);
+		}
+	}
+
 	public static void H5Dwrite(H5RootObject rootObject, double[][] data) {
 
 		for(int i = 0; i < rootObject.getRow(); i++) {
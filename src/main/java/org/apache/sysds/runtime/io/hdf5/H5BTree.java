@@ -28,7 +28,7 @@ import java.util.List;
 
 public class H5BTree {
 
-	private static final byte[] BTREE_NODE_SIGNATURE = "TREE".getBytes(StandardCharsets.US_ASCII);
+	protected static final byte[] BTREE_NODE_SIGNATURE = "TREE".getBytes(StandardCharsets.US_ASCII);
 	private static final int HEADER_BYTES = 6;
 	@SuppressWarnings("unused")
 	private final long address;
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.hdf5;
+
+/**
+ * Entry of the chunk index: logical offsets of the chunk in the dataset, the stored
+ * (filtered) size and file address of the chunk, as well as the mask of skipped filters.
+ */
+public class H5Chunk {
+
+	private final long[] offsets;
+	private final int size;
+	private final int filterMask;
+	private final long address;
+
+	public H5Chunk(long[] offsets, int size, int filterMask, long address) {
+		this.offsets = offsets;
+		this.size = size;
+		this.filterMask = filterMask;
+		this.address = address;
+	}
+
+	public long[] getOffsets() {
+		return offsets;
+	}
+
+	public long getRowOffset() {
+		return offsets[0];
+	}
+
+	public long getColOffset() {
+		return (offsets.length > 1) ? offsets[1] : 0;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public int getFilterMask() {
+		return filterMask;
+	}
+
+	public long getAddress() {
+		return address;
+	}
+}
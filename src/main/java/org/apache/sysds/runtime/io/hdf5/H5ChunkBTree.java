@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.hdf5;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Version 1 B-tree (node type 1) indexing the chunks of a dataset with chunked layout.
+ * Each key holds the stored chunk size, the filter mask, and the chunk offsets (incl. a
+ * trailing zero offset for the element dimension), and each child points either to a chunk
+ * (level 0) or to a B-tree node of the next lower level. For writing, all nodes are allocated
+ * with the full capacity of 2K entries, where the root node is placed first, followed by the
+ * remaining levels in top-down order.
+ */
+public class H5ChunkBTree {
+
+	private static final int HEADER_BYTES = 8;
+
+	private H5ChunkBTree() {
+		// static helper functions only
+	}
+
+	public static List<H5Chunk> readChunks(H5RootObject rootObject, long address, int dimensionality) {
+		List<H5Chunk> chunks = new ArrayList<>();
+		readNode(rootObject, address, dimensionality, chunks);
+		return chunks;
+	}
+
+	private static void readNode(H5RootObject rootObject, long address, int dimensionality, List<H5Chunk> chunks) {
+		ByteBuffer header = H5BTree.readHeaderAndValidateSignature(rootObject, address);
+		int nodeType = header.get();
+		int nodeLevel = header.get();
+		if(nodeType != H5Constants.CHUNK_BTREE_NODE_TYPE) {
+			throw new H5RuntimeException("B tree type is not raw data chunk. Type is: " + nodeType);
+		}
+
+		int sizeOfOffsets = rootObject.getSuperblock().sizeOfOffsets;
+		ByteBuffer bb = rootObject.readBufferFromAddress(address + 6, 2 + 2 * sizeOfOffsets);
+		int entriesUsed = Utils.readBytesAsUnsignedInt(bb, 2);
+
+		// keys and children are interleaved (key_0, child_0, ..., key_n)
+		int keySize = getKeySize(dimensionality);
+		bb = rootObject.readBufferFromAddress(address + HEADER_BYTES + 2L * sizeOfOffsets,
+			entriesUsed * (keySize + sizeOfOffsets) + keySize);
+		for(int i = 0; i < entriesUsed; i++) {
+			int size = Utils.readBytesAsUnsignedInt(bb, 4);
+			int filterMask = bb.getInt();
+			long[] offsets = new long[dimensionality - 1];
+			for(int j = 0; j < dimensionality; j++) {
+				long offset = Utils.readBytesAsUnsignedLong(bb, 8);
+				if(j < offsets.length)
+					offsets[j] = offset;
+			}
+			long child = Utils.readBytesAsUnsignedLong(bb, sizeOfOffsets);
+			if(nodeLevel > 0)
+				readNode(rootObject, child, dimensionality, chunks);
+			else
+				chunks.add(new H5Chunk(offsets, size, filterMask, child));
+		}
+	}
+
+	public static int getKeySize(int dimensionality) {
+		return 4 + 4 + 8 * dimensionality;
+	}
+
+	public static int getNodeSize(int dimensionality) {
+		int twoK = 2 * H5Constants.CHUNK_BTREE_K;
+		return HEADER_BYTES + 2 * 8 + twoK * 8 + (twoK + 1) * getKeySize(dimensionality);
+	}
+
+	public static int getNumNodes(int numChunks) {
+		int twoK = 2 * H5Constants.CHUNK_BTREE_K;
+		int ret = 0;
+		int n = Math.max(numChunks, 1);
+		do {
+			n = (n + twoK - 1) / twoK;
+			ret += n;
+		}
+		while(n > 1);
+		return ret;
+	}
+
+	public static long getIndexSize(int numChunks, int dimensionality) {
+		return (long) getNumNodes(numChunks) * getNodeSize(dimensionality);
+	}
+
+	/**
+	 * Writes the B-tree nodes for the given chunks (sorted in row-major order of their
+	 * offsets) to a buffer that starts at the given address, where the root node is
+	 * placed first.
+	 *
+	 * @param bb buffer builder
+	 * @param chunks chunks in row-major order
+	 * @param chunkDims chunk dimensions incl. trailing element size
+	 * @param address file address of the root node
+	 */
+	public static void toBuffer(H5BufferBuilder bb, List<H5Chunk> chunks, int[] chunkDims, long address) {
+		int twoK = 2 * H5Constants.CHUNK_BTREE_K;
+		int dimensionality = chunkDims.length;
+		int nodeSize = getNodeSize(dimensionality);
+
+		// determine number of nodes per level (bottom-up)
+		List<Integer> levelSizes = new ArrayList<>();
+		int n = Math.max(chunks.size(), 1);
+		do {
+			n = (n + twoK - 1) / twoK;
+			levelSizes.add(n);
+		}
+		while(n > 1);
+		int numLevels = levelSizes.size();
+
+		// compute node addresses per level (top-down placement)
+		long[] levelAddress = new long[numLevels];
+		long pos = address;
+		for(int level = numLevels - 1; level >= 0; level--) {
+			levelAddress[level] = pos;
+			pos += (long) levelSizes.get(level) * nodeSize;
+		}
+
+		// right key of the last chunk (exclusive end)
+		long[] endKey = null;
+		if(!chunks.isEmpty()) {
+			long[] last = chunks.get(chunks.size() - 1).getOffsets();
+			endKey = new long[dimensionality];
+			for(int j = 0; j < last.length; j++)
+				endKey[j] = last[j] + chunkDims[j];
+			endKey[dimensionality - 1] = chunkDims[dimensionality - 1];
+		}
+
+		for(int level = numLevels - 1; level >= 0; level--) {
+			// entries of this level cover ranges of chunks of size 2K^(level+1)
+			long span = 1;
+			for(int l = 0; l < level; l++)
+				span *= twoK;
+			int numNodes = levelSizes.get(level);
+			for(int node = 0; node < numNodes; node++) {
+				long nodeAddress = levelAddress[level] + (long) node * nodeSize;
+				int start = (int) Math.min((long) node * twoK * span, chunks.size());
+				int end = (int) Math.min((long) (node + 1) * twoK * span, chunks.size());
+				int entries = (int) ((end - start + span - 1) / span);
+
+				bb.goToPositionWithWriteZero(nodeAddress - address);
+				bb.writeBytes(H5BTree.BTREE_NODE_SIGNATURE);
+				bb.writeByte(H5Constants.CHUNK_BTREE_NODE_TYPE);
+				bb.writeByte(level);
+				bb.writeShort((short) entries);
+				bb.writeLong((node > 0) ? nodeAddress - nodeSize : H5Constants.UNDEFINED_ADDRESS);
+				bb.writeLong((node < numNodes - 1) ? nodeAddress + nodeSize : H5Constants.UNDEFINED_ADDRESS);
+
+				for(int i = 0; i < entries; i++) {
+					int first = (int) (start + i * span);
+					H5Chunk chunk = chunks.get(first);
+					writeKey(bb, chunk.getSize(), chunk.getFilterMask(), chunk.getOffsets(), dimensionality);
+					long child = (level == 0) ? chunk.getAddress() :
+						levelAddress[level - 1] + (first / span) * (long) nodeSize;
+					bb.writeLong(child);
+				}
+				// right-most key: start of the next node, or the end of all chunks
+				if(end < chunks.size()) {
+					H5Chunk next = chunks.get(end);
+					writeKey(bb, next.getSize(), next.getFilterMask(), next.getOffsets(), dimensionality);
+				}
+				else if(endKey != null) {
+					writeKey(bb, 0, 0, endKey, dimensionality);
+				}
+			}
+		}
+		// pad the last node to its full size
+		bb.goToPositionWithWriteZero(pos - address);
+	}
+
+	private static void writeKey(H5BufferBuilder bb, int size, int filterMask, long[] offsets, int dimensionality) {
+		bb.writeInt(size);
+		bb.writeInt(filterMask);
+		for(int j = 0; j < dimensionality; j++)
+			bb.writeLong((j < offsets.length) ? offsets[j] : 0);
+	}
+}
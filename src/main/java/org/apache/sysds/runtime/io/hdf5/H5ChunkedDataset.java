@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.hdf5;
+
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.io.hdf5.message.H5FilterPipelineMessage;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Dataset with chunked layout, where the chunks are indexed by a v1 B-tree and might be
+ * compressed by a filter pipeline. The chunk index is read on first access, and the reads
+ * of disjoint row ranges can be executed concurrently (chunk reads are synchronized on the
+ * root object, while the decoding of chunks is not).
+ */
+public class H5ChunkedDataset extends H5Dataset {
+
+	private final H5FilterPipelineMessage filterPipelineMessage;
+	private List<H5Chunk> chunks = null;
+
+	public H5ChunkedDataset(H5RootObject rootObject, H5ObjectHeader objectHeader) {
+		super(rootObject, objectHeader);
+		this.filterPipelineMessage = objectHeader.hasMessageOfType(H5FilterPipelineMessage.class) ?
+			objectHeader.getMessageOfType(H5FilterPipelineMessage.class) : null;
+		int[] chunkDims = getChunkDims();
+		if(chunkDims.length != 3 || chunkDims[2] != dataTypeMessage.getDoubleDataType().getSize()) {
+			throw new H5RuntimeException("Unsupported chunk dimensions: " + Arrays.toString(chunkDims));
+		}
+	}
+
+	public synchronized List<H5Chunk> getChunks() {
+		if(chunks == null)
+			chunks = H5ChunkBTree.readChunks(rootObject, dataLayoutMessage.getAddress(), getChunkDims().length);
+		return chunks;
+	}
+
+	public int[] getChunkDims() {
+		return dataLayoutMessage.getChunkDims();
+	}
+
+	public H5FilterPipelineMessage getFilterPipeline() {
+		return filterPipelineMessage;
+	}
+
+	@Override
+	public long readRows(DenseBlock dest, int rl, int ru) {
+		int cr = getChunkDims()[0];
+		long lnnz = 0;
+		for(H5Chunk chunk : getChunks()) {
+			if(chunk.getRowOffset() < ru && chunk.getRowOffset() + cr > rl)
+				lnnz += readChunk(chunk, dest, rl, ru);
+		}
+		return lnnz;
+	}
+
+	/**
+	 * Reads and decodes the given chunk, and copies the rows within [rl, ru) into the
+	 * given dense block (chunks at the boundaries of the dataset are padded).
+	 *
+	 * @param chunk chunk index entry
+	 * @param dest output dense block
+	 * @param rl row lower bound (inclusive)
+	 * @param ru row upper bound (exclusive)
+	 * @return number of non-zeros of the copied cells
+	 */
+	public long readChunk(H5Chunk chunk, DenseBlock dest, int rl, int ru) {
+		int[] chunkDims = getChunkDims();
+		int cr = chunkDims[0];
+		int cc = chunkDims[1];
+
+		// read the stored chunk and apply the inverse filter pipeline
+		byte[] raw = rootObject.readBytesFromAddress(chunk.getAddress(), chunk.getSize());
+		byte[] data = H5Filters.decode(filterPipelineMessage, raw, chunk.getFilterMask(), cr * cc * chunkDims[2]);
+		DoubleBuffer db = ByteBuffer.wrap(data).order(dataTypeMessage.getDoubleDataType().getOrder()).asDoubleBuffer();
+
+		// copy the valid part of the chunk into the output rows
+		int r0 = (int) chunk.getRowOffset();
+		int c0 = (int) chunk.getColOffset();
+		int rs = Math.max(rl, r0);
+		int re = (int) Math.min(Math.min(ru, r0 + cr), rootObject.getRow());
+		int len = (int) Math.min(cc, rootObject.getCol() - c0);
+		long lnnz = 0;
+		for(int i = rs; i < re; i++) {
+			double[] vals = dest.values(i);
+			int pos = dest.pos(i) + c0;
+			int off = (i - r0) * cc;
+			for(int j = 0; j < len; j++) {
+				double v = db.get(off + j);
+				vals[pos + j] = v;
+				lnnz += (v != 0) ? 1 : 0;
+			}
+		}
+		return lnnz;
+	}
+}
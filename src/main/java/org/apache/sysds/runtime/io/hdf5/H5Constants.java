@@ -28,6 +28,22 @@ public final class H5Constants {
 	public static final int DATA_TYPE_MESSAGE = 3;
 	public static final int FILL_VALUE_MESSAGE = 5;
 	public static final int DATA_LAYOUT_MESSAGE = 8;
+	public static final int FILTER_PIPELINE_MESSAGE = 11;
 	public static final int SYMBOL_TABLE_MESSAGE = 17;
 	public static final int OBJECT_MODIFICATION_TIME_MESSAGE = 18;
+
+	// data layout classes
+	public static final int COMPACT_LAYOUT = 0;
+	public static final int CONTIGUOUS_LAYOUT = 1;
+	public static final int CHUNKED_LAYOUT = 2;
+
+	// predefined filters
+	public static final int FILTER_DEFLATE = 1;
+	public static final int FILTER_SHUFFLE = 2;
+	public static final int FILTER_FLETCHER32 = 3;
+	public static final int DEFAULT_DEFLATE_LEVEL = 4;
+
+	// v1 B-tree of chunked raw data (node type 1, K=32 for superblock v0)
+	public static final int CHUNK_BTREE_NODE_TYPE = 1;
+	public static final int CHUNK_BTREE_K = 32;
 }
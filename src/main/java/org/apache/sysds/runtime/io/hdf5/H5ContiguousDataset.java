@@ -20,28 +20,33 @@
 
 package org.apache.sysds.runtime.io.hdf5;
 
-import org.apache.sysds.runtime.io.hdf5.message.H5DataLayoutMessage;
-import org.apache.sysds.runtime.io.hdf5.message.H5DataSpaceMessage;
-import org.apache.sysds.runtime.io.hdf5.message.H5DataTypeMessage;
+import org.apache.sysds.runtime.data.DenseBlock;
 
 import java.nio.ByteBuffer;
 
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 
-public class H5ContiguousDataset {
-
-	private final H5RootObject rootObject;
-	private final H5DataLayoutMessage dataLayoutMessage;
-	private final H5DataTypeMessage dataTypeMessage;
-	@SuppressWarnings("unused")
-	private final H5DataSpaceMessage dataSpaceMessage;
+public class H5ContiguousDataset extends H5Dataset {
 
 	public H5ContiguousDataset(H5RootObject rootObject, H5ObjectHeader objectHeader) {
+		super(rootObject, objectHeader);
+	}
 
-		this.rootObject = rootObject;
-		this.dataLayoutMessage = objectHeader.getMessageOfType(H5DataLayoutMessage.class);
-		this.dataTypeMessage = objectHeader.getMessageOfType(H5DataTypeMessage.class);
-		this.dataSpaceMessage = objectHeader.getMessageOfType(H5DataSpaceMessage.class);
+	@Override
+	public long readRows(DenseBlock dest, int rl, int ru) {
+		int ncol = (int) rootObject.getCol();
+		double[] data = new double[ncol];
+		long lnnz = 0;
+		for(int i = rl; i < ru; i++) {
+			H5.H5Dread(this, i, data);
+			for(int j = 0; j < ncol; j++) {
+				if(data[j] != 0) {
+					dest.set(i, j, data[j]);
+					lnnz++;
+				}
+			}
+		}
+		return lnnz;
 	}
 
 	public ByteBuffer getDataBuffer(int row) {
@@ -57,7 +62,4 @@ public class H5ContiguousDataset {
 			throw new H5RuntimeException("Failed to map data buffer for dataset", e);
 		}
 	}
-	public H5DataTypeMessage getDataType() {
-		return dataTypeMessage;
-	}
 }
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.hdf5;
+
+import org.apache.sysds.runtime.io.hdf5.message.H5FilterPipelineMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5FilterPipelineMessage.H5Filter;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encoding and decoding of chunks for the predefined HDF5 filters deflate (zlib), shuffle,
+ * and fletcher32 (checksum verified and stripped on read). Filters are applied in pipeline
+ * order on write and in reverse order on read, where filters with a set bit in the chunk's
+ * filter mask were skipped during write.
+ */
+public final class H5Filters {
+
+	private H5Filters() {
+		throw new AssertionError("No instances of H5Filters");
+	}
+
+	public static byte[] decode(H5FilterPipelineMessage pipeline, byte[] data, int filterMask, int size) {
+		if(pipeline == null)
+			return data;
+		List<H5Filter> filters = pipeline.getFilters();
+		for(int i = filters.size() - 1; i >= 0; i--) {
+			if((filterMask & (1 << i)) != 0)
+				continue; // filter skipped on write
+			H5Filter filter = filters.get(i);
+			switch(filter.getId()) {
+				case H5Constants.FILTER_DEFLATE:
+					data = inflate(data, size);
+					break;
+				case H5Constants.FILTER_SHUFFLE:
+					int[] cd = filter.getClientData();
+					data = unshuffle(data, (cd.length > 0) ? cd[0] : 8);
+					break;
+				case H5Constants.FILTER_FLETCHER32:
+					data = verifyFletcher32(data);
+					break;
+				default:
+					throw new H5RuntimeException("Unsupported HDF5 filter: id=" + filter.getId()
+						+ ((filter.getName() != null) ? ", name=" + filter.getName() : ""));
+			}
+		}
+		return data;
+	}
+
+	public static byte[] encode(byte[] data, int elementSize, boolean shuffle, int deflateLevel) {
+		if(shuffle)
+			data = shuffle(data, elementSize);
+		if(deflateLevel >= 0)
+			data = deflate(data, deflateLevel);
+		return data;
+	}
+
+	public static byte[] verifyFletcher32(byte[] data) {
+		if(data.length < 4)
+			throw new H5RuntimeException("Invalid fletcher32 chunk: " + data.length + " bytes");
+		int len = data.length - 4;
+		//stored checksum in little endian order
+		long stored = (data[len] & 0xFFL) | (data[len + 1] & 0xFFL) << 8
+			| (data[len + 2] & 0xFFL) << 16 | (data[len + 3] & 0xFFL) << 24;
+		long checksum = fletcher32(data, len);
+		//byte-swapped checksum of files written by libhdf5 before 1.6.3
+		long reversed = ((checksum & 0x00FF00FFL) << 8) | ((checksum >>> 8) & 0x00FF00FFL);
+		if(stored != checksum && stored != reversed)
+			throw new H5RuntimeException("Fletcher32 checksum mismatch: stored=" + Long.toHexString(stored)
+				+ ", computed=" + Long.toHexString(checksum));
+		return Arrays.copyOf(data, len);
+	}
+
+	/**
+	 * Computes the fletcher32 checksum as defined by libhdf5, i.e., over 16-bit
+	 * big-endian words with a zero-padded trailing byte for odd lengths.
+	 *
+	 * @param data input bytes
+	 * @param len number of bytes to consider
+	 * @return checksum as unsigned 32-bit value
+	 */
+	public static long fletcher32(byte[] data, int len) {
+		long sum1 = 0, sum2 = 0;
+		int pos = 0;
+		int words = len / 2;
+		while(words > 0) {
+			//blocks of 360 words to avoid overflow of the partial sums
+			int tlen = Math.min(words, 360);
+			words -= tlen;
+			for(int i = 0; i < tlen; i++, pos += 2) {
+				sum1 += ((data[pos] & 0xFF) << 8) | (data[pos + 1] & 0xFF);
+				sum2 += sum1;
+			}
+			sum1 = (sum1 & 0xFFFF) + (sum1 >>> 16);
+			sum2 = (sum2 & 0xFFFF) + (sum2 >>> 16);
+		}
+		if(len % 2 != 0) {
+			sum1 += (data[pos] & 0xFF) << 8;
+			sum2 += sum1;
+			sum1 = (sum1 & 0xFFFF) + (sum1 >>> 16);
+			sum2 = (sum2 & 0xFFFF) + (sum2 >>> 16);
+		}
+		sum1 = (sum1 & 0xFFFF) + (sum1 >>> 16);
+		sum2 = (sum2 & 0xFFFF) + (sum2 >>> 16);
+		return (sum2 << 16) | sum1;
+	}
+
+	public static byte[] inflate(byte[] data, int size) {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(data);
+			byte[] ret = new byte[size];
+			int len = 0;
+			while(len < size && !inflater.finished()) {
+				int n = inflater.inflate(ret, len, size - len);
+				if(n == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+					break;
+				len += n;
+			}
+			if(len != size)
+				throw new H5RuntimeException("Invalid deflate chunk: expected " + size + " bytes, but got " + len);
+			return ret;
+		}
+		catch(DataFormatException e) {
+			throw new H5RuntimeException("Failed to inflate chunk", e);
+		}
+		finally {
+			inflater.end();
+		}
+	}
+
+	public static byte[] deflate(byte[] data, int level) {
+		Deflater deflater = new Deflater(level);
+		try {
+			deflater.setInput(data);
+			deflater.finish();
+			ByteArrayOutputStream bos = new ByteArrayOutputStream(Math.max(data.length / 2, 64));
+			byte[] buff = new byte[64 * 1024];
+			while(!deflater.finished()) {
+				int n = deflater.deflate(buff);
+				bos.write(buff, 0, n);
+			}
+			return bos.toByteArray();
+		}
+		finally {
+			deflater.end();
+		}
+	}
+
+	public static byte[] shuffle(byte[] data, int elementSize) {
+		int n = data.length / elementSize;
+		if(elementSize <= 1 || n <= 1)
+			return data;
+		byte[] ret = new byte[data.length];
+		for(int i = 0; i < n; i++)
+			for(int j = 0; j < elementSize; j++)
+				ret[j * n + i] = data[i * elementSize + j];
+		// trailing bytes of partial elements are copied as is
+		System.arraycopy(data, n * elementSize, ret, n * elementSize, data.length - n * elementSize);
+		return ret;
+	}
+
+	public static byte[] unshuffle(byte[] data, int elementSize) {
+		int n = data.length / elementSize;
+		if(elementSize <= 1 || n <= 1)
+			return data;
+		byte[] ret = new byte[data.length];
+		for(int j = 0; j < elementSize; j++)
+			for(int i = 0; i < n; i++)
+				ret[i * elementSize + j] = data[j * n + i];
+		System.arraycopy(data, n * elementSize, ret, n * elementSize, data.length - n * elementSize);
+		return ret;
+	}
+}
@@ -23,6 +23,8 @@ import org.apache.sysds.runtime.io.hdf5.message.H5Message;
 import org.apache.sysds.runtime.io.hdf5.message.H5DataTypeMessage;
 import org.apache.sysds.runtime.io.hdf5.message.H5DataSpaceMessage;
 import org.apache.sysds.runtime.io.hdf5.message.H5FillValueMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5FilterPipelineMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5FilterPipelineMessage.H5Filter;
 import org.apache.sysds.runtime.io.hdf5.message.H5NilMessage;
 import org.apache.sysds.runtime.io.hdf5.message.H5ObjectModificationTimeMessage;
 import org.apache.sysds.runtime.io.hdf5.message.H5SymbolTableMessage;
@@ -163,7 +165,13 @@ public class H5ObjectHeader {
 		localHeap.toBuffer(bb);
 
 		// 2. Write Object Header Message for second step
-		this.writeObjectHeader(bb, (short) 6, 256);
+		boolean chunked = rootObject.getDataLayoutClass() == H5Constants.CHUNKED_LAYOUT;
+		List<H5Filter> filters = new ArrayList<>();
+		if(chunked && rootObject.isShuffle())
+			filters.add(new H5Filter(H5Constants.FILTER_SHUFFLE, null, 1, new int[] {8}));
+		if(chunked && rootObject.getDeflateLevel() >= 0)
+			filters.add(new H5Filter(H5Constants.FILTER_DEFLATE, null, 1, new int[] {rootObject.getDeflateLevel()}));
+		this.writeObjectHeader(bb, (short) (filters.isEmpty() ? 6 : 7), 256);
 
 		// 2.1 Write Data Space
 		flags = new BitSet(8);
@@ -177,24 +185,35 @@ public class H5ObjectHeader {
 		H5DataTypeMessage dataTypeMessage = new H5DataTypeMessage(rootObject, flags, doubleDataType);
 		dataTypeMessage.toBuffer(bb);
 
-		// 2.3 Write Fill Value
+		// 2.3 Write Fill Value (incremental space allocation for chunked datasets)
 
-		H5FillValueMessage fillValueMessage = new H5FillValueMessage(rootObject, flags, 2, 2, true);
+		H5FillValueMessage fillValueMessage = new H5FillValueMessage(rootObject, flags, chunked ? 3 : 2, 2, true);
 		fillValueMessage.toBuffer(bb);
 
 		// 2.4 Write Data Layout Message
 		flags = new BitSet();
 
-		H5DataLayoutMessage dataLayoutMessage = new H5DataLayoutMessage(rootObject, flags, 2048,
+		H5DataLayoutMessage dataLayoutMessage = chunked ?
+			new H5DataLayoutMessage(rootObject, flags, H5Constants.STATIC_HEADER_SIZE, rootObject.getChunkDims()) :
+			new H5DataLayoutMessage(rootObject, flags, 2048,
 			(rootObject.row * rootObject.col) * rootObject.superblock.sizeOfLengths);
 		dataLayoutMessage.toBuffer(bb);
-		// 2.5 Write Object Modification Time
+
+		// 2.5 Write Filter Pipeline (optional shuffle and deflate)
+		int nilSize = 104;
+		if(!filters.isEmpty()) {
+			H5FilterPipelineMessage filterPipelineMessage = new H5FilterPipelineMessage(rootObject, flags, filters);
+			filterPipelineMessage.toBuffer(bb);
+			nilSize -= 8 + filterPipelineMessage.getDataSize();
+		}
+
+		// 2.6 Write Object Modification Time
 		long time = Instant.now().getEpochSecond();
 		H5ObjectModificationTimeMessage objectModificationTimeMessage = new H5ObjectModificationTimeMessage(rootObject,
 			flags, time);
 		objectModificationTimeMessage.toBuffer(bb);
-		//2.6 Write Nil
-		H5NilMessage nilMessage = new H5NilMessage(rootObject, flags);
+		//2.7 Write Nil (padding to the header size)
+		H5NilMessage nilMessage = new H5NilMessage(rootObject, flags, nilSize);
 		nilMessage.toBuffer(bb);
 
 		// Write Group Symbol Table Node
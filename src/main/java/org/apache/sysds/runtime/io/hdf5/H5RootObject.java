@@ -51,37 +51,53 @@ public class H5RootObject {
 
 	protected byte dataLayoutClass = 1;
 
+	// chunked layout and filters of written datasets
+	protected int[] chunkDims = null;
+	protected boolean shuffle = false;
+	protected int deflateLevel = -1;
+
 	public ByteBuffer readBufferFromAddress(long address, int length) {
-		ByteBuffer bb = ByteBuffer.allocate(length);
-		try {
-			byte[] b = new byte[length];
-			bufferedInputStream.reset();
-			bufferedInputStream.skip(address);
-			bufferedInputStream.read(b);
-			bb.put(b);
-		}
-		catch(IOException e) {
-			throw new H5RuntimeException(e);
-		}
+		ByteBuffer bb = ByteBuffer.wrap(readBytesFromAddress(address, length));
 		bb.order(LITTLE_ENDIAN);
-		bb.rewind();
 		return bb;
 	}
 
 	public ByteBuffer readBufferFromAddressNoOrder(long address, int length) {
-		ByteBuffer bb = ByteBuffer.allocate(length);
+		return ByteBuffer.wrap(readBytesFromAddress(address, length));
+	}
+
+	/**
+	 * Reads the given number of bytes at the given address. This method is synchronized
+	 * because the underlying (marked) input stream is shared, which allows concurrent
+	 * decoding of chunks that are read through the same root object.
+	 *
+	 * @param address file address
+	 * @param length number of bytes
+	 * @return byte array of the given length
+	 */
+	public synchronized byte[] readBytesFromAddress(long address, int length) {
+		byte[] b = new byte[length];
 		try {
-			byte[] b = new byte[length];
 			bufferedInputStream.reset();
-			bufferedInputStream.skip(address);
-			bufferedInputStream.read(b);
-			bb.put(b);
+			long skipped = 0;
+			while(skipped < address) {
+				long n = bufferedInputStream.skip(address - skipped);
+				if(n <= 0)
+					throw new IOException("Failed to seek to address " + address);
+				skipped += n;
+			}
+			int read = 0;
+			while(read < length) {
+				int n = bufferedInputStream.read(b, read, length - read);
+				if(n < 0)
+					break; // end of file, remaining bytes zero
+				read += n;
+			}
 		}
 		catch(IOException e) {
 			throw new H5RuntimeException(e);
 		}
-		bb.rewind();
-		return bb;
+		return b;
 	}
 
 	public BufferedInputStream getBufferedInputStream() {
@@ -230,6 +246,30 @@ public class H5RootObject {
 		this.dataLayoutClass = dataLayoutClass;
 	}
 
+	public int[] getChunkDims() {
+		return chunkDims;
+	}
+
+	public void setChunkDims(int[] chunkDims) {
+		this.chunkDims = chunkDims;
+	}
+
+	public boolean isShuffle() {
+		return shuffle;
+	}
+
+	public void setShuffle(boolean shuffle) {
+		this.shuffle = shuffle;
+	}
+
+	public int getDeflateLevel() {
+		return deflateLevel;
+	}
+
+	public void setDeflateLevel(int deflateLevel) {
+		this.deflateLevel = deflateLevel;
+	}
+
 	public byte getObjectModificationTimeVersion() {
 		return objectModificationTimeVersion;
 	}
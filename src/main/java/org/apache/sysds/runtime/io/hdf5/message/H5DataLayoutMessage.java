@@ -23,6 +23,7 @@ package org.apache.sysds.runtime.io.hdf5.message;
 import org.apache.sysds.runtime.io.hdf5.H5BufferBuilder;
 import org.apache.sysds.runtime.io.hdf5.H5Constants;
 import org.apache.sysds.runtime.io.hdf5.H5RootObject;
+import org.apache.sysds.runtime.io.hdf5.H5RuntimeException;
 import org.apache.sysds.runtime.io.hdf5.Utils;
 
 import java.nio.ByteBuffer;
@@ -32,19 +33,49 @@ public class H5DataLayoutMessage extends H5Message {
 
 	private final long address;
 	private final long size;
+	// chunk dimensions incl. trailing element size (chunked layout only)
+	private final int[] chunkDims;
 
 	public H5DataLayoutMessage(H5RootObject rootObject, BitSet flags, ByteBuffer bb) {
 		super(rootObject, flags);
 		rootObject.setDataLayoutVersion(bb.get());
 		rootObject.setDataLayoutClass(bb.get());
-		this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
-		this.size = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfLengths);
+		if(rootObject.getDataLayoutVersion() != 3) {
+			throw new H5RuntimeException("Unsupported data layout version: " + rootObject.getDataLayoutVersion());
+		}
+		switch(rootObject.getDataLayoutClass()) {
+			case H5Constants.CONTIGUOUS_LAYOUT:
+				this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
+				this.size = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfLengths);
+				this.chunkDims = null;
+				break;
+			case H5Constants.CHUNKED_LAYOUT:
+				int dimensionality = Utils.readBytesAsUnsignedInt(bb, 1);
+				// address of the v1 B-tree indexing the chunks
+				this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
+				this.chunkDims = new int[dimensionality];
+				for(int i = 0; i < dimensionality; i++) {
+					this.chunkDims[i] = Utils.readBytesAsUnsignedInt(bb, 4);
+				}
+				this.size = -1;
+				break;
+			default:
+				throw new H5RuntimeException("Unsupported data layout class: " + rootObject.getDataLayoutClass());
+		}
 	}
 
 	public H5DataLayoutMessage(H5RootObject rootObject, BitSet flags, long address, long size) {
 		super(rootObject, flags);
 		this.address = address;
 		this.size = size;
+		this.chunkDims = null;
+	}
+
+	public H5DataLayoutMessage(H5RootObject rootObject, BitSet flags, long bTreeAddress, int[] chunkDims) {
+		super(rootObject, flags);
+		this.address = bTreeAddress;
+		this.size = -1;
+		this.chunkDims = chunkDims;
 	}
 
 	@Override
@@ -57,6 +88,18 @@ public class H5DataLayoutMessage extends H5Message {
 		// Layout Class
 		bb.writeByte(rootObject.getDataLayoutClass());
 
+		if(isChunked()) {
+			// Dimensionality, B-tree address, and chunk dimensions
+			bb.writeByte(chunkDims.length);
+			bb.writeLong(address);
+			for(int dim : chunkDims) {
+				bb.writeInt(dim);
+			}
+			byte[] reserved = new byte[24 - 11 - 4 * chunkDims.length];
+			bb.writeBytes(reserved);
+			return;
+		}
+
 		// Address
 		bb.writeLong(address);
 
@@ -67,6 +110,14 @@ public class H5DataLayoutMessage extends H5Message {
 		bb.writeBytes(reserved);
 	}
 
+	public boolean isChunked() {
+		return chunkDims != null;
+	}
+
+	public int[] getChunkDims() {
+		return chunkDims;
+	}
+
 	public long getAddress() {
 		return address;
 	}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.hdf5.message;
+
+import org.apache.sysds.runtime.io.hdf5.H5BufferBuilder;
+import org.apache.sysds.runtime.io.hdf5.H5Constants;
+import org.apache.sysds.runtime.io.hdf5.H5RootObject;
+import org.apache.sysds.runtime.io.hdf5.H5RuntimeException;
+import org.apache.sysds.runtime.io.hdf5.Utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+public class H5FilterPipelineMessage extends H5Message {
+
+	private final byte version;
+	private final List<H5Filter> filters;
+
+	public H5FilterPipelineMessage(H5RootObject rootObject, BitSet flags, ByteBuffer bb) {
+		super(rootObject, flags);
+
+		// Version and number of filters
+		version = bb.get();
+		if(version != 1 && version != 2) {
+			throw new H5RuntimeException("Unsupported filter pipeline message version: " + version);
+		}
+		int numberOfFilters = Utils.readBytesAsUnsignedInt(bb, 1);
+		filters = new ArrayList<>(numberOfFilters);
+
+		// Skip 6 reserved bytes (version 1 only)
+		if(version == 1) {
+			bb.position(bb.position() + 6);
+		}
+
+		for(int i = 0; i < numberOfFilters; i++) {
+			int id = Utils.readBytesAsUnsignedInt(bb, 2);
+			// version 2 omits the name length for predefined filters
+			int nameLength = (version == 1 || id >= 256) ? Utils.readBytesAsUnsignedInt(bb, 2) : 0;
+			int filterFlags = Utils.readBytesAsUnsignedInt(bb, 2);
+			int numberOfValues = Utils.readBytesAsUnsignedInt(bb, 2);
+
+			String name = null;
+			if(nameLength > 0) {
+				byte[] nameBytes = new byte[nameLength];
+				bb.get(nameBytes);
+				name = new String(nameBytes, StandardCharsets.US_ASCII).trim();
+				// version 1 pads the name to a multiple of eight bytes
+				if(version == 1 && nameLength % 8 != 0) {
+					bb.position(bb.position() + 8 - nameLength % 8);
+				}
+			}
+
+			int[] clientData = new int[numberOfValues];
+			for(int j = 0; j < numberOfValues; j++) {
+				clientData[j] = bb.getInt();
+			}
+			// version 1 pads an odd number of client data values
+			if(version == 1 && numberOfValues % 2 != 0) {
+				bb.position(bb.position() + 4);
+			}
+			filters.add(new H5Filter(id, name, filterFlags, clientData));
+		}
+	}
+
+	public H5FilterPipelineMessage(H5RootObject rootObject, BitSet flags, List<H5Filter> filters) {
+		super(rootObject, flags);
+		this.version = 1;
+		this.filters = filters;
+	}
+
+	@Override
+	public void toBuffer(H5BufferBuilder bb) {
+		super.toBuffer(bb, H5Constants.FILTER_PIPELINE_MESSAGE, getDataSize());
+
+		// Version
+		bb.writeByte(version);
+
+		// Number of filters
+		bb.writeByte(filters.size());
+
+		// Reserved
+		bb.writeBytes(new byte[6]);
+
+		for(H5Filter filter : filters) {
+			int[] clientData = filter.getClientData();
+			bb.writeShort((short) filter.getId());
+			// Name Length (names are optional)
+			bb.writeShort((short) 0);
+			bb.writeShort((short) filter.getFlags());
+			bb.writeShort((short) clientData.length);
+			for(int value : clientData) {
+				bb.writeInt(value);
+			}
+			if(clientData.length % 2 != 0) {
+				bb.writeInt(0);
+			}
+		}
+	}
+
+	public int getDataSize() {
+		int size = 8;
+		for(H5Filter filter : filters) {
+			int numberOfValues = filter.getClientData().length;
+			size += 8 + 4 * (numberOfValues + numberOfValues % 2);
+		}
+		return size;
+	}
+
+	public List<H5Filter> getFilters() {
+		return filters;
+	}
+
+	public static class H5Filter {
+		private final int id;
+		private final String name;
+		private final int flags;
+		private final int[] clientData;
+
+		public H5Filter(int id, String name, int flags, int[] clientData) {
+			this.id = id;
+			this.name = name;
+			this.flags = flags;
+			this.clientData = clientData;
+		}
+
+		public int getId() {
+			return id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public int getFlags() {
+			return flags;
+		}
+
+		public int[] getClientData() {
+			return clientData;
+		}
+	}
+}
@@ -35,7 +35,8 @@ import java.util.Map;
 import static org.apache.sysds.utils.Explain.explain;
 
 public class Lineage {
-	//thread-/function-local lineage DAG
+	//thread-/function-local lineage DAG (accessors are synchronized
+	//for concurrent instructions of a basic block)
 	private final LineageMap _map;
 	
 	//optional deduplication blocks (block := map of lineage patches per loop/function)
@@ -52,7 +53,7 @@ public class Lineage {
 		_map = new LineageMap(that._map);
 	}
 	
-	public void trace(Instruction inst, ExecutionContext ec) {
+	public synchronized void trace(Instruction inst, ExecutionContext ec) {
 		if (inst.getOpcode().equalsIgnoreCase("toString"))
 			//Silently skip toString. TODO: trace toString
 			return;
@@ -73,19 +74,19 @@ public class Lineage {
 		}
 	}
 	
-	public LineageItem getOrCreate(CPOperand variable) {
+	public synchronized LineageItem getOrCreate(CPOperand variable) {
 		return _initDedupBlock == null ?
 			_map.getOrCreate(variable) :
 			_initDedupBlock.getActiveMap().getOrCreate(variable);
 	}
 	
-	public boolean contains(CPOperand variable) {
+	public synchronized boolean contains(CPOperand variable) {
 		return _initDedupBlock == null ?
 			_map.containsKey(variable.getName()) :
 			_initDedupBlock.getActiveMap().containsKey(variable.getName());
 	}
 	
-	public LineageItem get(String varName) {
+	public synchronized LineageItem get(String varName) {
 		return _map.get(varName);
 	}
 	
@@ -101,15 +102,15 @@ public class Lineage {
 		return _dedupBlocks;
 	}
 	
-	public void set(String varName, LineageItem li) {
+	public synchronized void set(String varName, LineageItem li) {
 		_map.set(varName, li);
 	}
 	
-	public void setLiteral(String varName, LineageItem li) {
+	public synchronized void setLiteral(String varName, LineageItem li) {
 		_map.setLiteral(varName, li);
 	}
 	
-	public LineageItem get(CPOperand variable) {
+	public synchronized LineageItem get(CPOperand variable) {
 		return _initDedupBlock == null ?
 			_map.get(variable) :
 			_initDedupBlock.getActiveMap().get(variable);
@@ -172,6 +173,7 @@ public class Lineage {
 	
 	public static void resetInternalState() {
 		LineageItem.resetIDSequence();
+		LineageItem.resetCanonicalTable();
 		LineageCache.resetCache();
 		LineageCacheStatistics.reset();
 		LineageEstimator.resetEstimatorCache();
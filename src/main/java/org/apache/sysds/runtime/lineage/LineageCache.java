@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.lineage;
 
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.spark.storage.StorageLevel;
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.FileFormat;
@@ -47,6 +48,8 @@ import org.apache.sysds.runtime.instructions.cp.ScalarObject;
 import org.apache.sysds.runtime.instructions.fed.ComputationFEDInstruction;
 import org.apache.sysds.runtime.instructions.gpu.GPUInstruction;
 import org.apache.sysds.runtime.instructions.gpu.context.GPUObject;
+import org.apache.sysds.runtime.instructions.spark.ComputationSPInstruction;
+import org.apache.sysds.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig.LineageCacheStatus;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -92,9 +95,11 @@ public class LineageCache
 			ComputationCPInstruction cinst = inst instanceof ComputationCPInstruction ? (ComputationCPInstruction)inst : null;
 			ComputationFEDInstruction cfinst = inst instanceof ComputationFEDInstruction ? (ComputationFEDInstruction)inst : null; 
 			GPUInstruction gpuinst = inst instanceof GPUInstruction ? (GPUInstruction)inst : null;
+			ComputationSPInstruction cspinst = inst instanceof ComputationSPInstruction ? (ComputationSPInstruction)inst : null;
 				
 			LineageItem instLI = (cinst != null) ? cinst.getLineageItem(ec).getValue()
 					: (cfinst != null) ? cfinst.getLineageItem(ec).getValue() 
+					: (cspinst != null) ? cspinst.getLineageItem(ec).getValue()
 					: gpuinst.getLineageItem(ec).getValue();
 			List<MutablePair<LineageItem, LineageCacheEntry>> liList = null;
 			if (inst instanceof MultiReturnBuiltinCPInstruction) {
@@ -119,7 +124,7 @@ public class LineageCache
 						e = LineageCache.probe(item.getKey()) ? getIntern(item.getKey()) : null;
 					//TODO need to also move execution of compensation plan out of here
 					//(create lazily evaluated entry)
-					if (e == null && LineageCacheConfig.getCacheType().isPartialReuse())
+					if (e == null && LineageCacheConfig.getCacheType().isPartialReuse() && cspinst == null)
 						if( LineageRewriteReuse.executeRewrites(inst, ec) )
 							e = getIntern(item.getKey());
 					//TODO: MultiReturnBuiltin and partial rewrites
@@ -135,6 +140,8 @@ public class LineageCache
 							putIntern(item.getKey(), cfinst.output.getDataType(), null, null,  0);
 						else if (gpuinst != null)
 							putIntern(item.getKey(), gpuinst._output.getDataType(), null, null,  0);
+						else if (cspinst != null)
+							putIntern(item.getKey(), cspinst.output.getDataType(), null, null,  0);
 						//FIXME: different o/p datatypes for MultiReturnBuiltins.
 					}
 				}
@@ -143,6 +150,7 @@ public class LineageCache
 			
 			if(reuse) { //reuse
 				boolean gpuReuse = false;
+				boolean rddReuse = false;
 				//put reuse value into symbol table (w/ blocking on placeholders)
 				for (MutablePair<LineageItem, LineageCacheEntry> entry : liList) {
 					e = entry.getValue();
@@ -156,11 +164,32 @@ public class LineageCache
 						outName = cfinst.output.getName();
 					else if (inst instanceof GPUInstruction)
 						outName = gpuinst._output.getName();
+					else if (inst instanceof ComputationSPInstruction)
+						outName = cspinst.output.getName();
 					
 					if (e.isMatrixValue() && e._gpuObject == null) {
 						MatrixBlock mb = e.getMBValue(); //wait if another thread is executing the same inst.
 						if (mb == null && e.getCacheStatus() == LineageCacheStatus.NOTCACHED)
 							return false;  //the executing thread removed this entry from cache
+						else if (mb == null && e.isRDDPersist()) {
+							//bind the persisted rdd to the output (w/o collect) via a new
+							//rdd object that references the cached one as lineage child,
+							//which keeps the back reference of the cached rdd object intact
+							//and prevents its cleanup on eviction while still in use
+							RDDObject rdd = null;
+							synchronized (_cache) {
+								if (LineageSparkCacheEviction.containsEntry(e)) {
+									rdd = new RDDObject(e.getRDDObject().getRDD());
+									rdd.addLineageChild(e.getRDDObject());
+								}
+							}
+							if (rdd == null)
+								return false; //evicted concurrently
+							MatrixObject mo = ec.getMatrixObject(outName);
+							mo.getDataCharacteristics().set(e.getRDDDataCharacteristics());
+							mo.setRDDHandle(rdd);
+							rddReuse = true;
+						}
 						else
 							ec.setMatrixOutput(outName, e.getMBValue());
 					}
@@ -188,6 +217,8 @@ public class LineageCache
 				if (DMLScript.STATISTICS) {
 					if (gpuReuse)
 						LineageCacheStatistics.incrementGpuHits();
+					else if (rddReuse)
+						LineageCacheStatistics.incrementRDDHits();
 					else
 						LineageCacheStatistics.incrementInstHits();
 				}
@@ -381,6 +412,8 @@ public class LineageCache
 		synchronized(_cache) {
 			LineageCacheEntry e = getEntry(key);
 			long size = e.getSize();
+			if (e.isRDDPersist())
+				LineageSparkCacheEviction.removeEntry(e);
 			if (e._origItem == null)
 				_cache.remove(e._key);
 
@@ -439,6 +472,7 @@ public class LineageCache
 			//if (!isMarkedForCaching(inst, ec)) return;
 			List<Pair<LineageItem, Data>> liData = null;
 			GPUObject liGpuObj = null;
+			MatrixObject liRDDObj = null;
 			LineageItem instLI = ((LineageTraceable) inst).getLineageItem(ec).getValue();
 			if (inst instanceof MultiReturnBuiltinCPInstruction) {
 				liData = new ArrayList<>();
@@ -461,12 +495,24 @@ public class LineageCache
 				if (liGpuObj == null)
 					liData = Arrays.asList(Pair.of(instLI, ec.getVariable(((GPUInstruction)inst)._output)));
 			}
+			else if (inst instanceof ComputationSPInstruction) {
+				// Outputs collected into the driver are cached as matrix blocks,
+				// while rdd outputs are persisted without triggering a collect.
+				Data data = ec.getVariable(((ComputationSPInstruction) inst).output);
+				if (data instanceof MatrixObject && !((MatrixObject)data).isCached(true)
+					&& ((MatrixObject)data).getRDDHandle() != null)
+					liRDDObj = (MatrixObject) data;
+				else
+					liData = Arrays.asList(Pair.of(instLI, data));
+			}
 			else
 				liData = inst instanceof ComputationCPInstruction ? 
 						Arrays.asList(Pair.of(instLI, ec.getVariable(((ComputationCPInstruction) inst).output))) :
 						Arrays.asList(Pair.of(instLI, ec.getVariable(((ComputationFEDInstruction) inst).output)));
 
-			if (liGpuObj == null)
+			if (liRDDObj != null)
+				putValueRDD(liRDDObj, instLI, computetime);
+			else if (liGpuObj == null)
 				putValueCPU(inst, liData, computetime);
 			else
 				putValueGPU(liGpuObj, instLI, computetime);
@@ -543,6 +589,34 @@ public class LineageCache
 		}
 	}
 	
+	private static void putValueRDD(MatrixObject mo, LineageItem instLI, long computetime) {
+		synchronized( _cache ) {
+			if (!probe(instLI))
+				return;
+			LineageCacheEntry centry = _cache.get(instLI);
+			
+			// Estimate the size in executor storage memory and make space
+			// by unpersisting least recently used rdds if necessary
+			long size = OptimizerUtils.estimatePartitionedSizeExactSparsity(mo.getDataCharacteristics());
+			if (size > LineageSparkCacheEviction.getCacheLimit()) {
+				removePlaceholder(instLI);
+				return;
+			}
+			LineageSparkCacheEviction.makeSpace(_cache, size);
+			
+			// Persist the rdd (lazily on next action) and hold a reference
+			// to prevent the cleanup of the rdd and its lineage on rmvar
+			RDDObject rdd = mo.getRDDHandle();
+			if (rdd.getRDD().getStorageLevel() == StorageLevel.NONE())
+				rdd.getRDD().persist(LineageCacheConfig.getRDDStorageLevel());
+			rdd.incrementNumReferences();
+			centry.setRDDValue(rdd, mo.getDataCharacteristics(), computetime);
+			LineageSparkCacheEviction.addEntry(centry, size);
+			if (DMLScript.STATISTICS)
+				LineageCacheStatistics.incrementRDDPersists();
+		}
+	}
+	
 	public static void putValue(List<DataIdentifier> outputs,
 		LineageItem[] liInputs, String name, ExecutionContext ec, long computetime)
 	{
@@ -635,7 +709,10 @@ public class LineageCache
 			_cache.clear();
 			LineageCacheEviction.resetEviction();
 			LineageGPUCacheEviction.resetEviction();
+			LineageSparkCacheEviction.resetEviction();
 		}
+		//release canonical ids of lineage items (bounded lifetime)
+		LineageItem.resetCanonicalTable();
 	}
 	
 	public static Map<LineageItem, LineageCacheEntry> getLineageCache() {
@@ -680,7 +757,10 @@ public class LineageCache
 				LineageCacheStatistics.incrementMemHits();
 
 			// Maintain order for eviction
-			LineageCacheEviction.getEntry(e);
+			if (e.isRDDPersist())
+				LineageSparkCacheEviction.getEntry(e);
+			else
+				LineageCacheEviction.getEntry(e);
 			return e;
 		}
 		else
@@ -695,6 +775,11 @@ public class LineageCache
 		if (LineageCache.probe(probeItem)) {
 			LineageCacheEntry oe = getIntern(probeItem);
 			LineageCacheEntry e = _cache.get(item);
+			if (oe.isRDDPersist()) {
+				// No multi-level reuse of persisted rdds
+				removePlaceholder(item);
+				return;
+			}
 			boolean exists = !e.isNullVal();
 			if (oe.isMatrixValue())
 				e.setValue(oe.getMBValue(), computetime); 
@@ -738,11 +823,10 @@ public class LineageCache
 		
 		CPOperand output = inst instanceof ComputationCPInstruction ? ((ComputationCPInstruction)inst).output 
 				: inst instanceof ComputationFEDInstruction ? ((ComputationFEDInstruction)inst).output
+				: inst instanceof ComputationSPInstruction ? ((ComputationSPInstruction)inst).output
 				: ((GPUInstruction)inst)._output;
 		if (output.isMatrix()) {
-			MatrixObject mo = inst instanceof ComputationCPInstruction ? ec.getMatrixObject(((ComputationCPInstruction)inst).output) 
-				: inst instanceof ComputationFEDInstruction ? ec.getMatrixObject(((ComputationFEDInstruction)inst).output)
-				: ec.getMatrixObject(((GPUInstruction)inst)._output);
+			MatrixObject mo = ec.getMatrixObject(output);
 			//limit this to full reuse as partial reuse is applicable even for loop dependent operation
 			return !(LineageCacheConfig.getCacheType() == ReuseCacheType.REUSE_FULL  
 				&& !mo.isMarked());
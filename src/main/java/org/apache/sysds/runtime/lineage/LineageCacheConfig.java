@@ -20,6 +20,7 @@
 package org.apache.sysds.runtime.lineage;
 
 import org.apache.commons.lang3.ArrayUtils;
+import org.apache.spark.storage.StorageLevel;
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.conf.DMLConfig;
@@ -33,6 +34,7 @@ import org.apache.sysds.runtime.instructions.cp.ListIndexingCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.MatrixIndexingCPInstruction;
 import org.apache.sysds.runtime.instructions.fed.ComputationFEDInstruction;
 import org.apache.sysds.runtime.instructions.gpu.GPUInstruction;
+import org.apache.sysds.runtime.instructions.spark.ComputationSPInstruction;
 
 import java.util.Comparator;
 
@@ -51,6 +53,11 @@ public class LineageCacheConfig
 	};
 	private static String[] REUSE_OPCODES  = new String[] {};
 	
+	//spark instructions whose output rdds are persisted and reused
+	private static final String[] OPCODES_SP = new String[] {
+		"mapmm", "cpmm", "tsmm", "rblk"
+	};
+	
 	public enum ReuseCacheType {
 		REUSE_FULL,
 		REUSE_PARTIAL,
@@ -74,6 +81,8 @@ public class LineageCacheConfig
 
 	protected static final double CPU_CACHE_FRAC = 0.05; // 5% of JVM heap size
 	protected static final double GPU_CACHE_MAX = 0.30; // 30% of gpu memory
+	protected static final double SPARK_CACHE_FRAC = 0.10; // 10% of spark data memory
+	private static StorageLevel _rddStorageLevel = StorageLevel.MEMORY_AND_DISK();
 	private static ReuseCacheType _cacheType = null;
 	private static CachedItemHead _itemH = null;
 	private static CachedItemTail _itemT = null;
@@ -126,6 +135,7 @@ public class LineageCacheConfig
 		RELOADED,  //Reloaded from disk. Can be evicted.
 		PINNED,    //Pinned to memory. Cannot be evicted.
 		GPUCACHED, //Points to GPU intermediate
+		PERSISTEDRDD, //Points to a persisted RDD
 		TOSPILL,   //To be spilled lazily 
 		TODELETE;  //TO be removed lazily
 		public boolean canEvict() {
@@ -195,6 +205,9 @@ public class LineageCacheConfig
 	}
 
 	public static boolean isReusable (Instruction inst, ExecutionContext ec) {
+		if (inst instanceof ComputationSPInstruction)
+			return ArrayUtils.contains(OPCODES_SP, inst.getOpcode())
+				&& ((ComputationSPInstruction)inst).output.isMatrix();
 		boolean insttype = (inst instanceof ComputationCPInstruction 
 			|| inst instanceof ComputationFEDInstruction
 			|| inst instanceof GPUInstruction)
@@ -262,6 +275,14 @@ public class LineageCacheConfig
 		_itemT = itt;
 	}
 	
+	public static void setRDDStorageLevel(StorageLevel level) {
+		_rddStorageLevel = level;
+	}
+	
+	public static StorageLevel getRDDStorageLevel() {
+		return _rddStorageLevel;
+	}
+	
 	public static void setCompAssRW(boolean comp) {
 		_compilerAssistedRW = comp;
 	}
@@ -25,8 +25,11 @@ import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.instructions.cp.ScalarObject;
 import org.apache.sysds.runtime.instructions.gpu.context.GPUObject;
+import org.apache.sysds.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig.LineageCacheStatus;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
 
 public class LineageCacheEntry {
 	protected final LineageItem _key;
@@ -41,6 +44,8 @@ public class LineageCacheEntry {
 	private String _outfile = null;
 	protected double score;
 	protected GPUObject _gpuObject;
+	protected RDDObject _rddObject;
+	protected DataCharacteristics _rddDC;
 	
 	public LineageCacheEntry(LineageItem key, DataType dt, MatrixBlock Mval, ScalarObject Sval, long computetime) {
 		_key = key;
@@ -53,6 +58,7 @@ public class LineageCacheEntry {
 		_origItem = null;
 		_outfile = null;
 		_gpuObject = null;
+		_rddObject = null;
 	}
 	
 	protected synchronized void setCacheStatus(LineageCacheStatus st) {
@@ -113,7 +119,7 @@ public class LineageCacheEntry {
 	}
 	
 	public boolean isNullVal() {
-		return(_MBval == null && _SOval == null && _gpuObject == null);
+		return(_MBval == null && _SOval == null && _gpuObject == null && _rddObject == null);
 	}
 	
 	public boolean isMatrixValue() {
@@ -159,6 +165,27 @@ public class LineageCacheEntry {
 		return _gpuObject;
 	}
 	
+	public synchronized void setRDDValue(RDDObject rdd, DataCharacteristics dc, long computetime) {
+		_rddObject = rdd;
+		_rddDC = new MatrixCharacteristics(dc);
+		_computeTime = computetime;
+		_status = isNullVal() ? LineageCacheStatus.EMPTY : LineageCacheStatus.PERSISTEDRDD;
+		//resume all threads waiting for val
+		notifyAll();
+	}
+	
+	public synchronized RDDObject getRDDObject() {
+		return _rddObject;
+	}
+	
+	public synchronized DataCharacteristics getRDDDataCharacteristics() {
+		return _rddDC;
+	}
+	
+	public synchronized boolean isRDDPersist() {
+		return _status == LineageCacheStatus.PERSISTEDRDD;
+	}
+	
 	protected synchronized void setNullValues() {
 		_MBval = null;
 		_SOval = null;
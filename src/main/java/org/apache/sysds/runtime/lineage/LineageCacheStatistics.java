@@ -45,6 +45,9 @@ public class LineageCacheStatistics {
 	private static final LongAdder _numHitsGpu      = new LongAdder();
 	private static final LongAdder _numAsyncEvictGpu= new LongAdder();
 	private static final LongAdder _numSyncEvictGpu = new LongAdder();
+	private static final LongAdder _numHitsRDD      = new LongAdder();
+	private static final LongAdder _numPersistRDD   = new LongAdder();
+	private static final LongAdder _numUnpersistRDD = new LongAdder();
 
 	public static void reset() {
 		_numHitsMem.reset();
@@ -64,6 +67,9 @@ public class LineageCacheStatistics {
 		_numHitsGpu.reset();
 		_numAsyncEvictGpu.reset();
 		_numSyncEvictGpu.reset();
+		_numHitsRDD.reset();
+		_numPersistRDD.reset();
+		_numUnpersistRDD.reset();
 	}
 	
 	public static void incrementMemHits() {
@@ -169,6 +175,29 @@ public class LineageCacheStatistics {
 		_numSyncEvictGpu.increment();
 	}
 
+	public static void incrementRDDHits() {
+		// Number of times single instruction results are reused as persisted rdds
+		_numHitsRDD.increment();
+	}
+
+	public static long getRDDHits() {
+		return _numHitsRDD.longValue();
+	}
+
+	public static void incrementRDDPersists() {
+		// Number of rdds persisted by the lineage cache
+		_numPersistRDD.increment();
+	}
+
+	public static void incrementRDDUnpersists() {
+		// Number of persisted rdds evicted from the lineage cache
+		_numUnpersistRDD.increment();
+	}
+
+	public static long getRDDUnpersists() {
+		return _numUnpersistRDD.longValue();
+	}
+
 	public static String displayHits() {
 		StringBuilder sb = new StringBuilder();
 		sb.append(_numHitsMem.longValue());
@@ -220,6 +249,16 @@ public class LineageCacheStatistics {
 		return sb.toString();
 	}
 
+	public static String displayRDDStats() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numHitsRDD.longValue());
+		sb.append("/");
+		sb.append(_numPersistRDD.longValue());
+		sb.append("/");
+		sb.append(_numUnpersistRDD.longValue());
+		return sb.toString();
+	}
+
 	public static String displayGpuStats() {
 		StringBuilder sb = new StringBuilder();
 		sb.append(_numHitsGpu.longValue());
@@ -19,9 +19,12 @@
 
 package org.apache.sysds.runtime.lineage;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
@@ -30,6 +33,20 @@ import org.apache.sysds.runtime.util.UtilFunctions;
 public class LineageItem {
 	private static IDSequence _idSeq = new IDSequence();
 	
+	//global hash-cons table of structurally equal lineage items, which maps
+	//(opcode, data, canonical input ids) to canonical ids for O(1) equality
+	//(cleared with the lineage cache and the lineage internal state)
+	private static final Map<CanonicalKey, Long> _canonTable = new ConcurrentHashMap<>();
+	private static final AtomicLong _canonSeq = new AtomicLong(0);
+	private static final int CANON_TABLE_MAX_SIZE = 1024 * 1024;
+	private static final long CANON_UNKNOWN = 0;
+	private static final long CANON_NONE = -1; //dedup or placeholder sub-DAGs
+	//generation of the hash-cons table, incremented on every reset; canonical
+	//ids are only comparable if the entire DAGs were canonicalized in the same
+	//generation, while ids are globally unique (equal ids imply equal DAGs)
+	private static final AtomicLong _canonGen = new AtomicLong(0);
+	private static final long CANON_GEN_UNKNOWN = -1;
+	
 	private final long _id;
 	private final String _opcode;
 	private final String _data;
@@ -41,6 +58,10 @@ public class LineageItem {
 	// init visited to true to ensure visited items are
 	// not hidden when used as inputs to new items
 	private boolean _visited = true;
+	private volatile long _canonId = CANON_UNKNOWN;
+	private volatile long _canonIdGen = CANON_GEN_UNKNOWN;
+	private volatile boolean _canonMixed = false; //ids from multiple generations
+	private volatile boolean _canonFixed = false; //items w/o inputs after reset
 	
 	public enum LineageItemType {Literal, Creation, Instruction, Dedup}
 	public static final String dedupItemOpcode = "dedup";
@@ -113,6 +134,10 @@ public class LineageItem {
 	}
 	
 	public void resetInputs() {
+		// materialize the canonical id for equality checks w/o inputs,
+		// which remains valid because the item is no longer modifiable
+		getCanonicalId();
+		_canonFixed = true;
 		_inputs = null;
 		//_hash = 0;
 		// Keep the hash for equality check
@@ -121,6 +146,7 @@ public class LineageItem {
 	public void setInput(int i, LineageItem item) {
 		_inputs[i] = item;
 		_hash = 0; //reset hash
+		resetCanonicalId();
 	}
 	
 	public String getData() {
@@ -130,6 +156,7 @@ public class LineageItem {
 	public void fixHash() {
 		_hash = 0;
 		_hash = hashCode();
+		resetCanonicalId();
 	}
 
 	public boolean isVisited() {
@@ -225,14 +252,160 @@ public class LineageItem {
 	public boolean equals(Object o) {
 		if (!(o instanceof LineageItem))
 			return false;
+		LineageItem that = (LineageItem) o;
+		if (this == that)
+			return true;
+		if (hashCode() != that.hashCode())
+			return false;
 		
+		// O(1) equality check via hash-consed canonical ids, which
+		// are available for all DAGs without dedup items and placeholders
+		long c1 = getCanonicalId();
+		long c2 = that.getCanonicalId();
+		if (c1 != CANON_NONE && c2 != CANON_NONE && (c1 == c2 || (!_canonMixed
+			&& !that._canonMixed && _canonIdGen == that._canonIdGen)))
+			return c1 == c2;
+		
+		// deduplication-aware DAG comparison (with shared visit status)
+		synchronized(LineageItem.class) {
+			return equalsWithVisitStatus(that);
+		}
+	}
+	
+	private boolean equalsWithVisitStatus(LineageItem that) {
 		resetVisitStatusNR();
 		//boolean ret = equalsLINR((LineageItem) o);
-		boolean ret = equalsLINR_dedup((LineageItem) o);
+		boolean ret = equalsLINR_dedup(that);
 		resetVisitStatusNR();
 		return ret;
 	}
 	
+	/**
+	 * Obtains the canonical id of this lineage item, i.e., the identifier of the
+	 * equivalence class of structurally equal lineage DAGs. The ids are obtained from
+	 * a global hash-cons table in a bottom-up manner (w/o recursion), which requires
+	 * amortized O(1) per lineage item because all inputs are canonicalized only once.
+	 * 
+	 * @return canonical id, or -1 for DAGs that contain dedup items or placeholders 
+	 */
+	public long getCanonicalId() {
+		long gen = _canonGen.get();
+		if (hasCanonicalId(gen))
+			return _canonId;
+		// bounded table size, reset before (not during) canonicalization
+		if (_canonTable.size() >= CANON_TABLE_MAX_SIZE)
+			gen = resetCanonicalTable();
+		Stack<LineageItem> s = new Stack<>();
+		s.push(this);
+		while (!s.empty()) {
+			LineageItem li = s.peek();
+			if (li.hasCanonicalId(gen)) {
+				s.pop();
+				continue;
+			}
+			boolean ready = true;
+			if (li._inputs != null)
+				for (LineageItem in : li._inputs)
+					if (!in.hasCanonicalId(gen)) {
+						s.push(in);
+						ready = false;
+					}
+			if (ready) {
+				s.pop();
+				long id = li.computeCanonicalId();
+				// ids of inputs from older generations (or a concurrent reset)
+				// are not comparable with ids of the current generation
+				boolean mixed = _canonGen.get() != gen;
+				if (li._inputs != null)
+					for (LineageItem in : li._inputs)
+						mixed |= in._canonMixed || in._canonIdGen != gen;
+				li._canonMixed = mixed;
+				li._canonId = id;
+				li._canonIdGen = gen;
+			}
+		}
+		return _canonId;
+	}
+	
+	private boolean hasCanonicalId(long gen) {
+		//note: read generation before id, which is written before the generation
+		long tmp = _canonIdGen;
+		return (tmp == gen || (_canonFixed && tmp != CANON_GEN_UNKNOWN))
+			&& _canonId != CANON_UNKNOWN;
+	}
+	
+	/**
+	 * Invalidates the cached canonical id of this lineage item after an in-place
+	 * modification. Lineage items do not know their consumers, so callers that
+	 * modify inputs deep inside a DAG need to reset the ids of all ancestors
+	 * (e.g., see LineageItemUtils.rReplaceNR).
+	 */
+	public void resetCanonicalId() {
+		_canonIdGen = CANON_GEN_UNKNOWN;
+		_canonId = CANON_UNKNOWN;
+		_canonMixed = false;
+	}
+	
+	private long computeCanonicalId() {
+		if (isDedup() || isPlaceholder() || _dedupPatch != null)
+			return CANON_NONE;
+		long[] inIds = new long[(_inputs != null) ? _inputs.length : 0];
+		for (int i=0; i<inIds.length; i++) {
+			inIds[i] = _inputs[i]._canonId;
+			if (inIds[i] == CANON_NONE)
+				return CANON_NONE;
+		}
+		return _canonTable.computeIfAbsent(new CanonicalKey(_opcode, _data, inIds),
+			k -> _canonSeq.incrementAndGet());
+	}
+	
+	/**
+	 * Clears the global hash-cons table and starts a new generation of canonical
+	 * ids. Cached ids of existing items are lazily recomputed, except for items
+	 * whose inputs were reset, which fall back to structural comparisons.
+	 * 
+	 * @return the new generation
+	 */
+	public static synchronized long resetCanonicalTable() {
+		_canonTable.clear();
+		return _canonGen.incrementAndGet();
+	}
+	
+	public static int getCanonicalTableSize() {
+		return _canonTable.size();
+	}
+	
+	private static class CanonicalKey {
+		private final String _opcode;
+		private final String _data;
+		private final long[] _inputs;
+		private final int _hash;
+		
+		public CanonicalKey(String opcode, String data, long[] inputs) {
+			_opcode = opcode;
+			_data = data;
+			_inputs = inputs;
+			_hash = UtilFunctions.intHashCode(UtilFunctions.intHashCode(
+				opcode.hashCode(), data.hashCode()), Arrays.hashCode(inputs));
+		}
+		
+		@Override
+		public int hashCode() {
+			return _hash;
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof CanonicalKey))
+				return false;
+			CanonicalKey that = (CanonicalKey) o;
+			return _hash == that._hash
+				&& _opcode.equals(that._opcode)
+				&& _data.equals(that._data)
+				&& Arrays.equals(_inputs, that._inputs);
+		}
+	}
+	
 	@SuppressWarnings("unused")
 	private boolean equalsLI(LineageItem that) {
 		if (isVisited() || this == that)
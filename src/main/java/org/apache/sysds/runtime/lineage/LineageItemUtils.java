@@ -67,6 +67,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -365,6 +366,7 @@ public class LineageItemUtils {
 	 */
 	public static void rReplaceNR(LineageItem current, LineageItem liOld, LineageItem liNew) {
 		Stack<LineageItem> q = new Stack<>();
+		List<LineageItem> visited = new ArrayList<>();
 		q.push(current);
 		while( !q.empty() ) {
 			LineageItem tmp = q.pop();
@@ -379,7 +381,12 @@ public class LineageItemUtils {
 					q.push(ctmp);
 			}
 			tmp.setVisited(true);
+			visited.add(tmp);
 		}
+		//invalidate canonical ids of all potential ancestors of replaced
+		//items after the traversal (ids might be recomputed during equals)
+		for( LineageItem li : visited )
+			li.resetCanonicalId();
 	}
 	
 	@Deprecated
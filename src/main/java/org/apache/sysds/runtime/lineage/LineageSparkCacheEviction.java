@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.lineage;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
+import org.apache.sysds.runtime.instructions.spark.data.RDDObject;
+
+/**
+ * Eviction of lineage cache entries that point to persisted RDDs. These entries
+ * do not consume driver memory, but executor storage memory, which is bounded
+ * by a fraction of the Spark data memory budget. Entries are evicted in LRU
+ * order by releasing the cache reference and unpersisting the RDD (unless still
+ * used by live variables). All methods are synchronized because the access-ordered
+ * map is modified on lookups and accessed by concurrent (inter-operator) threads.
+ */
+public class LineageSparkCacheEviction 
+{
+	private static long _cacheSize = 0;
+	private static long SPARK_CACHE_LIMIT = -1; //limit in bytes (lazily initialized)
+	//access-ordered entries and their estimated sizes
+	private static final LinkedHashMap<LineageCacheEntry, Long> _entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	protected static synchronized void resetEviction() {
+		for( LineageCacheEntry e : _entries.keySet() )
+			releaseRDD(e.getRDDObject());
+		_entries.clear();
+		_cacheSize = 0;
+	}
+
+	protected static synchronized long getCacheLimit() {
+		if( SPARK_CACHE_LIMIT < 0 )
+			SPARK_CACHE_LIMIT = (long) (SparkExecutionContext.getDataMemoryBudget(false, false)
+				* LineageCacheConfig.SPARK_CACHE_FRAC);
+		return SPARK_CACHE_LIMIT;
+	}
+
+	public static synchronized void setCacheLimit(long limit) {
+		//negative limits reset to the default budget
+		SPARK_CACHE_LIMIT = limit;
+	}
+
+	protected static synchronized void addEntry(LineageCacheEntry entry, long size) {
+		_entries.put(entry, size);
+		_cacheSize += size;
+	}
+
+	protected static synchronized void getEntry(LineageCacheEntry entry) {
+		//maintain LRU order
+		_entries.get(entry);
+	}
+
+	protected static synchronized void removeEntry(LineageCacheEntry entry) {
+		Long size = _entries.remove(entry);
+		if( size != null ) {
+			_cacheSize -= size;
+			releaseRDD(entry.getRDDObject());
+		}
+	}
+
+	protected static synchronized void makeSpace(Map<LineageItem, LineageCacheEntry> cache, long spaceNeeded) {
+		Iterator<Map.Entry<LineageCacheEntry, Long>> iter = _entries.entrySet().iterator();
+		while( iter.hasNext() && _cacheSize + spaceNeeded > getCacheLimit() ) {
+			Map.Entry<LineageCacheEntry, Long> e = iter.next();
+			iter.remove();
+			_cacheSize -= e.getValue();
+			cache.remove(e.getKey()._key);
+			releaseRDD(e.getKey().getRDDObject());
+			if( DMLScript.STATISTICS )
+				LineageCacheStatistics.incrementRDDUnpersists();
+		}
+	}
+
+	protected static synchronized boolean containsEntry(LineageCacheEntry entry) {
+		return _entries.containsKey(entry);
+	}
+
+	private static void releaseRDD(RDDObject rdd) {
+		//unpersist if not used by any live variable
+		if( rdd != null )
+			SparkExecutionContext.releaseLineageObject(rdd);
+	}
+}
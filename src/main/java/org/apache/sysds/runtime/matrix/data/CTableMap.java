@@ -75,6 +75,26 @@ public class CTableMap
 		_maxCol = Math.max(_maxCol, col);
 	}
 
+	/**
+	 * Aggregates all entries of the given (partial) ctable map
+	 * into this map, e.g., for merging thread-local partial results.
+	 * 
+	 * @param that partial ctable map
+	 */
+	public void aggregate(CTableMap that) {
+		Iterator<ADoubleEntry> iter = that.getIterator();
+		while( iter.hasNext() ) {
+			ADoubleEntry e = iter.next();
+			_map.addValue(e.getKey1(), e.getKey2(), e.value);
+		}
+		_maxRow = Math.max(_maxRow, that._maxRow);
+		_maxCol = Math.max(_maxCol, that._maxCol);
+	}
+	
+	public EntryType getEntryType() {
+		return _map.getEntryType();
+	}
+
 	public MatrixBlock toMatrixBlock(int rlen, int clen)
 	{
 		//allocate new matrix block
@@ -28,6 +28,7 @@ import org.apache.commons.math3.linear.LUDecomposition;
 import org.apache.commons.math3.linear.QRDecomposition;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.SingularValueDecomposition;
+import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.util.DataConverter;
 
@@ -36,13 +37,19 @@ import org.apache.sysds.runtime.util.DataConverter;
  * Apache Commons Math library. 
  * 
  * This library currently supports following operations:
- * matrix inverse, matrix decompositions (QR, LU, Eigen), solve 
+ * matrix inverse, matrix decompositions (QR, LU, Eigen, SVD), solve;
+ * where most operations are redirected to the blocked, multi-threaded
+ * kernels of LibMatrixLinAlg if BLOCKED_KERNELS is enabled.
  */
 public class LibCommonsMath 
 {
 	// private static final Log LOG = LogFactory.getLog(LibCommonsMath.class.getName());
 
 	static final double RELATIVE_SYMMETRY_THRESHOLD = 1e-6;
+	
+	//use blocked, multi-threaded kernels of LibMatrixLinAlg for
+	//solve, inverse, cholesky, lu, qr, and symmetric eigen (instead of commons-math)
+	public static boolean BLOCKED_KERNELS = true;
 
 	private LibCommonsMath() {
 		//prevent instantiation via private constructor
@@ -61,6 +68,16 @@ public class LibCommonsMath
 	}
 		
 	public static MatrixBlock unaryOperations(MatrixBlock inj, String opcode) {
+		return unaryOperations(inj, opcode, OptimizerUtils.getConstrainedNumThreads(-1));
+	}
+	
+	public static MatrixBlock unaryOperations(MatrixBlock inj, String opcode, int k) {
+		if( useBlockedKernels(inj) ) {
+			if(opcode.equals("inverse"))
+				return LibMatrixLinAlg.inverse(inj, k);
+			else if (opcode.equals("cholesky"))
+				return LibMatrixLinAlg.cholesky(inj, k);
+		}
 		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(inj);
 		if(opcode.equals("inverse"))
 			return computeMatrixInverse(matrixInput);
@@ -70,6 +87,15 @@ public class LibCommonsMath
 	}
 	
 	public static MatrixBlock[] multiReturnOperations(MatrixBlock in, String opcode) {
+		if( useBlockedKernels(in) ) {
+			int k = OptimizerUtils.getConstrainedNumThreads(-1);
+			if(opcode.equals("qr"))
+				return LibMatrixLinAlg.qr(in, k);
+			else if (opcode.equals("lu"))
+				return LibMatrixLinAlg.lu(in, k);
+			else if (opcode.equals("eigen") && LibMatrixLinAlg.isSymmetric(in))
+				return LibMatrixLinAlg.eigenSymmetric(in, k);
+		}
 		if(opcode.equals("qr"))
 			return computeQR(in);
 		else if (opcode.equals("lu"))
@@ -81,15 +107,40 @@ public class LibCommonsMath
 		return null;
 	}
 	
+	/**
+	 * Multi-return operations with a target rank, which currently applies
+	 * to the randomized, truncated singular value decomposition svd(A, k).
+	 * 
+	 * @param in input matrix
+	 * @param opcode operation code
+	 * @param rank target rank
+	 * @return array of output matrices
+	 */
+	public static MatrixBlock[] multiReturnOperations(MatrixBlock in, String opcode, int rank) {
+		if( !opcode.equals("svd") )
+			throw new DMLRuntimeException("Unsupported rank parameter for operation: " + opcode);
+		return LibMatrixLinAlg.randomizedSvd(in, rank, OptimizerUtils.getConstrainedNumThreads(-1));
+	}
+	
 	public static MatrixBlock matrixMatrixOperations(MatrixBlock in1, MatrixBlock in2, String opcode) {
+		return matrixMatrixOperations(in1, in2, opcode, OptimizerUtils.getConstrainedNumThreads(-1));
+	}
+	
+	public static MatrixBlock matrixMatrixOperations(MatrixBlock in1, MatrixBlock in2, String opcode, int k) {
 		if(opcode.equals("solve")) {
 			if (in1.getNumRows() != in1.getNumColumns())
 				throw new DMLRuntimeException("The A matrix, in solve(A,b) should have squared dimensions.");
+			if( useBlockedKernels(in1) && useBlockedKernels(in2) )
+				return LibMatrixLinAlg.solve(in1, in2, k);
 			return computeSolve(in1, in2);
 		}
 		return null;
 	}
 	
+	private static boolean useBlockedKernels(MatrixBlock in) {
+		return BLOCKED_KERNELS && LibMatrixLinAlg.isSupported(in);
+	}
+	
 	/**
 	 * Function to solve a given system of equations.
 	 * 
@@ -32,11 +32,11 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.codegen.SpoofOperator.SideInput;
 import org.apache.sysds.runtime.codegen.SpoofOperator.SideInputSparseCell;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
-import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.DenseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.data.SparseBlockDCSR;
 import org.apache.sysds.runtime.data.SparseBlockFactory;
 import org.apache.sysds.runtime.functionobjects.Builtin;
 import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
@@ -147,10 +147,10 @@ public class LibMatrixAgg
 			return;
 		}
 		
-		//ensure MCSR instead of CSR for update in-place
-		if( aggVal.sparse && aggVal.isAllocated() && aggVal.getSparseBlock() instanceof SparseBlockCSR )
+		//ensure MCSR instead of CSR/DCSR for update in-place
+		if( aggVal.sparse && aggVal.isAllocated() && isCompressedSparseBlock(aggVal) )
 			aggVal.sparseBlock = SparseBlockFactory.copySparseBlock(SparseBlock.Type.MCSR, aggVal.getSparseBlock(), true);
-		if( aggCorr.sparse && aggCorr.isAllocated() && aggCorr.getSparseBlock() instanceof SparseBlockCSR )
+		if( aggCorr.sparse && aggCorr.isAllocated() && isCompressedSparseBlock(aggCorr) )
 			aggCorr.sparseBlock = SparseBlockFactory.copySparseBlock(SparseBlock.Type.MCSR, aggCorr.getSparseBlock(), true);
 		
 		//core aggregation
@@ -167,6 +167,11 @@ public class LibMatrixAgg
 		//	"("+aggVal.nonZeros+","+aggVal.sparse+"), ("+aggCorr.nonZeros+","+aggCorr.sparse+") in "+time.stop()+"ms.");
 	}
 	
+	private static boolean isCompressedSparseBlock(MatrixBlock mb) {
+		SparseBlock sb = mb.getSparseBlock();
+		return sb instanceof SparseBlockCSR || sb instanceof SparseBlockDCSR;
+	}
+	
 	/**
 	 * Core incremental matrix aggregate (ak+) as used for uack+ and acrk+.
 	 * Embedded correction values.
@@ -228,8 +233,12 @@ public class LibMatrixAgg
 	}
 
 	public static void aggregateUnaryMatrix(MatrixBlock in, MatrixBlock out, AggregateUnaryOperator uaop, int k) {
+		//determine degree of parallelism from FLOPs and memory accesses
+		k = !satisfiesMultiThreadingConstraints(in, out, uaop, k) ? 1 :
+			CommonThreadPool.getParallelism(k, in.nonZeros, 8d * in.nonZeros);
+		
 		//fall back to sequential version if necessary
-		if( !satisfiesMultiThreadingConstraints(in, out, uaop, k) ) {
+		if( k <= 1 ) {
 			if(uaop.aggOp.increOp.fn instanceof Builtin && (((((Builtin) uaop.aggOp.increOp.fn).getBuiltinCode() == BuiltinCode.MININDEX)
 				|| (((Builtin) uaop.aggOp.increOp.fn).getBuiltinCode() == BuiltinCode.MAXINDEX)) && uaop.aggOp.correction.getNumRemovedRowsColumns()==0))
 					out.clen = 2;
@@ -563,7 +572,7 @@ public class LibMatrixAgg
 	}
 	
 	public static boolean satisfiesMultiThreadingConstraints(MatrixBlock in, MatrixBlock out, AggregateUnaryOperator uaop, int k) {
-		boolean sharedTP = (InfrastructureAnalyzer.getLocalParallelism() == k);
+		boolean sharedTP = CommonThreadPool.isPersistent(k);
 		return k > 1 && out.isThreadSafe() && in.rlen > (sharedTP ? k/8 : k/2)
 			&& (uaop.indexFn instanceof ReduceCol || out.clen*8*k < PAR_INTERMEDIATE_SIZE_THRESHOLD) //size
 			&& in.nonZeros > (sharedTP ? PAR_NUMCELL_THRESHOLD2 : PAR_NUMCELL_THRESHOLD1);
@@ -2227,8 +2236,7 @@ public class LibMatrixAgg
 	 */
 	private static void s_uarkp( SparseBlock a, DenseBlock c, int n, KahanObject kbuff, KahanPlus kplus, int rl, int ru ) {
 		//compute row aggregates
-		for( int i=rl; i<ru; i++ ) {
-			if( a.isEmpty(i) ) continue;
+		for( int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) ) {
 			kbuff.set(0, 0); //reset buffer
 			sum( a.values(i), a.pos(i), a.size(i), kbuff, kplus );
 			c.set(i, kbuff);
@@ -2306,8 +2314,7 @@ public class LibMatrixAgg
 	private static void s_uarsqkp(SparseBlock a, DenseBlock c, int n, KahanObject kbuff, KahanPlusSq kplusSq, int rl, int ru )
 	{
 		//compute row aggregates
-		for (int i=rl; i<ru; i++) {
-			if( a.isEmpty(i) ) continue;
+		for (int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru)) {
 			kbuff.set(0, 0); //reset buffer
 			sum(a.values(i), a.pos(i), a.size(i), kbuff, kplusSq);
 			c.set(i, kbuff);
@@ -2974,8 +2981,7 @@ public class LibMatrixAgg
 	private static void s_uacm( SparseBlock a, DenseBlock c, int n, int rl, int ru ) {
 		double[] lc = c.set(1).valuesAt(0);
 		int[] cnt = new int[ n ]; 
-		for( int i=rl; i<ru; i++ ) {
-			if( a.isEmpty(i) ) continue;
+		for( int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) ) {
 			countAgg(a.values(i), cnt, a.indexes(i), a.pos(i), a.size(i));
 			LibMatrixMult.vectMultiplyWrite(lc, a.values(i), lc, 0, a.pos(i), 0, a.size(i));
 		}
@@ -124,8 +124,11 @@ public class LibMatrixBincell
 			throw new DMLRuntimeException("Wrong output representation for safe="+op.sparseSafe+": "+m1.isInSparseFormat()+", "+ret.isInSparseFormat());
 		}
 		
+		//determine degree of parallelism from FLOPs and memory accesses
+		k = CommonThreadPool.getParallelism(k, ret.getLength(), 16d * ret.getLength());
+		
 		//fallback to singlet-threaded for special cases
-		if( m1.isEmpty() || !op.sparseSafe 
+		if( m1.isEmpty() || !op.sparseSafe || k <= 1
 			|| ret.getLength() < PAR_NUMCELL_THRESHOLD2 ) {
 			bincellOp(m1, ret, op);
 			return;
@@ -195,8 +198,11 @@ public class LibMatrixBincell
 	public static void bincellOp(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int k) {
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
 		
+		//determine degree of parallelism from FLOPs and memory accesses
+		k = CommonThreadPool.getParallelism(k, ret.getLength(), 24d * ret.getLength());
+		
 		//fallback to sequential computation for specialized operations
-		if( m1.isEmpty() || m2.isEmpty()
+		if( m1.isEmpty() || m2.isEmpty() || k <= 1
  			|| ret.getLength() < PAR_NUMCELL_THRESHOLD2
 			|| ((op.sparseSafe || isSparseSafeDivide(op, m2))
 				&& !(atype == BinaryAccessType.MATRIX_MATRIX
@@ -0,0 +1,380 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockMCSR;
+import org.apache.sysds.runtime.functionobjects.CTable;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.LongLongDoubleHashMap.EntryType;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+/**
+ * Library for multi-threaded contingency tables (ctable/table), which
+ * read the inputs row-wise via primitive arrays (instead of cell-wise
+ * quickGetValue) and aggregate row partitions into thread-local partial
+ * tables. Partial tables are dense if the output dimensions are known and
+ * small, and primitive hash maps otherwise; both are merged in parallel.
+ * 
+ * Current list of supported operations:
+ *  - ctable(A, B|b, W|w) w/ dense or hash-map output
+ *  - ctable(seq, B, w) (ctable expand, one cell per output row)
+ */
+public class LibMatrixCTable
+{
+	//minimum number of input cells for multi-threaded execution
+	public static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //1M
+	//maximum number of cells of thread-local dense partial tables
+	private static final long PAR_MAX_DENSE_PARTIAL = 4*1024*1024; //4M
+	
+	private LibMatrixCTable() {
+		//prevent instantiation via private constructor
+	}
+	
+	/**
+	 * Computes the contingency table of the given inputs, where the second
+	 * and third inputs are either matrices (aligned with the first input)
+	 * or scalars (if the matrix is null). The result is aggregated into the
+	 * given dense result block if not null, and into the result map otherwise.
+	 * 
+	 * @param in1 first input matrix A (row indexes)
+	 * @param in2 second input matrix B (column indexes), or null
+	 * @param v2 scalar second input (if in2 is null)
+	 * @param in3 weight matrix W, or null
+	 * @param w scalar weight (if in3 is null)
+	 * @param ignoreZeros ignore cells where both A and B are zero
+	 * @param resultMap hash-map result (if result block is null)
+	 * @param resultBlock dense result block of known dimensions, or null
+	 * @param k degree of parallelism
+	 */
+	public static void ctable(MatrixBlock in1, MatrixBlock in2, double v2, MatrixBlock in3, double w,
+		boolean ignoreZeros, CTableMap resultMap, MatrixBlock resultBlock, int k)
+	{
+		//row-wise access requires uncompressed inputs
+		ctableUncompressed(CompressedMatrixBlock.getUncompressed(in1),
+			(in2 != null) ? CompressedMatrixBlock.getUncompressed(in2) : null, v2,
+			(in3 != null) ? CompressedMatrixBlock.getUncompressed(in3) : null, w,
+			ignoreZeros, resultMap, resultBlock, k);
+	}
+	
+	private static void ctableUncompressed(MatrixBlock in1, MatrixBlock in2, double v2, MatrixBlock in3, double w,
+		boolean ignoreZeros, CTableMap resultMap, MatrixBlock resultBlock, int k)
+	{
+		final int m = in1.getNumRows();
+		final int n = in1.getNumColumns();
+		
+		//sparse-safe execution, if both inputs have aligned zeros
+		boolean sparseSafe = ignoreZeros && in2 != null && in3 == null
+			&& in1.isInSparseFormat() && in2.isInSparseFormat();
+		if( sparseSafe && in1.isEmptyBlock(false) && in2.isEmptyBlock(false) )
+			return;
+		
+		//fallback for sparse or very large result blocks (w/ quickSetValue)
+		if( resultBlock != null && (resultBlock.isInSparseFormat()
+			|| (long)resultBlock.getNumRows()*resultBlock.getNumColumns() > Integer.MAX_VALUE) ) {
+			CTable ctable = CTable.getCTableFnObject();
+			for( int i=0; i<m; i++ )
+				for( int j=0; j<n; j++ ) {
+					double a = in1.quickGetValue(i, j);
+					double b = (in2 != null) ? in2.quickGetValue(i, j) : v2;
+					double c = (in3 != null) ? in3.quickGetValue(i, j) : w;
+					if( !sparseSafe || a != 0 )
+						ctable.execute(a, b, c, ignoreZeros, resultBlock);
+				}
+			resultBlock.recomputeNonZeros();
+			return;
+		}
+		
+		//prepare dense result (known output dimensions)
+		final double[] c = (resultBlock != null) ?
+			resultBlock.allocateBlock().getDenseBlockValues() : null;
+		final int crlen = (resultBlock != null) ? resultBlock.getNumRows() : -1;
+		final int cclen = (resultBlock != null) ? resultBlock.getNumColumns() : -1;
+		
+		k = ((long)m*n >= PAR_NUMCELL_THRESHOLD) ? Math.min(k, m) : 1;
+		if( k <= 1 ) {
+			ctableRows(in1, in2, v2, in3, w, ignoreZeros, sparseSafe, resultMap, c, crlen, cclen, 0, m);
+		}
+		else {
+			//thread-local partial tables (dense if known and small)
+			boolean densePartials = c != null && c.length <= PAR_MAX_DENSE_PARTIAL && c.length <= (long)m*n;
+			final EntryType etype = (resultMap != null) ? resultMap.getEntryType() : EntryType.LONG;
+			ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				ArrayList<Callable<Object>> tasks = new ArrayList<>();
+				int blklen = (int)Math.ceil((double)m/k);
+				for( int i=0; i*blklen<m; i++ ) {
+					final int rl = i*blklen, ru = Math.min((i+1)*blklen, m);
+					final boolean first = (i == 0);
+					tasks.add(() -> {
+						//first partition aggregates directly into the result
+						double[] lc = first ? c : densePartials ? new double[c.length] : null;
+						CTableMap lmap = (first && c == null) ? resultMap : (lc == null) ? new CTableMap(etype) : null;
+						ctableRows(in1, in2, v2, in3, w, ignoreZeros, sparseSafe, lmap, lc, crlen, cclen, rl, ru);
+						return (lc != null) ? lc : lmap;
+					});
+				}
+				List<Object> partials = new ArrayList<>();
+				for( Future<Object> f : pool.invokeAll(tasks) )
+					partials.add(f.get());
+				
+				//parallel merge of partial tables
+				if( c != null && densePartials )
+					mergeDensePartials(pool, k, c, partials);
+				else if( c != null )
+					for( int i=1; i<partials.size(); i++ )
+						mergeMapIntoDense((CTableMap) partials.get(i), c, crlen, cclen);
+				else
+					mergeMapPartials(pool, partials);
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+		
+		//maintain nnz (if necessary)
+		if( resultBlock != null )
+			resultBlock.recomputeNonZeros();
+	}
+	
+	/**
+	 * Computes the contingency table ctable(seq(1,nrow(B)), B, w), where
+	 * every output row contains exactly one cell. The rows are independent
+	 * and hence directly appended in parallel to the sparse output.
+	 * 
+	 * @param in2 column vector B (column indexes)
+	 * @param w scalar weight
+	 * @param resultBlock sparse result block with nrow(B) rows
+	 * @param updateClen update the number of columns to the max column index
+	 * @param k degree of parallelism
+	 * @return result block
+	 */
+	public static MatrixBlock ctableSeq(MatrixBlock in2, double w, MatrixBlock resultBlock, boolean updateClen, int k) {
+		final MatrixBlock b = CompressedMatrixBlock.getUncompressed(in2);
+		final int m = b.getNumRows();
+		int maxCol = 0;
+		
+		if( k <= 1 || m < PAR_NUMCELL_THRESHOLD || !resultBlock.isInSparseFormat() ) {
+			//sequential execution (nnz maintained via quickset)
+			CTable ctable = CTable.getCTableFnObject();
+			for( int i=0; i<m; i++ )
+				maxCol = ctable.execute(i+1, b.quickGetValue(i, 0), w, maxCol, resultBlock);
+		}
+		else {
+			resultBlock.allocateSparseRowsBlock(false);
+			final SparseBlock sb = resultBlock.getSparseBlock();
+			if( !(sb instanceof SparseBlockMCSR) )
+				return ctableSeq(b, w, resultBlock, updateClen, 1);
+			long nnz = resultBlock.getNonZeros();
+			ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				ArrayList<Callable<long[]>> tasks = new ArrayList<>();
+				int blklen = (int)Math.ceil((double)m/k);
+				for( int i=0; i*blklen<m; i++ ) {
+					final int rl = i*blklen, ru = Math.min((i+1)*blklen, m);
+					tasks.add(() -> ctableSeqRows(b, w, sb, rl, ru));
+				}
+				for( Future<long[]> f : pool.invokeAll(tasks) ) {
+					long[] tmp = f.get();
+					maxCol = (int) Math.max(maxCol, tmp[0]);
+					nnz += tmp[1];
+				}
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+			finally {
+				pool.shutdown();
+			}
+			resultBlock.setNonZeros(nnz);
+		}
+		
+		//update meta data (initially unknown number of columns)
+		if( updateClen )
+			resultBlock.setNumColumns(maxCol);
+		return resultBlock;
+	}
+	
+	private static void ctableRows(MatrixBlock in1, MatrixBlock in2, double v2, MatrixBlock in3, double w,
+		boolean ignoreZeros, boolean sparseSafe, CTableMap map, double[] c, int crlen, int cclen, int rl, int ru)
+	{
+		CTable ctable = CTable.getCTableFnObject();
+		if( sparseSafe ) {
+			//note: only used if both inputs have aligned zeros, which
+			//allows us to infer that the nnz both inputs are equivalent
+			SparseBlock a = in1.getSparseBlock();
+			SparseBlock b = in2.getSparseBlock();
+			for( int i=rl; i<ru; i++ ) {
+				if( a == null || a.isEmpty(i) ) continue;
+				int alen = a.size(i);
+				int apos = a.pos(i);
+				double[] avals = a.values(i);
+				int bpos = b.pos(i);
+				double[] bvals = b.values(i);
+				for( int j=0; j<alen; j++ ) {
+					if( c != null )
+						ctable.execute(avals[apos+j], bvals[bpos+j], w, ignoreZeros, c, crlen, cclen);
+					else
+						ctable.execute(avals[apos+j], bvals[bpos+j], w, ignoreZeros, map);
+				}
+			}
+			return;
+		}
+		
+		//sparse-unsafe ctable execution
+		//(because input values of 0 are invalid and have to result in errors)
+		RowReader r1 = new RowReader(in1);
+		RowReader r2 = new RowReader(in2);
+		RowReader r3 = new RowReader(in3);
+		for( int i=rl; i<ru; i++ ) {
+			double[] a = r1.read(i), b = r2.read(i), x = r3.read(i);
+			int apos = r1.pos, bpos = r2.pos, xpos = r3.pos;
+			for( int j=0; j<r1.clen; j++ ) {
+				double bv = (b != null) ? b[bpos+j] : v2;
+				double wv = (x != null) ? x[xpos+j] : w;
+				if( c != null )
+					ctable.execute(a[apos+j], bv, wv, ignoreZeros, c, crlen, cclen);
+				else
+					ctable.execute(a[apos+j], bv, wv, ignoreZeros, map);
+			}
+		}
+	}
+	
+	private static long[] ctableSeqRows(MatrixBlock in2, double w, SparseBlock c, int rl, int ru) {
+		RowReader r2 = new RowReader(in2);
+		long maxCol = 0, nnz = 0;
+		for( int i=rl; i<ru; i++ ) {
+			double v2 = r2.read(i)[r2.pos];
+			if( Double.isNaN(v2) || Double.isNaN(w) )
+				continue;
+			int col = UtilFunctions.toInt(v2);
+			if( col <= 0 )
+				throw new DMLRuntimeException("Erroneous input while computing the contingency table (value <= zero): "+v2);
+			//set weight as value (expand is guaranteed to address different cells)
+			if( w != 0 ) {
+				c.allocate(i, 1);
+				c.append(i, col-1, w);
+				nnz++;
+			}
+			maxCol = Math.max(maxCol, col);
+		}
+		return new long[] {maxCol, nnz};
+	}
+	
+	private static void mergeDensePartials(ExecutorService pool, int k, double[] c, List<Object> partials)
+		throws Exception
+	{
+		ArrayList<Callable<Object>> tasks = new ArrayList<>();
+		int blklen = (int)Math.ceil((double)c.length/k);
+		for( int i=0; i*blklen<c.length; i++ ) {
+			final int cl = i*blklen, cu = Math.min((i+1)*blklen, c.length);
+			tasks.add(() -> {
+				for( int p=1; p<partials.size(); p++ ) {
+					double[] lc = (double[]) partials.get(p);
+					for( int j=cl; j<cu; j++ )
+						c[j] += lc[j];
+				}
+				return null;
+			});
+		}
+		for( Future<Object> f : pool.invokeAll(tasks) )
+			f.get();
+	}
+	
+	private static void mergeMapPartials(ExecutorService pool, List<Object> partials)
+		throws Exception
+	{
+		//parallel tree reduction into the first partial (result map)
+		for( int s=1; s<partials.size(); s*=2 ) {
+			ArrayList<Callable<Object>> tasks = new ArrayList<>();
+			for( int i=0; i+s<partials.size(); i+=2*s ) {
+				final CTableMap left = (CTableMap) partials.get(i);
+				final CTableMap right = (CTableMap) partials.get(i+s);
+				tasks.add(() -> {
+					left.aggregate(right);
+					return null;
+				});
+			}
+			for( Future<Object> f : pool.invokeAll(tasks) )
+				f.get();
+		}
+	}
+	
+	private static void mergeMapIntoDense(CTableMap map, double[] c, int crlen, int cclen) {
+		CTable ctable = CTable.getCTableFnObject();
+		map.getIterator().forEachRemaining(e ->
+			ctable.execute(e.getKey1(), e.getKey2(), e.value, false, c, crlen, cclen));
+	}
+	
+	/**
+	 * Row-wise reader that exposes a row of a dense or sparse
+	 * matrix as a primitive array (and offset), or null for scalars.
+	 */
+	private static class RowReader {
+		private final MatrixBlock _mb;
+		private final int clen;
+		private double[] _buff;
+		private int pos;
+		
+		public RowReader(MatrixBlock mb) {
+			_mb = mb;
+			clen = (mb != null) ? mb.getNumColumns() : 0;
+		}
+		
+		public double[] read(int i) {
+			pos = 0;
+			if( _mb == null )
+				return null;
+			if( !_mb.isInSparseFormat() && _mb.getDenseBlock() != null ) {
+				DenseBlock db = _mb.getDenseBlock();
+				pos = db.pos(i);
+				return db.values(i);
+			}
+			//sparse or empty blocks (scattered into buffer)
+			if( _buff == null )
+				_buff = new double[clen];
+			else
+				Arrays.fill(_buff, 0);
+			SparseBlock sb = _mb.getSparseBlock();
+			if( _mb.isInSparseFormat() && sb != null && !sb.isEmpty(i) ) {
+				int apos = sb.pos(i);
+				int alen = sb.size(i);
+				int[] aix = sb.indexes(i);
+				double[] avals = sb.values(i);
+				for( int j=apos; j<apos+alen; j++ )
+					_buff[aix[j]] = avals[j];
+			}
+			return _buff;
+		}
+	}
+}
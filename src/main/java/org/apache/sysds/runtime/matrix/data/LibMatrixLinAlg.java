@@ -0,0 +1,887 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.SingularValueDecomposition;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.DenseBlockFactory;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.DataConverter;
+
+/**
+ * Library for dense matrix factorizations (Cholesky, LU with partial pivoting,
+ * Householder QR, symmetric eigen decomposition) and derived operations (solve,
+ * inverse, randomized SVD), which work directly on row-major dense arrays
+ * instead of commons-math matrices.
+ * 
+ * The factorizations are right-looking and blocked: a panel of BLOCKSIZE
+ * columns is factorized, and subsequently applied to the trailing matrix,
+ * where the panel solves and trailing updates are multi-threaded over
+ * independent row or column ranges. The results are consistent with the
+ * commons-math decompositions (e.g., same pivoting and Householder vectors).
+ */
+public class LibMatrixLinAlg
+{
+	//panel width of blocked factorizations
+	public static int BLOCKSIZE = 128;
+	//min number of floating point operations for multi-threading
+	private static final long PAR_MIN_FLOPS = 1L << 20;
+	//positivity threshold of Cholesky (consistent w/ commons-math)
+	private static final double ABSOLUTE_POSITIVITY_THRESHOLD = 1e-10;
+	//max number of QL iterations per eigen value
+	private static final int EIGEN_MAX_ITER = 30;
+	//oversampling, power iterations, and seed of randomized SVD
+	public static int RSVD_OVERSAMPLING = 10;
+	public static int RSVD_POWER_ITERATIONS = 2;
+	private static final long RSVD_SEED = 7;
+	
+	private LibMatrixLinAlg() {
+		//prevent instantiation via private constructor
+	}
+	
+	/**
+	 * Indicates if the given input can be processed by the dense kernels,
+	 * i.e., if it fits into a single dense array.
+	 * 
+	 * @param in input matrix
+	 * @return true if supported
+	 */
+	public static boolean isSupported(MatrixBlock in) {
+		return (long)in.getNumRows() * in.getNumColumns() <= Integer.MAX_VALUE;
+	}
+	
+	/**
+	 * Computes the Cholesky decomposition A = L L^T of a symmetric
+	 * positive definite matrix via a blocked, right-looking algorithm.
+	 * 
+	 * @param in input matrix A
+	 * @param k degree of parallelism
+	 * @return lower triangular matrix L
+	 */
+	public static MatrixBlock cholesky(MatrixBlock in, int k) {
+		checkSquare(in, "cholesky()");
+		final int n = in.getNumRows();
+		final double[] a = toDenseArray(in, false);
+		checkSymmetric(a, n);
+		
+		ExecutorService pool = createPool(k, n);
+		try {
+			for( int kb=0; kb<n; kb+=BLOCKSIZE ) {
+				final int bk = kb, be = Math.min(kb+BLOCKSIZE, n);
+				//a) unblocked factorization of diagonal block
+				choleskyDiag(a, n, bk, be);
+				//b) panel solve L21 = A21 L11^-T (independent rows)
+				parallelRanges(pool, k, be, n, (long)(n-be)*(be-bk)*(be-bk),
+					(rl, ru) -> choleskyPanel(a, n, bk, be, rl, ru));
+				//c) trailing update A22 = A22 - L21 L21^T (lower triangle)
+				parallelRanges(pool, k, be, n, (long)(n-be)*(n-be)*(be-bk),
+					(rl, ru) -> choleskyUpdate(a, n, bk, be, rl, ru));
+			}
+		}
+		finally {
+			shutdown(pool);
+		}
+		
+		//cleanup upper triangle
+		for( int i=0; i<n; i++ )
+			Arrays.fill(a, i*n+i+1, (i+1)*n, 0);
+		return toMatrixBlock(a, n, n);
+	}
+	
+	/**
+	 * Computes the LU decomposition with partial pivoting P A = L U
+	 * via a blocked, right-looking algorithm.
+	 * 
+	 * @param in input matrix A
+	 * @param k degree of parallelism
+	 * @return array of permutation matrix P, unit lower triangular L, and upper triangular U
+	 */
+	public static MatrixBlock[] lu(MatrixBlock in, int k) {
+		checkSquare(in, "LU decomposition");
+		int n = in.getNumRows();
+		double[] a = toDenseArray(in, false);
+		int[] perm = luFactorize(a, n, k);
+		
+		//extract P, L, and U
+		double[] p = new double[n*n];
+		double[] l = new double[n*n];
+		double[] u = new double[n*n];
+		for( int i=0, ix=0; i<n; i++, ix+=n ) {
+			p[ix+perm[i]] = 1;
+			System.arraycopy(a, ix, l, ix, i);
+			l[ix+i] = 1;
+			System.arraycopy(a, ix+i, u, ix+i, n-i);
+		}
+		return new MatrixBlock[] {toMatrixBlock(p, n, n),
+			toMatrixBlock(l, n, n), toMatrixBlock(u, n, n)};
+	}
+	
+	/**
+	 * Computes the Householder QR decomposition A = Q R via a blocked,
+	 * right-looking algorithm, which applies panels of reflectors to the
+	 * trailing columns in parallel.
+	 * 
+	 * @param in input matrix A (m x n)
+	 * @param k degree of parallelism
+	 * @return array of Householder vectors H, and upper triangular R (both m x n)
+	 */
+	public static MatrixBlock[] qr(MatrixBlock in, int k) {
+		final int m = in.getNumRows();
+		final int n = in.getNumColumns();
+		final int mn = Math.min(m, n);
+		//column-major copy for contiguous reflections
+		final double[] qrt = toDenseArray(in, true);
+		final double[] rdiag = new double[mn];
+		householderQR(qrt, rdiag, m, n, k);
+		
+		//extract H and R (consistent w/ commons-math)
+		double[] h = new double[m*n];
+		double[] r = new double[m*n];
+		for( int i=0; i<m; i++ ) {
+			for( int j=0; j<Math.min(i+1, n); j++ )
+				h[i*n+j] = qrt[j*m+i] / -rdiag[j];
+			if( i < mn ) {
+				r[i*n+i] = rdiag[i];
+				for( int j=i+1; j<n; j++ )
+					r[i*n+j] = qrt[j*m+i];
+			}
+		}
+		return new MatrixBlock[] {toMatrixBlock(h, m, n), toMatrixBlock(r, m, n)};
+	}
+	
+	/**
+	 * Computes the eigen decomposition A = V diag(lambda) V^T of a symmetric
+	 * matrix via a Householder reduction to tridiagonal form and an implicit
+	 * QL iteration. The symmetric rank-2 updates of the reduction and the
+	 * accumulated rotations of each QL sweep are multi-threaded over rows.
+	 * 
+	 * @param in symmetric input matrix A
+	 * @param k degree of parallelism
+	 * @return array of eigen values (n x 1, ascending), and eigen vectors (n x n)
+	 */
+	public static MatrixBlock[] eigenSymmetric(MatrixBlock in, int k) {
+		checkSquare(in, "eigen()");
+		final int n = in.getNumRows();
+		//row i of w holds eigen vector i (i.e., column-major vectors)
+		final double[] w = toDenseArray(in, false);
+		final double[] d = new double[n];
+		final double[] e = new double[n];
+		
+		ExecutorService pool = createPool(k, n);
+		try {
+			tridiagonalize(pool, k, w, n, d, e);
+			tridiagonalQL(pool, k, w, n, d, e);
+		}
+		finally {
+			shutdown(pool);
+		}
+		
+		//sort eigen values (and vectors) in increasing order
+		Integer[] ix = new Integer[n];
+		for( int i=0; i<n; i++ )
+			ix[i] = i;
+		Arrays.sort(ix, (a,b) -> Double.compare(d[a], d[b]));
+		double[] values = new double[n];
+		double[] vectors = new double[n*n];
+		for( int j=0; j<n; j++ ) {
+			values[j] = d[ix[j]];
+			for( int i=0, wx=ix[j]*n; i<n; i++ )
+				vectors[i*n+j] = w[wx+i];
+		}
+		return new MatrixBlock[] {toMatrixBlock(values, n, 1), toMatrixBlock(vectors, n, n)};
+	}
+	
+	/**
+	 * Indicates if the given matrix is symmetric w.r.t. the relative threshold
+	 * of the commons-math eigen decomposition.
+	 * 
+	 * @param in input matrix
+	 * @return true if symmetric
+	 */
+	public static boolean isSymmetric(MatrixBlock in) {
+		final int n = in.getNumRows();
+		if( n != in.getNumColumns() )
+			return false;
+		double eps = 10d * n * n * Math.ulp(1d);
+		for( int i=0; i<n; i++ )
+			for( int j=i+1; j<n; j++ ) {
+				double aij = in.quickGetValue(i, j), aji = in.quickGetValue(j, i);
+				if( Math.abs(aij - aji) > eps * Math.max(Math.abs(aij), Math.abs(aji)) )
+					return false;
+			}
+		return true;
+	}
+	
+	/**
+	 * Computes a randomized, truncated singular value decomposition A ~ U S V^T
+	 * of rank r. A range finder with oversampling and power iterations (matrix
+	 * multiplications via LibMatrixMult) obtains an orthonormal basis Q of the
+	 * column space of A; the small projected matrix Q^T A is then decomposed exactly.
+	 * 
+	 * @param in input matrix A (m x n)
+	 * @param rank target rank r
+	 * @param k degree of parallelism
+	 * @return array of left singular vectors U (m x r), singular values S (r x r diagonal),
+	 *   and right singular vectors V (n x r)
+	 */
+	public static MatrixBlock[] randomizedSvd(MatrixBlock in, int rank, int k) {
+		final int m = in.getNumRows();
+		final int n = in.getNumColumns();
+		if( rank < 1 || rank > Math.min(m, n) )
+			throw new DMLRuntimeException("Invalid rank for svd(A, k): " + rank
+				+ " (must be in [1, " + Math.min(m, n) + "] for a " + m + "x" + n + " matrix).");
+		int l = Math.min(rank + RSVD_OVERSAMPLING, Math.min(m, n));
+		
+		//range finder w/ power iterations: Q = orth((A A^T)^q A Omega)
+		MatrixBlock At = LibMatrixReorg.transpose(in,
+			new MatrixBlock(n, m, in.isInSparseFormat()), k);
+		MatrixBlock omega = MatrixBlock.randOperations(n, l, 1.0, 0, 1, "normal", RSVD_SEED);
+		MatrixBlock Q = orthonormalize(matrixMult(in, omega, k), k);
+		for( int i=0; i<RSVD_POWER_ITERATIONS; i++ ) {
+			MatrixBlock Z = orthonormalize(matrixMult(At, Q, k), k);
+			Q = orthonormalize(matrixMult(in, Z, k), k);
+		}
+		
+		//QR of the projection B^T = A^T Q = Q2 R2, and exact SVD of small R2
+		double[] qrt = toDenseArray(matrixMult(At, Q, k), true);
+		double[] rdiag = new double[l];
+		householderQR(qrt, rdiag, n, l, k);
+		MatrixBlock Q2 = toMatrixBlock(formQ(qrt, rdiag, n, l, k), n, l);
+		double[][] r2 = new double[l][l];
+		for( int i=0; i<l; i++ ) {
+			r2[i][i] = rdiag[i];
+			for( int j=i+1; j<l; j++ )
+				r2[i][j] = qrt[j*n+i];
+		}
+		SingularValueDecomposition svd = new SingularValueDecomposition(new Array2DRowRealMatrix(r2, false));
+		
+		//B = Vr S (Q2 Ur)^T, and thus U = Q Vr and V = Q2 Ur (truncated to rank r)
+		double[][] ur = svd.getU().getSubMatrix(0, l-1, 0, rank-1).getData();
+		double[][] vr = svd.getV().getSubMatrix(0, l-1, 0, rank-1).getData();
+		double[] sigma = svd.getSingularValues();
+		double[] s = new double[rank*rank];
+		for( int i=0; i<rank; i++ )
+			s[i*rank+i] = sigma[i];
+		MatrixBlock U = matrixMult(Q, DataConverter.convertToMatrixBlock(vr), k);
+		MatrixBlock V = matrixMult(Q2, DataConverter.convertToMatrixBlock(ur), k);
+		return new MatrixBlock[] {U, toMatrixBlock(s, rank, rank), V};
+	}
+	
+	/**
+	 * Solves the system of linear equations A X = B via an LU
+	 * decomposition with partial pivoting, and triangular solves
+	 * that are multi-threaded over the columns of B.
+	 * 
+	 * @param in1 square matrix A
+	 * @param in2 right-hand side B
+	 * @param k degree of parallelism
+	 * @return solution X
+	 */
+	public static MatrixBlock solve(MatrixBlock in1, MatrixBlock in2, int k) {
+		checkSquare(in1, "solve()");
+		final int n = in1.getNumRows();
+		final int m = in2.getNumColumns();
+		if( in2.getNumRows() != n )
+			throw new DMLRuntimeException("Incompatible dimensions for solve(A,b): "
+				+ "A is " + n + "x" + n + ", b is " + in2.getNumRows() + "x" + m + ".");
+		final double[] a = toDenseArray(in1, false);
+		int[] perm = luFactorize(a, n, k);
+		checkNonSingular(a, n);
+		
+		//permuted right-hand side
+		double[] b = toDenseArray(in2, false);
+		final double[] x = new double[n*m];
+		for( int i=0; i<n; i++ )
+			System.arraycopy(b, perm[i]*m, x, i*m, m);
+		triangularSolve(a, n, x, m, k);
+		return toMatrixBlock(x, n, m);
+	}
+	
+	/**
+	 * Computes the inverse of a square matrix via an LU decomposition
+	 * with partial pivoting, and triangular solves of the permuted identity
+	 * that are multi-threaded over its columns.
+	 * 
+	 * @param in square matrix A
+	 * @param k degree of parallelism
+	 * @return inverse of A
+	 */
+	public static MatrixBlock inverse(MatrixBlock in, int k) {
+		checkSquare(in, "inv()");
+		final int n = in.getNumRows();
+		final double[] a = toDenseArray(in, false);
+		int[] perm = luFactorize(a, n, k);
+		checkNonSingular(a, n);
+		
+		//permuted identity as right-hand side
+		final double[] x = new double[n*n];
+		for( int i=0; i<n; i++ )
+			x[i*n+perm[i]] = 1;
+		triangularSolve(a, n, x, n, k);
+		return toMatrixBlock(x, n, n);
+	}
+	
+	private static void householderQR(final double[] qrt, final double[] rdiag, final int m, final int n, int k) {
+		final int mn = Math.min(m, n);
+		ExecutorService pool = createPool(k, n);
+		try {
+			for( int pb=0; pb<mn; pb+=BLOCKSIZE ) {
+				final int bp = pb, pe = Math.min(pb+BLOCKSIZE, mn);
+				//a) unblocked factorization of panel
+				for( int minor=bp; minor<pe; minor++ ) {
+					rdiag[minor] = householder(qrt, m, minor);
+					for( int col=minor+1; col<pe; col++ )
+						applyHouseholder(qrt, m, rdiag, minor, col);
+				}
+				//b) apply panel of reflectors to trailing columns (independent columns)
+				parallelRanges(pool, k, pe, n, 2L*(n-pe)*(m-bp)*(pe-bp), (cl, cu) -> {
+					for( int col=cl; col<cu; col++ )
+						for( int minor=bp; minor<pe; minor++ )
+							applyHouseholder(qrt, m, rdiag, minor, col);
+				});
+			}
+		}
+		finally {
+			shutdown(pool);
+		}
+	}
+	
+	private static double[] formQ(final double[] qrt, final double[] rdiag, final int m, final int n, int k) {
+		//thin Q (m x n, m >= n) via backward accumulation of reflectors,
+		//where each column of Q is independent (column-major for contiguous access)
+		final double[] qt = new double[m*n];
+		ExecutorService pool = createPool(k, n);
+		try {
+			parallelRanges(pool, k, 0, n, 4L*m*n*n, (cl, cu) -> {
+				for( int col=cl; col<cu; col++ ) {
+					int cx = col*m;
+					qt[cx+col] = 1;
+					for( int minor=col; minor>=0; minor-- ) {
+						int mx = minor*m;
+						if( qrt[mx+minor] == 0 )
+							continue;
+						double alpha = 0;
+						for( int row=minor; row<m; row++ )
+							alpha -= qt[cx+row] * qrt[mx+row];
+						alpha /= rdiag[minor] * qrt[mx+minor];
+						for( int row=minor; row<m; row++ )
+							qt[cx+row] -= alpha * qrt[mx+row];
+					}
+				}
+			});
+		}
+		finally {
+			shutdown(pool);
+		}
+		double[] q = new double[m*n];
+		for( int j=0; j<n; j++ )
+			for( int i=0; i<m; i++ )
+				q[i*n+j] = qt[j*m+i];
+		return q;
+	}
+	
+	private static MatrixBlock orthonormalize(MatrixBlock in, int k) {
+		final int m = in.getNumRows();
+		final int n = in.getNumColumns();
+		double[] qrt = toDenseArray(in, true);
+		double[] rdiag = new double[n];
+		householderQR(qrt, rdiag, m, n, k);
+		return toMatrixBlock(formQ(qrt, rdiag, m, n, k), m, n);
+	}
+	
+	private static MatrixBlock matrixMult(MatrixBlock m1, MatrixBlock m2, int k) {
+		MatrixBlock ret = new MatrixBlock(m1.getNumRows(), m2.getNumColumns(), false);
+		LibMatrixMult.matrixMult(m1, m2, ret, k);
+		return ret;
+	}
+	
+	private static void tridiagonalize(ExecutorService pool, int k, final double[] w, final int n, final double[] d, final double[] e) {
+		//Householder reduction (Bowdler et al., EISPACK tred2), where the
+		//active block w[0:i,0:i] is kept fully symmetric for row-wise updates
+		for( int j=0; j<n; j++ )
+			d[j] = w[j*n+n-1];
+		for( int i=n-1; i>0; i-- ) {
+			final int fi = i;
+			double scale = 0, h = 0;
+			for( int j=0; j<i; j++ )
+				scale += Math.abs(d[j]);
+			if( scale == 0 ) {
+				e[i] = d[i-1];
+				for( int j=0; j<i; j++ ) {
+					d[j] = w[j*n+i-1];
+					w[j*n+i] = 0;
+					w[i*n+j] = 0;
+				}
+			}
+			else {
+				//generate Householder vector
+				for( int j=0; j<i; j++ ) {
+					d[j] /= scale;
+					h += d[j] * d[j];
+				}
+				double f = d[i-1];
+				double g = (f > 0) ? -Math.sqrt(h) : Math.sqrt(h);
+				e[i] = scale * g;
+				h -= f * g;
+				d[i-1] = f - g;
+				//symmetric matrix-vector e = A d (and store Householder vector)
+				parallelRanges(pool, k, 0, i, 2L*i*i, (rl, ru) -> {
+					for( int j=rl, jx=rl*n; j<ru; j++, jx+=n ) {
+						double sum = 0;
+						for( int c=0; c<fi; c++ )
+							sum += w[jx+c] * d[c];
+						e[j] = sum;
+						w[fi*n+j] = d[j];
+					}
+				});
+				f = 0;
+				for( int j=0; j<i; j++ ) {
+					e[j] /= h;
+					f += e[j] * d[j];
+				}
+				double hh = f / (h + h);
+				for( int j=0; j<i; j++ )
+					e[j] -= hh * d[j];
+				//symmetric rank-2 update A = A - d e^T - e d^T
+				parallelRanges(pool, k, 0, i, 4L*i*i, (rl, ru) -> {
+					for( int j=rl, jx=rl*n; j<ru; j++, jx+=n ) {
+						double dj = d[j], ej = e[j];
+						for( int c=0; c<fi; c++ )
+							w[jx+c] -= (dj * e[c] + ej * d[c]);
+					}
+				});
+				for( int j=0; j<i; j++ ) {
+					d[j] = w[j*n+i-1];
+					w[j*n+i] = 0;
+				}
+			}
+			d[i] = h;
+		}
+		
+		//accumulate transformations
+		for( int i=0; i<n-1; i++ ) {
+			final int fi = i, ix1 = (i+1)*n;
+			w[i*n+n-1] = w[i*n+i];
+			w[i*n+i] = 1;
+			double h = d[i+1];
+			if( h != 0 ) {
+				for( int c=0; c<=i; c++ )
+					d[c] = w[ix1+c] / h;
+				parallelRanges(pool, k, 0, i+1, 4L*(i+1)*(i+1), (rl, ru) -> {
+					for( int j=rl, jx=rl*n; j<ru; j++, jx+=n ) {
+						double g = 0;
+						for( int c=0; c<=fi; c++ )
+							g += w[ix1+c] * w[jx+c];
+						for( int c=0; c<=fi; c++ )
+							w[jx+c] -= g * d[c];
+					}
+				});
+			}
+			Arrays.fill(w, ix1, ix1+i+1, 0);
+		}
+		for( int j=0; j<n; j++ ) {
+			d[j] = w[j*n+n-1];
+			w[j*n+n-1] = 0;
+		}
+		w[n*n-1] = 1;
+		e[0] = 0;
+	}
+	
+	private static void tridiagonalQL(ExecutorService pool, int k, final double[] w, final int n, final double[] d, final double[] e) {
+		//implicit QL iteration (EISPACK tql2), where the rotations of
+		//a sweep are collected and applied to the eigen vectors in parallel
+		final double[] cs = new double[n];
+		final double[] sn = new double[n];
+		for( int i=1; i<n; i++ )
+			e[i-1] = e[i];
+		e[n-1] = 0;
+		double f = 0, tst1 = 0;
+		double eps = Math.ulp(1d);
+		for( int l=0; l<n; l++ ) {
+			//find small subdiagonal element
+			tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+			int m = l;
+			while( m < n-1 && Math.abs(e[m]) > eps*tst1 )
+				m++;
+			//iterate until e[l] is negligible
+			int iter = 0;
+			while( m > l && Math.abs(e[l]) > eps*tst1 ) {
+				if( ++iter > EIGEN_MAX_ITER )
+					throw new DMLRuntimeException("Eigen decomposition did not converge "
+						+ "after " + EIGEN_MAX_ITER + " iterations.");
+				//compute implicit shift
+				double g = d[l];
+				double p = (d[l+1] - g) / (2 * e[l]);
+				double r = Math.hypot(p, 1);
+				if( p < 0 )
+					r = -r;
+				d[l] = e[l] / (p + r);
+				d[l+1] = e[l] * (p + r);
+				double dl1 = d[l+1];
+				double h = g - d[l];
+				for( int i=l+2; i<n; i++ )
+					d[i] -= h;
+				f += h;
+				//implicit QL sweep
+				p = d[m];
+				double c = 1, c2 = 1, c3 = 1, s = 0, s2 = 0;
+				double el1 = e[l+1];
+				for( int i=m-1; i>=l; i-- ) {
+					c3 = c2;
+					c2 = c;
+					s2 = s;
+					g = c * e[i];
+					h = c * p;
+					r = Math.hypot(p, e[i]);
+					e[i+1] = s * r;
+					s = e[i] / r;
+					c = p / r;
+					p = c * d[i] - s * g;
+					d[i+1] = h + s * (c * g + s * d[i]);
+					cs[i] = c;
+					sn[i] = s;
+				}
+				p = -s * s2 * c3 * el1 * e[l] / dl1;
+				e[l] = s * p;
+				d[l] = c * p;
+				//accumulate rotations of the sweep (independent vector entries)
+				final int fl = l, fm = m;
+				parallelRanges(pool, k, 0, n, 6L*n*(m-l), (cl, cu) -> {
+					for( int i=fm-1; i>=fl; i-- ) {
+						double ci = cs[i], si = sn[i];
+						for( int c1=i*n+cl, c2x=(i+1)*n+cl, cx=cl; cx<cu; cx++, c1++, c2x++ ) {
+							double t = w[c2x];
+							w[c2x] = si * w[c1] + ci * t;
+							w[c1] = ci * w[c1] - si * t;
+						}
+					}
+				});
+			}
+			d[l] += f;
+			e[l] = 0;
+		}
+	}
+	
+	private static int[] luFactorize(final double[] a, final int n, int k) {
+		int[] perm = new int[n];
+		for( int i=0; i<n; i++ )
+			perm[i] = i;
+		
+		ExecutorService pool = createPool(k, n);
+		try {
+			for( int kb=0; kb<n; kb+=BLOCKSIZE ) {
+				final int bk = kb, be = Math.min(kb+BLOCKSIZE, n);
+				//a) unblocked factorization of panel w/ partial pivoting
+				luPanel(a, n, perm, bk, be);
+				//b) U12 = L11^-1 A12 (independent columns)
+				parallelRanges(pool, k, be, n, (long)(n-be)*(be-bk)*(be-bk),
+					(cl, cu) -> luRowPanel(a, n, bk, be, cl, cu));
+				//c) trailing update A22 = A22 - L21 U12 (independent rows)
+				parallelRanges(pool, k, be, n, 2L*(n-be)*(n-be)*(be-bk),
+					(rl, ru) -> luUpdate(a, n, bk, be, rl, ru));
+			}
+		}
+		finally {
+			shutdown(pool);
+		}
+		return perm;
+	}
+	
+	private static void luPanel(double[] a, int n, int[] perm, int bk, int be) {
+		for( int j=bk; j<be; j++ ) {
+			//pivot search (first max, consistent w/ commons-math)
+			int piv = j;
+			double max = Math.abs(a[j*n+j]);
+			for( int i=j+1; i<n; i++ ) {
+				double v = Math.abs(a[i*n+j]);
+				if( v > max ) {
+					max = v;
+					piv = i;
+				}
+			}
+			if( piv != j ) {
+				swapRows(a, n, j, piv);
+				int tmp = perm[j]; perm[j] = perm[piv]; perm[piv] = tmp;
+			}
+			//scale column and update remaining panel columns
+			int jx = j*n;
+			double ajj = a[jx+j];
+			if( ajj == 0 )
+				continue; //singular
+			for( int i=j+1, ix=(j+1)*n; i<n; i++, ix+=n ) {
+				double lij = (a[ix+j] /= ajj);
+				if( lij != 0 )
+					for( int c=j+1; c<be; c++ )
+						a[ix+c] -= lij * a[jx+c];
+			}
+		}
+	}
+	
+	private static void luRowPanel(double[] a, int n, int bk, int be, int cl, int cu) {
+		for( int i=bk+1; i<be; i++ ) {
+			int ix = i*n;
+			for( int p=bk; p<i; p++ ) {
+				double lip = a[ix+p];
+				if( lip == 0 )
+					continue;
+				int px = p*n;
+				for( int c=cl; c<cu; c++ )
+					a[ix+c] -= lip * a[px+c];
+			}
+		}
+	}
+	
+	private static void luUpdate(double[] a, int n, int bk, int be, int rl, int ru) {
+		for( int i=rl, ix=rl*n; i<ru; i++, ix+=n ) {
+			for( int p=bk; p<be; p++ ) {
+				double lip = a[ix+p];
+				if( lip == 0 )
+					continue;
+				int px = p*n;
+				for( int c=be; c<n; c++ )
+					a[ix+c] -= lip * a[px+c];
+			}
+		}
+	}
+	
+	private static void triangularSolve(final double[] lu, final int n, final double[] x, final int m, int k) {
+		ExecutorService pool = createPool(k, m);
+		try {
+			parallelRanges(pool, k, 0, m, 2L*n*n*m, (cl, cu) -> {
+				//forward substitution L Y = P B (unit diagonal)
+				for( int i=1; i<n; i++ ) {
+					int ix = i*m;
+					for( int p=0; p<i; p++ ) {
+						double lip = lu[i*n+p];
+						if( lip == 0 )
+							continue;
+						int px = p*m;
+						for( int c=cl; c<cu; c++ )
+							x[ix+c] -= lip * x[px+c];
+					}
+				}
+				//backward substitution U X = Y
+				for( int i=n-1; i>=0; i-- ) {
+					int ix = i*m;
+					for( int p=i+1; p<n; p++ ) {
+						double uip = lu[i*n+p];
+						if( uip == 0 )
+							continue;
+						int px = p*m;
+						for( int c=cl; c<cu; c++ )
+							x[ix+c] -= uip * x[px+c];
+					}
+					double uii = lu[i*n+i];
+					for( int c=cl; c<cu; c++ )
+						x[ix+c] /= uii;
+				}
+			});
+		}
+		finally {
+			shutdown(pool);
+		}
+	}
+	
+	private static void choleskyDiag(double[] a, int n, int bk, int be) {
+		for( int j=bk; j<be; j++ ) {
+			int jx = j*n;
+			double d = a[jx+j];
+			for( int p=bk; p<j; p++ )
+				d -= a[jx+p] * a[jx+p];
+			if( d <= ABSOLUTE_POSITIVITY_THRESHOLD )
+				throw new DMLRuntimeException("Input to cholesky() must be a positive definite matrix.");
+			double ljj = Math.sqrt(d);
+			a[jx+j] = ljj;
+			for( int i=j+1, ix=(j+1)*n; i<be; i++, ix+=n ) {
+				double s = a[ix+j];
+				for( int p=bk; p<j; p++ )
+					s -= a[ix+p] * a[jx+p];
+				a[ix+j] = s / ljj;
+			}
+		}
+	}
+	
+	private static void choleskyPanel(double[] a, int n, int bk, int be, int rl, int ru) {
+		for( int i=rl, ix=rl*n; i<ru; i++, ix+=n ) {
+			for( int j=bk; j<be; j++ ) {
+				int jx = j*n;
+				double s = a[ix+j];
+				for( int p=bk; p<j; p++ )
+					s -= a[ix+p] * a[jx+p];
+				a[ix+j] = s / a[jx+j];
+			}
+		}
+	}
+	
+	private static void choleskyUpdate(double[] a, int n, int bk, int be, int rl, int ru) {
+		for( int i=rl, ix=rl*n; i<ru; i++, ix+=n ) {
+			for( int j=be, jx=be*n; j<=i; j++, jx+=n ) {
+				double s = 0;
+				for( int p=bk; p<be; p++ )
+					s += a[ix+p] * a[jx+p];
+				a[ix+j] -= s;
+			}
+		}
+	}
+	
+	private static double householder(double[] qrt, int m, int minor) {
+		int mx = minor*m;
+		double xNormSqr = 0;
+		for( int row=minor; row<m; row++ )
+			xNormSqr += qrt[mx+row] * qrt[mx+row];
+		double a = (qrt[mx+minor] > 0) ? -Math.sqrt(xNormSqr) : Math.sqrt(xNormSqr);
+		if( a != 0 )
+			qrt[mx+minor] -= a;
+		return a;
+	}
+	
+	private static void applyHouseholder(double[] qrt, int m, double[] rdiag, int minor, int col) {
+		double a = rdiag[minor];
+		if( a == 0 )
+			return;
+		int mx = minor*m, cx = col*m;
+		double alpha = 0;
+		for( int row=minor; row<m; row++ )
+			alpha -= qrt[cx+row] * qrt[mx+row];
+		alpha /= a * qrt[mx+minor];
+		for( int row=minor; row<m; row++ )
+			qrt[cx+row] -= alpha * qrt[mx+row];
+	}
+	
+	private static void swapRows(double[] a, int n, int r1, int r2) {
+		for( int c=0, ix1=r1*n, ix2=r2*n; c<n; c++ ) {
+			double tmp = a[ix1+c];
+			a[ix1+c] = a[ix2+c];
+			a[ix2+c] = tmp;
+		}
+	}
+	
+	private static void checkSquare(MatrixBlock in, String op) {
+		if( in.getNumRows() != in.getNumColumns() )
+			throw new DMLRuntimeException("Input to " + op + " must be square matrix -- given: a "
+				+ in.getNumRows() + "x" + in.getNumColumns() + " matrix.");
+	}
+	
+	private static void checkSymmetric(double[] a, int n) {
+		double eps = LibCommonsMath.RELATIVE_SYMMETRY_THRESHOLD;
+		for( int i=0; i<n; i++ )
+			for( int j=i+1; j<n; j++ ) {
+				double lij = a[i*n+j], lji = a[j*n+i];
+				if( Math.abs(lij - lji) > eps * Math.max(Math.abs(lij), Math.abs(lji)) )
+					throw new DMLRuntimeException("Input to cholesky() must be a symmetric matrix.");
+			}
+	}
+	
+	private static void checkNonSingular(double[] lu, int n) {
+		for( int i=0; i<n; i++ )
+			if( lu[i*n+i] == 0 )
+				throw new DMLRuntimeException("Matrix is singular.");
+	}
+	
+	private static double[] toDenseArray(MatrixBlock in, boolean transpose) {
+		final int m = in.getNumRows();
+		final int n = in.getNumColumns();
+		double[] ret = new double[m*n];
+		if( in.isEmptyBlock(false) )
+			return ret;
+		if( in.isInSparseFormat() ) {
+			SparseBlock sb = in.getSparseBlock();
+			for( int i=0; i<m; i++ ) {
+				if( sb.isEmpty(i) )
+					continue;
+				int apos = sb.pos(i);
+				int alen = sb.size(i);
+				int[] aix = sb.indexes(i);
+				double[] avals = sb.values(i);
+				for( int j=apos; j<apos+alen; j++ )
+					ret[transpose ? aix[j]*m+i : i*n+aix[j]] = avals[j];
+			}
+		}
+		else {
+			DenseBlock db = in.getDenseBlock();
+			for( int i=0; i<m; i++ ) {
+				double[] avals = db.values(i);
+				int apos = db.pos(i);
+				if( transpose )
+					for( int j=0; j<n; j++ )
+						ret[j*m+i] = avals[apos+j];
+				else
+					System.arraycopy(avals, apos, ret, i*n, n);
+			}
+		}
+		return ret;
+	}
+	
+	private static MatrixBlock toMatrixBlock(double[] a, int m, int n) {
+		MatrixBlock ret = new MatrixBlock(m, n, DenseBlockFactory.createDenseBlock(a, m, n));
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+	
+	private static ExecutorService createPool(int k, int n) {
+		return (k > 1 && n > BLOCKSIZE) ? CommonThreadPool.get(k) : null;
+	}
+	
+	private static void shutdown(ExecutorService pool) {
+		if( pool != null )
+			pool.shutdown();
+	}
+	
+	private interface RangeTask {
+		void execute(int l, int u);
+	}
+	
+	private static void parallelRanges(ExecutorService pool, int k, int lo, int hi, long flops, RangeTask task) {
+		int len = hi - lo;
+		if( len <= 0 )
+			return;
+		if( pool == null || len < 2 || flops < PAR_MIN_FLOPS ) {
+			task.execute(lo, hi);
+			return;
+		}
+		//over-partitioning for load balance (e.g., triangular updates)
+		int blklen = (int)Math.ceil((double)len / Math.min(4*k, len));
+		ArrayList<Callable<Object>> tasks = new ArrayList<>();
+		for( int l=lo; l<hi; l+=blklen ) {
+			final int fl = l, fu = Math.min(l+blklen, hi);
+			tasks.add(() -> {
+				task.execute(fl, fu);
+				return null;
+			});
+		}
+		try {
+			for( Future<Object> f : pool.invokeAll(tasks) )
+				f.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+}
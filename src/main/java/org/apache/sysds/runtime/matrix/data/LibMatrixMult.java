@@ -62,7 +62,8 @@ import org.apache.sysds.utils.NativeHelper;
  * <p>
  * In general all implementations use internally dense outputs
  * for direct access, but change the final result to sparse if necessary.
- * The only exceptions are ultra-sparse matrix mult, wsloss and wsigmoid.
+ * The only exceptions are ultra-sparse and sparse-sparse (spgemm) matrix mult,
+ * wsloss and wsigmoid.
  */
 public class LibMatrixMult 
 {
@@ -135,6 +136,16 @@ public class LibMatrixMult
 			&& isSparseOutputMatrixMult(m1, m2);
 		boolean tm2 = checkPrepMatrixMultRightInput(m1,m2);
 		m2 = prepMatrixMultRightInput(m1, m2);
+		if( sparse && rl == 0 && ru == m1.rlen ) {
+			//two-phase spgemm w/ exact output allocation
+			int[] rptr = matrixMultSparseSparseSymbolic(m1, m2, 1);
+			if( rptr != null && MatrixBlock.evalSparseFormatInMemory(m1.rlen, m2.clen, rptr[m1.rlen]) ) {
+				matrixMultSparseSparseSpGEMM(m1, m2, ret, rptr, 1);
+				ret.examSparsity();
+				return;
+			}
+			sparse = (rptr == null);
+		}
 		ret.sparse = ultraSparse | sparse;
 		ret.allocateBlock();
 		
@@ -184,7 +195,14 @@ public class LibMatrixMult
 		}
 		
 		//check too small workload and fallback to sequential if needed
-		if( !satisfiesMultiThreadingConstraints(m1, m2, m1.rlen==1, true, 2, k) ) {
+		//(degree of parallelism from FLOPs and memory accesses of the inputs/output)
+		if( satisfiesMultiThreadingConstraints(m1, m2, m1.rlen==1, true, 2, k) ) {
+			double nnz1 = m1.nonZeros > 0 ? m1.nonZeros : (double)m1.rlen * m1.clen;
+			double nnz2 = m2.nonZeros > 0 ? m2.nonZeros : (double)m2.rlen * m2.clen;
+			k = CommonThreadPool.getParallelism(k, 2 * nnz1 * m2.clen,
+				8 * (nnz1 + nnz2 + (double)m1.rlen * m2.clen));
+		}
+		if( k <= 1 || !satisfiesMultiThreadingConstraints(m1, m2, m1.rlen==1, true, 2, k) ) {
 			matrixMult(m1, m2, ret);
 			return;
 		}
@@ -198,6 +216,17 @@ public class LibMatrixMult
 		boolean sparse = !ultraSparse && !m1Perm && isSparseOutputMatrixMult(m1, m2);
 		boolean tm2 = checkPrepMatrixMultRightInput(m1,m2);
 		m2 = prepMatrixMultRightInput(m1, m2);
+		if( sparse ) {
+			//two-phase spgemm w/ exact output allocation (thread-safe
+			//because all threads write into disjoint ranges of the csr arrays)
+			int[] rptr = matrixMultSparseSparseSymbolic(m1, m2, k);
+			if( rptr != null && MatrixBlock.evalSparseFormatInMemory(m1.rlen, m2.clen, rptr[m1.rlen]) ) {
+				matrixMultSparseSparseSpGEMM(m1, m2, ret, rptr, k);
+				ret.examSparsity();
+				return;
+			}
+			sparse = (rptr == null);
+		}
 		ret.sparse = ultraSparse | sparse;
 		ret.allocateBlock();
 		
@@ -386,7 +415,13 @@ public class LibMatrixMult
 		}
 		
 		//check too small workload and fallback to sequential if necessary
-		if( !satisfiesMultiThreadingConstraintsTSMM(m1, leftTranspose, 1, k) ) {
+		//(degree of parallelism from FLOPs and memory accesses of the input/output)
+		if( satisfiesMultiThreadingConstraintsTSMM(m1, leftTranspose, 1, k) ) {
+			double nnz = m1.nonZeros > 0 ? m1.nonZeros : (double)m1.rlen * m1.clen;
+			int n = leftTranspose ? m1.clen : m1.rlen;
+			k = CommonThreadPool.getParallelism(k, nnz * n, 8 * (nnz + (double)n * n));
+		}
+		if( k <= 1 || !satisfiesMultiThreadingConstraintsTSMM(m1, leftTranspose, 1, k) ) {
 			matrixMultTransposeSelf(m1, ret, leftTranspose);
 			return;
 		}
@@ -1248,8 +1283,7 @@ public class LibMatrixMult
 	private static void matrixMultSparseDenseMVShortRHS(SparseBlock a, DenseBlock b, DenseBlock c, int cd, int rl, int ru) {
 		double[] bvals = b.valuesAt(0);
 		double[] cvals = c.valuesAt(0);
-		for( int i=rl; i<ru; i++ ) {
-			if( a.isEmpty(i) ) continue;
+		for( int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) ) {
 			int alen = a.size(i);
 			int apos = a.pos(i);
 			double[] avals = a.values(i);
@@ -1467,41 +1501,24 @@ public class LibMatrixMult
 	}
 	
 	private static long matrixMultSparseSparseSparseMM(SparseBlock a, SparseBlock b, SparseBlock c, int n, int rl, int ru) {
-		double[] tmp = new double[n];
+		SparseRowAccumulator acc = new SparseRowAccumulator(n);
 		long nnz = 0;
-		for( int i=rl; i<Math.min(ru, a.numRows()); i++ ) {
-			if( a.isEmpty(i) ) continue;
-			final int apos = a.pos(i);
-			final int alen = a.size(i);
-			int[] aix = a.indexes(i);
-			double[] avals = a.values(i);
-			//compute row output in dense buffer
-			boolean hitNonEmpty = false;
-			for(int k = apos; k < apos+alen; k++) {
-				int aixk = aix[k];
-				if( b.isEmpty(aixk) ) continue;
-				vectMultiplyAdd(avals[k], b.values(aixk), tmp,
-					b.indexes(aixk), b.pos(aixk), 0, b.size(aixk));
-				hitNonEmpty = true;
-			}
-			//copy dense buffer into sparse output (CSR or MCSR)
-			if( hitNonEmpty ) {
-				int rnnz = UtilFunctions.computeNnz(tmp, 0, n);
-				nnz += rnnz;
-				c.allocate(i, rnnz);
-				for(int j=0; j<n; j++)
-					if( tmp[j] != 0 ) {
-						c.append(i, j, tmp[j]);
-						tmp[j] = 0;
-					}
+		final int ru2 = Math.min(ru, a.numRows());
+		for( int i=a.nextNonEmptyRow(rl, ru2); i<ru2; i=a.nextNonEmptyRow(i+1, ru2) ) {
+			//compute row output in sparse accumulator
+			int len = acc.accumulate(a, b, i);
+			//copy touched entries into sparse output (CSR or MCSR)
+			if( len > 0 ) {
+				c.allocate(i, len);
+				nnz += acc.extract(c, i);
 			}
 		}
 		return nnz;
 	}
 	
 	private static void matrixMultSparseSparseMMSmallRHS(SparseBlock a, SparseBlock b, DenseBlock c, int rl, int ru) {
-		for( int i=rl; i<Math.min(ru, a.numRows()); i++ ) {
-			if( a.isEmpty(i) ) continue;
+		final int ru2 = Math.min(ru, a.numRows());
+		for( int i=a.nextNonEmptyRow(rl, ru2); i<ru2; i=a.nextNonEmptyRow(i+1, ru2) ) {
 			final int apos = a.pos(i);
 			final int alen = a.size(i);
 			int[] aix = a.indexes(i);
@@ -1574,6 +1591,124 @@ public class LibMatrixMult
 		}
 	}
 	
+	/**
+	 * Symbolic phase of the two-phase sparse-sparse matrix multiplication (Gustavson's
+	 * row-wise SpGEMM), which computes the exact number of structural non-zeros per
+	 * output row without computing any values.
+	 * 
+	 * @param m1 first matrix (sparse)
+	 * @param m2 second matrix (sparse)
+	 * @param k maximum parallelism
+	 * @return row pointers (exclusive prefix sums of row nnz, size m1.rlen+1),
+	 *   or null if the output nnz exceed the capacity of a CSR block
+	 */
+	private static int[] matrixMultSparseSparseSymbolic(MatrixBlock m1, MatrixBlock m2, int k) {
+		final int m = m1.rlen;
+		final int[] rptr = new int[m+1];
+		
+		//compute structural nnz per row into rptr[i+1]
+		ArrayList<SpGEMMSymbolicTask> tasks = new ArrayList<>();
+		ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(m, k, false);
+		for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+			tasks.add(new SpGEMMSymbolicTask(m1.sparseBlock, m2.sparseBlock, m2.clen, rptr, lb, lb+blklens.get(i)));
+		long nnz = executeSpGEMMTasks(tasks, k);
+		if( nnz > Integer.MAX_VALUE )
+			return null;
+		
+		//exclusive prefix sums to obtain row pointers
+		for( int i=0; i<m; i++ )
+			rptr[i+1] += rptr[i];
+		return rptr;
+	}
+	
+	/**
+	 * Numeric phase of the two-phase sparse-sparse matrix multiplication (Gustavson's
+	 * row-wise SpGEMM). Given the row pointers of the symbolic phase, this allocates a
+	 * CSR output of exact size and computes disjoint row partitions (balanced by output
+	 * nnz) in parallel via thread-local sparse accumulators, which write directly into
+	 * the CSR arrays. Entries that cancel out to zero are removed in a final compaction.
+	 * 
+	 * @param m1 first matrix (sparse)
+	 * @param m2 second matrix (sparse)
+	 * @param ret result matrix
+	 * @param rptr row pointers of the symbolic phase
+	 * @param k maximum parallelism
+	 */
+	private static void matrixMultSparseSparseSpGEMM(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, int[] rptr, int k) {
+		final int m = m1.rlen;
+		final int snnz = rptr[m];
+		final int[] cix = new int[snnz];
+		final double[] cvals = new double[snnz];
+		final int[] rnnz = new int[m];
+		
+		//partition rows by output nnz (rather than by rows) for load balance
+		int nk = (int)Math.max(1, Math.min(k, snnz / 1024));
+		ArrayList<SpGEMMNumericTask> tasks = new ArrayList<>();
+		for( int i=0, lb=0; i<nk && lb<m; i++ ) {
+			int ub = (i == nk-1) ? m : Math.max(lb+1,
+				findRowPointer(rptr, (int)((long)snnz*(i+1)/nk), lb, m));
+			tasks.add(new SpGEMMNumericTask(m1.sparseBlock, m2.sparseBlock, m2.clen, rptr, cix, cvals, rnnz, lb, ub));
+			lb = ub;
+		}
+		long nnz = executeSpGEMMTasks(tasks, k);
+		
+		//compaction of cancelled entries (rare, typically skipped)
+		if( nnz < snnz ) {
+			for( int i=0, pos=0; i<m; i++ ) {
+				int apos = rptr[i];
+				if( apos != pos && rnnz[i] > 0 ) {
+					System.arraycopy(cix, apos, cix, pos, rnnz[i]);
+					System.arraycopy(cvals, apos, cvals, pos, rnnz[i]);
+				}
+				rptr[i] = pos;
+				pos += rnnz[i];
+			}
+			rptr[m] = (int)nnz;
+		}
+		
+		//output sparse block and meta data
+		ret.cleanupBlock(true, true);
+		ret.sparse = true;
+		ret.sparseBlock = new SparseBlockCSR(rptr, cix, cvals, (int)nnz);
+		ret.nonZeros = nnz;
+	}
+	
+	private static int findRowPointer(int[] rptr, int pos, int rl, int ru) {
+		//binary search for the first row i in [rl,ru) with rptr[i] >= pos
+		int lo = rl, hi = ru;
+		while( lo < hi ) {
+			int mid = (lo + hi) >>> 1;
+			if( rptr[mid] < pos )
+				lo = mid + 1;
+			else
+				hi = mid;
+		}
+		return lo;
+	}
+	
+	private static long executeSpGEMMTasks(List<? extends Callable<Long>> tasks, int k) {
+		long nnz = 0;
+		try {
+			if( k <= 1 || tasks.size() == 1 ) {
+				for( Callable<Long> task : tasks )
+					nnz += task.call();
+				return nnz;
+			}
+			ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				for( Future<Long> task : pool.invokeAll(tasks) )
+					nnz += task.get();
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		return nnz;
+	}
+	
 	/**
 	 * This implementation applies to any combination of dense/sparse if at least one
 	 * input is ultrasparse (sparse and very few nnz). In that case, most importantly,
@@ -1610,8 +1745,7 @@ public class LibMatrixMult
 		double[] tmp = null;
 		
 		//IKJ with dense working row for lhs nnz/row > threshold
-		for( int i=rl; i<ru; i++ ) {
-			if( a.isEmpty(i) ) continue;
+		for( int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) ) {
 			int alen = a.size(i);
 			int apos = a.pos(i);
 			int[] aix = a.indexes(i);
@@ -1665,8 +1799,7 @@ public class LibMatrixMult
 		SparseBlock c = ret.sparseBlock;
 		boolean rightSparse = m2.sparse;
 		
-		for( int i=rl; i<ru; i++ ) {
-			if( a.isEmpty(i) ) continue; 
+		for( int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) ) {
 			int apos = a.pos(i);
 			int alen = a.size(i);
 			int[] aixs = a.indexes(i);
@@ -1725,8 +1858,7 @@ public class LibMatrixMult
 		
 		//right is ultra-sparse (KJI)
 		SparseBlock b = m2.sparseBlock;
-		for(int k = 0; k < cd; k++ ) {
-			if( b.isEmpty(k) ) continue; 
+		for(int k = b.nextNonEmptyRow(0, cd); k < cd; k = b.nextNonEmptyRow(k+1, cd) ) {
 			int bpos = b.pos(k);
 			int blen = b.size(k);
 			int[] bixs = b.indexes(k);
@@ -3899,7 +4031,7 @@ public class LibMatrixMult
 	}
 	
 	public static boolean satisfiesMultiThreadingConstraints(MatrixBlock m1, boolean checkMem, boolean checkFLOPs, long FPfactor, int k) {
-		boolean sharedTP = (InfrastructureAnalyzer.getLocalParallelism() == k);
+		boolean sharedTP = CommonThreadPool.isPersistent(k);
 		double jvmMem = InfrastructureAnalyzer.getLocalMaxMemory();
 		return k > 1 && LOW_LEVEL_OPTIMIZATION
 			&& (!checkMem || 8L * m1.clen * k < Math.max(MEM_OVERHEAD_THRESHOLD,0.01*jvmMem))
@@ -3908,7 +4040,7 @@ public class LibMatrixMult
 	}
 	
 	public static boolean satisfiesMultiThreadingConstraints(MatrixBlock m1, MatrixBlock m2, boolean checkMem, boolean checkFLOPs, long FPfactor, int k) {
-		boolean sharedTP = (InfrastructureAnalyzer.getLocalParallelism() == k);
+		boolean sharedTP = CommonThreadPool.isPersistent(k);
 		double jvmMem = InfrastructureAnalyzer.getLocalMaxMemory();
 		return k > 1 && LOW_LEVEL_OPTIMIZATION
 			&& (!checkMem || 8L * m2.clen * k < Math.max(MEM_OVERHEAD_THRESHOLD,0.01*jvmMem))
@@ -3919,7 +4051,7 @@ public class LibMatrixMult
 	}
 	
 	private static boolean satisfiesMultiThreadingConstraintsTSMM(MatrixBlock m1, boolean leftTranspose, long FPfactor, int k) {
-		boolean sharedTP = (InfrastructureAnalyzer.getLocalParallelism() == k);
+		boolean sharedTP = CommonThreadPool.isPersistent(k);
 		double threshold = sharedTP ? PAR_MINFLOP_THRESHOLD2 : PAR_MINFLOP_THRESHOLD1;
 		return k > 1 && LOW_LEVEL_OPTIMIZATION && (leftTranspose?m1.clen:m1.rlen)!=1
 			&& ((leftTranspose && FPfactor * m1.rlen * m1.clen * m1.clen > threshold)
@@ -3945,14 +4077,15 @@ public class LibMatrixMult
 	}
 	
 	public static boolean isSparseOutputMatrixMult(MatrixBlock m1, MatrixBlock m2) {
-		//output is a matrix (not vector), very likely sparse, and output rows fit into L1 cache
+		//output is a matrix (not vector) and very likely sparse (the per-thread sparse
+		//accumulators of size ncol(m2) are always smaller than a dense output of 
+		//nrow(m1) x ncol(m2), and exact output nnz are checked in the symbolic phase)
 		if( !(m1.sparse && m2.sparse && m1.rlen > 1 && m2.clen > 1) )
 			return false;
 		double estSp = OptimizerUtils.getMatMultSparsity(
 			m1.getSparsity(), m2.getSparsity(), m1.rlen, m1.clen, m2.clen, false);
 		long estNnz = (long)(estSp * m1.rlen * m2.clen);
-		boolean sparseOut = MatrixBlock.evalSparseFormatInMemory(m1.rlen, m2.clen, estNnz);
-		return m2.clen < 4*1024 && sparseOut;
+		return MatrixBlock.evalSparseFormatInMemory(m1.rlen, m2.clen, estNnz);
 	}
 	
 	public static boolean isOuterProductTSMM(int rlen, int clen, boolean left) {
@@ -4124,6 +4257,189 @@ public class LibMatrixMult
 		}
 	}
 
+	/**
+	 * Sparse accumulator (SPA) for computing individual output rows of a sparse-sparse
+	 * matrix multiplication. It consists of dense values, markers of the last row that
+	 * touched a column, and the list of touched columns, which allows reusing the
+	 * accumulator across rows without resetting its dense arrays.
+	 */
+	private static class SparseRowAccumulator
+	{
+		private final double[] _vals;
+		private final int[] _mark;
+		private final int[] _ix;
+		private int _row = -1;
+		private int _len = 0;
+		
+		protected SparseRowAccumulator(int n) {
+			_vals = new double[n];
+			_mark = new int[n];
+			_ix = new int[n];
+			Arrays.fill(_mark, -1);
+		}
+		
+		protected int accumulate(SparseBlock a, SparseBlock b, int i) {
+			_row = i;
+			_len = 0;
+			final int apos = a.pos(i);
+			final int alen = a.size(i);
+			int[] aix = a.indexes(i);
+			double[] avals = a.values(i);
+			for( int k = apos; k < apos+alen; k++ ) {
+				int aixk = aix[k];
+				if( b.isEmpty(aixk) ) continue;
+				double aval = avals[k];
+				int bpos = b.pos(aixk);
+				int blen = b.size(aixk);
+				int[] bix = b.indexes(aixk);
+				double[] bvals = b.values(aixk);
+				for( int j = bpos; j < bpos+blen; j++ ) {
+					int bixj = bix[j];
+					if( _mark[bixj] != i ) {
+						_mark[bixj] = i;
+						_ix[_len++] = bixj;
+						_vals[bixj] = aval * bvals[j];
+					}
+					else
+						_vals[bixj] += aval * bvals[j];
+				}
+			}
+			return _len;
+		}
+		
+		protected int extract(int[] cix, double[] cvals, int pos) {
+			sortIndexes();
+			int cnt = 0;
+			for( int t = 0; t < _len; t++ ) {
+				int j = _ix[t];
+				if( _vals[j] != 0 ) {
+					cix[pos+cnt] = j;
+					cvals[pos+cnt] = _vals[j];
+					cnt++;
+				}
+			}
+			return cnt;
+		}
+		
+		protected int extract(SparseBlock c, int i) {
+			sortIndexes();
+			int cnt = 0;
+			for( int t = 0; t < _len; t++ ) {
+				int j = _ix[t];
+				if( _vals[j] != 0 ) {
+					c.append(i, j, _vals[j]);
+					cnt++;
+				}
+			}
+			return cnt;
+		}
+		
+		private void sortIndexes() {
+			//scan markers for dense rows, otherwise sort touched columns
+			if( _len > _mark.length / 16 ) {
+				_len = 0;
+				for( int j = 0; j < _mark.length; j++ )
+					if( _mark[j] == _row )
+						_ix[_len++] = j;
+			}
+			else if( _len > 1 )
+				Arrays.sort(_ix, 0, _len);
+		}
+	}
+	
+	private static class SpGEMMSymbolicTask implements Callable<Long>
+	{
+		private final SparseBlock _a;
+		private final SparseBlock _b;
+		private final int _n;
+		private final int[] _rnnz;
+		private final int _rl;
+		private final int _ru;
+		
+		protected SpGEMMSymbolicTask(SparseBlock a, SparseBlock b, int n, int[] rnnz, int rl, int ru) {
+			_a = a;
+			_b = b;
+			_n = n;
+			_rnnz = rnnz;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() {
+			int[] mark = null;
+			long nnz = 0;
+			for( int i=_a.nextNonEmptyRow(_rl, _ru); i<_ru; i=_a.nextNonEmptyRow(i+1, _ru) ) {
+				final int apos = _a.pos(i);
+				final int alen = _a.size(i);
+				int[] aix = _a.indexes(i);
+				int cnt = 0;
+				if( alen == 1 ) //single rhs row, no overlap
+					cnt = _b.size(aix[apos]);
+				else {
+					if( mark == null ) {
+						mark = new int[_n];
+						Arrays.fill(mark, -1);
+					}
+					for( int k = apos; k < apos+alen; k++ ) {
+						if( _b.isEmpty(aix[k]) ) continue;
+						int bpos = _b.pos(aix[k]);
+						int blen = _b.size(aix[k]);
+						int[] bix = _b.indexes(aix[k]);
+						for( int j = bpos; j < bpos+blen; j++ )
+							if( mark[bix[j]] != i ) {
+								mark[bix[j]] = i;
+								cnt++;
+							}
+					}
+				}
+				_rnnz[i+1] = cnt;
+				nnz += cnt;
+			}
+			return nnz;
+		}
+	}
+	
+	private static class SpGEMMNumericTask implements Callable<Long>
+	{
+		private final SparseBlock _a;
+		private final SparseBlock _b;
+		private final int _n;
+		private final int[] _rptr;
+		private final int[] _cix;
+		private final double[] _cvals;
+		private final int[] _rnnz;
+		private final int _rl;
+		private final int _ru;
+		
+		protected SpGEMMNumericTask(SparseBlock a, SparseBlock b, int n, int[] rptr,
+			int[] cix, double[] cvals, int[] rnnz, int rl, int ru)
+		{
+			_a = a;
+			_b = b;
+			_n = n;
+			_rptr = rptr;
+			_cix = cix;
+			_cvals = cvals;
+			_rnnz = rnnz;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() {
+			SparseRowAccumulator acc = new SparseRowAccumulator(_n);
+			long nnz = 0;
+			for( int i=_rl; i<_ru; i++ ) {
+				if( _rptr[i] == _rptr[i+1] ) continue;
+				acc.accumulate(_a, _b, i);
+				_rnnz[i] = acc.extract(_cix, _cvals, _rptr[i]);
+				nnz += _rnnz[i];
+			}
+			return nnz;
+		}
+	}
+	
 	private static class MatrixMultChainTask implements Callable<double[]> 
 	{
 		private MatrixBlock _m1  = null;
@@ -492,6 +492,23 @@ public class LibMatrixReorg {
 	 * @return output matrix
 	 */
 	public static MatrixBlock reshape( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise ) {
+		return reshape(in, out, rows, cols, rowwise, 1);
+	}
+	
+	/**
+	 * CP reshape operation (single input, single output matrix), which
+	 * copies disjoint output (or input) row partitions in parallel for
+	 * the general cases and preserves the sparse/dense output format.
+	 * 
+	 * @param in input matrix
+	 * @param out output matrix
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param rowwise if true, reshape by row
+	 * @param k degree of parallelism
+	 * @return output matrix
+	 */
+	public static MatrixBlock reshape( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise, int k ) {
 		int rlen = in.rlen;
 		int clen = in.clen;
 		
@@ -517,20 +534,60 @@ public class LibMatrixReorg {
 		out.clen = cols;
 		out.nonZeros = in.nonZeros;
 		
+		//determine degree of parallelism
+		k = (k > 1 && in.nonZeros >= PAR_NUMCELL_THRESHOLD
+			&& MatrixBlock.isThreadSafe(out.sparse)) ? k : 1;
+		
 		//core reshape (sparse or dense)
 		if(!in.sparse && !out.sparse)
-			reshapeDense(in, out, rows, cols, rowwise);
+			reshapeDense(in, out, rows, cols, rowwise, k);
 		else if(in.sparse && out.sparse)
-			reshapeSparse(in, out, rows, cols, rowwise);
+			reshapeSparse(in, out, rows, cols, rowwise, k);
 		else if(in.sparse)
-			reshapeSparseToDense(in, out, rows, cols, rowwise);
+			reshapeSparseToDense(in, out, rows, cols, rowwise, k);
 		else
-			reshapeDenseToSparse(in, out, rows, cols, rowwise);
+			reshapeDenseToSparse(in, out, rows, cols, rowwise, k);
 		
 		return out;
 	}
 
 
+	/**
+	 * CP n-ary append (cbind/rbind) of the given inputs into the already reset
+	 * output (w/ final dimensions), which copies disjoint output row partitions
+	 * in parallel and preserves the sparse/dense output format.
+	 * 
+	 * @param in input matrices, in order
+	 * @param ret output matrix
+	 * @param cbind column-wise append if true, otherwise row-wise append
+	 * @param k degree of parallelism
+	 * @return output matrix
+	 */
+	public static MatrixBlock append(MatrixBlock[] in, MatrixBlock ret, boolean cbind, int k) {
+		final int m = ret.rlen;
+		//prefix sums of column (cbind) or row (rbind) offsets
+		final int[] off = new int[in.length+1];
+		for( int i=0; i<in.length; i++ )
+			off[i+1] = off[i] + (cbind ? in[i].clen : in[i].rlen);
+		
+		ret.allocateBlock();
+		executeRowRanges(m, getBlockLength(m, k), k, (rl, ru) -> {
+			if( cbind ) {
+				for( int i=rl; i<ru; i++ )
+					for( int b=0; b<in.length; b++ )
+						appendRow(in[b], i, ret, i, off[b]);
+			}
+			else { //rbind
+				for( int i=rl, b=0; i<ru; i++ ) {
+					while( i >= off[b+1] ) b++;
+					appendRow(in[b], i-off[b], ret, i, 0);
+				}
+			}
+			return 0;
+		});
+		return ret;
+	}
+
 	/**
 	 * MR/SPARK reshape interface - for reshape we cannot view blocks independently, and hence,
 	 * there are different CP and MR interfaces.
@@ -578,6 +635,23 @@ public class LibMatrixReorg {
 	 * @return matrix block
 	 */
 	public static MatrixBlock rmempty(MatrixBlock in, MatrixBlock ret, boolean rows, boolean emptyReturn, MatrixBlock select) {
+		return rmempty(in, ret, rows, emptyReturn, select, 1);
+	}
+	
+	/**
+	 * CP rmempty operation (single input, single output matrix), which
+	 * computes the non-empty indicators and copies the remaining rows or
+	 * columns over disjoint row partitions in parallel.
+	 * 
+	 * @param in input matrix
+	 * @param ret output matrix
+	 * @param rows remove empty rows if true, otherwise columns
+	 * @param emptyReturn return row/column of zeros for empty input
+	 * @param select optional selection vector
+	 * @param k degree of parallelism
+	 * @return matrix block
+	 */
+	public static MatrixBlock rmempty(MatrixBlock in, MatrixBlock ret, boolean rows, boolean emptyReturn, MatrixBlock select, int k) {
 		//check for empty inputs 
 		//(the semantics of removeEmpty are that for an empty m-by-n matrix, the output 
 		//is an empty 1-by-n or m-by-1 matrix because we don't allow matrices with dims 0)
@@ -590,10 +664,14 @@ public class LibMatrixReorg {
 			return ret;
 		}
 		
+		//determine degree of parallelism (all cells scanned)
+		k = (k > 1 && (long)in.rlen*in.clen >= PAR_NUMCELL_THRESHOLD) ?
+			Math.min(k, in.rlen) : 1;
+		
 		if( rows )
-			return removeEmptyRows(in, ret, select, emptyReturn);
+			return removeEmptyRows(in, ret, select, emptyReturn, k);
 		else //cols
-			return removeEmptyColumns(in, ret, select, emptyReturn);
+			return removeEmptyColumns(in, ret, select, emptyReturn, k);
 	}
 
 	/**
@@ -902,8 +980,7 @@ public class LibMatrixReorg {
 			if( cnt[cl] > 0 )
 				c.allocate(cl, cnt[cl]);
 			
-			for( int i=0; i<ru; i++ ) {
-				if( a.isEmpty(i) ) continue;
+			for( int i=a.nextNonEmptyRow(0, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) ) {
 				int apos = a.pos(i);
 				int alen = a.size(i);
 				int[] aix = a.indexes(i);
@@ -946,8 +1023,7 @@ public class LibMatrixReorg {
 				for( int bj=cl; bj<cu; bj+=blocksizeJ ) {
 					int bjmin = Math.min(bj+blocksizeJ, cu);
 					//core block transpose operation
-					for( int i=bi; i<bimin; i++ ) {
-						if( a.isEmpty(i) ) continue;
+					for( int i=a.nextNonEmptyRow(bi, bimin); i<bimin; i=a.nextNonEmptyRow(i+1, bimin) ) {
 						int apos = a.pos(i);
 						int alen = a.size(i);
 						int[] aix = a.indexes(i);
@@ -1806,7 +1882,7 @@ public class LibMatrixReorg {
 		out.setNonZeros(nnz);
 	}
 
-	private static void reshapeDense( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise ) {
+	private static void reshapeDense( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise, int k ) {
 		int rlen = in.rlen;
 		int clen = in.clen;
 		
@@ -1855,16 +1931,19 @@ public class LibMatrixReorg {
 			}
 			else //GENERAL CASE: MATRIX->MATRIX
 			{
-				//note: cache-friendly on c but not an a
-				for( int i=0; i<rows; i++ ) {
-					double[] cvals = c.values(i);
-					int cix = c.pos(i);
-					for( int j=0, aix2=i; j<cols; j++, aix2+=rows ) {
-						int ai = aix2%rlen;
-						int aj = aix2/rlen;
-						cvals[cix+j] = a.get(ai,aj);
+				//note: cache-friendly on c but not an a (parallel over output rows)
+				executeRowRanges(rows, getBlockLength(rows, k), k, (rl, ru) -> {
+					for( int i=rl; i<ru; i++ ) {
+						double[] cvals = c.values(i);
+						int cix = c.pos(i);
+						for( int j=0, aix2=i; j<cols; j++, aix2+=rows ) {
+							int ai = aix2%rlen;
+							int aj = aix2/rlen;
+							cvals[cix+j] = a.get(ai,aj);
+						}
 					}
-				}
+					return 0;
+				});
 				//index conversion c[i,j]<- a[k,l]:
 				// k = (rows*j+i)%rlen
 				// l = (rows*j+i)/rlen
@@ -1872,7 +1951,7 @@ public class LibMatrixReorg {
 		}
 	}
 
-	private static void reshapeSparse( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise )
+	private static void reshapeSparse( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise, int k )
 	{
 		int rlen = in.rlen;
 		int clen = in.clen;
@@ -1933,43 +2012,31 @@ public class LibMatrixReorg {
 			}
 			else if( cols%clen==0 ) { //SPECIAL N:1 MATRIX->MATRIX
 				int n = cols/clen;
-				for(int bi=0, ci=0; bi<rlen; bi+=n, ci++) {
-					//allocate output row once (w/o re-allocations)
-					long lnnz = a.size(bi, bi+n);
-					c.allocate(ci, (int)lnnz);
-					//copy N input rows into output row
-					for( int i=bi, cix=0; i<bi+n; i++, cix+=clen ) {
-						if(a.isEmpty(i)) continue;
-						int apos = a.pos(i);
-						int alen = a.size(i);
-						int[] aix = a.indexes(i);
-						double[] avals = a.values(i);
-						for( int j=apos; j<apos+alen; j++ )
-							c.append(ci, cix+aix[j], avals[j]);
+				executeRowRanges(rows, getBlockLength(rows, k), k, (rl, ru) -> {
+					for(int ci=rl, bi=rl*n; ci<ru; bi+=n, ci++) {
+						//allocate output row once (w/o re-allocations)
+						long lnnz = a.size(bi, bi+n);
+						c.allocate(ci, (int)lnnz);
+						//copy N input rows into output row
+						for( int i=bi, cix=0; i<bi+n; i++, cix+=clen ) {
+							if(a.isEmpty(i)) continue;
+							int apos = a.pos(i);
+							int alen = a.size(i);
+							int[] aix = a.indexes(i);
+							double[] avals = a.values(i);
+							for( int j=apos; j<apos+alen; j++ )
+								c.append(ci, cix+aix[j], avals[j]);
+						}
 					}
-				}
+					return 0;
+				});
 			}
 			else //GENERAL CASE: MATRIX->MATRIX
 			{
 				//note: cache-friendly on a but not c; append-only
-				//long cix because total cells in sparse can be larger than int
-				long cix = 0;
-				for( int i=0; i<rlen; i++ ) {
-					if( !a.isEmpty(i) ){
-						int apos = a.pos(i);
-						int alen = a.size(i);
-						int[] aix = a.indexes(i);
-						double[] avals = a.values(i);
-						for( int j=apos; j<apos+alen; j++ ) {
-							int ci = (int)((cix+aix[j])/cols);
-							int cj = (int)((cix+aix[j])%cols);
-							c.allocate(ci, estnnz, cols);
-							c.append(ci, cj, avals[j]);
-						}
-					}
-					
-					cix += clen;
-				}
+				//(parallel over output rows w/ overlapping input rows)
+				executeRowRanges(rows, getBlockLength(rows, k), k, (rl, ru) ->
+					reshapeSparseRowwise(a, c, rlen, clen, cols, estnnz, rl, ru));
 			}
 		}	
 		else //colwise
@@ -2016,7 +2083,54 @@ public class LibMatrixReorg {
 		}
 	}
 
-	private static void reshapeDenseToSparse( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise )
+	private static long reshapeSparseRowwise(SparseBlock a, SparseBlock c, int rlen, int clen, int cols, int estnnz, int rl, int ru) {
+		//range of output cells and overlapping input rows
+		//(long indexes because total cells in sparse can be larger than int)
+		final long cl = (long)rl*cols, cu = (long)ru*cols;
+		final int ail = (int)(cl/clen), aiu = (int)Math.min(rlen, (cu+clen-1)/clen);
+		for( int i=ail; i<aiu; i++ ) {
+			if( a.isEmpty(i) ) continue;
+			long cix = (long)i*clen;
+			int apos = a.pos(i);
+			int alen = a.size(i);
+			int[] aix = a.indexes(i);
+			double[] avals = a.values(i);
+			for( int j=apos; j<apos+alen; j++ ) {
+				long lcix = cix+aix[j];
+				if( lcix < cl || lcix >= cu ) continue;
+				int ci = (int)(lcix/cols);
+				int cj = (int)(lcix%cols);
+				c.allocate(ci, estnnz, cols);
+				c.append(ci, cj, avals[j]);
+			}
+		}
+		return 0;
+	}
+
+	private static long reshapeDenseToSparseRowwise(DenseBlock a, SparseBlock c, int rlen, int clen, int cols, int estnnz, int rl, int ru) {
+		//range of output cells and overlapping input rows
+		final long cl = (long)rl*cols, cu = (long)ru*cols;
+		final int ail = (int)(cl/clen), aiu = (int)Math.min(rlen, (cu+clen-1)/clen);
+		for( int i=ail; i<aiu; i++ ) {
+			double[] avals = a.values(i);
+			int aix = a.pos(i);
+			int jl = (int)Math.max(cl-(long)i*clen, 0);
+			int ju = (int)Math.min(cu-(long)i*clen, clen);
+			for( int j=jl; j<ju; j++ ) {
+				double val = avals[aix+j];
+				if( val != 0 ) {
+					long cix = (long) i*clen+j;
+					int ci = (int)(cix / cols);
+					int cj = (int)(cix % cols);
+					c.allocate(ci, estnnz, cols);
+					c.append(ci, cj, val);
+				}
+			}
+		}
+		return 0;
+	}
+
+	private static void reshapeDenseToSparse( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise, int k )
 	{
 		int rlen = in.rlen;
 		int clen = in.clen;
@@ -2039,20 +2153,9 @@ public class LibMatrixReorg {
 			
 			//GENERAL CASE: MATRIX->MATRIX
 			//note: cache-friendly on a and c; append-only
-			for( int i=0; i<rlen; i++ ) {
-				double[] avals = a.values(i);
-				int aix = a.pos(i);
-				for( int j=0; j<clen; j++ ) {
-					double val = avals[aix+j];
-					if( val != 0 ) {
-						long cix = (long) i*clen+j;
-						int ci = (int)(cix / cols);
-						int cj = (int)(cix % cols);
-						c.allocate(ci, estnnz, cols);
-						c.append(ci, cj, val);
-					}
-				}
-			}
+			//(parallel over output rows w/ overlapping input rows)
+			executeRowRanges(rows, getBlockLength(rows, k), k, (rl, ru) ->
+				reshapeDenseToSparseRowwise(a, c, rlen, clen, cols, estnnz, rl, ru));
 		}
 		else //colwise
 		{
@@ -2089,7 +2192,7 @@ public class LibMatrixReorg {
 		}
 	}
 
-	private static void reshapeSparseToDense( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise ) {
+	private static void reshapeSparseToDense( MatrixBlock in, MatrixBlock out, int rows, int cols, boolean rowwise, int k ) {
 		int rlen = in.rlen;
 		int clen = in.clen;
 		
@@ -2110,20 +2213,23 @@ public class LibMatrixReorg {
 			// * vector-matrix, matrix-vector not really different from general
 			
 			//GENERAL CASE: MATRIX->MATRIX
-			//note: cache-friendly on a and c
-			for( int i=0, cix=0; i<rlen; i++, cix+=clen ) {
-				if( !a.isEmpty(i) ) {
-					int apos = a.pos(i);
-					int alen = a.size(i);
-					int[] aix = a.indexes(i);
-					double[] avals = a.values(i);
-					for( int j=apos; j<apos+alen; j++ ) {
-						int ci = (cix+aix[j]) / cols;
-						int cj = (cix+aix[j]) % cols;
-						c.set(ci, cj, avals[j]);
+			//note: cache-friendly on a and c (parallel over input rows)
+			executeRowRanges(rlen, getBlockLength(rlen, k), k, (rl, ru) -> {
+				for( int i=rl, cix=rl*clen; i<ru; i++, cix+=clen ) {
+					if( !a.isEmpty(i) ) {
+						int apos = a.pos(i);
+						int alen = a.size(i);
+						int[] aix = a.indexes(i);
+						double[] avals = a.values(i);
+						for( int j=apos; j<apos+alen; j++ ) {
+							int ci = (cix+aix[j]) / cols;
+							int cj = (cix+aix[j]) % cols;
+							c.set(ci, cj, avals[j]);
+						}
 					}
 				}
-			}
+				return 0;
+			});
 		}
 		else //colwise
 		{
@@ -2404,10 +2510,10 @@ public class LibMatrixReorg {
 		return rowwise ? ai*mcIn.getCols()+aj : ai+mcIn.getRows()*aj;
 	}
 
-	private static MatrixBlock removeEmptyRows(MatrixBlock in, MatrixBlock ret, MatrixBlock select, boolean emptyReturn) {
+	private static MatrixBlock removeEmptyRows(MatrixBlock in, MatrixBlock ret, MatrixBlock select, boolean emptyReturn, int k) {
 		final int m = in.rlen;
 		final int n = in.clen;
-		boolean[] flags = null;
+		final boolean[] flags;
 		int rlen2 = 0; 
 		
 		//Step 0: special case handling
@@ -2440,32 +2546,25 @@ public class LibMatrixReorg {
 		}
 		
 		//Step 1: scan block and determine non-empty rows
-		if(select == null) 
-		{
+		//(number of non-empty rows per row partition for parallel copy)
+		final int blklen = getBlockLength(m, k);
+		long[] cnt = null;
+		if(select == null) {
 			flags = new boolean[ m ]; //false
-			if( in.sparse ) { //SPARSE 
-				SparseBlock a = in.sparseBlock;
-				for ( int i=0; i < m; i++ )
-					rlen2 += (flags[i] = !a.isEmpty(i)) ? 1 : 0;
-			}
-			else { //DENSE
-				DenseBlock a = in.getDenseBlock();
-				for( int i=0; i<m; i++ ) {
-					double[] avals = a.values(i);
-					int aix = a.pos(i);
-					for(int j=0; j<n; j++)
-						if( avals[aix+j] != 0 ) {
-							flags[i] = true;
-							rlen2++;
-							//early abort for current row
-							break; 
-						}
-				}
-			}
+			cnt = executeRowRanges(m, blklen, k,
+				(rl, ru) -> computeNonEmptyRows(in, flags, rl, ru));
+			rlen2 = (int) Arrays.stream(cnt).sum();
 		} 
 		else {
 			flags = DataConverter.convertToBooleanVector(select);
 			rlen2 = (int)select.getNonZeros();
+			if( k > 1 )
+				cnt = executeRowRanges(m, blklen, k, (rl, ru) -> {
+					long lcnt = 0;
+					for( int i=rl; i<ru; i++ )
+						lcnt += flags[i] ? 1 : 0;
+					return lcnt;
+				});
 		}
 
 		//Step 2: reset result and copy rows
@@ -2484,21 +2583,83 @@ public class LibMatrixReorg {
 			else
 				ret.denseBlock = in.denseBlock;
 		}
-		else if( in.sparse ) //* <- SPARSE
+		else {
+			//exclusive prefix sum of partition counts (output row offsets)
+			final int[] roff = new int[(cnt != null) ? cnt.length : 1];
+			for( int i=1; i<roff.length; i++ )
+				roff[i] = roff[i-1] + (int)cnt[i-1];
+			ret.allocateBlock();
+			executeRowRanges(m, blklen, ret.isThreadSafe() ? k : 1,
+				(rl, ru) -> copyNonEmptyRows(in, ret, flags, rl, ru, roff[rl/blklen]));
+		}
+		
+		//check sparsity
+		ret.nonZeros = (select==null) ?
+			in.nonZeros : ret.recomputeNonZeros();
+		ret.examSparsity();
+		
+		return ret;
+	}
+
+	private static long computeNonEmptyRows(MatrixBlock in, boolean[] flags, int rl, int ru) {
+		final int n = in.clen;
+		long cnt = 0;
+		if( in.isEmptyBlock(false) )
+			return cnt;
+		if( in.sparse ) { //SPARSE
+			SparseBlock a = in.sparseBlock;
+			for( int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) ) {
+				flags[i] = true;
+				cnt++;
+			}
+		}
+		else { //DENSE
+			DenseBlock a = in.getDenseBlock();
+			for( int i=rl; i<ru; i++ ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				for(int j=0; j<n; j++)
+					if( avals[aix+j] != 0 ) {
+						flags[i] = true;
+						cnt++;
+						//early abort for current row
+						break;
+					}
+			}
+		}
+		return cnt;
+	}
+
+	private static long copyNonEmptyRows(MatrixBlock in, MatrixBlock ret, boolean[] flags, int rl, int ru, int ci) {
+		final int n = in.clen;
+		if( in.sparse ) //* <- SPARSE
 		{
 			//note: output dense or sparse
-			for( int i=0, cix=0; i<m; i++ )
+			SparseBlock a = in.sparseBlock;
+			for( int i=rl; i<ru; i++ )
 				if( flags[i] ) {
-					ret.appendRow(cix++, in.sparseBlock.get(i),
-						!SHALLOW_COPY_REORG);
+					if( !a.isEmpty(i) ) {
+						if( ret.sparse )
+							ret.sparseBlock.set(ci, a.get(i), !SHALLOW_COPY_REORG);
+						else {
+							int apos = a.pos(i);
+							int alen = a.size(i);
+							int[] aix = a.indexes(i);
+							double[] avals = a.values(i);
+							double[] cvals = ret.denseBlock.values(ci);
+							int cix = ret.denseBlock.pos(ci);
+							for( int j=apos; j<apos+alen; j++ )
+								cvals[cix+aix[j]] = avals[j];
+						}
+					}
+					ci++; //target row index
 				}
 		}
-		else if( !in.sparse && !ret.sparse )  //DENSE <- DENSE
+		else if( !ret.sparse ) //DENSE <- DENSE
 		{
-			ret.allocateDenseBlock();
 			DenseBlock a = in.getDenseBlock();
 			DenseBlock c = ret.getDenseBlock();
-			for( int i=0, ci=0; i<m; i++ )
+			for( int i=rl; i<ru; i++ )
 				if( flags[i] ) {
 					System.arraycopy(a.values(i),
 						a.pos(i), c.values(ci), c.pos(ci), n);
@@ -2507,55 +2668,55 @@ public class LibMatrixReorg {
 		}
 		else //SPARSE <- DENSE
 		{
-			ret.allocateSparseRowsBlock();
 			DenseBlock a = in.getDenseBlock();
-			for( int i=0, ci=0; i<m; i++ )
+			SparseBlock c = ret.sparseBlock;
+			for( int i=rl; i<ru; i++ )
 				if( flags[i] ) {
 					double[] avals = a.values(i);
 					int aix = a.pos(i);
 					for( int j=0; j<n; j++ )
-						ret.appendValue(ci, j, avals[aix+j]);
+						if( avals[aix+j] != 0 )
+							c.append(ci, j, avals[aix+j]);
 					ci++;
 				}
 		}
-		
-		//check sparsity
-		ret.nonZeros = (select==null) ?
-			in.nonZeros : ret.recomputeNonZeros();
-		ret.examSparsity();
-		
-		return ret;
+		return 0;
 	}
 
-	private static MatrixBlock removeEmptyColumns(MatrixBlock in, MatrixBlock ret, MatrixBlock select, boolean emptyReturn) {
+	private static MatrixBlock removeEmptyColumns(MatrixBlock in, MatrixBlock ret, MatrixBlock select, boolean emptyReturn, int k) {
 		final int m = in.rlen;
 		final int n = in.clen;
+		final int blklen = getBlockLength(m, k);
 		
 		//Step 1: scan block and determine non-empty columns 
-		//(we optimized for cache-friendly behavior and hence don't do early abort)
+		//(we optimized for cache-friendly behavior and hence don't do early abort,
+		//for multi-threaded scans, thread-local flags are merged via logical or)
 		boolean[] flags = null; 
 		
 		if (select == null) 
 		{
-			flags = new boolean[ n ]; //false
-			if( in.sparse ) { //SPARSE 
-				SparseBlock a = in.sparseBlock;
-				for( int i=0; i<m; i++ ) 
-					if ( !a.isEmpty(i) ) {
-						int apos = a.pos(i);
-						int alen = a.size(i);
-						int[] aix = a.indexes(i);
-						for( int j=apos; j<apos+alen; j++ )
-							flags[ aix[j] ] = true;
+			if( k <= 1 )
+				flags = computeNonEmptyColumns(in, 0, m);
+			else {
+				flags = new boolean[ n ]; //false
+				ExecutorService pool = CommonThreadPool.get(k);
+				try {
+					ArrayList<Callable<boolean[]>> tasks = new ArrayList<>();
+					for( int i=0; i*blklen<m; i++ ) {
+						final int rl = i*blklen, ru = Math.min((i+1)*blklen, m);
+						tasks.add(() -> computeNonEmptyColumns(in, rl, ru));
+					}
+					for( Future<boolean[]> f : pool.invokeAll(tasks) ) {
+						boolean[] lflags = f.get();
+						for( int j=0; j<n; j++ )
+							flags[j] |= lflags[j];
 					}
-			}
-			else { //DENSE
-				DenseBlock a = in.getDenseBlock();
-				for( int i=0; i<m; i++ ) {
-					double[] avals = a.values(i);
-					int aix = a.pos(i);
-					for( int j=0; j<n; j++ )
-						flags[j] |= (avals[aix+j] != 0);
+				}
+				catch(Exception ex) {
+					throw new DMLRuntimeException(ex);
+				}
+				finally {
+					pool.shutdown();
 				}
 			}
 		} 
@@ -2589,55 +2750,17 @@ public class LibMatrixReorg {
 		else
 		{
 			//create mapping of flags to target indexes
-			int[] cix = new int[n];
+			final boolean[] lflags = flags;
+			final int[] cix = new int[n];
 			for( int j=0, pos=0; j<n; j++ ) {
 				if( flags[j] )
 					cix[j] = pos++;
 			}
 			
-			//deep copy of modified outputs
-			if( in.sparse ) //* <- SPARSE
-			{
-				//note: output dense or sparse
-				SparseBlock a = in.sparseBlock;
-				for( int i=0; i<m; i++ )
-					if ( !a.isEmpty(i) ) {
-						int apos = a.pos(i);
-						int alen = a.size(i);
-						int[] aix = a.indexes(i);
-						double[] avals = a.values(i);
-						for( int j=apos; j<apos+alen; j++ )
-							if( flags[aix[j]] )
-								ret.appendValue(i, cix[aix[j]], avals[j]);
-					}
-			}
-			else if( !in.sparse && !ret.sparse ) { //DENSE <- DENSE
-				ret.allocateDenseBlock();
-				DenseBlock a = in.getDenseBlock();
-				DenseBlock c = ret.getDenseBlock();
-				for( int i=0; i<m; i++ ) {
-					double[] avals = a.values(i);
-					double[] cvals = c.values(i);
-					int aix = a.pos(i);
-					int lcix = c.pos(i);
-					for( int j=0; j<n; j++ )
-						if( flags[j] )
-							 cvals[ lcix+cix[j] ] = avals[aix+j];
-				}
-			}
-			else { //SPARSE <- DENSE
-				ret.allocateSparseRowsBlock();
-				DenseBlock a = in.getDenseBlock();
-				for( int i=0; i<m; i++ ) {
-					double[] avals = a.values(i);
-					int aix = a.pos(i);
-					for( int j=0; j<n; j++ ) {
-						double aval = avals[aix+j];
-						if( flags[j] && aval!=0 )
-							 ret.appendValue(i, cix[j], aval);
-					}
-				}
-			}
+			//deep copy of modified outputs (independent rows)
+			ret.allocateBlock();
+			executeRowRanges(m, blklen, ret.isThreadSafe() ? k : 1,
+				(rl, ru) -> copyNonEmptyColumns(in, ret, lflags, cix, rl, ru));
 		}
 		
 		//check sparsity
@@ -2648,6 +2771,88 @@ public class LibMatrixReorg {
 		return ret;
 	}
 
+	private static boolean[] computeNonEmptyColumns(MatrixBlock in, int rl, int ru) {
+		final int n = in.clen;
+		boolean[] flags = new boolean[ n ]; //false
+		if( in.sparse ) { //SPARSE
+			SparseBlock a = in.sparseBlock;
+			for( int i=rl; a!=null && i<ru; i++ )
+				if ( !a.isEmpty(i) ) {
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					for( int j=apos; j<apos+alen; j++ )
+						flags[ aix[j] ] = true;
+				}
+		}
+		else if( in.denseBlock != null ) { //DENSE
+			DenseBlock a = in.getDenseBlock();
+			for( int i=rl; i<ru; i++ ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				for( int j=0; j<n; j++ )
+					flags[j] |= (avals[aix+j] != 0);
+			}
+		}
+		return flags;
+	}
+
+	private static long copyNonEmptyColumns(MatrixBlock in, MatrixBlock ret, boolean[] flags, int[] cix, int rl, int ru) {
+		final int n = in.clen;
+		if( in.sparse ) //* <- SPARSE
+		{
+			//note: output dense or sparse
+			SparseBlock a = in.sparseBlock;
+			for( int i=rl; i<ru; i++ )
+				if ( !a.isEmpty(i) ) {
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					double[] avals = a.values(i);
+					if( ret.sparse ) {
+						SparseBlock c = ret.sparseBlock;
+						for( int j=apos; j<apos+alen; j++ )
+							if( flags[aix[j]] )
+								c.append(i, cix[aix[j]], avals[j]);
+					}
+					else {
+						double[] cvals = ret.denseBlock.values(i);
+						int lcix = ret.denseBlock.pos(i);
+						for( int j=apos; j<apos+alen; j++ )
+							if( flags[aix[j]] )
+								cvals[lcix+cix[aix[j]]] = avals[j];
+					}
+				}
+		}
+		else if( !ret.sparse ) { //DENSE <- DENSE
+			DenseBlock a = in.getDenseBlock();
+			DenseBlock c = ret.getDenseBlock();
+			for( int i=rl; i<ru; i++ ) {
+				double[] avals = a.values(i);
+				double[] cvals = c.values(i);
+				int aix = a.pos(i);
+				int lcix = c.pos(i);
+				for( int j=0; j<n; j++ )
+					if( flags[j] )
+						 cvals[ lcix+cix[j] ] = avals[aix+j];
+			}
+		}
+		else { //SPARSE <- DENSE
+			DenseBlock a = in.getDenseBlock();
+			SparseBlock c = ret.sparseBlock;
+			for( int i=rl; i<ru; i++ ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				for( int j=0; j<n; j++ ) {
+					double aval = avals[aix+j];
+					if( flags[j] && aval!=0 )
+						 c.append(i, cix[j], aval);
+				}
+			}
+		}
+		return 0;
+	}
+
 	private static MatrixBlock rexpandRows(MatrixBlock in, MatrixBlock ret, int max, boolean cast, boolean ignore) {
 		//set meta data
 		final int rlen = max;
@@ -3174,6 +3379,78 @@ public class LibMatrixReorg {
 		}
 	}
 	
+	private static void appendRow(MatrixBlock in, int ai, MatrixBlock ret, int ci, int coff) {
+		if( in.isEmptyBlock(false) )
+			return;
+		if( ret.sparse ) { //SPARSE <- SPARSE/DENSE
+			ret.appendRowToSparse(ret.sparseBlock, in, ai, ci-ai, coff, true);
+		}
+		else if( in.sparse ) { //DENSE <- SPARSE
+			SparseBlock a = in.sparseBlock;
+			if( a.isEmpty(ai) )
+				return;
+			int apos = a.pos(ai);
+			int alen = a.size(ai);
+			int[] aix = a.indexes(ai);
+			double[] avals = a.values(ai);
+			double[] cvals = ret.denseBlock.values(ci);
+			int cix = ret.denseBlock.pos(ci, coff);
+			for( int j=apos; j<apos+alen; j++ )
+				cvals[cix+aix[j]] = avals[j];
+		}
+		else { //DENSE <- DENSE
+			DenseBlock a = in.getDenseBlock();
+			DenseBlock c = ret.getDenseBlock();
+			System.arraycopy(a.values(ai), a.pos(ai),
+				c.values(ci), c.pos(ci, coff), in.clen);
+		}
+	}
+	
+	private static int getBlockLength(int len, int k) {
+		return Math.max((int)Math.ceil((double)len/k), 1);
+	}
+	
+	/**
+	 * Executes the given range task over row partitions of length blklen, either
+	 * sequentially or in parallel, and returns the results per partition.
+	 * 
+	 * @param len number of rows
+	 * @param blklen row partition length
+	 * @param k degree of parallelism
+	 * @param task range task
+	 * @return results of all row partitions, in order
+	 */
+	private static long[] executeRowRanges(int len, int blklen, int k, RangeTask task) {
+		long[] ret = new long[(len + blklen - 1) / blklen];
+		if( k <= 1 || ret.length <= 1 ) {
+			for( int i=0; i<ret.length; i++ )
+				ret[i] = task.execute(i*blklen, Math.min((i+1)*blklen, len));
+			return ret;
+		}
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			ArrayList<Callable<Long>> tasks = new ArrayList<>();
+			for( int i=0; i<ret.length; i++ ) {
+				final int rl = i*blklen, ru = Math.min((i+1)*blklen, len);
+				tasks.add(() -> task.execute(rl, ru));
+			}
+			List<Future<Long>> rtasks = pool.invokeAll(tasks);
+			for( int i=0; i<ret.length; i++ )
+				ret[i] = rtasks.get(i).get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+		return ret;
+	}
+	
+	private interface RangeTask {
+		long execute(int rl, int ru);
+	}
+	
 	private static class CopyTask implements Callable<Object>
 	{
 		private final MatrixBlock _in;
@@ -56,6 +56,7 @@ import org.apache.sysds.runtime.data.DenseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockCOO;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.data.SparseBlockDCSR;
 import org.apache.sysds.runtime.data.SparseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.data.SparseRow;
@@ -124,6 +125,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	public static final double ULTRA_SPARSITY_TURN_POINT  = 0.00004;
 	public static final double ULTRA_SPARSITY_TURN_POINT2 = 0.0004;
 	public static final int ULTRA_SPARSE_BLOCK_NNZ = 40;
+	//non-empty rows threshold (nnz per row) for hyper-sparse blocks in DCSR, whose
+	//size is independent of rlen, and min rows to exceed the per-row overheads
+	public static final double HYPER_SPARSITY_TURN_POINT = 0.1;
+	public static final int HYPER_SPARSE_BLOCK_ROWS = 64 * 1024;
 	//default sparse block type: modified compressed sparse rows, for efficient incremental construction
 	public static final SparseBlock.Type DEFAULT_SPARSEBLOCK = SparseBlock.Type.MCSR;
 	//default sparse block type for update in place: compressed sparse rows, to prevent serialization
@@ -1116,6 +1121,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			sparseToDense();
 		else if( !sparse && sparseDst )
 			denseToSparse(allowCSR);
+		else if( sparse && allowCSR && sparseBlock != null && isHyperSparse(rlen, nonZeros)
+			&& !(sparseBlock instanceof SparseBlockDCSR) ) //compact hyper-sparse
+			sparseBlock = SparseBlockFactory.copySparseBlock(SparseBlock.Type.DCSR, sparseBlock, false);
 	}
 	
 	public static boolean evalSparseFormatInMemory(DataCharacteristics dc) {
@@ -1142,12 +1150,27 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		//that the sparse size exceed the dense size since we use the dense size
 		//as worst-case estimate if unknown (and it requires less io from 
 		//main memory).
-		double sizeSparse = estimateSizeSparseInMemory(nrows, ncols, lsparsity);
+		double sizeSparse = estimateSizeSparseInMemory(nrows, ncols, lsparsity,
+			isHyperSparse(nrows, nnz) ? SparseBlock.Type.DCSR : DEFAULT_SPARSEBLOCK);
 		double sizeDense = estimateSizeDenseInMemory(nrows, ncols);
 		
 		return lsparse && (sizeSparse<sizeDense);
 	}
 	
+	/**
+	 * Evaluates if a sparse matrix block with the given characteristics is hyper-sparse,
+	 * i.e., has many rows of which only a small fraction can be non-empty. Such blocks
+	 * are represented in DCSR, which only stores the non-empty rows.
+	 * 
+	 * @param nrows number of rows
+	 * @param nnz number of non-zeros
+	 * @return true if matrix block is hyper-sparse
+	 */
+	public static boolean isHyperSparse( final long nrows, final long nnz ) {
+		return nrows >= HYPER_SPARSE_BLOCK_ROWS && nnz <= Integer.MAX_VALUE
+			&& nnz < HYPER_SPARSITY_TURN_POINT * nrows;
+	}
+	
 	/**
 	 * Evaluates if a matrix block with the given characteristics should be in sparse format 
 	 * on disk (or in any other serialized representation).
@@ -1190,7 +1213,35 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		final int m = rlen;
 		final int n = clen;
 		
-		if( allowCSR && nonZeros <= Integer.MAX_VALUE ) {
+		if( allowCSR && isHyperSparse(m, nonZeros) ) {
+			//allocate target in memory-efficient DCSR format
+			int lnnz = (int) nonZeros;
+			int[] rindexes = new int[Math.min(m, lnnz)];
+			int[] rptr = new int[rindexes.length+1];
+			int[] indexes = new int[lnnz];
+			double[] values = new double[lnnz];
+			int nnzr = 0;
+			for( int i=0, pos=0; i<m; i++ ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				int pos0 = pos;
+				for(int j=0; j<n; j++) {
+					double aval = avals[aix+j];
+					if( aval != 0 ) {
+						indexes[pos] = j;
+						values[pos] = aval;
+						pos++;
+					}
+				}
+				if( pos > pos0 ) {
+					rindexes[nnzr] = i;
+					rptr[++nnzr] = pos;
+				}
+			}
+			sparseBlock = new SparseBlockDCSR(
+				m, rindexes, rptr, indexes, values, nnzr, lnnz);
+		}
+		else if( allowCSR && nonZeros <= Integer.MAX_VALUE ) {
 			//allocate target in memory-efficient CSR format
 			int lnnz = (int) nonZeros;
 			int[] rptr = new int[m+1];
@@ -1906,7 +1957,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				case ULTRA_SPARSE_BLOCK:
 					nonZeros = readNnzInfo( in, true );
 					sparse = evalSparseFormatInMemory(rlen, clen, nonZeros);
-					cleanupBlock(true, !(sparse && sparseBlock instanceof SparseBlockCSR));
+					cleanupBlock(true, !(sparse && (sparseBlock instanceof SparseBlockCSR
+						|| sparseBlock instanceof SparseBlockDCSR)));
 					if( sparse )
 						readUltraSparseBlock(in);
 					else
@@ -1976,7 +2028,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	private void readSparseBlock(DataInput in) 
 		throws IOException 
 	{
-		if( !allocateSparseRowsBlock(false) )
+		if( isHyperSparse(rlen, nonZeros) ) //hyper-sparse in DCSR
+			allocateAndResetSparseBlock(false, SparseBlock.Type.DCSR);
+		else if( !allocateSparseRowsBlock(false) )
 			resetSparse(); //reset if not allocated
 		
 		if( in instanceof MatrixBlockDataInput ) { //fast deserialize
@@ -2031,10 +2085,16 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		//allocate ultra-sparse block in CSR to avoid unnecessary size overhead 
 		//and to allow efficient reset without repeated sparse row allocation
 		
-		//adjust size and ensure reuse block is in CSR format
-		allocateAndResetSparseBlock(false, SparseBlock.Type.CSR);
+		//adjust size and ensure reuse block is in CSR format (or DCSR if hyper-sparse)
+		boolean hyper = clen > 1 && isHyperSparse(rlen, nonZeros);
+		allocateAndResetSparseBlock(false, hyper ? SparseBlock.Type.DCSR : SparseBlock.Type.CSR);
 		
-		if( clen > 1 ) { //ULTRA-SPARSE BLOCK
+		if( hyper ) { //HYPER-SPARSE BLOCK
+			//block: read ijv-triples (ordered by row and column) via custom
+			//init that only materializes row pointers of non-empty rows
+			((SparseBlockDCSR) sparseBlock).initUltraSparse((int)nonZeros, in);
+		}
+		else if( clen > 1 ) { //ULTRA-SPARSE BLOCK
 			//block: read ijv-triples (ordered by row and column) via custom 
 			//init to avoid repeated updates of row pointers per append
 			SparseBlockCSR sblockCSR = (SparseBlockCSR) sparseBlock;
@@ -2198,8 +2258,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				}
 			}
 			else {
-				for(int r=0;r<Math.min(rlen, sparseBlock.numRows()); r++) {
-					if( sparseBlock.isEmpty(r) ) continue;
+				int ru = Math.min(rlen, sparseBlock.numRows());
+				for(int r=sparseBlock.nextNonEmptyRow(0, ru); r<ru; r=sparseBlock.nextNonEmptyRow(r+1, ru)) {
 					int apos = sparseBlock.pos(r);
 					int alen = sparseBlock.size(r);
 					int[] aix = sparseBlock.indexes(r);
@@ -2481,11 +2541,13 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	public static long estimateSizeInMemory(long nrows, long ncols, double sparsity)
 	{
 		//determine sparse/dense representation
-		boolean sparse = evalSparseFormatInMemory(nrows, ncols, (long)(sparsity*nrows*ncols));
+		long nnz = (long)(sparsity*nrows*ncols);
+		boolean sparse = evalSparseFormatInMemory(nrows, ncols, nnz);
 
-		//estimate memory consumption for sparse/dense
+		//estimate memory consumption for sparse/dense (hyper-sparse in DCSR)
 		if( sparse )
-			return estimateSizeSparseInMemory(nrows, ncols, sparsity);
+			return estimateSizeSparseInMemory(nrows, ncols, sparsity,
+				isHyperSparse(nrows, nnz) ? SparseBlock.Type.DCSR : DEFAULT_SPARSEBLOCK);
 		else
 			return estimateSizeDenseInMemory(nrows, ncols);
 	}
@@ -2642,6 +2704,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	
 	private boolean requiresInplaceSparseBlockOnLeftIndexing(boolean sparse, UpdateType update, long nnz) {
 		return sparse && update != UpdateType.INPLACE_PINNED
+			&& !(sparseBlock instanceof SparseBlockDCSR) //hyper-sparse
 			&& !isShallowSerialize() && (nnz <= Integer.MAX_VALUE
 				|| DEFAULT_INPLACE_SPARSEBLOCK==SparseBlock.Type.MCSR);
 	}
@@ -2681,6 +2744,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		boolean sparseDst = evalSparseFormatOnDisk();
 		return !sparse || !sparseDst
 			|| (sparse && sparseBlock instanceof SparseBlockCSR)
+			|| (sparse && sparseBlock instanceof SparseBlockDCSR)
 			|| (sparse && sparseBlock instanceof SparseBlockMCSR
 				&& getInMemorySize() / MAX_SHALLOW_SERIALIZE_OVERHEAD 
 				<= getExactSerializedSize())
@@ -3521,6 +3585,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	}
 	
 	public MatrixBlock append( MatrixBlock[] that, MatrixBlock ret, boolean cbind ) {
+		return append(that, ret, cbind, 1);
+	}
+	
+	public MatrixBlock append( MatrixBlock[] that, MatrixBlock ret, boolean cbind, int k ) {
 		MatrixBlock result = checkType( ret );
 		final int m = cbind ? rlen : rlen+Arrays.stream(that).mapToInt(mb -> mb.rlen).sum();
 		final int n = cbind ? clen+Arrays.stream(that).mapToInt(mb -> mb.clen).sum() : clen;
@@ -3536,18 +3604,24 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		
 		//core append operation
 		//copy left and right input into output
-		if( !result.sparse && nnz!=0 ) //DENSE
+		if( k > 1 && nnz >= LibMatrixReorg.PAR_NUMCELL_THRESHOLD
+			&& !(result.sparse && shallowCopy) && result.isThreadSafe() ) //PARALLEL
+		{
+			LibMatrixReorg.append(ArrayUtils.addAll(
+				new MatrixBlock[]{this}, that), result, cbind, k);
+		}
+		else if( !result.sparse && nnz!=0 ) //DENSE
 		{
 			if( cbind ) {
 				DenseBlock resd = result.allocateBlock().getDenseBlock();
 				MatrixBlock[] in = ArrayUtils.addAll(new MatrixBlock[]{this}, that);
 				
 				for( int i=0; i<m; i++ ) {
-					for( int k=0, off=0; k<in.length; off+=in[k].clen, k++ ) {
-						if( in[k].isEmptyBlock(false) )
+					for( int b=0, off=0; b<in.length; off+=in[b].clen, b++ ) {
+						if( in[b].isEmptyBlock(false) )
 							continue;
-						if( in[k].sparse ) {
-							SparseBlock src = in[k].sparseBlock;
+						if( in[b].sparse ) {
+							SparseBlock src = in[b].sparseBlock;
 							if( src.isEmpty(i) )
 								continue;
 							int srcpos = src.pos(i);
@@ -3560,11 +3634,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 								resval[resix+srcix[j]] = srcval[j];
 						}
 						else {
-							DenseBlock src = in[k].getDenseBlock();
+							DenseBlock src = in[b].getDenseBlock();
 							double[] srcval = src.values(i);
 							double[] resval = resd.values(i);
 							System.arraycopy(srcval, src.pos(i),
-								resval, resd.pos(i, off), in[k].clen);
+								resval, resd.pos(i, off), in[b].clen);
 						}
 					}
 				}
@@ -5119,7 +5193,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	}
 
 	public MatrixBlock removeEmptyOperations( MatrixBlock ret, boolean rows, boolean emptyReturn, MatrixBlock select ) {
-		return LibMatrixReorg.rmempty(this, ret, rows, emptyReturn, select);
+		return removeEmptyOperations(ret, rows, emptyReturn, select, 1);
+	}
+	
+	public MatrixBlock removeEmptyOperations( MatrixBlock ret, boolean rows, boolean emptyReturn, MatrixBlock select, int k ) {
+		return LibMatrixReorg.rmempty(this, ret, rows, emptyReturn, select, k);
 	}
 
 	public MatrixBlock removeEmptyOperations( MatrixBlock ret, boolean rows, boolean emptyReturn) {
@@ -5279,22 +5357,13 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	@Override
 	public void ctableOperations(Operator op, double scalarThat,
 			MatrixValue that2Val, CTableMap resultMap, MatrixBlock resultBlock) {
+		ctableOperations(op, scalarThat, that2Val, resultMap, resultBlock, 1);
+	}
+	
+	public void ctableOperations(Operator op, double scalarThat,
+			MatrixValue that2Val, CTableMap resultMap, MatrixBlock resultBlock, int k) {
 		MatrixBlock that2 = checkType(that2Val);
-		CTable ctable = CTable.getCTableFnObject();
-		double v2 = scalarThat;
-		
-		//sparse-unsafe ctable execution
-		//(because input values of 0 are invalid and have to result in errors) 
-		for( int i=0; i<rlen; i++ )
-			for( int j=0; j<clen; j++ ) {
-				double v1 = this.quickGetValue(i, j);
-				double w = that2.quickGetValue(i, j);
-				ctable.execute(v1, v2, w, false, resultMap, resultBlock);
-			}
-		
-		//maintain nnz (if necessary)
-		if( resultBlock!=null )
-			resultBlock.recomputeNonZeros();
+		LibMatrixCTable.ctable(this, null, scalarThat, that2, 0, false, resultMap, resultBlock, k);
 	}
 
 	/**
@@ -5307,23 +5376,13 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	 */
 	@Override
 	public void ctableOperations(Operator op, double scalarThat,
-			double scalarThat2, CTableMap resultMap, MatrixBlock resultBlock)
-	{
-		CTable ctable = CTable.getCTableFnObject();
-		double v2 = scalarThat;
-		double w = scalarThat2;
-		
-		//sparse-unsafe ctable execution
-		//(because input values of 0 are invalid and have to result in errors) 
-		for( int i=0; i<rlen; i++ )
-			for( int j=0; j<clen; j++ ) {
-				double v1 = this.quickGetValue(i, j);
-				ctable.execute(v1, v2, w, false, resultMap, resultBlock);
-			}
-		
-		//maintain nnz (if necessary)
-		if( resultBlock!=null )
-			resultBlock.recomputeNonZeros();
+			double scalarThat2, CTableMap resultMap, MatrixBlock resultBlock) {
+		ctableOperations(op, scalarThat, scalarThat2, resultMap, resultBlock, 1);
+	}
+	
+	public void ctableOperations(Operator op, double scalarThat,
+			double scalarThat2, CTableMap resultMap, MatrixBlock resultBlock, int k) {
+		LibMatrixCTable.ctable(this, null, scalarThat, null, scalarThat2, false, resultMap, resultBlock, k);
 	}
 	
 	/**
@@ -5369,52 +5428,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	 */
 	@Override
 	public void ctableOperations(Operator op, MatrixValue thatVal, double scalarThat2, boolean ignoreZeros,
-			     CTableMap resultMap, MatrixBlock resultBlock)
-	{
-		//setup ctable computation
+			     CTableMap resultMap, MatrixBlock resultBlock) {
+		ctableOperations(op, thatVal, scalarThat2, ignoreZeros, resultMap, resultBlock, 1);
+	}
+	
+	public void ctableOperations(Operator op, MatrixValue thatVal, double scalarThat2, boolean ignoreZeros,
+			     CTableMap resultMap, MatrixBlock resultBlock, int k) {
 		MatrixBlock that = checkType(thatVal);
-		CTable ctable = CTable.getCTableFnObject();
-		double w = scalarThat2;
-		
-		if( ignoreZeros //SPARSE-SAFE & SPARSE INPUTS
-			&& this.sparse && that.sparse )
-		{
-			//note: only used if both inputs have aligned zeros, which
-			//allows us to infer that the nnz both inputs are equivalent
-			
-			//early abort on empty blocks possible
-			if( this.isEmptyBlock(false) && that.isEmptyBlock(false) )
-				return;
-			
-			SparseBlock a = this.sparseBlock;
-			SparseBlock b = that.sparseBlock;
-			for( int i=0; i<rlen; i++ ) {
-				if( a.isEmpty(i) ) continue; 
-				int alen = a.size(i);
-				int apos = a.pos(i);
-				double[] avals = a.values(i);
-				int bpos = b.pos(i);
-				double[] bvals = b.values(i); 
-				for( int j=0; j<alen; j++ )
-					ctable.execute(avals[apos+j], bvals[bpos+j], 
-						w, ignoreZeros, resultMap, resultBlock);
-			}
-		}
-		else //SPARSE-UNSAFE | GENERIC INPUTS
-		{
-			//sparse-unsafe ctable execution
-			//(because input values of 0 are invalid and have to result in errors) 
-			for( int i=0; i<rlen; i++ )
-				for( int j=0; j<clen; j++ ) {
-					double v1 = this.quickGetValue(i, j);
-					double v2 = that.quickGetValue(i, j);
-					ctable.execute(v1, v2, w, ignoreZeros, resultMap, resultBlock);
-				}
-		}
-		
-		//maintain nnz (if necessary)
-		if( resultBlock!=null )
-			resultBlock.recomputeNonZeros();
+		LibMatrixCTable.ctable(this, that, 0, null, scalarThat2, ignoreZeros, resultMap, resultBlock, k);
 	}
 
 	/**
@@ -5425,26 +5446,23 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	 * @return resultBlock
 	 */
 	public MatrixBlock ctableSeqOperations(MatrixValue thatMatrix, double thatScalar, MatrixBlock resultBlock, boolean updateClen) {
+		return ctableSeqOperations(thatMatrix, thatScalar, resultBlock, updateClen, 1);
+	}
+	
+	/**
+	 * @param thatMatrix matrix value
+	 * @param thatScalar scalar double
+	 * @param resultBlock result matrix block
+	 * @param updateClen when this matrix already has the desired number of columns updateClen can be set to false
+	 * @param k degree of parallelism
+	 * @return resultBlock
+	 */
+	public MatrixBlock ctableSeqOperations(MatrixValue thatMatrix, double thatScalar, MatrixBlock resultBlock, boolean updateClen, int k) {
 		MatrixBlock that = checkType(thatMatrix);
-		CTable ctable = CTable.getCTableFnObject();
-		double w = thatScalar;
-		
 		//sparse-unsafe ctable execution
 		//(because input values of 0 are invalid and have to result in errors)
-		//resultBlock guaranteed to be allocated for ctableexpand
 		//each row in resultBlock will be allocated and will contain exactly one value
-		int maxCol = 0;
-		for( int i=0; i<rlen; i++ ) {
-			double v2 = that.quickGetValue(i, 0);
-			maxCol = ctable.execute(i+1, v2, w, maxCol, resultBlock);
-		}
-		
-		//update meta data (initially unknown number of columns)
-		//note: nnz maintained in ctable (via quickset)
-		if(updateClen) {
-			resultBlock.clen = maxCol;
-		}
-		return resultBlock;
+		return LibMatrixCTable.ctableSeq(that, thatScalar, resultBlock, updateClen, k);
 	}
 
 	/**
@@ -5483,35 +5501,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	
 	@Override
 	public void ctableOperations(Operator op, MatrixValue thatVal, MatrixValue that2Val, CTableMap resultMap, MatrixBlock resultBlock) {
+		ctableOperations(op, thatVal, that2Val, resultMap, resultBlock, 1);
+	}
+	
+	public void ctableOperations(Operator op, MatrixValue thatVal, MatrixValue that2Val, CTableMap resultMap, MatrixBlock resultBlock, int k) {
 		MatrixBlock that = checkType(thatVal);
 		MatrixBlock that2 = checkType(that2Val);
-		CTable ctable = CTable.getCTableFnObject();
-		
 		//sparse-unsafe ctable execution
-		//(because input values of 0 are invalid and have to result in errors) 
-		if(resultBlock == null) 
-		{
-			for( int i=0; i<rlen; i++ )
-				for( int j=0; j<clen; j++ )
-				{
-					double v1 = this.quickGetValue(i, j);
-					double v2 = that.quickGetValue(i, j);
-					double w = that2.quickGetValue(i, j);
-					ctable.execute(v1, v2, w, false, resultMap);
-				}		
-		}
-		else 
-		{
-			for( int i=0; i<rlen; i++ )
-				for( int j=0; j<clen; j++ )
-				{
-					double v1 = this.quickGetValue(i, j);
-					double v2 = that.quickGetValue(i, j);
-					double w = that2.quickGetValue(i, j);
-					ctable.execute(v1, v2, w, false, resultBlock);
-				}
-			resultBlock.recomputeNonZeros();
-		}
+		//(because input values of 0 are invalid and have to result in errors)
+		LibMatrixCTable.ctable(this, that, 0, that2, 0, false, resultMap, resultBlock, k);
 	}
 	
 	public MatrixBlock quaternaryOperations(QuaternaryOperator qop, MatrixBlock um, MatrixBlock vm, MatrixBlock wm, MatrixBlock out) {
@@ -22,10 +22,12 @@ package org.apache.sysds.runtime.util;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -38,7 +40,11 @@ import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyze
  * This common thread pool provides an abstraction to obtain a shared
  * thread pool, specifically the ForkJoinPool.commonPool, for all requests
  * of the maximum degree of parallelism. If pools of different size are
- * requested, we create new pool instances of FixedThreadPool.
+ * requested, we reuse persistent pool instances per degree of parallelism,
+ * which avoids thread creation and teardown for small and medium operations.
+ * 
+ * Furthermore, this class provides a simple cost model to determine the
+ * degree of parallelism of an operation from its FLOPs and memory accesses.
  */
 public class CommonThreadPool implements ExecutorService
 {
@@ -48,6 +54,18 @@ public class CommonThreadPool implements ExecutorService
 	//resulted in better performance than a dedicated fixed thread pool.
 	private static final int size = InfrastructureAnalyzer.getLocalParallelism();
 	private static final ExecutorService shared = ForkJoinPool.commonPool();
+	
+	//persistent pools of other sizes, created lazily per degree of parallelism;
+	//as the common pool, these pools use daemon threads that terminate when idle
+	private static final ConcurrentHashMap<Integer, ForkJoinPool> _pools = new ConcurrentHashMap<>();
+	private static final int MAX_PERSISTENT_SIZE = 4 * size;
+	public static boolean PERSISTENT_POOLS = true;
+	
+	//minimum work per thread (in FLOP equivalents) to amortize task creation
+	//and scheduling, and relative cost of a byte of memory access per FLOP
+	public static final double MIN_COST_PER_THREAD = 128L * 1024;
+	public static final double COST_PER_BYTE = 0.5;
+	
 	private final ExecutorService _pool;
 
 	public CommonThreadPool(ExecutorService pool) {
@@ -55,8 +73,78 @@ public class CommonThreadPool implements ExecutorService
 	}
 
 	public static ExecutorService get(int k) {
-		return new CommonThreadPool( (size==k) ?
-			shared : Executors.newFixedThreadPool(k));
+		return get(k, false);
+	}
+	
+	/**
+	 * Obtains a thread pool for the given degree of parallelism. Requests from threads
+	 * of the shared or persistent pools reuse the current pool if its parallelism
+	 * equals k, or for any k if reuseCurrent is set (e.g., to avoid oversubscription
+	 * for operations in work-stealing parfor workers or nested parfor).
+	 * 
+	 * @param k degree of parallelism
+	 * @param reuseCurrent reuse the pool of the current thread regardless of k
+	 * @return executor service
+	 */
+	public static ExecutorService get(int k, boolean reuseCurrent) {
+		ForkJoinPool current = getCurrentPool();
+		if( current != null && (reuseCurrent || getParallelism(current) == k) )
+			return new CommonThreadPool(current);
+		if( size == k )
+			return new CommonThreadPool(shared);
+		return new CommonThreadPool( isPersistent(k) ?
+			_pools.computeIfAbsent(k, ForkJoinPool::new) : Executors.newFixedThreadPool(k));
+	}
+	
+	/**
+	 * Indicates if the current thread is a worker thread of the shared pool,
+	 * in which case blocking joins help executing pending tasks of this pool.
+	 * 
+	 * @return true if executed by a thread of the shared pool
+	 */
+	public static boolean isSharedPoolThread() {
+		return getCurrentPool() == shared;
+	}
+	
+	/**
+	 * Indicates if requests of the given degree of parallelism are served by
+	 * the shared or a persistent pool, i.e., without thread creation.
+	 * 
+	 * @param k degree of parallelism
+	 * @return true if served by the shared or a persistent pool
+	 */
+	public static boolean isPersistent(int k) {
+		return size == k || (PERSISTENT_POOLS && k <= MAX_PERSISTENT_SIZE);
+	}
+	
+	private static ForkJoinPool getCurrentPool() {
+		Thread t = Thread.currentThread();
+		if( !(t instanceof ForkJoinWorkerThread) )
+			return null;
+		ForkJoinPool pool = ((ForkJoinWorkerThread)t).getPool();
+		return (pool == shared || _pools.get(pool.getParallelism()) == pool) ? pool : null;
+	}
+	
+	private static int getParallelism(ForkJoinPool pool) {
+		//the common pool serves all requests of the local parallelism
+		return (pool == shared) ? size : pool.getParallelism();
+	}
+	
+	/**
+	 * Obtains the degree of parallelism for an operation with the given number
+	 * of floating point operations and bytes of memory accesses, such that each
+	 * thread receives enough work to amortize the threading overhead.
+	 * 
+	 * @param k maximum degree of parallelism
+	 * @param flops number of floating point operations
+	 * @param bytes number of bytes read and written
+	 * @return degree of parallelism in [1, k]
+	 */
+	public static int getParallelism(int k, double flops, double bytes) {
+		if( k <= 1 )
+			return 1;
+		double cost = flops + COST_PER_BYTE * bytes;
+		return (int) Math.max(1, Math.min(k, cost / MIN_COST_PER_THREAD));
 	}
 	
 	public static <T> void invokeAndShutdown(ExecutorService pool, Collection<? extends Callable<T>> tasks) {
@@ -76,19 +164,26 @@ public class CommonThreadPool implements ExecutorService
 
 	public static void shutdownShared() {
 		shared.shutdownNow();
+		for( ForkJoinPool pool : _pools.values() )
+			pool.shutdownNow();
+		_pools.clear();
 	}
 
 	@Override
 	public void shutdown() {
-		if( _pool != shared )
+		if( !isPersistentPool() )
 			_pool.shutdown();
 	}
 
 	@Override
 	public List<Runnable> shutdownNow() {
-		return ( _pool != shared ) ?
+		return !isPersistentPool() ?
 			_pool.shutdownNow() : null;
 	}
+	
+	private boolean isPersistentPool() {
+		return _pool == shared || _pools.containsValue(_pool);
+	}
 
 	@Override
 	public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
@@ -28,6 +28,7 @@ import java.io.InputStream;
 
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.data.SparseBlockDCSR;
 import org.apache.sysds.runtime.io.IOUtilFunctions;
 import org.apache.sysds.runtime.matrix.data.MatrixBlockDataInput;
 
@@ -188,6 +189,10 @@ public class FastBufferedDataInputStream extends FilterInputStream implements Da
 			((SparseBlockCSR) rows).initSparse(rlen, (int)nnz, this);
 			return nnz;
 		}
+		else if( rows instanceof SparseBlockDCSR ) {
+			((SparseBlockDCSR) rows).initSparse(rlen, (int)nnz, this);
+			return nnz;
+		}
 		
 		//counter for non-zero elements
 		long gnnz = 0;
@@ -35,6 +35,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 import org.apache.hadoop.io.Writable;
 import org.apache.sysds.api.DMLScript;
@@ -42,9 +46,11 @@ import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.lops.Lop;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.LocalBinaryBlockFile;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
@@ -55,6 +61,10 @@ public class LocalFileUtils
 {
 	public static final int BUFFER_SIZE = 8192;
 	
+	//use memory-mapped local binary block files for dense matrix blocks (e.g., evictions),
+	//while sparse blocks (incl. byte array buffers of the lazy write buffer) keep the stream format
+	public static boolean MAPPED_BINARY_BLOCKS = false;
+	
 	//unique IDs per JVM for tmp files
 	private static IDSequence _seq = null;
 	private static String _workingDir = null;
@@ -113,6 +123,25 @@ public class LocalFileUtils
 		return (CacheBlock) readWritableFromLocal(fname, matrix?new MatrixBlock():new FrameBlock());
 	}
 	
+	/** Reads a matrix/frame block from local file system, which was written
+	 * with compression (see writeCompressedCacheBlockToLocal).
+	 * 
+	 * @param fname file name to read
+	 * @param matrix if true, read matrix. else read frame.
+	 * @return cache block (common interface to MatrixBlock and FrameBlock)
+	 * @throws IOException if IOException occurs
+	 */
+	public static CacheBlock readCompressedCacheBlockFromLocal(String fname, boolean matrix) throws IOException {
+		Inflater inflater = new Inflater();
+		try {
+			InputStream is = new InflaterInputStream(new FileInputStream(fname), inflater, BUFFER_SIZE);
+			return (CacheBlock) readWritableFromStream(is, matrix?new MatrixBlock():new FrameBlock());
+		}
+		finally {
+			inflater.end();
+		}
+	}
+	
 	/**
 	 * Reads an arbitrary writable from local file system, using a fused buffered reader
 	 * with special support for matrix blocks.
@@ -125,6 +154,11 @@ public class LocalFileUtils
 	public static Writable readWritableFromLocal(String fname, Writable ret)
 		throws IOException
 	{
+		//memory-mapped read of local binary block files
+		if( MAPPED_BINARY_BLOCKS && ret instanceof MatrixBlock
+			&& LocalBinaryBlockFile.isLocalBinaryBlock(fname) )
+			return LocalBinaryBlockFile.readMatrixBlock(fname, (MatrixBlock)ret, 1);
+		
 		FileInputStream fis = new FileInputStream(fname);
 		DataInput in = !(ret instanceof MatrixBlock) ? 
 			new DataInputStream(new BufferedInputStream(fis, BUFFER_SIZE)) :
@@ -231,6 +265,14 @@ public class LocalFileUtils
 	public static void writeWritableToLocal(String fname, Writable mb)
 		throws IOException
 	{	
+		//memory-mapped write of dense matrix blocks as single-block files
+		if( MAPPED_BINARY_BLOCKS && isMappedBinaryBlock(mb) ) {
+			MatrixBlock mb2 = (MatrixBlock) mb;
+			LocalBinaryBlockFile.writeMatrixBlock(fname, mb2,
+				Math.max(Math.max(mb2.getNumRows(), mb2.getNumColumns()), 1), 1);
+			return;
+		}
+		
 		FileOutputStream fos = new FileOutputStream( fname );
 		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(fos, BUFFER_SIZE);
 		
@@ -243,6 +285,38 @@ public class LocalFileUtils
 		}	
 	}
 
+	/** Writes a matrix/frame block to local file system, compressed via
+	 * a fast deflate (best speed) of the serialized representation.
+	 * 
+	 * @param fname file name to write
+	 * @param cb cache block (common interface to matrix block and frame block)
+	 * @return number of written bytes
+	 * @throws IOException if IOException occurs
+	 */
+	public static long writeCompressedCacheBlockToLocal(String fname, CacheBlock cb)
+		throws IOException
+	{
+		FileOutputStream fos = new FileOutputStream(fname);
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(
+			new DeflaterOutputStream(fos, deflater, BUFFER_SIZE), BUFFER_SIZE);
+		try {
+			cb.write(out);
+			out.close(); //finish compressed stream
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+			IOUtilFunctions.closeSilently(fos);
+			deflater.end();
+		}
+		return new File(fname).length();
+	}
+	
+	private static boolean isMappedBinaryBlock(Writable mb) {
+		return mb instanceof MatrixBlock && !(mb instanceof CompressedMatrixBlock)
+			&& !((MatrixBlock)mb).isInSparseFormat() && ((MatrixBlock)mb).getDenseBlock() != null;
+	}
+	
 	public static void writeByteArrayToLocal( String fname, byte[] data )
 		throws IOException
 	{	
@@ -259,6 +333,32 @@ public class LocalFileUtils
 		}
 	}
 
+	/** Writes a serialized byte array to local file system, compressed
+	 * via a fast deflate (best speed).
+	 * 
+	 * @param fname file name to write
+	 * @param data serialized matrix/frame block
+	 * @return number of written bytes
+	 * @throws IOException if IOException occurs
+	 */
+	public static long writeCompressedByteArrayToLocal(String fname, byte[] data)
+		throws IOException
+	{
+		FileOutputStream fos = new FileOutputStream(fname);
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		DeflaterOutputStream out = new DeflaterOutputStream(fos, deflater, BUFFER_SIZE);
+		try {
+			out.write(data);
+			out.close(); //finish compressed stream
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+			IOUtilFunctions.closeSilently(fos);
+			deflater.end();
+		}
+		return new File(fname).length();
+	}
+
 	public static int readBlockSequenceFromLocal(String fname, 
 			Pair<MatrixIndexes,MatrixValue>[] outValues, HashMap<MatrixIndexes, Integer> outMap) 
 		throws IOException
@@ -57,6 +57,10 @@ public class LongLongDoubleHashMap
 		return size;
 	}
 	
+	public EntryType getEntryType() {
+		return type;
+	}
+	
 	public int getNonZeros() {
 		//note: the exact number of non-zeros might be smaller than size
 		//if negative and positive values canceled each other out
@@ -493,6 +493,10 @@ public class ProgramConverter
 		//save replacement of thread id references in instructions
 		inst = saveReplaceThreadID( inst, Lop.CP_ROOT_THREAD_ID, Lop.CP_CHILD_THREAD+pid);
 		
+		//preserve planned local execution (not part of the instruction string)
+		if( oInst instanceof CPInstruction && inst instanceof CPInstruction )
+			((CPInstruction) inst).setFederatedLocalExec(((CPInstruction) oInst).isFederatedLocalExec());
+		
 		return inst;
 	}
 	
@@ -0,0 +1,389 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.ProgramBlock;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+
+/**
+ * Opt-in tracer of per-instruction spans and buffer pool events. In contrast to
+ * the aggregated heavy hitters in {@link Statistics}, every executed instruction
+ * is recorded with its thread, program block, line number, and the dimensions,
+ * number of non-zeros and size of its inputs and output. Buffer pool pins,
+ * restores and evictions as well as lineage cache hits are recorded as well.
+ *
+ * Events are written into per-thread ring buffers of reused events (no
+ * synchronization, allocation only while a buffer grows, oldest events are
+ * overwritten if a buffer is full), and exported at the end of a successful program
+ * either as Chrome trace-event JSON (chrome://tracing, Perfetto) or as
+ * collapsed stacks for flame graphs.
+ */
+public class InstructionTracer
+{
+	public enum TraceFormat {
+		CHROME, //chrome trace-event json
+		FOLDED; //collapsed stacks (flamegraph.pl)
+
+		public static TraceFormat fromFileName(String fname) {
+			return fname.toLowerCase().endsWith(".json") ? CHROME : FOLDED;
+		}
+	}
+
+	public enum EventType {
+		INST, PIN, RESTORE, EVICT, LINEAGE_HIT;
+	}
+
+	public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+	private static final int MAX_INPUTS = 3;
+
+	private static volatile boolean _enabled = false;
+	private static String _fname = null;
+	private static TraceFormat _format = TraceFormat.CHROME;
+	private static int _bufferSize = DEFAULT_BUFFER_SIZE;
+	private static long _startTime = 0;
+
+	//registry of all thread-local buffers (incl terminated parfor workers)
+	private static final ConcurrentLinkedQueue<TraceBuffer> _buffers = new ConcurrentLinkedQueue<>();
+	private static ThreadLocal<TraceBuffer> _local = createThreadLocal();
+
+	public static void enable(String fname) {
+		enable(fname, TraceFormat.fromFileName(fname), DEFAULT_BUFFER_SIZE);
+	}
+
+	public static synchronized void enable(String fname, TraceFormat format, int bufferSize) {
+		if( bufferSize <= 0 )
+			throw new DMLRuntimeException("Invalid trace buffer size: "+bufferSize);
+		_fname = fname;
+		_format = format;
+		_bufferSize = bufferSize;
+		reset();
+		_enabled = true;
+	}
+
+	public static synchronized void disable() {
+		_enabled = false;
+	}
+
+	public static boolean isEnabled() {
+		return _enabled;
+	}
+
+	public static synchronized void reset() {
+		_buffers.clear();
+		_local = createThreadLocal();
+		_startTime = System.nanoTime();
+	}
+
+	public static String getFileName() {
+		return _fname;
+	}
+
+	public static TraceFormat getFormat() {
+		return _format;
+	}
+
+	/**
+	 * Records an executed instruction including the meta data of its
+	 * inputs and output, which are obtained from the symbol table.
+	 *
+	 * @param inst executed instruction
+	 * @param pb program block the instruction belongs to, or null
+	 * @param ec execution context
+	 * @param t0 start time in nano seconds
+	 * @param lineageHit true if the output was reused from the lineage cache
+	 */
+	public static void traceInstruction(Instruction inst, ProgramBlock pb, ExecutionContext ec, long t0, boolean lineageHit) {
+		long t1 = System.nanoTime();
+		TraceEvent e = _local.get().next();
+		e.set(lineageHit ? EventType.LINEAGE_HIT : EventType.INST, inst.getExtendedOpcode(), pb, inst.getLineNum(), t0, t1);
+		if( inst instanceof ComputationCPInstruction ) {
+			ComputationCPInstruction cinst = (ComputationCPInstruction) inst;
+			for( CPOperand in : cinst.getInputs() )
+				if( in != null && !in.isLiteral() )
+					e.addInput(ec.getVariable(in.getName()));
+			e.setOutput(ec.getVariable(cinst.getOutput().getName()));
+		}
+	}
+
+	/**
+	 * Records a buffer pool event (pin, restore, eviction) of a cache block.
+	 *
+	 * @param type event type
+	 * @param name name of the cache block (file name)
+	 * @param dc data characteristics, or null if unknown
+	 * @param t0 start time in nano seconds
+	 */
+	public static void traceCacheEvent(EventType type, String name, DataCharacteristics dc, long t0) {
+		long t1 = System.nanoTime();
+		TraceEvent e = _local.get().next();
+		e.set(type, String.valueOf(name), null, -1, t0, t1);
+		if( dc != null )
+			e.setOutput(dc);
+	}
+
+	/**
+	 * Exports all recorded events into the configured file and format.
+	 */
+	public static void export() {
+		if( _fname == null )
+			return;
+		try {
+			LocalFileUtils.writeTextFile(new File(_fname),
+				(_format == TraceFormat.CHROME) ? toChromeTrace() : toFoldedStacks());
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Failed to export instruction trace to "+_fname+".", ex);
+		}
+	}
+
+	public static int getNumEvents() {
+		int ret = 0;
+		for( TraceBuffer buff : _buffers )
+			ret += buff.size();
+		return ret;
+	}
+
+	public static long getNumDroppedEvents() {
+		long ret = 0;
+		for( TraceBuffer buff : _buffers )
+			ret += buff.getDropped();
+		return ret;
+	}
+
+	/**
+	 * Obtains all recorded events in Chrome trace-event format, i.e., a JSON
+	 * object of complete events ('X') with microsecond timestamps.
+	 *
+	 * @return trace events as json string
+	 */
+	public static String toChromeTrace() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n");
+		boolean first = true;
+		for( TraceBuffer buff : _buffers ) {
+			//thread name meta data
+			sb.append(first ? "" : ",\n");
+			first = false;
+			sb.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":");
+			sb.append(buff._tid).append(",\"args\":{\"name\":\"");
+			appendEscaped(sb, buff._tname).append("\"}}");
+			for( TraceEvent e : buff.getEvents() ) {
+				sb.append(",\n{\"name\":\"");
+				appendEscaped(sb, e._name);
+				sb.append("\",\"cat\":\"").append(e._type.name().toLowerCase());
+				sb.append("\",\"ph\":\"X\",\"pid\":1,\"tid\":").append(buff._tid);
+				sb.append(",\"ts\":").append(toMicros(e._start - _startTime));
+				sb.append(",\"dur\":").append(toMicros(e._end - e._start));
+				sb.append(",\"args\":{");
+				if( e._pb != null ) {
+					sb.append("\"block\":\"");
+					appendEscaped(sb, getBlockName(e._pb)).append("\",");
+				}
+				if( e._line >= 0 )
+					sb.append("\"line\":").append(e._line).append(",");
+				for( int i=0; i<e._numInputs; i++ ) {
+					sb.append("\"in").append(i+1).append("\":");
+					appendMeta(sb, e._in, i*3).append(",");
+				}
+				if( e._out[0] >= 0 ) {
+					sb.append("\"out\":");
+					appendMeta(sb, e._out, 0).append(",");
+				}
+				sb.setLength(sb.length()-(sb.charAt(sb.length()-1)==','?1:0));
+				sb.append("}}");
+			}
+		}
+		sb.append("\n]}\n");
+		return sb.toString();
+	}
+
+	/**
+	 * Obtains all recorded events as collapsed stacks of the form
+	 * 'thread;block;opcode micros', aggregated over identical stacks.
+	 *
+	 * @return collapsed stacks as string
+	 */
+	public static String toFoldedStacks() {
+		TreeMap<String, Long> stacks = new TreeMap<>();
+		for( TraceBuffer buff : _buffers ) {
+			for( TraceEvent e : buff.getEvents() ) {
+				String key = buff._tname.replace(';', '_')
+					+ (e._pb != null ? ";" + getBlockName(e._pb) : "")
+					+ ";" + (e._type == EventType.INST ? "" : e._type.name().toLowerCase() + ":")
+					+ e._name.replace(';', '_').replace(' ', '_');
+				stacks.merge(key, Math.max((e._end - e._start) / 1000, 1), Long::sum);
+			}
+		}
+		StringBuilder sb = new StringBuilder();
+		for( Entry<String, Long> e : stacks.entrySet() )
+			sb.append(e.getKey()).append(' ').append(e.getValue()).append('\n');
+		return sb.toString();
+	}
+
+	private static ThreadLocal<TraceBuffer> createThreadLocal() {
+		return ThreadLocal.withInitial(() -> {
+			TraceBuffer buff = new TraceBuffer(_bufferSize);
+			_buffers.add(buff);
+			return buff;
+		});
+	}
+
+	private static String getBlockName(ProgramBlock pb) {
+		return pb.getClass().getSimpleName() + "[" + pb._beginLine + "-" + pb._endLine + "]";
+	}
+
+	private static String toMicros(long nanos) {
+		return String.valueOf(nanos / 1000) + "." + String.format("%03d", Math.abs(nanos % 1000));
+	}
+
+	private static StringBuilder appendMeta(StringBuilder sb, long[] meta, int pos) {
+		long rows = meta[pos], cols = meta[pos+1], nnz = meta[pos+2];
+		sb.append("{\"rows\":").append(rows).append(",\"cols\":").append(cols);
+		sb.append(",\"nnz\":").append(nnz);
+		if( rows >= 0 && cols >= 0 ) {
+			double sp = OptimizerUtils.getSparsity(rows, cols, nnz);
+			sb.append(",\"sparsity\":").append(sp);
+			sb.append(",\"bytes\":").append(OptimizerUtils.estimateSizeExactSparsity(rows, cols, sp));
+		}
+		return sb.append("}");
+	}
+
+	private static StringBuilder appendEscaped(StringBuilder sb, String str) {
+		for( int i=0; i<str.length(); i++ ) {
+			char c = str.charAt(i);
+			if( c == '"' || c == '\\' )
+				sb.append('\\').append(c);
+			else if( c < 0x20 )
+				sb.append(String.format("\\u%04x", (int)c));
+			else
+				sb.append(c);
+		}
+		return sb;
+	}
+
+	/**
+	 * Single-writer ring buffer of reused trace events, which is allocated
+	 * lazily (grown by doubling) up to the configured maximum size.
+	 */
+	private static class TraceBuffer {
+		private static final int INIT_SIZE = 256;
+		private final long _tid;
+		private final String _tname;
+		private final int _maxSize;
+		private TraceEvent[] _events;
+		private long _pos = 0;
+
+		public TraceBuffer(int size) {
+			_tid = Thread.currentThread().getId();
+			_tname = Thread.currentThread().getName();
+			_maxSize = size;
+			_events = new TraceEvent[Math.min(size, INIT_SIZE)];
+		}
+
+		public TraceEvent next() {
+			int ix = (int)(_pos++ % _maxSize);
+			if( ix >= _events.length ) //grow until max size
+				_events = Arrays.copyOf(_events, (int)Math.min(2L*_events.length, _maxSize));
+			if( _events[ix] == null )
+				_events[ix] = new TraceEvent();
+			return _events[ix];
+		}
+
+		public int size() {
+			return (int) Math.min(_pos, _maxSize);
+		}
+
+		public long getDropped() {
+			return Math.max(_pos - _maxSize, 0);
+		}
+
+		public List<TraceEvent> getEvents() {
+			//events in temporal order, starting at the oldest event
+			int len = size();
+			List<TraceEvent> ret = new ArrayList<>(len);
+			for( long i=_pos-len; i<_pos; i++ )
+				ret.add(_events[(int)(i % _maxSize)]);
+			return ret;
+		}
+	}
+
+	private static class TraceEvent {
+		private EventType _type;
+		private String _name;
+		private ProgramBlock _pb;
+		private int _line;
+		private long _start;
+		private long _end;
+		private int _numInputs;
+		private final long[] _in = new long[3*MAX_INPUTS];
+		private final long[] _out = new long[3];
+
+		public void set(EventType type, String name, ProgramBlock pb, int line, long start, long end) {
+			_type = type;
+			_name = name;
+			_pb = pb;
+			_line = line;
+			_start = start;
+			_end = end;
+			_numInputs = 0;
+			_out[0] = -1;
+		}
+
+		public void addInput(Data dat) {
+			if( _numInputs < MAX_INPUTS && dat instanceof CacheableData && dat.getMetaData() != null ) {
+				setMeta(_in, 3*_numInputs, ((CacheableData<?>)dat).getDataCharacteristics());
+				_numInputs++;
+			}
+		}
+
+		public void setOutput(Data dat) {
+			if( dat instanceof CacheableData && dat.getMetaData() != null )
+				setOutput(((CacheableData<?>)dat).getDataCharacteristics());
+		}
+
+		public void setOutput(DataCharacteristics dc) {
+			setMeta(_out, 0, dc);
+		}
+
+		private static void setMeta(long[] meta, int pos, DataCharacteristics dc) {
+			meta[pos] = dc.getRows();
+			meta[pos+1] = dc.getCols();
+			meta[pos+2] = dc.getNonZeros();
+		}
+	}
+}
@@ -38,6 +38,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.controlprogram.caching.BlockBufferPool;
 import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
@@ -91,6 +92,12 @@ public class Statistics
 	private static final LongAdder hopRecompileTime = new LongAdder(); //in nano sec
 	private static final LongAdder hopRecompilePred = new LongAdder(); //count
 	private static final LongAdder hopRecompileSB = new LongAdder();   //count
+	private static final LongAdder hopRecompilePlanHits = new LongAdder();   //count
+	private static final LongAdder hopRecompilePlanMisses = new LongAdder(); //count
+	
+	//inter-operator parallelism (segments w/ concurrently running instructions)
+	private static final LongAdder interOpSegments = new LongAdder(); //count
+	private static final LongAdder interOpParSegments = new LongAdder(); //count
 
 	//CODEGEN
 	private static final LongAdder codegenCompileTime = new LongAdder(); //in nano
@@ -276,6 +283,36 @@ public class Statistics
 		hopRecompileSB.add(delta);
 	}
 	
+	public static void incrementRecompilePlanCacheHits() {
+		hopRecompilePlanHits.increment();
+	}
+	
+	public static void incrementRecompilePlanCacheMisses() {
+		hopRecompilePlanMisses.increment();
+	}
+	
+	public static long getRecompilePlanCacheHits() {
+		return hopRecompilePlanHits.longValue();
+	}
+	
+	public static long getRecompilePlanCacheMisses() {
+		return hopRecompilePlanMisses.longValue();
+	}
+	
+	public static void incrementInterOpSegments(boolean concurrent) {
+		interOpSegments.increment();
+		if( concurrent )
+			interOpParSegments.increment();
+	}
+	
+	public static long getInterOpSegments() {
+		return interOpSegments.longValue();
+	}
+	
+	public static long getInterOpParallelSegments() {
+		return interOpParSegments.longValue();
+	}
+	
 	public static void incrementCodegenDAGCompile() {
 		codegenHopCompile.increment();
 	}
@@ -464,6 +501,10 @@ public class Statistics
 		hopRecompileTime.reset();
 		hopRecompilePred.reset();
 		hopRecompileSB.reset();
+		hopRecompilePlanHits.reset();
+		hopRecompilePlanMisses.reset();
+		interOpSegments.reset();
+		interOpParSegments.reset();
 		
 		funRecompiles.reset();
 		funRecompileTime.reset();
@@ -494,6 +535,7 @@ public class Statistics
 		lTotalUIPVar.reset();
 		
 		CacheStatistics.reset();
+		BlockBufferPool.resetStatistics();
 		LineageCacheStatistics.reset();
 		
 		resetJITCompileTime();
@@ -519,6 +561,7 @@ public class Statistics
 		federatedGetCount.reset();
 		federatedExecuteInstructionCount.reset();
 		federatedExecuteUDFCount.reset();
+		FederatedStatistics.reset();
 
 		DMLCompressionStatistics.reset();
 	}
@@ -1028,10 +1071,18 @@ public class Statistics
 			sb.append("Cache hits (Mem/Li/WB/FS/HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (Li/WB/FS/HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
+			if( CacheStatistics.getSpillBytes() > 0 || CacheStatistics.getStallTime() > 0 )
+				sb.append("Cache spill (bytes/ratio/pref/stall):\t" + CacheStatistics.displaySpill() + " sec.\n");
+			if( BlockBufferPool.ACTIVE )
+				sb.append("Block buffers (alloc/reuse/rel):\t" + BlockBufferPool.displayStatistics() + ".\n");
 			if (DMLScript.JMLC_MEM_STATISTICS)
 				sb.append("Max size of live objects:\t" + byteCountToDisplaySize(getSizeofPinnedObjects()) + " ("  + getNumPinnedObjects() + " total objects)" + "\n");
 			sb.append("HOP DAGs recompiled (PRED, SB):\t" + getHopRecompiledPredDAGs() + "/" + getHopRecompiledSBDAGs() + ".\n");
 			sb.append("HOP DAGs recompile time:\t" + String.format("%.3f", ((double)getHopRecompileTime())/1000000000) + " sec.\n");
+			if( getRecompilePlanCacheHits() + getRecompilePlanCacheMisses() > 0 )
+				sb.append("Recompile plan cache (hit/miss):" + getRecompilePlanCacheHits() + "/" + getRecompilePlanCacheMisses() + ".\n");
+			if( getInterOpSegments() > 0 )
+				sb.append("InterOp segments (total/par):\t" + getInterOpSegments() + "/" + getInterOpParallelSegments() + ".\n");
 			if( getFunRecompiles()>0 ) {
 				sb.append("Functions recompiled:\t\t" + getFunRecompiles() + ".\n");
 				sb.append("Functions recompile time:\t" + String.format("%.3f", ((double)getFunRecompileTime())/1000000000) + " sec.\n");
@@ -1040,6 +1091,7 @@ public class Statistics
 				sb.append("LinCache hits (Mem/FS/Del): \t" + LineageCacheStatistics.displayHits() + ".\n");
 				sb.append("LinCache MultiLevel (Ins/SB/Fn):" + LineageCacheStatistics.displayMultiLevelHits() + ".\n");
 				sb.append("LinCache GPU (Hit/Async/Sync): \t" + LineageCacheStatistics.displayGpuStats() + ".\n");
+				sb.append("LinCache Spark (Hit/Per/Unp): \t" + LineageCacheStatistics.displayRDDStats() + ".\n");
 				sb.append("LinCache writes (Mem/FS/Del): \t" + LineageCacheStatistics.displayWtrites() + ".\n");
 				sb.append("LinCache FStimes (Rd/Wr): \t" + LineageCacheStatistics.displayFSTime() + " sec.\n");
 				sb.append("LinCache Computetime (S/M): \t" + LineageCacheStatistics.displayComputeTime() + " sec.\n");
@@ -1106,6 +1158,8 @@ public class Statistics
 					federatedExecuteInstructionCount.longValue() + "/" +
 					federatedExecuteUDFCount.longValue() + ".\n");
 			}
+			if( FederatedStatistics.getFedRequestBatches() > 0 )
+				sb.append(FederatedStatistics.displayFedRoundTrips());
 
 			if(ConfigurationManager.isCompressionEnabled()){
 				DMLCompressionStatistics.display(sb);
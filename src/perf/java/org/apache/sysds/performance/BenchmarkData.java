@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
+
+/**
+ * Shared data generator of the JMH kernel benchmarks, which creates seeded
+ * random matrices in a given physical format.
+ */
+public class BenchmarkData
+{
+	public enum Format {
+		DENSE, MCSR, CSR, COO, COMPRESSED;
+	}
+
+	private static final long SEED = 7;
+
+	/**
+	 * Creates a random matrix of the given shape, sparsity and physical format.
+	 * Compressed matrices are created from rounded values in [1, maxValue] to
+	 * obtain a small number of distinct values per column.
+	 *
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param sparsity sparsity in (0, 1]
+	 * @param format physical format
+	 * @param k number of threads for data generation
+	 * @return matrix block
+	 */
+	public static MatrixBlock generate(int rows, int cols, double sparsity, Format format, int k) {
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, 1, 8, "uniform", SEED, k);
+		switch( format ) {
+			case DENSE:
+				return toDense(mb);
+			case MCSR:
+				return toSparse(mb, SparseBlock.Type.MCSR);
+			case CSR:
+				return toSparse(mb, SparseBlock.Type.CSR);
+			case COO:
+				return toSparse(mb, SparseBlock.Type.COO);
+			case COMPRESSED:
+				MatrixBlock round = mb.unaryOperations(
+					new UnaryOperator(Builtin.getBuiltinFnObject(BuiltinCode.ROUND)), new MatrixBlock());
+				return CompressedMatrixBlockFactory.compress(round, k).getLeft();
+			default:
+				throw new RuntimeException("Unsupported format: "+format);
+		}
+	}
+
+	public static MatrixBlock toDense(MatrixBlock mb) {
+		MatrixBlock ret = new MatrixBlock(mb.getNumRows(), mb.getNumColumns(), false);
+		ret.copy(mb, false);
+		return ret;
+	}
+
+	public static MatrixBlock toSparse(MatrixBlock mb, SparseBlock.Type type) {
+		MatrixBlock ret = new MatrixBlock(mb.getNumRows(), mb.getNumColumns(), true);
+		ret.copy(mb, true);
+		return new MatrixBlock(ret, type, true);
+	}
+}
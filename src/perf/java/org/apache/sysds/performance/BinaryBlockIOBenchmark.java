@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.performance.BenchmarkData.Format;
+import org.apache.sysds.runtime.io.MatrixReader;
+import org.apache.sysds.runtime.io.MatrixWriter;
+import org.apache.sysds.runtime.io.ReaderBinaryBlock;
+import org.apache.sysds.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysds.runtime.io.WriterBinaryBlock;
+import org.apache.sysds.runtime.io.WriterBinaryBlockParallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the sequential and parallel binary block readers and
+ * writers on the local file system.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms8g", "-Xmx8g"})
+public class BinaryBlockIOBenchmark
+{
+	private static final int BLEN = 1000;
+
+	@Param({"100000"})
+	public int rows;
+
+	@Param({"100", "1000"})
+	public int cols;
+
+	@Param({"1.0", "0.01"})
+	public double sparsity;
+
+	@Param({"1", "8"})
+	public int threads;
+
+	private MatrixBlock _X;
+	private File _dir;
+	private String _fname;
+	private MatrixReader _reader;
+	private MatrixWriter _writer;
+
+	@Setup
+	public void setup() throws IOException {
+		_X = BenchmarkData.generate(rows, cols, sparsity,
+			sparsity < 0.4 ? Format.MCSR : Format.DENSE, threads);
+		_dir = Files.createTempDirectory("sysds_jmh").toFile();
+		_fname = new File(_dir, "X.bin").getPath();
+		_reader = (threads > 1) ? new ReaderBinaryBlockParallel(true) : new ReaderBinaryBlock(true);
+		_writer = (threads > 1) ? new WriterBinaryBlockParallel(1) : new WriterBinaryBlock(1);
+		_writer.writeMatrixToHDFS(_X, _fname, rows, cols, BLEN, _X.getNonZeros());
+	}
+
+	@TearDown(Level.Trial)
+	public void cleanup() {
+		LocalFileUtils.deleteFileIfExists(_dir.getPath());
+	}
+
+	@Benchmark
+	public void write() throws IOException {
+		_writer.writeMatrixToHDFS(_X, _fname+".w", rows, cols, BLEN, _X.getNonZeros());
+	}
+
+	@Benchmark
+	public MatrixBlock read() throws IOException {
+		return _reader.readMatrixFromHDFS(_fname, rows, cols, BLEN, _X.getNonZeros());
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.performance.BenchmarkData.Format;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of compression and of the core operations over compressed
+ * column groups (ColGroup*): decompression, column aggregates, and left
+ * and right matrix multiplications.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms8g", "-Xmx8g"})
+public class CompressedBenchmark
+{
+	@Param({"100000"})
+	public int rows;
+
+	@Param({"10", "100"})
+	public int cols;
+
+	@Param({"1.0", "0.1"})
+	public double sparsity;
+
+	@Param({"1", "8"})
+	public int threads;
+
+	private MatrixBlock _X;
+	private MatrixBlock _C;
+	private MatrixBlock _v;
+	private MatrixBlock _u;
+
+	@Setup
+	public void setup() {
+		_C = BenchmarkData.generate(rows, cols, sparsity, Format.COMPRESSED, threads);
+		if( !(_C instanceof CompressedMatrixBlock) )
+			throw new RuntimeException("Benchmark input not compressible.");
+		_X = ((CompressedMatrixBlock)_C).decompress(threads);
+		_v = BenchmarkData.generate(cols, 1, 1.0, Format.DENSE, threads);
+		_u = BenchmarkData.generate(1, rows, 1.0, Format.DENSE, threads);
+	}
+
+	@Benchmark
+	public MatrixBlock compress() {
+		return CompressedMatrixBlockFactory.compress(_X, threads).getLeft();
+	}
+
+	@Benchmark
+	public MatrixBlock decompress() {
+		return ((CompressedMatrixBlock)_C).decompress(threads);
+	}
+
+	@Benchmark
+	public MatrixBlock colSums() {
+		return _C.aggregateUnaryOperations(InstructionUtils
+			.parseBasicAggregateUnaryOperator("uack+", threads), new MatrixBlock(), -1, null);
+	}
+
+	@Benchmark
+	public MatrixBlock rightMatrixVector() {
+		return _C.aggregateBinaryOperations(_C, _v, new MatrixBlock(),
+			InstructionUtils.getMatMultOperator(threads));
+	}
+
+	@Benchmark
+	public MatrixBlock leftVectorMatrix() {
+		return _C.aggregateBinaryOperations(_u, _C, new MatrixBlock(),
+			InstructionUtils.getMatMultOperator(threads));
+	}
+}
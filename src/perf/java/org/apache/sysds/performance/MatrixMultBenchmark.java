@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.lops.MMTSJ.MMTSJType;
+import org.apache.sysds.performance.BenchmarkData.Format;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of matrix-vector, matrix-matrix and transpose-self matrix
+ * multiplications (LibMatrixMult) over different shapes, sparsity,
+ * formats and degrees of parallelism.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms8g", "-Xmx8g"})
+public class MatrixMultBenchmark
+{
+	@Param({"10000"})
+	public int rows;
+
+	@Param({"100", "1000"})
+	public int cols;
+
+	@Param({"1.0", "0.1", "0.01"})
+	public double sparsity;
+
+	@Param({"DENSE", "MCSR", "CSR", "COMPRESSED"})
+	public Format format;
+
+	@Param({"1", "8"})
+	public int threads;
+
+	private MatrixBlock _X;
+	private MatrixBlock _v;
+	private MatrixBlock _W;
+	private AggregateBinaryOperator _op;
+
+	@Setup
+	public void setup() {
+		_X = BenchmarkData.generate(rows, cols, sparsity, format, threads);
+		_v = BenchmarkData.generate(cols, 1, 1.0, Format.DENSE, threads);
+		_W = BenchmarkData.generate(cols, 100, 1.0, Format.DENSE, threads);
+		_op = InstructionUtils.getMatMultOperator(threads);
+	}
+
+	@Benchmark
+	public MatrixBlock matrixVector() {
+		return _X.aggregateBinaryOperations(_X, _v, new MatrixBlock(), _op);
+	}
+
+	@Benchmark
+	public MatrixBlock matrixMatrix() {
+		return _X.aggregateBinaryOperations(_X, _W, new MatrixBlock(), _op);
+	}
+
+	@Benchmark
+	public MatrixBlock tsmmLeft() {
+		return _X.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT, threads);
+	}
+}
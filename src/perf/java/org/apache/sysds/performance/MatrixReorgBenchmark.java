@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.performance.BenchmarkData.Format;
+import org.apache.sysds.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of reorganization operations (LibMatrixReorg) such as
+ * transpose, rev, reshape and removeEmpty.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms8g", "-Xmx8g"})
+public class MatrixReorgBenchmark
+{
+	@Param({"100000"})
+	public int rows;
+
+	@Param({"10", "1000"})
+	public int cols;
+
+	@Param({"1.0", "0.1", "0.001"})
+	public double sparsity;
+
+	@Param({"DENSE", "MCSR", "CSR"})
+	public Format format;
+
+	@Param({"1", "8"})
+	public int threads;
+
+	private MatrixBlock _X;
+
+	@Setup
+	public void setup() {
+		_X = BenchmarkData.generate(rows, cols, sparsity, format, threads);
+	}
+
+	@Benchmark
+	public MatrixBlock transpose() {
+		return LibMatrixReorg.transpose(_X, new MatrixBlock(cols, rows, _X.isInSparseFormat()), threads);
+	}
+
+	@Benchmark
+	public MatrixBlock rev() {
+		return LibMatrixReorg.rev(_X, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock reshape() {
+		return LibMatrixReorg.reshape(_X, new MatrixBlock(), rows/2, cols*2, true);
+	}
+
+	@Benchmark
+	public MatrixBlock removeEmptyRows() {
+		return LibMatrixReorg.rmempty(_X, new MatrixBlock(), true, false, null);
+	}
+}
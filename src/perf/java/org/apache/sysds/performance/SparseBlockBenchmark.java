@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.performance.BenchmarkData.Format;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the basic access primitives of the different sparse block
+ * formats: row-wise scans, random lookups, and appends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms8g", "-Xmx8g"})
+public class SparseBlockBenchmark
+{
+	@Param({"100000"})
+	public int rows;
+
+	@Param({"1000"})
+	public int cols;
+
+	@Param({"0.1", "0.01", "0.0001"})
+	public double sparsity;
+
+	@Param({"MCSR", "CSR", "COO"})
+	public Format format;
+
+	private SparseBlock _sblock;
+	private SparseBlock.Type _type;
+	private int[] _rix;
+	private int[] _cix;
+
+	@Setup
+	public void setup() {
+		_sblock = BenchmarkData.generate(rows, cols, sparsity, format, 1).getSparseBlock();
+		_type = SparseBlock.Type.valueOf(format.name());
+		//random lookup positions
+		Random rand = new Random(7);
+		_rix = new int[10000];
+		_cix = new int[10000];
+		for( int i=0; i<_rix.length; i++ ) {
+			_rix[i] = rand.nextInt(rows);
+			_cix[i] = rand.nextInt(cols);
+		}
+	}
+
+	@Benchmark
+	public double scan() {
+		double sum = 0;
+		for( int i=0; i<rows; i++ ) {
+			if( _sblock.isEmpty(i) ) continue;
+			int apos = _sblock.pos(i);
+			int alen = _sblock.size(i);
+			double[] avals = _sblock.values(i);
+			for( int j=apos; j<apos+alen; j++ )
+				sum += avals[j];
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public double get() {
+		double sum = 0;
+		for( int i=0; i<_rix.length; i++ )
+			sum += _sblock.get(_rix[i], _cix[i]);
+		return sum;
+	}
+
+	@Benchmark
+	public SparseBlock append() {
+		SparseBlock ret = SparseBlockFactory.createSparseBlock(_type, rows);
+		for( int i=0; i<rows; i++ ) {
+			if( _sblock.isEmpty(i) ) continue;
+			int apos = _sblock.pos(i);
+			int alen = _sblock.size(i);
+			int[] aix = _sblock.indexes(i);
+			double[] avals = _sblock.values(i);
+			for( int j=apos; j<apos+alen; j++ )
+				ret.append(i, aix[j], avals[j]);
+		}
+		return ret;
+	}
+}
@@ -69,6 +69,7 @@ import org.apache.sysds.runtime.controlprogram.federated.FederatedData;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedRange;
 import org.apache.sysds.runtime.controlprogram.federated.FederationMap;
 import org.apache.sysds.runtime.controlprogram.federated.FederationUtils;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
 import org.apache.sysds.runtime.io.FrameReader;
 import org.apache.sysds.runtime.io.FrameReaderFactory;
@@ -241,12 +242,18 @@ public abstract class AutomatedTestBase {
 			TEST_GPU = TEST_GPU || gpu;
 			boolean stats = Boolean.parseBoolean(properties.getProperty("enableStats"));
 			VERBOSE_STATS = VERBOSE_STATS || stats;
+			// Validate directly created instructions against their parsed instruction strings.
+			boolean validate = Boolean.parseBoolean(properties.getProperty("automatedtestbase.validatedirectinstructions"));
+			InstructionUtils.VALIDATE_DIRECT_INSTRUCTIONS = validate
+				|| Boolean.getBoolean("automatedtestbase.validatedirectinstructions");
 		}
 		else{
 			// If no properties file exists.
 			outputBuffering = false;
 			TEST_GPU = false;
 			VERBOSE_STATS = false;
+			InstructionUtils.VALIDATE_DIRECT_INSTRUCTIONS =
+				Boolean.getBoolean("automatedtestbase.validatedirectinstructions");
 		}
 	}
 
@@ -22,6 +22,10 @@ package org.apache.sysds.test.component.compress;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -63,6 +67,7 @@ import org.apache.sysds.runtime.functionobjects.SwapIndex;
 import org.apache.sysds.runtime.functionobjects.ValueFunction;
 import org.apache.sysds.runtime.functionobjects.Xor;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.spark.data.PartitionedBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
 import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
@@ -1143,6 +1148,64 @@ public abstract class CompressedTestBase extends TestBase {
 		}
 	}
 
+	@Test
+	public void testSliceCompressedRows() {
+		testSliceCompressed(rows / 5, Math.min(rows - 1, (rows / 5) * 2), 0, cols - 1);
+	}
+
+	@Test
+	public void testSliceCompressedInternal() {
+		testSliceCompressed(rows / 5, Math.min(rows - 1, (rows / 5) * 2), Math.min(cols - 1, cols / 5),
+			Math.min(cols - 1, cols / 5 + 1));
+	}
+
+	public void testSliceCompressed(int rl, int ru, int cl, int cu) {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			MatrixBlock ret2 = ((CompressedMatrixBlock) cmb).sliceCompressed(rl, ru, cl, cu);
+			MatrixBlock ret1 = mb.slice(rl, ru, cl, cu);
+			assertEquals(ret1.getNumRows(), ret2.getNumRows());
+			assertEquals(ret1.getNumColumns(), ret2.getNumColumns());
+			compareResultMatrices(ret1, ret2, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new DMLRuntimeException("Error in compressed slicing", e);
+		}
+	}
+
+	@Test
+	public void testPartitionedBlockSerialization() {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			int blen = Math.max(rows / 3, 1);
+			PartitionedBlock<MatrixBlock> pb = new PartitionedBlock<>(cmb, blen);
+
+			// serialize and deserialize like a broadcast
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			ObjectOutputStream oos = new ObjectOutputStream(bos);
+			oos.writeObject(pb);
+			oos.close();
+			ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+			@SuppressWarnings("unchecked")
+			PartitionedBlock<MatrixBlock> pb2 = (PartitionedBlock<MatrixBlock>) ois.readObject();
+			ois.close();
+
+			for(int i = 0; i < pb2.getNumRowBlocks(); i++)
+				for(int j = 0; j < pb2.getNumColumnBlocks(); j++) {
+					MatrixBlock ret1 = mb.slice(i * blen, Math.min((i + 1) * blen, rows) - 1, j * blen,
+						Math.min((j + 1) * blen, cols) - 1);
+					compareResultMatrices(ret1, pb2.getBlock(i + 1, j + 1), 1);
+				}
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new DMLRuntimeException("Error in partitioned block serialization", e);
+		}
+	}
+
 	@Test(expected = DMLRuntimeException.class)
 	public void testSliceInvalid_01() {
 		if(!(cmb instanceof CompressedMatrixBlock))
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import org.apache.sysds.runtime.matrix.data.CTableMap;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.LongLongDoubleHashMap.EntryType;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CTableTest
+{
+	private final static int rows = 1500000; //> parallelization threshold
+	private final static int maxVal = 50;
+
+	@Test
+	public void testCTableMapSingleThreaded() {
+		runCTableTest(false, false, 1.0, 1);
+	}
+
+	@Test
+	public void testCTableMapMultiThreaded() {
+		runCTableTest(false, false, 1.0, 4);
+	}
+
+	@Test
+	public void testCTableDenseMultiThreaded() {
+		runCTableTest(true, false, 1.0, 4);
+	}
+
+	@Test
+	public void testCTableWeightsMapMultiThreaded() {
+		runCTableTest(false, true, 1.0, 4);
+	}
+
+	@Test
+	public void testCTableWeightsDenseMultiThreaded() {
+		runCTableTest(true, true, 1.0, 4);
+	}
+
+	@Test
+	public void testCTableSparseIgnoreZerosMultiThreaded() {
+		runCTableTest(false, false, 0.1, 4);
+	}
+
+	@Test
+	public void testCTableHistogramMultiThreaded() {
+		MatrixBlock A = createVector(1.0, 7);
+		MatrixBlock ret1 = new MatrixBlock(maxVal, 1, false);
+		MatrixBlock ret2 = new MatrixBlock(maxVal, 1, false);
+		A.ctableOperations(null, 1, 1, null, ret1, 1);
+		A.ctableOperations(null, 1, 1, null, ret2, 4);
+		TestUtils.compareMatrices(ret1, ret2, 0);
+		Assert.assertEquals(rows, ret2.sum(), 0);
+		Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+	}
+
+	@Test
+	public void testCTableSeqMultiThreaded() {
+		MatrixBlock B = createVector(1.0, 7);
+		MatrixBlock ret1 = new MatrixBlock(rows, Integer.MAX_VALUE, true);
+		MatrixBlock ret2 = new MatrixBlock(rows, Integer.MAX_VALUE, true);
+		B.ctableSeqOperations(B, 1, ret1, true, 1);
+		B.ctableSeqOperations(B, 1, ret2, true, 4);
+		Assert.assertEquals(ret1.getNumColumns(), ret2.getNumColumns());
+		Assert.assertEquals(rows, ret2.getNonZeros());
+		TestUtils.compareMatrices(ret1, ret2, 0);
+	}
+
+	private static void runCTableTest(boolean dense, boolean weights, double sparsity, int k) {
+		MatrixBlock A = createVector(sparsity, 7);
+		MatrixBlock B = createVector(sparsity, 3);
+		MatrixBlock W = weights ? createVector(1.0, 11) : null;
+		boolean ignoreZeros = sparsity < 1;
+
+		//sequential reference
+		CTableMap map1 = new CTableMap(EntryType.INT);
+		MatrixBlock ret1 = dense ? new MatrixBlock(maxVal, maxVal, false) : null;
+		if( weights )
+			A.ctableOperations(null, B, W, map1, ret1, 1);
+		else
+			A.ctableOperations(null, B, 1, ignoreZeros, map1, ret1, 1);
+
+		//multi-threaded
+		CTableMap map2 = new CTableMap(EntryType.INT);
+		MatrixBlock ret2 = dense ? new MatrixBlock(maxVal, maxVal, false) : null;
+		if( weights )
+			A.ctableOperations(null, B, W, map2, ret2, k);
+		else
+			A.ctableOperations(null, B, 1, ignoreZeros, map2, ret2, k);
+
+		if( !dense ) {
+			Assert.assertEquals(map1.size(), map2.size());
+			Assert.assertEquals(map1.getMaxRow(), map2.getMaxRow());
+			Assert.assertEquals(map1.getMaxColumn(), map2.getMaxColumn());
+			ret1 = map1.toMatrixBlock((int)map1.getMaxRow(), (int)map1.getMaxColumn());
+			ret2 = map2.toMatrixBlock((int)map2.getMaxRow(), (int)map2.getMaxColumn());
+		}
+		TestUtils.compareMatrices(ret1, ret2, 1e-8);
+		Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+	}
+
+	private static MatrixBlock createVector(double sparsity, long seed) {
+		MatrixBlock tmp = MatrixBlock.randOperations(rows, 1, sparsity, 0.5, maxVal, "uniform", seed);
+		return TestUtils.round(tmp);
+	}
+}
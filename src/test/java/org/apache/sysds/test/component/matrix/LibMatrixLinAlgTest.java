@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import org.apache.sysds.lops.Lop;
+import org.apache.sysds.runtime.functionobjects.SwapIndex;
+import org.apache.sysds.runtime.instructions.CPInstructionParser;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.cp.CPInstruction;
+import org.apache.sysds.runtime.matrix.data.LibCommonsMath;
+import org.apache.sysds.runtime.matrix.data.LibMatrixLinAlg;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LibMatrixLinAlgTest
+{
+	private final static int rows = 300; //> blocksize
+	private final static int cols = 7;
+	private final static double eps = 1e-8;
+
+	@Test
+	public void testCholeskySingleThreaded() {
+		runLinAlgTest("cholesky", false, 1);
+	}
+
+	@Test
+	public void testCholeskyMultiThreaded() {
+		runLinAlgTest("cholesky", true, 4);
+	}
+
+	@Test
+	public void testInverseSingleThreaded() {
+		runLinAlgTest("inverse", false, 1);
+	}
+
+	@Test
+	public void testInverseMultiThreaded() {
+		runLinAlgTest("inverse", true, 4);
+	}
+
+	@Test
+	public void testLUSingleThreaded() {
+		runLinAlgTest("lu", false, 1);
+	}
+
+	@Test
+	public void testLUMultiThreaded() {
+		runLinAlgTest("lu", true, 4);
+	}
+
+	@Test
+	public void testQRSingleThreaded() {
+		runLinAlgTest("qr", false, 1);
+	}
+
+	@Test
+	public void testQRMultiThreaded() {
+		runLinAlgTest("qr", true, 4);
+	}
+
+	@Test
+	public void testSolveSingleThreaded() {
+		runLinAlgTest("solve", false, 1);
+	}
+
+	@Test
+	public void testSolveMultiThreaded() {
+		runLinAlgTest("solve", true, 4);
+	}
+
+	@Test
+	public void testEigenSingleThreaded() {
+		runLinAlgTest("eigen", false, 1);
+	}
+
+	@Test
+	public void testEigenMultiThreaded() {
+		runLinAlgTest("eigen", true, 4);
+	}
+
+	@Test
+	public void testRandomizedSVDSingleThreaded() {
+		runRandomizedSVDTest(1);
+	}
+
+	@Test
+	public void testRandomizedSVDMultiThreaded() {
+		runRandomizedSVDTest(4);
+	}
+
+	@Test
+	public void testInverseInstructionNumThreads() {
+		String mat = Lop.DATATYPE_PREFIX + "MATRIX" + Lop.VALUETYPE_PREFIX + "FP64";
+		CPInstruction inst = CPInstructionParser.parseSingleInstruction(
+			InstructionUtils.concatOperands("CP", "inverse", "A" + mat, "B" + mat, "3", "false"));
+		Assert.assertTrue(inst.getOperator() instanceof UnaryOperator);
+		Assert.assertEquals(3, ((UnaryOperator) inst.getOperator()).getNumThreads());
+	}
+
+	private static void runLinAlgTest(String opcode, boolean sparse, int k) {
+		MatrixBlock A = createSPDMatrix(rows, sparse ? 0.05 : 0.9, 7);
+		MatrixBlock B = MatrixBlock.randOperations(rows, cols, 1.0, -1, 1, "uniform", 3);
+		boolean flag = LibCommonsMath.BLOCKED_KERNELS;
+		try {
+			//reference results via commons-math
+			LibCommonsMath.BLOCKED_KERNELS = false;
+			MatrixBlock[] ret1 = execute(A, B, opcode, -1);
+			//blocked, multi-threaded kernels
+			MatrixBlock[] ret2 = execute(A, B, opcode, k);
+			for( int i=0; i<ret1.length; i++ )
+				TestUtils.compareMatrices(ret1[i], ret2[i], eps);
+		}
+		finally {
+			LibCommonsMath.BLOCKED_KERNELS = flag;
+		}
+	}
+
+	private static MatrixBlock[] execute(MatrixBlock A, MatrixBlock B, String opcode, int k) {
+		switch( opcode ) {
+			case "cholesky": return new MatrixBlock[] {(k < 0) ?
+				LibCommonsMath.unaryOperations(A, opcode) : LibMatrixLinAlg.cholesky(A, k)};
+			case "inverse": return new MatrixBlock[] {(k < 0) ?
+				LibCommonsMath.unaryOperations(A, opcode) : LibMatrixLinAlg.inverse(A, k)};
+			case "solve": return new MatrixBlock[] {(k < 0) ?
+				LibCommonsMath.matrixMatrixOperations(A, B, opcode) : LibMatrixLinAlg.solve(A, B, k)};
+			case "lu": return (k < 0) ?
+				LibCommonsMath.multiReturnOperations(A, opcode) : LibMatrixLinAlg.lu(A, k);
+			case "qr": return (k < 0) ?
+				LibCommonsMath.multiReturnOperations(A, opcode) : LibMatrixLinAlg.qr(A, k);
+			case "eigen": //eigen values (vectors are unique up to sign)
+				return new MatrixBlock[] {((k < 0) ?
+				LibCommonsMath.multiReturnOperations(A, opcode) : LibMatrixLinAlg.eigenSymmetric(A, k))[0]};
+			default:
+				throw new RuntimeException("Unsupported opcode: "+opcode);
+		}
+	}
+
+	private static void runRandomizedSVDTest(int k) {
+		//exact low-rank input X Y with rank < cols
+		int rank = 5;
+		MatrixBlock X = MatrixBlock.randOperations(rows, rank, 1.0, -1, 1, "uniform", 3);
+		MatrixBlock Y = MatrixBlock.randOperations(rank, 100, 1.0, -1, 1, "uniform", 4);
+		MatrixBlock A = X.aggregateBinaryOperations(X, Y, new MatrixBlock(),
+			InstructionUtils.getMatMultOperator(1));
+		MatrixBlock[] ret = LibMatrixLinAlg.randomizedSvd(A, rank, k);
+		
+		//check singular values and reconstruction
+		MatrixBlock[] ref = LibCommonsMath.multiReturnOperations(A, "svd");
+		MatrixBlock S = ref[1].slice(0, rank-1, 0, rank-1);
+		TestUtils.compareMatrices(S, ret[1], eps);
+		MatrixBlock US = ret[0].aggregateBinaryOperations(ret[0], ret[1], new MatrixBlock(),
+			InstructionUtils.getMatMultOperator(1));
+		MatrixBlock Vt = ret[2].reorgOperations(new ReorgOperator(SwapIndex.getSwapIndexFnObject()),
+			new MatrixBlock(), 0, 0, 0);
+		TestUtils.compareMatrices(A, US.aggregateBinaryOperations(US, Vt, new MatrixBlock(),
+			InstructionUtils.getMatMultOperator(1)), eps);
+	}
+
+	private static MatrixBlock createSPDMatrix(int n, double sparsity, long seed) {
+		//A = X + t(X) + n*I is symmetric and diagonally dominant
+		double[][] X = DataConverter.convertToDoubleMatrix(
+			MatrixBlock.randOperations(n, n, sparsity, 0, 1, "uniform", seed));
+		double[][] A = new double[n][n];
+		for( int i=0; i<n; i++ )
+			for( int j=0; j<n; j++ )
+				A[i][j] = X[i][j] + X[j][i] + ((i==j) ? n : 0);
+		MatrixBlock ret = DataConverter.convertToMatrixBlock(A);
+		ret.examSparsity();
+		return ret;
+	}
+}
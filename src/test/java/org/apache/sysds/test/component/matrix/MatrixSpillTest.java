@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class MatrixSpillTest extends AutomatedTestBase
+{
+	private final static int rows = 1593;
+	private final static int cols = 74;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.05;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testSpillDense() {
+		runMatrixSpillTest(false, false, false);
+	}
+
+	@Test
+	public void testSpillSparse() {
+		runMatrixSpillTest(true, false, false);
+	}
+
+	@Test
+	public void testSpillDenseCompressed() {
+		runMatrixSpillTest(false, true, false);
+	}
+
+	@Test
+	public void testSpillSparseCompressed() {
+		runMatrixSpillTest(true, true, false);
+	}
+
+	@Test
+	public void testSpillDenseReadAhead() {
+		runMatrixSpillTest(false, false, true);
+	}
+
+	@Test
+	public void testSpillSparseCompressedReadAhead() {
+		runMatrixSpillTest(true, true, true);
+	}
+
+	private enum PendingOp {
+		READ, WRITE, DELETE
+	}
+
+	@Test
+	public void testAsyncEvictionReadPendingDense() {
+		runAsyncEvictionTest(false, PendingOp.READ);
+	}
+
+	@Test
+	public void testAsyncEvictionReadPendingSparse() {
+		runAsyncEvictionTest(true, PendingOp.READ);
+	}
+
+	@Test
+	public void testAsyncEvictionWritePendingDense() {
+		runAsyncEvictionTest(false, PendingOp.WRITE);
+	}
+
+	@Test
+	public void testAsyncEvictionWritePendingSparse() {
+		runAsyncEvictionTest(true, PendingOp.WRITE);
+	}
+
+	@Test
+	public void testAsyncEvictionDeletePendingDense() {
+		runAsyncEvictionTest(false, PendingOp.DELETE);
+	}
+
+	@Test
+	public void testAsyncEvictionDeletePendingSparse() {
+		runAsyncEvictionTest(true, PendingOp.DELETE);
+	}
+
+	private void runMatrixSpillTest(boolean sparse, boolean compress, boolean readAhead) {
+		boolean oldStats = DMLScript.STATISTICS;
+		boolean oldCompress = CacheableData.CACHING_EVICTION_COMPRESS;
+		try {
+			DMLScript.STATISTICS = true;
+			CacheableData.CACHING_EVICTION_COMPRESS = compress;
+			CacheStatistics.reset();
+
+			//data generation (rounded values for compressibility)
+			MatrixBlock mA = MatrixBlock.randOperations(rows, cols, sparse ? sparsity2 : sparsity1, -10, 10, "uniform", 7);
+			mA = TestUtils.round(mA);
+			MatrixBlock mA0 = new MatrixBlock(mA);
+
+			//setup caching and matrix object
+			CacheableData.initCaching("tmp_matrix_spill_test");
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, mA.getNonZeros());
+			MatrixObject mo = new MatrixObject(ValueType.FP64, "mA", new MetaDataFormat(mc, FileFormat.BINARY));
+			mo.acquireModify(mA);
+			mo.release();
+
+			//evict matrix and clear in-memory reference
+			LazyWriteBuffer.forceEviction();
+			Method clearmo = CacheableData.class.getDeclaredMethod("clearCache", new Class[] {});
+			clearmo.setAccessible(true);
+			clearmo.invoke(mo, new Object[] {});
+			if( readAhead )
+				mo.prefetch();
+
+			//read matrix through buffer pool (from disk)
+			MatrixBlock mA2 = mo.acquireRead();
+			mo.release();
+
+			//compare matrices and spill statistics
+			TestUtils.compareMatrices(mA0, mA2, 0);
+			Assert.assertTrue(CacheStatistics.getSpillBytes() > 0);
+			if( compress )
+				Assert.assertTrue(CacheStatistics.getSpillBytes() < CacheStatistics.getSpillRawBytes());
+			else
+				Assert.assertEquals(CacheStatistics.getSpillRawBytes(), CacheStatistics.getSpillBytes());
+			Assert.assertEquals(readAhead ? 1 : 0, CacheStatistics.getPrefetchHits());
+			mo.clearData();
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			DMLScript.STATISTICS = oldStats;
+			CacheableData.CACHING_EVICTION_COMPRESS = oldCompress;
+		}
+	}
+
+	private void runAsyncEvictionTest(boolean sparse, PendingOp op) {
+		boolean oldStats = DMLScript.STATISTICS;
+		boolean oldAsync = CacheableData.CACHING_ASYNC_EVICTION;
+		try {
+			DMLScript.STATISTICS = true;
+			CacheableData.CACHING_ASYNC_EVICTION = true;
+			CacheStatistics.reset();
+
+			//data generation (old and new version of the block)
+			double sp = sparse ? sparsity2 : sparsity1;
+			MatrixBlock mA = MatrixBlock.randOperations(rows, cols, sp, -10, 10, "uniform", 7);
+			MatrixBlock mA0 = new MatrixBlock(mA);
+			MatrixBlock mB = MatrixBlock.randOperations(rows, cols, sp, -10, 10, "uniform", 8);
+			MatrixBlock mB0 = new MatrixBlock(mB);
+
+			CacheableData.initCaching("tmp_matrix_spill_test");
+			String fname = LocalFileUtils.getWorkingDir(LocalFileUtils.CATEGORY_CACHE) + "/async_spill";
+			LazyWriteBuffer.writeBlock(fname, mA);
+
+			//hold the lock of the eviction queue, such that the background
+			//writer cannot complete the eviction (reentrant for this thread)
+			Field fqueue = LazyWriteBuffer.class.getDeclaredField("_mQueue");
+			fqueue.setAccessible(true);
+			synchronized( fqueue.get(null) ) {
+				LazyWriteBuffer.forceEvictionAsync();
+				Assert.assertTrue(LazyWriteBuffer.isPendingEviction(fname));
+				switch( op ) {
+					case READ: //from buffer or written file
+						MatrixBlock mA2 = (MatrixBlock) LazyWriteBuffer.readBlock(fname, true);
+						TestUtils.compareMatrices(mA0, mA2, 0);
+						Assert.assertTrue(LazyWriteBuffer.isPendingEviction(fname));
+						break;
+					case WRITE: //waits (w/ released lock) for the pending eviction
+						LazyWriteBuffer.writeBlock(fname, mB);
+						Assert.assertFalse(LazyWriteBuffer.isPendingEviction(fname));
+						break;
+					case DELETE: //deferred until written
+						LazyWriteBuffer.deleteBlock(fname);
+						Assert.assertTrue(LazyWriteBuffer.isPendingEviction(fname));
+						break;
+				}
+			}
+
+			//evict the buffer and wait for pending evictions
+			LazyWriteBuffer.forceEviction();
+			Assert.assertFalse(LazyWriteBuffer.isPendingEviction(fname));
+			if( op == PendingOp.DELETE ) {
+				Assert.assertFalse(new File(fname).exists());
+			}
+			else {
+				//read from disk, where a re-eviction must not be overwritten by the old version
+				MatrixBlock mC = (MatrixBlock) LazyWriteBuffer.readBlock(fname, true);
+				TestUtils.compareMatrices(op == PendingOp.WRITE ? mB0 : mA0, mC, 0);
+				LazyWriteBuffer.deleteBlock(fname);
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			DMLScript.STATISTICS = oldStats;
+			CacheableData.CACHING_ASYNC_EVICTION = oldAsync;
+		}
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.sysds.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class ParallelReorgTest
+{
+	private final static int k = 4;
+
+	@Test
+	public void testRemoveEmptyRowsDense() {
+		runRemoveEmptyTest(MatrixBlock.randOperations(500000, 3, 0.5, 1, 10, "uniform", 7), true, false);
+	}
+
+	@Test
+	public void testRemoveEmptyRowsSparse() {
+		runRemoveEmptyTest(MatrixBlock.randOperations(200000, 10, 0.05, 1, 10, "uniform", 7), true, false);
+	}
+
+	@Test
+	public void testRemoveEmptyRowsSelect() {
+		runRemoveEmptyTest(MatrixBlock.randOperations(500000, 3, 0.5, 1, 10, "uniform", 7), true, true);
+	}
+
+	@Test
+	public void testRemoveEmptyColsDense() {
+		MatrixBlock A = MatrixBlock.randOperations(1200, 1000, 1.0, 1, 10, "uniform", 7);
+		for( int i=0; i<A.getNumRows(); i++ )
+			for( int j=0; j<A.getNumColumns(); j+=7 )
+				A.quickSetValue(i, j, 0);
+		runRemoveEmptyTest(A, false, false);
+	}
+
+	@Test
+	public void testRemoveEmptyColsSparse() {
+		runRemoveEmptyTest(MatrixBlock.randOperations(2000, 1000, 0.001, 1, 10, "uniform", 7), false, false);
+	}
+
+	@Test
+	public void testReshapeDenseColwise() {
+		runReshapeTest(MatrixBlock.randOperations(2000, 1000, 0.9, 1, 10, "uniform", 7), 1000, 2000, false);
+	}
+
+	@Test
+	public void testReshapeSparseRowwise() {
+		runReshapeTest(MatrixBlock.randOperations(10000, 2000, 0.06, 1, 10, "uniform", 7), 20000, 1000, true);
+	}
+
+	@Test
+	public void testReshapeSparseRowwiseN1() {
+		runReshapeTest(MatrixBlock.randOperations(10000, 2000, 0.06, 1, 10, "uniform", 7), 5000, 4000, true);
+	}
+
+	@Test
+	public void testReshapeSparseToDenseRowwise() {
+		runReshapeTest(MatrixBlock.randOperations(2000, 2000, 0.3, 1, 10, "uniform", 7), 4000000, 1, true);
+	}
+
+	@Test
+	public void testReshapeDenseToSparseRowwise() {
+		runReshapeTest(MatrixBlock.randOperations(5000000, 1, 0.25, 1, 10, "uniform", 7), 5000, 1000, true);
+	}
+
+	@Test
+	public void testCbindDense() {
+		runAppendTest(0.9, true);
+	}
+
+	@Test
+	public void testCbindSparse() {
+		runAppendTest(0.08, true);
+	}
+
+	@Test
+	public void testRbindDense() {
+		runAppendTest(0.9, false);
+	}
+
+	@Test
+	public void testRbindSparse() {
+		runAppendTest(0.08, false);
+	}
+
+	private static void runRemoveEmptyTest(MatrixBlock A, boolean rows, boolean select) {
+		MatrixBlock S = null;
+		if( select ) {
+			S = new MatrixBlock(A.getNumRows(), 1, false);
+			for( int i=0; i<A.getNumRows(); i+=3 )
+				S.quickSetValue(i, 0, 1);
+		}
+		MatrixBlock ret1 = A.removeEmptyOperations(new MatrixBlock(), rows, true, S, 1);
+		MatrixBlock ret2 = A.removeEmptyOperations(new MatrixBlock(), rows, true, S, k);
+		assertEquals(ret1.getNumRows(), ret2.getNumRows());
+		assertEquals(ret1.getNumColumns(), ret2.getNumColumns());
+		assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+		if( !select )
+			assertEquals(A.getNonZeros(), ret2.getNonZeros());
+		TestUtils.compareMatrices(ret1, ret2, 0);
+	}
+
+	private static void runReshapeTest(MatrixBlock A, int rows, int cols, boolean rowwise) {
+		MatrixBlock ret1 = LibMatrixReorg.reshape(A, new MatrixBlock(), rows, cols, rowwise, 1);
+		MatrixBlock ret2 = LibMatrixReorg.reshape(A, new MatrixBlock(), rows, cols, rowwise, k);
+		assertEquals(A.getNonZeros(), ret2.getNonZeros());
+		assertEquals(A.getNonZeros(), ret2.recomputeNonZeros());
+		TestUtils.compareMatrices(ret1, ret2, 0);
+
+		//reference via linearized cell indexes
+		int m = A.getNumRows(), n = A.getNumColumns();
+		for( int i=0; i<m; i+=7 )
+			for( int j=0; j<n; j+=3 ) {
+				long ix = rowwise ? (long)i*n+j : (long)j*m+i;
+				int ci = (int)(rowwise ? ix/cols : ix%rows);
+				int cj = (int)(rowwise ? ix%cols : ix/rows);
+				assertEquals(A.quickGetValue(i, j), ret2.quickGetValue(ci, cj), 0);
+			}
+	}
+
+	private static void runAppendTest(double sparsity, boolean cbind) {
+		//sparse inputs with more rows to exceed the parallelization threshold
+		int m = (sparsity < 0.4) ? 10000 : 1000;
+		MatrixBlock A = MatrixBlock.randOperations(m, 700, sparsity, 1, 10, "uniform", 7);
+		MatrixBlock B = MatrixBlock.randOperations(m, 700, sparsity, 1, 10, "uniform", 3);
+		MatrixBlock C = MatrixBlock.randOperations(m, 700, sparsity*0.5, 1, 10, "uniform", 11);
+		MatrixBlock D = cbind ? MatrixBlock.randOperations(m, 300, sparsity, 1, 10, "uniform", 13) :
+			MatrixBlock.randOperations(300, 700, sparsity, 1, 10, "uniform", 13);
+		MatrixBlock[] in = new MatrixBlock[]{B, C, D};
+		MatrixBlock ret1 = A.append(in, new MatrixBlock(), cbind, 1);
+		MatrixBlock ret2 = A.append(in, new MatrixBlock(), cbind, k);
+		assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+		assertEquals(ret1.recomputeNonZeros(), ret2.recomputeNonZeros());
+		TestUtils.compareMatrices(ret1, ret2, 0);
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class SpGEMMTest
+{
+	@Test
+	public void testSpGEMMSingleThreaded() {
+		runSpGEMMTest(MatrixBlock.randOperations(1000, 2000, 0.005, 1, 10, "uniform", 7),
+			MatrixBlock.randOperations(2000, 3000, 0.005, 1, 10, "uniform", 3), 1);
+	}
+
+	@Test
+	public void testSpGEMMMultiThreaded() {
+		runSpGEMMTest(MatrixBlock.randOperations(1000, 2000, 0.005, 1, 10, "uniform", 7),
+			MatrixBlock.randOperations(2000, 3000, 0.005, 1, 10, "uniform", 3), 4);
+	}
+
+	@Test
+	public void testSpGEMMWideOutputMultiThreaded() {
+		runSpGEMMTest(MatrixBlock.randOperations(1000, 2000, 0.005, 1, 10, "uniform", 7),
+			MatrixBlock.randOperations(2000, 20000, 0.005, 1, 10, "uniform", 3), 4);
+	}
+
+	@Test
+	public void testSpGEMMSelfProductMultiThreaded() {
+		MatrixBlock A = MatrixBlock.randOperations(3000, 3000, 0.003, 1, 1, "uniform", 11);
+		runSpGEMMTest(A, A, 4);
+	}
+
+	@Test
+	public void testSpGEMMCancellationMultiThreaded() {
+		//rows i of A compute B[2t,] - B[2t+1,], which cancel out for even t
+		Random rand = new Random(7);
+		MatrixBlock A = new MatrixBlock(1000, 400, true);
+		MatrixBlock B = new MatrixBlock(400, 5000, true);
+		for( int i=0; i<1000; i++ ) {
+			A.appendValue(i, 2*(i%200), 1);
+			A.appendValue(i, 2*(i%200)+1, -1);
+		}
+		for( int t=0; t<200; t++ )
+			for( int j=0; j<5000; j+=1+rand.nextInt(100) ) {
+				double v = rand.nextDouble() + 1;
+				B.appendValue(2*t, j, v);
+				B.appendValue(2*t+1, j, (t%2==0) ? v : v + 1);
+			}
+		runSpGEMMTest(A, B, 4);
+	}
+
+	private static void runSpGEMMTest(MatrixBlock A, MatrixBlock B, int k) {
+		A.recomputeNonZeros();
+		B.recomputeNonZeros();
+		assertTrue(A.isInSparseFormat() && B.isInSparseFormat());
+		assertTrue(LibMatrixMult.isSparseOutputMatrixMult(A, B));
+		
+		MatrixBlock ret = new MatrixBlock(A.getNumRows(), B.getNumColumns(), true);
+		if( k > 1 )
+			LibMatrixMult.matrixMult(A, B, ret, k);
+		else
+			LibMatrixMult.matrixMult(A, B, ret);
+		MatrixBlock expected = matrixMultReference(A, B);
+		
+		assertTrue(ret.isInSparseFormat());
+		assertTrue(ret.getSparseBlock() instanceof SparseBlockCSR);
+		assertEquals(expected.getNonZeros(), ret.getNonZeros());
+		assertEquals(expected.getNonZeros(), ret.recomputeNonZeros());
+		assertTrue(ret.getSparseBlock().checkValidity(ret.getNumRows(), ret.getNumColumns(), ret.getNonZeros(), true));
+		TestUtils.compareMatrices(expected, ret, 1e-10);
+	}
+
+	private static MatrixBlock matrixMultReference(MatrixBlock A, MatrixBlock B) {
+		SparseBlock a = A.getSparseBlock();
+		SparseBlock b = B.getSparseBlock();
+		int n = B.getNumColumns();
+		MatrixBlock ret = new MatrixBlock(A.getNumRows(), n, true);
+		double[] tmp = new double[n];
+		for( int i=0; i<A.getNumRows(); i++ ) {
+			if( a.isEmpty(i) ) continue;
+			for( int k=a.pos(i); k<a.pos(i)+a.size(i); k++ ) {
+				int r = a.indexes(i)[k];
+				if( b.isEmpty(r) ) continue;
+				for( int j=b.pos(r); j<b.pos(r)+b.size(r); j++ )
+					tmp[b.indexes(r)[j]] += a.values(i)[k] * b.values(r)[j];
+			}
+			for( int j=0; j<n; j++ ) {
+				if( tmp[j] != 0 )
+					ret.appendValue(i, j, tmp[j]);
+				tmp[j] = 0;
+			}
+		}
+		ret.recomputeNonZeros();
+		return ret;
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import org.apache.sysds.runtime.controlprogram.caching.BlockBufferPool;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BlockBufferPoolTest {
+	private static final int rows = 100;
+	private static final int cols = 200;
+
+	@Before
+	public void setup() {
+		BlockBufferPool.ACTIVE = true;
+		BlockBufferPool.clear();
+		BlockBufferPool.resetStatistics();
+	}
+
+	@After
+	public void cleanup() {
+		BlockBufferPool.clear();
+		BlockBufferPool.ACTIVE = false;
+	}
+
+	@Test
+	public void testReuseOwnedDense() {
+		MatrixBlock mb = createDense();
+		double[] values = mb.getDenseBlockValues();
+		BlockBufferPool.registerOutput(mb);
+		BlockBufferPool.release(mb);
+		MatrixBlock mb2 = new MatrixBlock(rows, cols, false);
+		mb2.allocateDenseBlock();
+		Assert.assertSame(values, mb2.getDenseBlockValues());
+		Assert.assertEquals(1, BlockBufferPool.getNumReuses());
+		Assert.assertEquals(0, mb2.recomputeNonZeros());
+	}
+
+	@Test
+	public void testNoReuseExternalInput() {
+		MatrixBlock mb = createDense();
+		double[] values = mb.getDenseBlockValues();
+		BlockBufferPool.registerInput(mb);
+		BlockBufferPool.registerOutput(mb);
+		BlockBufferPool.release(mb);
+		assertNotReused(values);
+	}
+
+	@Test
+	public void testNoReuseSharedOutput() {
+		MatrixBlock mb = createDense();
+		double[] values = mb.getDenseBlockValues();
+		BlockBufferPool.registerOutput(mb);
+		BlockBufferPool.registerOutput(mb);
+		BlockBufferPool.release(mb);
+		assertNotReused(values);
+	}
+
+	@Test
+	public void testNoReuseInactive() {
+		MatrixBlock mb = createDense();
+		double[] values = mb.getDenseBlockValues();
+		BlockBufferPool.registerOutput(mb);
+		BlockBufferPool.ACTIVE = false;
+		BlockBufferPool.release(mb);
+		BlockBufferPool.ACTIVE = true;
+		assertNotReused(values);
+	}
+
+	@Test
+	public void testReuseOwnedSparseCSR() {
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols * 100, 0.01, -1, 1, "uniform", 7);
+		mb = new MatrixBlock(mb, SparseBlock.Type.CSR, true);
+		double[] values = mb.getSparseBlock().values(0);
+		int len = values.length;
+		BlockBufferPool.registerOutput(mb);
+		BlockBufferPool.release(mb);
+		Assert.assertSame(values, BlockBufferPool.allocDouble(len));
+		Assert.assertEquals(1, BlockBufferPool.getNumReuses());
+	}
+
+	private static MatrixBlock createDense() {
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, 1.0, -1, 1, "uniform", 7);
+		Assert.assertFalse(mb.isInSparseFormat());
+		return mb;
+	}
+
+	private static void assertNotReused(double[] values) {
+		MatrixBlock mb = new MatrixBlock(rows, cols, false);
+		mb.allocateDenseBlock();
+		Assert.assertNotSame(values, mb.getDenseBlockValues());
+		Assert.assertEquals(0, BlockBufferPool.getNumReuses());
+	}
+}
@@ -22,6 +22,7 @@ package org.apache.sysds.test.component.misc;
 import java.util.Map;
 
 import org.apache.commons.cli.AlreadySelectedException;
+import org.apache.commons.cli.MissingArgumentException;
 import org.apache.commons.cli.MissingOptionException;
 import org.apache.commons.cli.ParseException;
 import org.junit.Assert;
@@ -123,6 +124,21 @@ public class CLIOptionsParserTest {
 		Assert.assertEquals(true, o.stats);
 	}
 
+	@Test
+	public void testTrace() throws Exception {
+		String cl = "systemds -f test.dml -trace trace.json";
+		String[] args = cl.split(" ");
+		DMLOptions o = DMLOptions.parseCLArguments(args);
+		Assert.assertEquals("trace.json", o.traceFile);
+	}
+
+	@Test(expected = MissingArgumentException.class)
+	public void testBadTrace() throws Exception {
+		String cl = "systemds -f test.dml -trace";
+		String[] args = cl.split(" ");
+		DMLOptions.parseCLArguments(args);
+	}
+
 	@Test
 	public void testLineage() throws Exception {
 		String cl = "systemds -f test.dml -lineage";
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CommonThreadPoolTest {
+
+	@Test
+	public void testPersistentPoolReuse() throws Exception {
+		int k = InfrastructureAnalyzer.getLocalParallelism() + 1;
+		Assert.assertTrue(CommonThreadPool.isPersistent(k));
+		ForkJoinPool p1 = getExecutingPool(k);
+		ForkJoinPool p2 = getExecutingPool(k);
+		Assert.assertNotNull(p1);
+		Assert.assertSame(p1, p2);
+		Assert.assertEquals(k, p1.getParallelism());
+	}
+
+	@Test
+	public void testDistinctPoolsPerParallelism() throws Exception {
+		int k = InfrastructureAnalyzer.getLocalParallelism();
+		Assert.assertNotSame(getExecutingPool(k + 1), getExecutingPool(k + 2));
+	}
+
+	@Test
+	public void testNestedRequestReusesPool() throws Exception {
+		int k = InfrastructureAnalyzer.getLocalParallelism() + 1;
+		ExecutorService pool = CommonThreadPool.get(k);
+		ForkJoinPool inner = pool.submit(() -> getExecutingPool(k + 1, true)).get();
+		ForkJoinPool outer = getExecutingPool(k);
+		pool.shutdown();
+		Assert.assertSame(outer, inner);
+	}
+
+	@Test
+	public void testNestedRequestSameParallelism() throws Exception {
+		int k = InfrastructureAnalyzer.getLocalParallelism() + 1;
+		ExecutorService pool = CommonThreadPool.get(k);
+		ForkJoinPool inner = pool.submit(() -> getExecutingPool(k)).get();
+		ForkJoinPool outer = getExecutingPool(k);
+		pool.shutdown();
+		Assert.assertSame(outer, inner);
+	}
+
+	@Test
+	public void testNestedRequestSingleThread() throws Exception {
+		int k = InfrastructureAnalyzer.getLocalParallelism() + 1;
+		ExecutorService pool = CommonThreadPool.get(k);
+		ForkJoinPool inner = pool.submit(() -> getExecutingPool(1)).get();
+		ForkJoinPool outer = getExecutingPool(k);
+		pool.shutdown();
+		//requests of different parallelism are not served by the current pool
+		Assert.assertNotSame(outer, inner);
+		Assert.assertEquals(1, inner.getParallelism());
+	}
+
+	@Test
+	public void testParallelismSmallWorkload() {
+		Assert.assertEquals(1, CommonThreadPool.getParallelism(16, 1000, 8000));
+		Assert.assertEquals(1, CommonThreadPool.getParallelism(1, 1e12, 1e12));
+	}
+
+	@Test
+	public void testParallelismLargeWorkload() {
+		Assert.assertEquals(16, CommonThreadPool.getParallelism(16, 1e12, 1e12));
+	}
+
+	@Test
+	public void testParallelismMediumWorkload() {
+		int k = CommonThreadPool.getParallelism(16, 4 * CommonThreadPool.MIN_COST_PER_THREAD, 0);
+		Assert.assertEquals(4, k);
+	}
+
+	private static ForkJoinPool getExecutingPool(int k) throws Exception {
+		return getExecutingPool(k, false);
+	}
+
+	private static ForkJoinPool getExecutingPool(int k, boolean reuseCurrent) throws Exception {
+		ExecutorService pool = CommonThreadPool.get(k, reuseCurrent);
+		ForkJoinPool ret = pool.submit(() -> {
+			Thread t = Thread.currentThread();
+			return (t instanceof ForkJoinWorkerThread) ?
+				((ForkJoinWorkerThread) t).getPool() : null;
+		}).get();
+		pool.shutdown();
+		return ret;
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.utils.InstructionTracer;
+import org.apache.sysds.utils.InstructionTracer.EventType;
+import org.apache.sysds.utils.InstructionTracer.TraceFormat;
+
+@net.jcip.annotations.NotThreadSafe
+public class InstructionTracerTest {
+
+	@After
+	public void cleanup() {
+		InstructionTracer.disable();
+		InstructionTracer.reset();
+	}
+
+	@Test
+	public void testFormatFromFileName() {
+		Assert.assertEquals(TraceFormat.CHROME, TraceFormat.fromFileName("trace.JSON"));
+		Assert.assertEquals(TraceFormat.FOLDED, TraceFormat.fromFileName("trace.folded"));
+	}
+
+	@Test
+	public void testChromeTrace() {
+		InstructionTracer.enable("trace.json");
+		InstructionTracer.traceCacheEvent(EventType.RESTORE, "tmp/cache_1",
+			new MatrixCharacteristics(1000, 10, 500), System.nanoTime());
+		InstructionTracer.traceCacheEvent(EventType.EVICT, "tmp/cache_2", null, System.nanoTime());
+		String trace = InstructionTracer.toChromeTrace();
+		Assert.assertEquals(2, InstructionTracer.getNumEvents());
+		Assert.assertTrue(trace.startsWith("{\"displayTimeUnit\""));
+		Assert.assertTrue(trace.contains("\"name\":\"tmp/cache_1\",\"cat\":\"restore\""));
+		Assert.assertTrue(trace.contains("\"out\":{\"rows\":1000,\"cols\":10,\"nnz\":500"));
+		Assert.assertTrue(trace.contains("\"cat\":\"evict\""));
+	}
+
+	@Test
+	public void testFoldedStacks() {
+		InstructionTracer.enable("trace.folded");
+		for( int i=0; i<3; i++ )
+			InstructionTracer.traceCacheEvent(EventType.EVICT, "cache;1", null, System.nanoTime());
+		String stacks = InstructionTracer.toFoldedStacks();
+		Assert.assertEquals(1, stacks.split("\n").length);
+		Assert.assertTrue(stacks.contains(";evict:cache_1 "));
+	}
+
+	@Test
+	public void testRingBufferOverflow() {
+		InstructionTracer.enable("trace.json", TraceFormat.CHROME, 4);
+		for( int i=0; i<10; i++ )
+			InstructionTracer.traceCacheEvent(EventType.PIN, "cache_"+i, null, System.nanoTime());
+		Assert.assertEquals(4, InstructionTracer.getNumEvents());
+		Assert.assertEquals(6, InstructionTracer.getNumDroppedEvents());
+		String trace = InstructionTracer.toChromeTrace();
+		Assert.assertFalse(trace.contains("\"cache_5\""));
+		Assert.assertTrue(trace.contains("\"cache_6\""));
+		Assert.assertTrue(trace.contains("\"cache_9\""));
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.runtime.lineage.LineageItem;
+import org.apache.sysds.runtime.lineage.LineageItemUtils;
+
+public class LineageItemEqualityTest {
+
+	@Test
+	public void testEqualDags() {
+		LineageItem a = createDag("X", 100, "+");
+		LineageItem b = createDag("X", 100, "+");
+		Assert.assertNotSame(a, b);
+		Assert.assertEquals(a.hashCode(), b.hashCode());
+		Assert.assertEquals(a, b);
+		Assert.assertEquals(a.getCanonicalId(), b.getCanonicalId());
+	}
+
+	@Test
+	public void testNotEqualDags() {
+		Assert.assertNotEquals(createDag("X", 100, "+"), createDag("Y", 100, "+"));
+		Assert.assertNotEquals(createDag("X", 100, "+"), createDag("X", 100, "*"));
+		Assert.assertNotEquals(createDag("X", 100, "+"), createDag("X", 99, "+"));
+	}
+
+	@Test
+	public void testDeepDags() {
+		//no stack overflow for deep lineage DAGs of long-running loops
+		LineageItem a = createDag("X", 100000, "+");
+		LineageItem b = createDag("X", 100000, "+");
+		Assert.assertEquals(a, b);
+		Assert.assertNotEquals(a, createDag("X", 100001, "+"));
+	}
+
+	@Test
+	public void testResetInputs() {
+		LineageItem a = createDag("X", 10, "+");
+		LineageItem b = createDag("X", 10, "+");
+		a.resetInputs();
+		Assert.assertEquals(a, b);
+		Assert.assertNotEquals(a, createDag("Y", 10, "+"));
+	}
+
+	@Test
+	public void testReplaceDeepInput() {
+		LineageItem a = createDag("X", 10, "+");
+		LineageItem b = createDag("X", 10, "+");
+		Assert.assertEquals(a, b);
+		//in-place replacement deep inside an already compared DAG
+		LineageItem tmp = a;
+		for( int i=0; i<5; i++ )
+			tmp = tmp.getInputs()[0];
+		LineageItem old = tmp.getInputs()[1];
+		LineageItem z = new LineageItem("Z");
+		LineageItemUtils.replace(a, old, z);
+		Assert.assertNotEquals(a, b);
+		LineageItemUtils.replace(a, z, old);
+		Assert.assertEquals(a, b);
+	}
+
+	@Test
+	public void testSetInputLocalInvalidation() {
+		LineageItem a = createDag("X", 10, "+");
+		LineageItem b = createDag("X", 10, "+");
+		Assert.assertEquals(a, b);
+		//in-place modification of the compared item itself
+		LineageItem old = a.getInputs()[1];
+		a.setInput(1, new LineageItem("Z"));
+		Assert.assertNotEquals(a, b);
+		a.setInput(1, old);
+		Assert.assertEquals(a, b);
+	}
+
+	@Test
+	public void testCanonicalTableReset() {
+		LineageItem a = createDag("X", 10, "+");
+		LineageItem c = createDag("X", 10, "+");
+		long id = a.getCanonicalId();
+		c.resetInputs(); //materialized id of old generation
+		//reset between the creation of structurally equal items
+		LineageItem.resetCanonicalTable();
+		LineageItem b = createDag("X", 10, "+");
+		Assert.assertEquals(a, b);
+		Assert.assertEquals(b, a);
+		Assert.assertNotEquals(id, b.getCanonicalId());
+		Assert.assertEquals(a.getCanonicalId(), b.getCanonicalId());
+		Assert.assertEquals(c, b);
+		Assert.assertNotEquals(c, createDag("Y", 10, "+"));
+	}
+
+	@Test
+	public void testConcurrentEquals() throws Exception {
+		LineageItem a = createDag("X", 1000, "+");
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		List<Future<Boolean>> rets = new ArrayList<>();
+		for( int i=0; i<64; i++ ) {
+			final int ix = i;
+			rets.add(pool.submit(() -> a.equals(createDag("X", 1000, "+"))
+				&& !a.equals(createDag("X", 1000, (ix%2==0) ? "-" : "*"))));
+		}
+		for( Future<Boolean> ret : rets )
+			Assert.assertTrue(ret.get());
+		pool.shutdown();
+	}
+
+	private static LineageItem createDag(String name, int depth, String opcode) {
+		LineageItem X = new LineageItem(name);
+		LineageItem one = new LineageItem("1");
+		LineageItem cur = new LineageItem(name+"_in", "rand");
+		for( int i=0; i<depth; i++ )
+			cur = new LineageItem(opcode, new LineageItem[]{cur, (i%2==0) ? X : one});
+		return cur;
+	}
+}
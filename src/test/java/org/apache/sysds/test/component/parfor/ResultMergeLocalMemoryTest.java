@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.parfor;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.parfor.ResultMergeLocalMemory;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.test.TestUtils;
+
+public class ResultMergeLocalMemoryTest {
+	private final static int rows = 1234;
+	private final static int cols = 57;
+	private final static int k = 3;
+
+	@Test
+	public void testDenseNoCompare() {
+		runResultMergeTest(0.9, false, false);
+	}
+
+	@Test
+	public void testSparseNoCompare() {
+		runResultMergeTest(0.05, false, false);
+	}
+
+	@Test
+	public void testDenseCompare() {
+		runResultMergeTest(0.9, true, false);
+	}
+
+	@Test
+	public void testSparseCompare() {
+		runResultMergeTest(0.05, true, false);
+	}
+
+	@Test
+	public void testDenseAccumulate() {
+		runResultMergeTest(0.9, false, true);
+	}
+
+	@Test
+	public void testSparseAccumulate() {
+		runResultMergeTest(0.05, false, true);
+	}
+
+	@Test
+	public void testSparseAccumulateCompare() {
+		runResultMergeTest(0.05, true, true);
+	}
+
+	private static void runResultMergeTest(double sparsity, boolean compare, boolean accum) {
+		MatrixBlock out = compare ?
+			MatrixBlock.randOperations(rows, cols, 0.3, 1, 2, "uniform", 3) :
+			new MatrixBlock(rows, cols, true);
+		//worker results w/ disjoint column ranges of updates
+		MatrixBlock[] in = new MatrixBlock[k];
+		for( int i=0; i<k; i++ ) {
+			MatrixBlock tmp = MatrixBlock.randOperations(rows, cols, sparsity, 3, 4, "uniform", 7+i);
+			in[i] = new MatrixBlock(rows, cols, sparsity < 0.4);
+			in[i].copy(out);
+			for( int r=0; r<rows; r++ )
+				for( int c=i; c<cols; c+=k )
+					in[i].quickSetValue(r, c, tmp.quickGetValue(r, c));
+			in[i].examSparsity();
+		}
+		
+		MatrixBlock ret1 = new ResultMergeLocalMemory(createMatrixObject(out),
+			createMatrixObjects(in), "rm_out1", accum).executeSerialMerge().acquireReadAndRelease();
+		MatrixBlock ret2 = new ResultMergeLocalMemory(createMatrixObject(out),
+			createMatrixObjects(in), "rm_out2", accum).executeParallelMerge(k).acquireReadAndRelease();
+		
+		TestUtils.compareMatrices(ret1, ret2, 1e-10);
+		Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+		Assert.assertEquals(ret1.recomputeNonZeros(), ret2.getNonZeros());
+	}
+
+	private static MatrixObject[] createMatrixObjects(MatrixBlock[] mb) {
+		MatrixObject[] ret = new MatrixObject[mb.length];
+		for( int i=0; i<mb.length; i++ )
+			ret[i] = createMatrixObject(new MatrixBlock(mb[i]));
+		return ret;
+	}
+
+	private static MatrixObject createMatrixObject(MatrixBlock mb) {
+		MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, mb.getNonZeros());
+		return new MatrixObject(ValueType.FP64, "rm_in",
+			new MetaDataFormat(mc, FileFormat.BINARY), mb);
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.parfor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.runtime.controlprogram.parfor.Task;
+import org.apache.sysds.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitioner;
+import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerWorkStealing;
+import org.apache.sysds.runtime.controlprogram.parfor.WorkStealingTaskQueue;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+
+public class WorkStealingTaskQueueTest {
+
+	@Test
+	public void testSingleWorker() throws Exception {
+		runWorkStealing(1, 1, 1000, 1, 1);
+	}
+
+	@Test
+	public void testMultiWorker() throws Exception {
+		runWorkStealing(4, 1, 10000, 1, 1);
+	}
+
+	@Test
+	public void testMultiWorkerIncrement() throws Exception {
+		runWorkStealing(8, 3, 9999, 7, 1);
+	}
+
+	@Test
+	public void testMultiWorkerNegativeIncrement() throws Exception {
+		runWorkStealing(8, 1000, 1, -3, 1);
+	}
+
+	@Test
+	public void testMultiWorkerMinChunk() throws Exception {
+		runWorkStealing(3, 1, 1000, 1, 64);
+	}
+
+	@Test
+	public void testMoreWorkersThanIterations() throws Exception {
+		runWorkStealing(16, 1, 5, 1, 1);
+	}
+
+	@Test
+	public void testStealing() {
+		//worker 0 drains its own and subsequently steals the other ranges
+		WorkStealingTaskQueue q = new WorkStealingTaskQueue(4);
+		Assert.assertEquals(4, q.init("i", 1, 1, 400, 1));
+		long iters = 0;
+		Task t = null;
+		while( (t = q.dequeueTask(0)) != null )
+			iters += countIterations(t);
+		Assert.assertEquals(400, iters);
+		Assert.assertTrue(q.getNumSteals() >= 3);
+	}
+
+	private static void runWorkStealing(int k, long from, long to, long incr, long minChunk) throws Exception {
+		TaskPartitioner tp = new TaskPartitionerWorkStealing(minChunk, k, "i",
+			new IntObject(from), new IntObject(to), new IntObject(incr));
+		WorkStealingTaskQueue q = new WorkStealingTaskQueue(k);
+		tp.createTasks(q);
+		
+		//count every executed iteration value (relative to the smaller bound)
+		long lmin = Math.min(from, to);
+		AtomicIntegerArray seen = new AtomicIntegerArray((int)(Math.max(from, to)-lmin+1));
+		ExecutorService pool = Executors.newFixedThreadPool(k);
+		try {
+			List<Future<Long>> rets = new ArrayList<>();
+			for( int w=0; w<k; w++ ) {
+				final int ix = w;
+				rets.add(pool.submit(() -> {
+					long tasks = 0;
+					Task t = null;
+					while( (t = q.dequeueTask(ix)) != null ) {
+						Assert.assertEquals(TaskType.RANGE, t.getType());
+						Assert.assertTrue(t.size()==3 && countIterations(t) >= 1);
+						long lto = t.getIterations().get(1).getLongValue();
+						long lincr = t.getIterations().get(2).getLongValue();
+						for( long i=t.getIterations().get(0).getLongValue(); i<=lto; i+=lincr )
+							seen.incrementAndGet((int)(i-lmin));
+						tasks++;
+					}
+					return tasks;
+				}));
+			}
+			long tasks = 0;
+			for( Future<Long> ret : rets )
+				tasks += ret.get();
+			Assert.assertEquals(q.getNumCreatedTasks(), tasks);
+		}
+		finally {
+			pool.shutdown();
+		}
+		
+		//check that every iteration was executed exactly once
+		long iters = 0;
+		for( int i=0; i<seen.length(); i++ ) {
+			Assert.assertTrue(seen.get(i) <= 1);
+			iters += seen.get(i);
+		}
+		Assert.assertEquals(tp.getNumIterations(), iters);
+	}
+
+	private static long countIterations(Task t) {
+		long lfrom = t.getIterations().get(0).getLongValue();
+		long lto = t.getIterations().get(1).getLongValue();
+		long lincr = t.getIterations().get(2).getLongValue();
+		return (lto - lfrom) / lincr + 1;
+	}
+}
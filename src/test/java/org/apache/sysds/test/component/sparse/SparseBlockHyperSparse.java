@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.sparse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockDCSR;
+import org.apache.sysds.runtime.data.SparseBlockFactory;
+import org.apache.sysds.runtime.data.SparseBlockMCSR;
+import org.apache.sysds.runtime.matrix.data.IJV;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+
+/**
+ * This is a sparse matrix block component test for the doubly-compressed
+ * DCSR format, which stores only non-empty rows and is automatically selected
+ * for hyper-sparse blocks with far fewer non-zeros than rows.
+ */
+public class SparseBlockHyperSparse
+{
+	private final static int rows = 100000;
+	private final static int cols = 1000;
+	private final static double sparsity = 0.00001;
+
+	@Test
+	public void testDCSRSetGetDelete() {
+		SparseBlock sblock = SparseBlockFactory.createSparseBlock(SparseBlock.Type.DCSR, rows);
+		sblock.set(70000, 5, 3);
+		sblock.set(7, 9, 1);
+		sblock.set(7, 2, 2);
+		sblock.set(99999, 0, 4);
+		Assert.assertEquals(4, sblock.size());
+		Assert.assertEquals(3, ((SparseBlockDCSR)sblock).numNonEmptyRows());
+		Assert.assertEquals(2, sblock.get(7, 2), 0);
+		Assert.assertEquals(1, sblock.get(7, 9), 0);
+		Assert.assertEquals(0, sblock.get(8, 9), 0);
+		Assert.assertTrue(sblock.isEmpty(8));
+
+		//overwrite and delete incl removal of empty rows
+		sblock.set(7, 2, 5);
+		sblock.set(70000, 5, 0);
+		Assert.assertEquals(5, sblock.get(7, 2), 0);
+		Assert.assertEquals(3, sblock.size());
+		Assert.assertTrue(sblock.isEmpty(70000));
+		Assert.assertTrue(sblock.checkValidity(rows, cols, 3, true));
+	}
+
+	@Test
+	public void testDCSRAppendNextNonEmptyRow() {
+		SparseBlock sblock = SparseBlockFactory.createSparseBlock(SparseBlock.Type.DCSR, rows);
+		int[] rix = new int[] {3, 17, 4096, 65536, 99998};
+		for( int r : rix ) {
+			sblock.append(r, 1, r);
+			sblock.append(r, 7, -r);
+		}
+		Assert.assertEquals(2*rix.length, sblock.size());
+		Assert.assertEquals(3, sblock.nextNonEmptyRow(0, rows));
+		Assert.assertEquals(17, sblock.nextNonEmptyRow(4, rows));
+		Assert.assertEquals(4096, sblock.nextNonEmptyRow(4096, rows));
+		Assert.assertEquals(5000, sblock.nextNonEmptyRow(4097, 5000));
+		Assert.assertEquals(rows, sblock.nextNonEmptyRow(99999, rows));
+
+		//full scan via next non-empty row
+		int cnt = 0;
+		for( int i=sblock.nextNonEmptyRow(0, rows); i<rows; i=sblock.nextNonEmptyRow(i+1, rows) ) {
+			Assert.assertEquals(rix[cnt++], i);
+			Assert.assertEquals(2, sblock.size(i));
+			Assert.assertEquals(-i, sblock.values(i)[sblock.pos(i)+1], 0);
+		}
+		Assert.assertEquals(rix.length, cnt);
+		Assert.assertEquals(4, sblock.size(4, 70000));
+	}
+
+	@Test
+	public void testDCSRIteratorAndCopy() {
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, 1, 10, "uniform", 7);
+		SparseBlock mcsr = new SparseBlockMCSR(mb.getSparseBlock());
+		SparseBlock dcsr = SparseBlockFactory.copySparseBlock(SparseBlock.Type.DCSR, mcsr, true);
+		Assert.assertTrue(dcsr instanceof SparseBlockDCSR);
+		Assert.assertEquals(mcsr.size(), dcsr.size());
+
+		Iterator<IJV> iter = dcsr.getIterator();
+		long cnt = 0;
+		while( iter.hasNext() ) {
+			IJV cell = iter.next();
+			Assert.assertEquals(mcsr.get(cell.getI(), cell.getJ()), cell.getV(), 0);
+			cnt++;
+		}
+		Assert.assertEquals(mcsr.size(), cnt);
+		for( int i=0; i<rows; i++ )
+			Assert.assertEquals(mcsr.isEmpty(i), dcsr.isEmpty(i));
+	}
+
+	@Test
+	public void testDCSRAutomaticSelection() {
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, 1, 10, "uniform", 3);
+		Assert.assertTrue(MatrixBlock.isHyperSparse(rows, mb.getNonZeros()));
+		MatrixBlock ref = new MatrixBlock(rows, cols, false);
+		ref.copy(mb);
+
+		//sparse-sparse compaction
+		mb.examSparsity();
+		Assert.assertTrue(mb.getSparseBlock() instanceof SparseBlockDCSR);
+		TestUtils.compareMatrices(ref, mb, 0);
+
+		//dense-sparse conversion
+		MatrixBlock mb2 = new MatrixBlock(rows, cols, false);
+		mb2.copy(mb);
+		mb2.sparseToDense();
+		mb2.examSparsity();
+		Assert.assertTrue(mb2.getSparseBlock() instanceof SparseBlockDCSR);
+		TestUtils.compareMatrices(ref, mb2, 0);
+	}
+
+	@Test
+	public void testDCSRSerialization() throws IOException {
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, 1, 10, "uniform", 5);
+		mb.examSparsity();
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(bos);
+		mb.write(dos);
+		dos.close();
+
+		MatrixBlock mb2 = new MatrixBlock();
+		mb2.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		Assert.assertTrue(mb2.getSparseBlock() instanceof SparseBlockDCSR);
+		Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+		TestUtils.compareMatrices(mb, mb2, 0);
+	}
+}
@@ -27,7 +27,9 @@ import org.junit.Test;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockCOO;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.data.SparseBlockDCSR;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
+import org.apache.sysds.runtime.data.SparseRowVector;
 import org.apache.sysds.runtime.matrix.data.IJV;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.DataConverter;
@@ -58,6 +60,8 @@ public class SparseBlockIndexRange extends AutomatedTestBase
 	public enum UpdateType {
 		DELETE,
 		INSERT,
+		RESET,
+		SET_ROW,
 	}
 	
 	@Test
@@ -150,6 +154,156 @@ public class SparseBlockIndexRange extends AutomatedTestBase
 		runSparseBlockIndexRangeTest(SparseBlock.Type.COO, sparsity3, UpdateType.INSERT);
 	}
 	
+	@Test
+	public void testSparseBlockDCSR1Delete()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.DCSR, sparsity1, UpdateType.DELETE);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR2Delete()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.DCSR, sparsity2, UpdateType.DELETE);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR3Delete()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.DCSR, sparsity3, UpdateType.DELETE);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR1Insert()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.DCSR, sparsity1, UpdateType.INSERT);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR2Insert()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.DCSR, sparsity2, UpdateType.INSERT);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR3Insert()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.DCSR, sparsity3, UpdateType.INSERT);
+	}
+	
+	@Test
+	public void testSparseBlockMCSR1Reset()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.MCSR, sparsity1, UpdateType.RESET);
+	}
+	
+	@Test
+	public void testSparseBlockMCSR2Reset()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.MCSR, sparsity2, UpdateType.RESET);
+	}
+	
+	@Test
+	public void testSparseBlockMCSR3Reset()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.MCSR, sparsity3, UpdateType.RESET);
+	}
+	
+	@Test
+	public void testSparseBlockCSR1Reset()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.CSR, sparsity1, UpdateType.RESET);
+	}
+	
+	@Test
+	public void testSparseBlockCSR2Reset()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.CSR, sparsity2, UpdateType.RESET);
+	}
+	
+	@Test
+	public void testSparseBlockCSR3Reset()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.CSR, sparsity3, UpdateType.RESET);
+	}
+	
+	@Test
+	public void testSparseBlockCOO1Reset()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.COO, sparsity1, UpdateType.RESET);
+	}
+	
+	@Test
+	public void testSparseBlockCOO2Reset()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.COO, sparsity2, UpdateType.RESET);
+	}
+	
+	@Test
+	public void testSparseBlockCOO3Reset()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.COO, sparsity3, UpdateType.RESET);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR1Reset()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.DCSR, sparsity1, UpdateType.RESET);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR2Reset()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.DCSR, sparsity2, UpdateType.RESET);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR3Reset()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.DCSR, sparsity3, UpdateType.RESET);
+	}
+	
+	@Test
+	public void testSparseBlockMCSR1SetRow()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.MCSR, sparsity1, UpdateType.SET_ROW);
+	}
+	
+	@Test
+	public void testSparseBlockMCSR2SetRow()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.MCSR, sparsity2, UpdateType.SET_ROW);
+	}
+	
+	@Test
+	public void testSparseBlockMCSR3SetRow()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.MCSR, sparsity3, UpdateType.SET_ROW);
+	}
+	
+	@Test
+	public void testSparseBlockCSR1SetRow()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.CSR, sparsity1, UpdateType.SET_ROW);
+	}
+	
+	@Test
+	public void testSparseBlockCSR2SetRow()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.CSR, sparsity2, UpdateType.SET_ROW);
+	}
+	
+	@Test
+	public void testSparseBlockCSR3SetRow()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.CSR, sparsity3, UpdateType.SET_ROW);
+	}
+	
+	@Test
+	public void testSparseBlockCOO1SetRow()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.COO, sparsity1, UpdateType.SET_ROW);
+	}
+	
+	@Test
+	public void testSparseBlockCOO2SetRow()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.COO, sparsity2, UpdateType.SET_ROW);
+	}
+	
+	@Test
+	public void testSparseBlockCOO3SetRow()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.COO, sparsity3, UpdateType.SET_ROW);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR1SetRow()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.DCSR, sparsity1, UpdateType.SET_ROW);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR2SetRow()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.DCSR, sparsity2, UpdateType.SET_ROW);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR3SetRow()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.DCSR, sparsity3, UpdateType.SET_ROW);
+	}
+	
 	private void runSparseBlockIndexRangeTest( SparseBlock.Type btype, double sparsity, UpdateType utype)
 	{
 		try
@@ -165,6 +319,7 @@ public class SparseBlockIndexRange extends AutomatedTestBase
 				case MCSR: sblock = new SparseBlockMCSR(srtmp); break;
 				case CSR: sblock = new SparseBlockCSR(srtmp); break;
 				case COO: sblock = new SparseBlockCOO(srtmp); break;
+				case DCSR: sblock = new SparseBlockDCSR(srtmp); break;
 			}
 			
 			//delete range per row via set
@@ -183,6 +338,20 @@ public class SparseBlockIndexRange extends AutomatedTestBase
 					System.arraycopy(vals, 0, A[i], cl, cu-cl);
 				}
 			}
+			else if( utype == UpdateType.RESET ) {
+				for( int i=0; i<rows; i+=3 ) {
+					sblock.reset(i, 0, cols);
+					Arrays.fill(A[i], 0);
+				}
+			}
+			else if( utype == UpdateType.SET_ROW ) {
+				for( int i=0; i<rows; i+=2 ) {
+					Arrays.fill(A[i], 0, cl, 0);
+					Arrays.fill(A[i], cu, cols, 0);
+					int rnnz = (int) Arrays.stream(A[i]).filter(v -> v!=0).count();
+					sblock.set(i, new SparseRowVector(rnnz, A[i], cols), true);
+				}
+			}
 			
 			//check for correct number of non-zeros
 			int[] rnnz = new int[rows]; int nnz = 0;
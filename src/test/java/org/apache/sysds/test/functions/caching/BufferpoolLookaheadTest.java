@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.caching;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+
+public class BufferpoolLookaheadTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "BufferpoolLookahead";
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + BufferpoolLookaheadTest.class.getSimpleName() + "/";
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME,
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "w" }) ); 
+	}
+	
+	@Test
+	public void testLookaheadCG() {
+		runTestBufferpoolLookahead(1000, 100, 20);
+	}
+	
+	@Test
+	public void testLookaheadHintsBounded() {
+		try {
+			CacheableData.initCaching("tmp_lookahead_test");
+			String dir = LocalFileUtils.getWorkingDir(LocalFileUtils.CATEGORY_CACHE);
+			
+			//hints of blocks that are not buffered are ignored
+			for( int i=0; i<100; i++ )
+				LazyWriteBuffer.setNextUse(dir + "/lookahead_" + i, i);
+			Assert.assertEquals(0, LazyWriteBuffer.getNumNextUseHints());
+			
+			//hints of buffered blocks are removed with the block
+			String fname = dir + "/lookahead_buffered";
+			LazyWriteBuffer.writeBlock(fname, new MatrixBlock(10, 10, 7.0));
+			LazyWriteBuffer.setNextUse(fname, 3);
+			Assert.assertEquals(1, LazyWriteBuffer.getNumNextUseHints());
+			LazyWriteBuffer.deleteBlock(fname);
+			Assert.assertEquals(0, LazyWriteBuffer.getNumNextUseHints());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runTestBufferpoolLookahead(int rows, int cols, int iters) {
+		RPolicy oldPolicy = CacheableData.CACHING_BUFFER_POLICY;
+		try {
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-stats", "-args", Integer.toString(rows),
+				Integer.toString(cols), Integer.toString(iters), output("w")};
+			
+			//run with default policy, and lookahead policy
+			CacheableData.CACHING_BUFFER_POLICY = RPolicy.FIFO;
+			runTest(true, false, null, -1);
+			HashMap<CellIndex, Double> w1 = readDMLMatrixFromOutputDir("w");
+			CacheableData.CACHING_BUFFER_POLICY = RPolicy.LOOKAHEAD;
+			runTest(true, false, null, -1);
+			HashMap<CellIndex, Double> w2 = readDMLMatrixFromOutputDir("w");
+			
+			TestUtils.compareMatrices(w1, w2, 1e-10, "FIFO", "LOOKAHEAD");
+		}
+		finally {
+			CacheableData.CACHING_BUFFER_POLICY = oldPolicy;
+		}
+	}
+}
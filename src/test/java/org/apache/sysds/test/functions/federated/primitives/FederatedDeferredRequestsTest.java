@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.federated.primitives;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.apache.sysds.common.Types;
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedStatistics;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(value = Parameterized.class)
+@net.jcip.annotations.NotThreadSafe
+public class FederatedDeferredRequestsTest extends AutomatedTestBase {
+
+	private final static String TEST_DIR = "functions/federated/";
+	private final static String TEST_NAME = "FederatedDeferredRequestsTest";
+	private final static String TEST_CLASS_DIR = TEST_DIR + FederatedDeferredRequestsTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF_INTEROP = "functions/misc/SystemDS-config-interop.xml";
+
+	private final static int blocksize = 1024;
+	@Parameterized.Parameter()
+	public int rows;
+	@Parameterized.Parameter(1)
+	public int cols;
+
+	private boolean _interop = false;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"Z"}));
+	}
+
+	@Parameterized.Parameters
+	public static Collection<Object[]> data() {
+		// rows have to be even and > 1
+		return Arrays.asList(new Object[][] {{100, 10}, {1000, 3}});
+	}
+
+	@Test
+	public void federatedPipelineCP() {
+		federatedPipeline(Types.ExecMode.SINGLE_NODE, false);
+	}
+
+	@Test
+	public void federatedPipelineDeferredCP() {
+		federatedPipeline(Types.ExecMode.SINGLE_NODE, true);
+	}
+
+	@Test
+	public void federatedPipelineDeferredInterOpCP() {
+		federatedPipeline(Types.ExecMode.SINGLE_NODE, true, true);
+	}
+
+	@Override
+	protected File getConfigTemplateFile() {
+		return _interop ? new File(SCRIPT_DIR, TEST_CONF_INTEROP) :
+			super.getConfigTemplateFile();
+	}
+
+	public void federatedPipeline(Types.ExecMode execMode, boolean deferred) {
+		federatedPipeline(execMode, deferred, false);
+	}
+
+	public void federatedPipeline(Types.ExecMode execMode, boolean deferred, boolean interop) {
+		ExecMode platformOld = setExecMode(execMode);
+		boolean deferredOld = OptimizerUtils.FEDERATED_DEFERRED_REQUESTS;
+		_interop = interop; //config file written on loading the test configuration
+
+		getAndLoadTestConfiguration(TEST_NAME);
+		String HOME = SCRIPT_DIR + TEST_DIR;
+
+		// write input matrices
+		int halfRows = rows / 2;
+		double[][] X1 = getRandomMatrix(halfRows, cols, 0, 1, 1, 42);
+		double[][] X2 = getRandomMatrix(halfRows, cols, 0, 1, 1, 1340);
+		writeInputMatrixWithMTD("X1", X1, false, new MatrixCharacteristics(halfRows, cols, blocksize, halfRows * cols));
+		writeInputMatrixWithMTD("X2", X2, false, new MatrixCharacteristics(halfRows, cols, blocksize, halfRows * cols));
+
+		// empty script name because we don't execute any script, just start the worker
+		fullDMLScriptName = "";
+		int port1 = getRandomAvailablePort();
+		int port2 = getRandomAvailablePort();
+		Thread t1 = startLocalFedWorkerThread(port1, FED_WORKER_WAIT_S);
+		Thread t2 = startLocalFedWorkerThread(port2);
+
+		TestConfiguration config = availableTestConfigurations.get(TEST_NAME);
+		loadTestConfiguration(config);
+
+		// Run reference dml script with normal matrix
+		fullDMLScriptName = HOME + TEST_NAME + "Reference.dml";
+		programArgs = new String[] {"-args", input("X1"), input("X2"), expected("Z")};
+		runTest(true, false, null, -1);
+
+		// Run actual dml script with federated matrix
+		// (inter-operator parallelism disables the deferral of requests)
+		OptimizerUtils.FEDERATED_DEFERRED_REQUESTS = deferred;
+		FederatedStatistics.reset();
+		fullDMLScriptName = HOME + TEST_NAME + ".dml";
+		programArgs = new String[] {"-nvargs",
+			"in_X1=" + TestUtils.federatedAddress(port1, input("X1")),
+			"in_X2=" + TestUtils.federatedAddress(port2, input("X2")),
+			"rows=" + rows, "cols=" + cols, "out=" + output("Z")};
+		try {
+			runTest(true, false, null, -1);
+		}
+		finally {
+			OptimizerUtils.FEDERATED_DEFERRED_REQUESTS = deferredOld;
+			_interop = false;
+		}
+
+		// compare via files
+		compareResults(1e-9);
+
+		TestUtils.shutdownThreads(t1, t2);
+
+		// check for saved round trips of the worker-local chain X*2+1, exp, -3, rowSums
+		long numRequests = FederatedStatistics.getFedRequestBatches();
+		long numDeferred = FederatedStatistics.getFedDeferredBatches();
+		Assert.assertTrue("issued federated requests", numRequests > 0);
+		if(deferred && !interop) {
+			Assert.assertTrue("deferred federated requests", numDeferred > 0);
+			Assert.assertTrue("fewer round trips than requests",
+				FederatedStatistics.getFedRoundTrips() < numRequests);
+		}
+		else
+			Assert.assertEquals("no deferred federated requests", 0, numDeferred);
+
+		resetExecMode(platformOld);
+	}
+}
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.test.functions.io.binary;
+
+import java.io.File;
+import java.nio.DoubleBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysds.runtime.io.LocalBinaryBlockFile;
+import org.apache.sysds.runtime.io.WriterBinaryBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+
+public class MappedBinaryBlockTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "SerializeTest";
+	private final static String TEST_DIR = "functions/io/binary/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + MappedBinaryBlockTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 2746;
+	private final static int cols1 = 1586;
+	private final static int cols2 = 4;
+	
+	private final static double eps = 1e-14;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );
+	}
+	
+	@Test
+	public void testEmpty() {
+		runMappedBinaryBlockTest(cols1, 0.0);
+	}
+	
+	@Test
+	public void testDense() {
+		runMappedBinaryBlockTest(cols1, 1.0);
+	}
+	
+	@Test
+	public void testDenseSkinny() {
+		runMappedBinaryBlockTest(cols2, 0.7);
+	}
+	
+	@Test
+	public void testSparse() {
+		runMappedBinaryBlockTest(cols1, 0.1);
+	}
+	
+	@Test
+	public void testUltraSparse() {
+		runMappedBinaryBlockTest(cols1, 0.0001);
+	}
+	
+	@Test
+	public void testLocalFileDense() {
+		runLocalFileTest(cols1, 1.0);
+	}
+	
+	@Test
+	public void testLocalFileSparse() {
+		runLocalFileTest(cols1, 0.1);
+	}
+
+	@Test
+	public void testLocalFileRewriteDense() {
+		boolean oldFlag = LocalFileUtils.MAPPED_BINARY_BLOCKS;
+		try {
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			LocalFileUtils.MAPPED_BINARY_BLOCKS = true;
+			LocalFileUtils.createLocalFileIfNotExist(output(""));
+			
+			//repeated overwrite, read, and delete of mapped files (unmapped after use)
+			String fname = output("X");
+			for( int i=0; i<20; i++ ) {
+				MatrixBlock mb = MatrixBlock.randOperations(300, 200, 1.0, -1, 1, "uniform", i);
+				LocalFileUtils.writeMatrixBlockToLocal(fname, mb);
+				try( LocalBinaryBlockFile file = LocalBinaryBlockFile.open(fname) ) {
+					Assert.assertEquals(mb.quickGetValue(0, 0), file.getDenseValues(0).get(0), eps);
+				}
+				TestUtils.compareMatrices(mb, LocalFileUtils.readMatrixBlockFromLocal(fname), eps);
+			}
+			Assert.assertTrue(new File(fname).delete());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			LocalFileUtils.MAPPED_BINARY_BLOCKS = oldFlag;
+		}
+	}
+	
+	private void runMappedBinaryBlockTest(int cols, double sparsity) {
+		boolean oldFlag = WriterBinaryBlock.MAPPED_LOCAL_FORMAT;
+		try {
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			WriterBinaryBlock.MAPPED_LOCAL_FORMAT = true;
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-args", input("X"), output("X") };
+	
+			//write input in mapped format
+			double[][] X = getRandomMatrix(rows, cols, -1.0, 1.0, sparsity, 7);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(X);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000);
+			DataConverter.writeMatrixToHDFS(mb, input("X"), FileFormat.BINARY, mc);
+			HDFSTool.writeMetaDataFile(input("X.mtd"), ValueType.FP64, mc, FileFormat.BINARY);
+			Assert.assertTrue(LocalBinaryBlockFile.isLocalBinaryBlock(input("X")));
+			
+			runTest(true, false, null, -1); //mult 7
+			
+			//compare matrices, read via mapped format
+			Assert.assertTrue(LocalBinaryBlockFile.isLocalBinaryBlock(output("X")));
+			MatrixBlock mb2 = DataConverter.readMatrixFromHDFS(output("X"),
+				FileFormat.BINARY, rows, cols, 1000, 1000);
+			for( int i=0; i<mb.getNumRows(); i++ )
+				for( int j=0; j<mb.getNumColumns(); j++ )
+					Assert.assertEquals(mb.quickGetValue(i, j) * 7, mb2.quickGetValue(i, j), eps);
+			Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			WriterBinaryBlock.MAPPED_LOCAL_FORMAT = oldFlag;
+		}
+	}
+	
+	private void runLocalFileTest(int cols, double sparsity) {
+		boolean oldFlag = LocalFileUtils.MAPPED_BINARY_BLOCKS;
+		try {
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			LocalFileUtils.MAPPED_BINARY_BLOCKS = true;
+			
+			//write and read a single-block local file (e.g., buffer pool eviction)
+			MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+			String fname = output("X");
+			LocalFileUtils.createLocalFileIfNotExist(output(""));
+			LocalFileUtils.writeMatrixBlockToLocal(fname, mb);
+			Assert.assertEquals(!mb.isInSparseFormat(), LocalBinaryBlockFile.isLocalBinaryBlock(fname));
+			MatrixBlock mb2 = LocalFileUtils.readMatrixBlockFromLocal(fname);
+			TestUtils.compareMatrices(mb, mb2, eps);
+			
+			//eviction via buffer pool byte buffers (sparse blocks keep the stream format)
+			String fname2 = output("X2");
+			ByteBuffer bbuff = new ByteBuffer(mb.getExactSizeOnDisk());
+			bbuff.serializeBlock(mb);
+			bbuff.evictBuffer(fname2);
+			Assert.assertEquals(!mb.isInSparseFormat(), LocalBinaryBlockFile.isLocalBinaryBlock(fname2));
+			TestUtils.compareMatrices(mb, LocalFileUtils.readMatrixBlockFromLocal(fname2), eps);
+			
+			//zero-copy access of dense blocks
+			if( !mb.isInSparseFormat() ) {
+				try( LocalBinaryBlockFile file = LocalBinaryBlockFile.open(fname) ) {
+					Assert.assertEquals(1, file.getNumBlocks());
+					DoubleBuffer vals = file.getDenseValues(0);
+					Assert.assertTrue(vals.isReadOnly());
+					Assert.assertEquals(mb.quickGetValue(rows-1, cols-1), vals.get(rows*cols-1), eps);
+				}
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			LocalFileUtils.MAPPED_BINARY_BLOCKS = oldFlag;
+		}
+	}
+}
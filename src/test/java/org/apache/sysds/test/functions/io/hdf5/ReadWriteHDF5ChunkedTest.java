@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.io.hdf5;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.apache.sysds.runtime.io.FileFormatPropertiesHDF5;
+import org.apache.sysds.runtime.io.MatrixReader;
+import org.apache.sysds.runtime.io.ReaderHDF5;
+import org.apache.sysds.runtime.io.ReaderHDF5Parallel;
+import org.apache.sysds.runtime.io.WriterHDF5;
+import org.apache.sysds.runtime.io.WriterHDF5Parallel;
+import org.apache.sysds.runtime.io.hdf5.H5Constants;
+import org.apache.sysds.runtime.io.hdf5.H5Filters;
+import org.apache.sysds.runtime.io.hdf5.H5RuntimeException;
+import org.apache.sysds.runtime.io.hdf5.message.H5FilterPipelineMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5FilterPipelineMessage.H5Filter;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ReadWriteHDF5ChunkedTest extends AutomatedTestBase {
+
+	protected final static String TEST_DIR = "functions/io/hdf5/";
+	private final static String TEST_NAME = "ReadWriteHDF5ChunkedTest";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ReadWriteHDF5ChunkedTest.class.getSimpleName() + "/";
+	private final static double eps = 1e-9;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"Y"}));
+	}
+
+	@Test
+	public void testSingleChunkSeqRead() {
+		runReadWriteChunkedTest(false, 70, 30, 0.9);
+	}
+
+	@Test
+	public void testSingleChunkParRead() {
+		runReadWriteChunkedTest(true, 70, 30, 0.9);
+	}
+
+	@Test
+	public void testMultiChunkDenseSeqRead() {
+		runReadWriteChunkedTest(false, 3000, 100, 0.9);
+	}
+
+	@Test
+	public void testMultiChunkDenseParRead() {
+		runReadWriteChunkedTest(true, 3000, 100, 0.9);
+	}
+
+	@Test
+	public void testMultiChunkWideSparseParRead() {
+		// column chunks and row chunks (incl. padded boundary chunks)
+		runReadWriteChunkedTest(true, 500, 2500, 0.05);
+	}
+
+	@Test
+	public void testExternalDeflateShuffleSeqRead() {
+		runReadExternalChunkedTest(false, 1000, 50, 128, 20);
+	}
+
+	@Test
+	public void testExternalDeflateShuffleParRead() {
+		runReadExternalChunkedTest(true, 1000, 50, 128, 20);
+	}
+
+	@Test
+	public void testParallelWriterCompatDense() {
+		runWriterCompatTest(3000, 100, 0.9);
+	}
+
+	@Test
+	public void testParallelWriterCompatWideSparse() {
+		runWriterCompatTest(500, 2500, 0.05);
+	}
+
+	@Test
+	public void testFletcher32Checksum() {
+		//reference values of libhdf5's H5_checksum_fletcher32
+		Assert.assertEquals(0x00040003L, H5Filters.fletcher32(new byte[] {0, 1, 0, 2}, 4));
+		Assert.assertEquals(0x01000100L, H5Filters.fletcher32(new byte[] {1}, 1));
+
+		byte[] data = new byte[4097];
+		for(int i = 0; i < data.length; i++)
+			data[i] = (byte) (i * 31 + 7);
+		byte[] encoded = appendFletcher32(data);
+		byte[] decoded = H5Filters.decode(getFletcher32Pipeline(), encoded, 0, data.length);
+		Assert.assertArrayEquals(data, decoded);
+	}
+
+	@Test(expected = H5RuntimeException.class)
+	public void testFletcher32ChecksumMismatch() {
+		byte[] data = new byte[1024];
+		Arrays.fill(data, (byte) 3);
+		byte[] encoded = appendFletcher32(data);
+		encoded[17] ^= 0x10; //corrupt chunk
+		H5Filters.decode(getFletcher32Pipeline(), encoded, 0, data.length);
+	}
+
+	private void runReadExternalChunkedTest(boolean parallel, int rows, int cols, int chunkRows, int chunkCols) {
+		try {
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			//chunked, shuffled and deflated dataset written by rhdf5 (libhdf5)
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			String fname = input("X.h5");
+			String datasetName = "DATASET_1";
+			fullRScriptName = HOME + "WriteHDF5Chunked.R";
+			rCmd = "Rscript" + " " + fullRScriptName + " " + rows + " " + cols + " " + chunkRows + " "
+				+ chunkCols + " " + fname + " " + datasetName + " " + expectedDir();
+			runRScript(true);
+
+			FileFormatPropertiesHDF5 props = new FileFormatPropertiesHDF5(datasetName);
+			MatrixReader reader = parallel ? new ReaderHDF5Parallel(props) : new ReaderHDF5(props);
+			MatrixBlock mbOut = reader.readMatrixFromHDFS(fname, rows, cols, -1, -1);
+
+			HashMap<CellIndex, Double> YR = readRMatrixFromExpectedDir("Y");
+			HashMap<CellIndex, Double> YS = TestUtils
+				.convert2DDoubleArrayToHashMap(DataConverter.convertToDoubleMatrix(mbOut));
+			TestUtils.compareMatrices(YR, YS, eps, "YR", "YS");
+		}
+		catch(IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private void runWriterCompatTest(int rows, int cols, double sparsity) {
+		try {
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			//the parallel writer creates a single chunked file instead of part files,
+			//which needs to be readable like the contiguous output of the sequential writer
+			String fnameSeq = output("X_seq.h5");
+			String fnamePar = output("X_par.h5");
+			FileFormatPropertiesHDF5 props = new FileFormatPropertiesHDF5("DATASET_1");
+			MatrixBlock mbIn = DataConverter.convertToMatrixBlock(getRandomMatrix(rows, cols, -1, 1, sparsity, 3));
+			mbIn.examSparsity();
+			new WriterHDF5(props).writeMatrixToHDFS(mbIn, fnameSeq, rows, cols, -1, mbIn.getNonZeros());
+			new WriterHDF5Parallel(props).writeMatrixToHDFS(mbIn, fnamePar, rows, cols, -1, mbIn.getNonZeros());
+			Assert.assertFalse(new File(fnamePar).isDirectory());
+
+			ArrayList<MatrixReader> readers = new ArrayList<>();
+			readers.add(new ReaderHDF5(props));
+			readers.add(new ReaderHDF5Parallel(props));
+			for(MatrixReader reader : readers) {
+				MatrixBlock mbSeq = reader.readMatrixFromHDFS(fnameSeq, rows, cols, -1, mbIn.getNonZeros());
+				MatrixBlock mbPar = reader.readMatrixFromHDFS(fnamePar, rows, cols, -1, mbIn.getNonZeros());
+				Assert.assertEquals(mbSeq.getNonZeros(), mbPar.getNonZeros());
+				TestUtils.compareMatrices(mbSeq, mbPar, 0);
+				TestUtils.compareMatrices(mbIn, mbPar, eps);
+			}
+		}
+		catch(IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static H5FilterPipelineMessage getFletcher32Pipeline() {
+		ArrayList<H5Filter> filters = new ArrayList<>();
+		filters.add(new H5Filter(H5Constants.FILTER_FLETCHER32, "fletcher32", 0, new int[0]));
+		return new H5FilterPipelineMessage(null, null, filters);
+	}
+
+	private static byte[] appendFletcher32(byte[] data) {
+		long checksum = H5Filters.fletcher32(data, data.length);
+		byte[] ret = Arrays.copyOf(data, data.length + 4);
+		for(int i = 0; i < 4; i++)
+			ret[data.length + i] = (byte) (checksum >>> (8 * i));
+		return ret;
+	}
+
+	private void runReadWriteChunkedTest(boolean parallel, int rows, int cols, double sparsity) {
+		try {
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			String fname = output("X.h5");
+			FileFormatPropertiesHDF5 props = new FileFormatPropertiesHDF5("DATASET_1");
+			MatrixBlock mbIn = DataConverter.convertToMatrixBlock(getRandomMatrix(rows, cols, -1, 1, sparsity, 7));
+			mbIn.examSparsity();
+			new WriterHDF5Parallel(props).writeMatrixToHDFS(mbIn, fname, rows, cols, -1, mbIn.getNonZeros());
+
+			MatrixReader reader = parallel ? new ReaderHDF5Parallel(props) : new ReaderHDF5(props);
+			MatrixBlock mbOut = reader.readMatrixFromHDFS(fname, rows, cols, -1, mbIn.getNonZeros());
+
+			Assert.assertEquals(mbIn.getNonZeros(), mbOut.getNonZeros());
+			TestUtils.compareMatrices(mbIn, mbOut, eps);
+		}
+		catch(IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -76,6 +76,18 @@ public class WriteHDF5Test extends AutomatedTestBase {
 		runWriteHDF5Test(ExecMode.SINGLE_NODE, true, 1500, 1500);
 	}
 
+	@Test
+	public void testHDF5MultiChunk_Parallel_CP() {
+		// chunked output of the parallel writer read via rhdf5 (multiple chunk rows)
+		runWriteHDF5Test(ExecMode.SINGLE_NODE, true, 3000, 100);
+	}
+
+	@Test
+	public void testHDF5WideMultiChunk_Parallel_CP() {
+		// chunked output of the parallel writer read via rhdf5 (multiple chunk columns)
+		runWriteHDF5Test(ExecMode.SINGLE_NODE, true, 200, 2500);
+	}
+
 	private void runWriteHDF5Test(ExecMode platform, boolean parallel, int rows, int cols) {
 
 		ExecMode oldPlatform = rtplatform;
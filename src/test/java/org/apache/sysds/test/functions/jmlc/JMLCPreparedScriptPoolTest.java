@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.jmlc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.api.jmlc.Connection;
+import org.apache.sysds.api.jmlc.PreparedScriptPool;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.AutomatedTestBase;
+
+public class JMLCPreparedScriptPoolTest extends AutomatedTestBase 
+{
+	//row-wise scoring script with shared model
+	private static final String SCRIPT =
+		  "X = read($X);"
+		+ "W = read($W);"
+		+ "Y = X %*% W + 1;"
+		+ "write(Y, $Y);";
+	
+	private static final int rows = 256;
+	private static final int cols = 17;
+	private static final int k = 4;
+	
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+	
+	@Test
+	public void testScoreMatrix() {
+		runPreparedScriptPoolTest(false, false);
+	}
+	
+	@Test
+	public void testScoreRows() {
+		runPreparedScriptPoolTest(true, false);
+	}
+	
+	@Test
+	public void testScoreRowsMicroBatching() {
+		runPreparedScriptPoolTest(true, true);
+	}
+	
+	@Test
+	public void testCloseWithPendingRequests() {
+		MatrixBlock X = MatrixBlock.randOperations(rows, cols, 0.9, -1, 1, "uniform", 7);
+		MatrixBlock W = MatrixBlock.randOperations(cols, 3, 1.0, -1, 1, "uniform", 3);
+		
+		HashMap<String, String> args = new HashMap<>();
+		args.put("$X", "X"); args.put("$W", "W"); args.put("$Y", "Y");
+		ExecutorService exec = Executors.newFixedThreadPool(2*k);
+		try( Connection conn = new Connection() ) {
+			PreparedScriptPool pool = conn.prepareScriptPool(SCRIPT, args,
+				new String[]{"X", "W"}, new String[]{"Y"}, "X", "Y", k);
+			pool.setMatrix("W", W);
+			pool.enableMicroBatching(32, 1000);
+			
+			//close the pool while requests are submitted concurrently
+			List<Future<double[]>> rets = new ArrayList<>();
+			for( int i=0; i<rows; i++ ) {
+				final int ix = i;
+				rets.add(exec.submit(() -> pool.scoreRow(
+					DataConverter.convertToDoubleVector(X.slice(ix, ix)))));
+				if( i == rows/2 )
+					pool.close();
+			}
+			
+			//all requests either succeed or fail, but none hangs
+			int failed = 0;
+			for( Future<double[]> ret : rets ) {
+				try {
+					ret.get(60, TimeUnit.SECONDS);
+				}
+				catch(ExecutionException ex) {
+					failed++;
+				}
+			}
+			Assert.assertTrue(failed > 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			exec.shutdown();
+		}
+	}
+	
+	private static void runPreparedScriptPoolTest(boolean rowwise, boolean batching) {
+		MatrixBlock X = MatrixBlock.randOperations(rows, cols, 0.9, -1, 1, "uniform", 7);
+		MatrixBlock W = MatrixBlock.randOperations(cols, 3, 1.0, -1, 1, "uniform", 3);
+		MatrixBlock Y = X.aggregateBinaryOperations(X, W, new MatrixBlock(),
+			InstructionUtils.getMatMultOperator(1));
+		
+		HashMap<String, String> args = new HashMap<>();
+		args.put("$X", "X"); args.put("$W", "W"); args.put("$Y", "Y");
+		try( Connection conn = new Connection();
+			PreparedScriptPool pool = conn.prepareScriptPool(SCRIPT, args,
+				new String[]{"X", "W"}, new String[]{"Y"}, "X", "Y", k) )
+		{
+			pool.setMatrix("W", W);
+			if( batching )
+				pool.enableMicroBatching(32, 1000);
+			
+			ExecutorService exec = Executors.newFixedThreadPool(2*k);
+			List<Callable<double[]>> tasks = new ArrayList<>();
+			for( int i=0; i<rows; i++ ) {
+				final int ix = i;
+				tasks.add(() -> {
+					double[] row = DataConverter.convertToDoubleVector(X.slice(ix, ix));
+					return rowwise ? pool.scoreRow(row) : 
+						DataConverter.convertToDoubleVector(pool.score(X.slice(ix, ix)));
+				});
+			}
+			List<Future<double[]>> rets = exec.invokeAll(tasks);
+			for( int i=0; i<rows; i++ ) {
+				double[] ret = rets.get(i).get();
+				for( int j=0; j<3; j++ )
+					Assert.assertEquals(Y.quickGetValue(i, j)+1, ret[j], 1e-10);
+			}
+			exec.shutdown();
+			
+			double[] lat = pool.getLatencyPercentiles(50, 99);
+			Assert.assertEquals(rows, pool.getNumRequests());
+			Assert.assertTrue(lat[0] > 0 && lat[0] <= lat[1]);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
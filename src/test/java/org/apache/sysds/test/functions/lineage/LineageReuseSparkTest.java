@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.lineage;
+
+import java.util.HashMap;
+
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.hops.recompile.Recompiler;
+import org.apache.sysds.runtime.lineage.Lineage;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
+import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
+import org.apache.sysds.runtime.lineage.LineageSparkCacheEviction;
+import org.apache.sysds.runtime.matrix.data.MatrixValue;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LineageReuseSparkTest extends LineageBase {
+	
+	protected static final String TEST_DIR = "functions/lineage/";
+	protected static final String TEST_NAME = "LineageReuseSpark";
+	protected static final int TEST_VARIANTS = 2;
+	protected String TEST_CLASS_DIR = TEST_DIR + LineageReuseSparkTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 3500;
+	private final static int cols = 100;
+	private final static int iters = 10;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		for( int i=1; i<=TEST_VARIANTS; i++ )
+			addTestConfiguration(TEST_NAME+i, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME+i));
+	}
+	
+	@Test
+	public void testLoopInvariantSparkFull() {
+		testLineageReuseSpark(TEST_NAME+"1", ReuseCacheType.REUSE_FULL);
+	}
+	
+	@Test
+	public void testLoopInvariantSparkHybrid() {
+		testLineageReuseSpark(TEST_NAME+"1", ReuseCacheType.REUSE_HYBRID);
+	}
+	
+	@Test
+	public void testEvictionWhileInUseSparkFull() {
+		//cache limit of a single rdd, which evicts reused rdds while still in use
+		long size = OptimizerUtils.estimatePartitionedSizeExactSparsity(
+			new MatrixCharacteristics(rows, 1, 1000, rows));
+		testLineageReuseSpark(TEST_NAME+"2", ReuseCacheType.REUSE_FULL, size * 3 / 2);
+	}
+	
+	public void testLineageReuseSpark(String testname, ReuseCacheType reuseType) {
+		testLineageReuseSpark(testname, reuseType, -1);
+	}
+	
+	public void testLineageReuseSpark(String testname, ReuseCacheType reuseType, long cacheLimit) {
+		ExecMode platformOld = setExecMode(ExecMode.SPARK);
+		
+		try {
+			LOG.debug("------------ BEGIN " + testname + "------------");
+			getAndLoadTestConfiguration(testname);
+			fullDMLScriptName = getScript();
+			
+			// Without lineage-based reuse enabled
+			programArgs = new String[] {"-stats", "-args", output("R"),
+				String.valueOf(rows), String.valueOf(cols), String.valueOf(iters)};
+			Lineage.resetInternalState();
+			runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+			long numSPOrig = Statistics.getNoOfExecutedSPInst();
+			HashMap<MatrixValue.CellIndex, Double> R_orig = readDMLMatrixFromOutputDir("R");
+			
+			// With lineage-based reuse enabled
+			programArgs = new String[] {"-stats", "-lineage", reuseType.name().toLowerCase(),
+				"-args", output("R"), String.valueOf(rows), String.valueOf(cols), String.valueOf(iters)};
+			Lineage.resetInternalState();
+			Lineage.setLinReuseFull();
+			LineageSparkCacheEviction.setCacheLimit(cacheLimit);
+			runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+			long numSPReuse = Statistics.getNoOfExecutedSPInst();
+			long numRDDHits = LineageCacheStatistics.getRDDHits();
+			long numRDDUnpersists = LineageCacheStatistics.getRDDUnpersists();
+			HashMap<MatrixValue.CellIndex, Double> R_reused = readDMLMatrixFromOutputDir("R");
+			Lineage.setLinReuseNone();
+			
+			// compare results and check that the spark operations were reused
+			TestUtils.compareMatrices(R_orig, R_reused, 1e-6, "Origin", "Reused");
+			Assert.assertTrue("No reuse of persisted rdds", numRDDHits >= iters - 1);
+			Assert.assertTrue("No reduction of spark instructions: "+numSPReuse+" vs "+numSPOrig,
+				numSPReuse < numSPOrig);
+			if( cacheLimit > 0 )
+				Assert.assertTrue("No eviction of persisted rdds", numRDDUnpersists >= iters);
+		}
+		finally {
+			LineageSparkCacheEviction.setCacheLimit(-1);
+			rtplatform = platformOld;
+			Recompiler.reinitRecompiler();
+		}
+	}
+}
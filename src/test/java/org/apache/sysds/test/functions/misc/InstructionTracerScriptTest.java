@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.misc;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+
+@net.jcip.annotations.NotThreadSafe
+public class InstructionTracerScriptTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "InstructionTracerScript";
+	private final static String TEST_DIR = "functions/misc/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + InstructionTracerScriptTest.class.getSimpleName() + "/";
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME,
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) ); 
+	}
+	
+	@Test
+	public void testChromeTrace() throws IOException {
+		String trace = runTracedScript("trace.json", false);
+		Assert.assertTrue(trace.startsWith("{\"displayTimeUnit\""));
+		Assert.assertTrue(trace.contains("\"name\":\"tsmm\",\"cat\":\"inst\""));
+		Assert.assertTrue(trace.contains("\"block\":\"BasicProgramBlock["));
+	}
+	
+	@Test
+	public void testFoldedStacks() throws IOException {
+		String stacks = runTracedScript("trace.folded", false);
+		Assert.assertTrue(stacks.contains(";tsmm "));
+	}
+	
+	@Test
+	public void testNoExportOnFailure() throws IOException {
+		Assert.assertNull(runTracedScript("trace.json", true));
+	}
+	
+	private String runTracedScript(String fname, boolean fail) throws IOException {
+		TestConfiguration config = getTestConfiguration(TEST_NAME);
+		loadTestConfiguration(config);
+		
+		File trace = new File(output(fname));
+		FileUtils.deleteQuietly(trace);
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + TEST_NAME + ".dml";
+		programArgs = new String[]{"-trace", trace.getPath(),
+			"-args", "100", "10", fail ? "1" : "0", output("R")};
+		runTest(true, fail, null, -1);
+		
+		return trace.exists() ? FileUtils.readFileToString(trace, "UTF-8") : null;
+	}
+}
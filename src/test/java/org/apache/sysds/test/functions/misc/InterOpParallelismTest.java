@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.misc;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.Statistics;
+
+public class InterOpParallelismTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "InterOpParallelism";
+	private final static String TEST_DIR = "functions/misc/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + InterOpParallelismTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemDS-config-interop.xml";
+	
+	private boolean _interop = false;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME,
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) ); 
+	}
+	
+	@Test
+	public void testInterOpParallelism() {
+		runInterOpParallelismTest(false);
+	}
+	
+	@Test
+	public void testInterOpParallelismLineage() {
+		runInterOpParallelismTest(true);
+	}
+	
+	private void runInterOpParallelismTest(boolean lineage) {
+		try {
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = lineage ?
+				new String[]{"-stats", "-lineage", "-args", "500", "50", "10", output("R")} :
+				new String[]{"-stats", "-args", "500", "50", "10", output("R")};
+			
+			//run with sequential and parallel instruction execution
+			_interop = false;
+			runTest(true, false, null, -1);
+			HashMap<CellIndex, Double> R1 = readDMLMatrixFromOutputDir("R");
+			Assert.assertEquals(0, Statistics.getInterOpSegments());
+			_interop = true;
+			runTest(true, false, null, -1);
+			HashMap<CellIndex, Double> R2 = readDMLMatrixFromOutputDir("R");
+			
+			//check that segments with independent instructions ran concurrently
+			Assert.assertTrue("No parallel segments scheduled",
+				Statistics.getInterOpParallelSegments() > 0);
+			
+			TestUtils.compareMatrices(R1, R2, 1e-10, "Sequential", "InterOp");
+		}
+		finally {
+			_interop = false;
+		}
+	}
+	
+	@Override
+	protected File getConfigTemplateFile() {
+		return _interop ? new File(SCRIPT_DIR + TEST_DIR, TEST_CONF) :
+			super.getConfigTemplateFile();
+	}
+}
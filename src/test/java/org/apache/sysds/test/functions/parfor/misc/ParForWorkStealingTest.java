@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.parfor.misc;
+
+import org.junit.Test;
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+
+public class ParForWorkStealingTest extends AutomatedTestBase 
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME = "parfor_workstealing";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForWorkStealingTest.class.getSimpleName() + "/";
+	
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testParForWorkStealingSmall() {
+		runParForWorkStealingTest(7, 5);
+	}
+	
+	@Test
+	public void testParForWorkStealingLarge() {
+		runParForWorkStealingTest(251, 37);
+	}
+
+	private void runParForWorkStealingTest( int rows, int cols )
+	{
+		ExecMode platformOld = setExecMode(ExecMode.SINGLE_NODE);
+		
+		try {
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			
+			//run sequential reference
+			fullDMLScriptName = HOME + TEST_NAME + "Reference.dml";
+			programArgs = new String[]{"-args", String.valueOf(rows), String.valueOf(cols), expected("R")};
+			runTest(true, false, null, -1);
+			
+			//run work-stealing parfor (incl nested parfor)
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-args", String.valueOf(rows), String.valueOf(cols), output("R")};
+			runTest(true, false, null, -1);
+			
+			compareResults(eps);
+		}
+		finally {
+			resetExecMode(platformOld);
+		}
+	}
+}
@@ -35,6 +35,7 @@ import org.apache.sysds.test.TestUtils;
 import java.util.Arrays;
 import java.util.Collection;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(value = Parameterized.class)
@@ -47,6 +48,7 @@ public class FederatedMultiplyPlanningTest extends AutomatedTestBase {
 	private final static String TEST_NAME_4 = "FederatedMultiplyPlanningTest4";
 	private final static String TEST_NAME_5 = "FederatedMultiplyPlanningTest5";
 	private final static String TEST_NAME_6 = "FederatedMultiplyPlanningTest6";
+	private final static String TEST_NAME_7 = "FederatedMultiplyPlanningTest7";
 	private final static String TEST_CLASS_DIR = TEST_DIR + FederatedMultiplyPlanningTest.class.getSimpleName() + "/";
 
 	private final static int blocksize = 1024;
@@ -64,6 +66,7 @@ public class FederatedMultiplyPlanningTest extends AutomatedTestBase {
 		addTestConfiguration(TEST_NAME_4, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME_4, new String[] {"Z"}));
 		addTestConfiguration(TEST_NAME_5, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME_5, new String[] {"Z"}));
 		addTestConfiguration(TEST_NAME_6, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME_6, new String[] {"Z"}));
+		addTestConfiguration(TEST_NAME_7, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME_7, new String[] {"Z"}));
 	}
 
 	@Parameterized.Parameters
@@ -106,6 +109,34 @@ public class FederatedMultiplyPlanningTest extends AutomatedTestBase {
 		federatedTwoMatricesSingleNodeTest(TEST_NAME_6);
 	}
 
+	@Test
+	public void federatedMultiplyCPCostBased() {
+		federatedTwoMatricesSingleNodeTest(TEST_NAME, true);
+	}
+
+	@Test
+	public void federatedRowSumCostBased(){
+		federatedTwoMatricesSingleNodeTest(TEST_NAME_2, true);
+	}
+
+	@Test
+	public void federatedAggregateBinarySequenceCostBased(){
+		cols = rows;
+		federatedTwoMatricesSingleNodeTest(TEST_NAME_4, true);
+	}
+
+	@Test
+	public void federatedAggregateBinarySequenceCostBasedLocal(){
+		cols = rows;
+		federatedTwoMatricesTest(Types.ExecMode.SINGLE_NODE, TEST_NAME_4, true, false);
+	}
+
+	@Test
+	public void federatedAggregateBinarySequenceCostBasedRangesVariable(){
+		cols = rows;
+		federatedTwoMatricesSingleNodeTest(TEST_NAME_7, true);
+	}
+
 	private void writeStandardMatrix(String matrixName, long seed){
 		writeStandardMatrix(matrixName, seed, new PrivacyConstraint(PrivacyConstraint.PrivacyLevel.PrivateAggregation));
 	}
@@ -139,7 +170,7 @@ public class FederatedMultiplyPlanningTest extends AutomatedTestBase {
 		writeInputMatrixWithMTD(matrixName, matrix, false, mc, privacyConstraint);
 	}
 
-	private void writeInputMatrices(String testName){
+	private void writeInputMatrices(String testName, boolean privateX){
 		if ( testName.equals(TEST_NAME_5) ){
 			writeColStandardMatrix("X1", 42);
 			writeColStandardMatrix("X2", 1340);
@@ -152,10 +183,16 @@ public class FederatedMultiplyPlanningTest extends AutomatedTestBase {
 			writeRowFederatedVector("Y1", 44);
 			writeRowFederatedVector("Y2", 21);
 		}
+		else if ( !privateX ){
+			writeStandardMatrix("X1", 42, null);
+			writeStandardMatrix("X2", 1340, null);
+			writeStandardMatrix("Y1", 44, null);
+			writeStandardMatrix("Y2", 21, null);
+		}
 		else {
 			writeStandardMatrix("X1", 42);
 			writeStandardMatrix("X2", 1340);
-			if ( testName.equals(TEST_NAME_4) ){
+			if ( testName.equals(TEST_NAME_4) || testName.equals(TEST_NAME_7) ){
 				writeStandardMatrix("Y1", 44, null);
 				writeStandardMatrix("Y2", 21, null);
 			}
@@ -167,11 +204,16 @@ public class FederatedMultiplyPlanningTest extends AutomatedTestBase {
 	}
 
 	private void federatedTwoMatricesSingleNodeTest(String testName){
-		federatedTwoMatricesTest(Types.ExecMode.SINGLE_NODE, testName);
+		federatedTwoMatricesSingleNodeTest(testName, false);
 	}
 
-	private void federatedTwoMatricesTest(Types.ExecMode execMode, String testName) {
+	private void federatedTwoMatricesSingleNodeTest(String testName, boolean costBased){
+		federatedTwoMatricesTest(Types.ExecMode.SINGLE_NODE, testName, costBased, true);
+	}
+
+	private void federatedTwoMatricesTest(Types.ExecMode execMode, String testName, boolean costBased, boolean privateX) {
 		OptimizerUtils.FEDERATED_COMPILATION = true;
+		OptimizerUtils.FEDERATED_COSTBASED_PLANNING = costBased;
 		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
 		Types.ExecMode platformOld = rtplatform;
 		rtplatform = execMode;
@@ -182,7 +224,7 @@ public class FederatedMultiplyPlanningTest extends AutomatedTestBase {
 		getAndLoadTestConfiguration(testName);
 		String HOME = SCRIPT_DIR + TEST_DIR;
 
-		writeInputMatrices(testName);
+		writeInputMatrices(testName, privateX);
 
 		int port1 = getRandomAvailablePort();
 		int port2 = getRandomAvailablePort();
@@ -195,7 +237,7 @@ public class FederatedMultiplyPlanningTest extends AutomatedTestBase {
 			"X2=" + TestUtils.federatedAddress(port2, input("X2")),
 			"Y1=" + TestUtils.federatedAddress(port1, input("Y1")),
 			"Y2=" + TestUtils.federatedAddress(port2, input("Y2")), "r=" + rows, "c=" + cols, "Z=" + output("Z")};
-		if ( testName.equals(TEST_NAME_4) || testName.equals(TEST_NAME_5) ){
+		if ( testName.equals(TEST_NAME_4) || testName.equals(TEST_NAME_5) || testName.equals(TEST_NAME_7) ){
 			programArgs = new String[] {"-stats","-explain", "-nvargs", "X1=" + TestUtils.federatedAddress(port1, input("X1")),
 				"X2=" + TestUtils.federatedAddress(port2, input("X2")),
 				"Y1=" + input("Y1"),
@@ -204,6 +246,7 @@ public class FederatedMultiplyPlanningTest extends AutomatedTestBase {
 		runTest(true, false, null, -1);
 
 		OptimizerUtils.FEDERATED_COMPILATION = false;
+		OptimizerUtils.FEDERATED_COSTBASED_PLANNING = false;
 
 		// Run reference dml script with normal matrix
 		fullDMLScriptName = HOME + testName + "Reference.dml";
@@ -215,13 +258,54 @@ public class FederatedMultiplyPlanningTest extends AutomatedTestBase {
 		compareResults(1e-9);
 		if ( testName.equals(TEST_NAME_3) )
 			assertTrue(heavyHittersContainsString("fed_+*", "fed_1-*"));
-		else
+		else if ( !costBased )
 			assertTrue(heavyHittersContainsString("fed_*", "fed_ba+*"));
+		else
+			checkCostBasedPlacement(testName, privateX);
 
 		TestUtils.shutdownThreads(t1, t2);
 
 		rtplatform = platformOld;
 		DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
 	}
+
+	private void checkCostBasedPlacement(String testName, boolean privateX) {
+		//note: local opcodes are only asserted to be present, because the
+		//federated workers run in the same JVM and also record their opcodes
+		if ( testName.equals(TEST_NAME) ) {
+			//private X*Y and t(X*Y) remain federated, aggregate over the
+			//federated rows consolidated at the coordinator (LOUT)
+			assertTrue(heavyHittersContainsString("fed_*"));
+			assertTrue(heavyHittersContainsString("fed_ba+*"));
+		}
+		else if ( testName.equals(TEST_NAME_2) ) {
+			//private X*Y cannot be pulled, so rowSums and the final
+			//matrix multiplication with the private X stay federated
+			assertTrue(heavyHittersContainsString("fed_*"));
+			assertTrue(heavyHittersContainsString("fed_uark+"));
+			assertTrue(heavyHittersContainsString("fed_ba+*"));
+		}
+		else if ( testName.equals(TEST_NAME_4) && privateX ) {
+			//private X: federated X%*%Y with local output (LOUT), and cheaper
+			//local Z0*Y instead of scattering the local Y to the workers
+			assertTrue(heavyHittersContainsString("fed_ba+*"));
+			assertTrue(heavyHittersContainsString("*"));
+			assertFalse(heavyHittersContainsString("fed_*"));
+		}
+		else if ( testName.equals(TEST_NAME_7) ) {
+			//ranges unknown at compile time (federation type OTHER): the private X
+			//is not pulled, federated X%*%Y with local output (LOUT), local Z0*Y
+			assertTrue(heavyHittersContainsString("fed_ba+*"));
+			assertTrue(heavyHittersContainsString("*"));
+			assertFalse(heavyHittersContainsString("fed_*"));
+		}
+		else if ( testName.equals(TEST_NAME_4) ) {
+			//public X: pulling X is cheaper than broadcasting Y, local X%*%Y
+			//despite the federated X (no runtime conversion to fed_ba+*)
+			assertTrue(heavyHittersContainsString("ba+*"));
+			assertTrue(heavyHittersContainsString("*"));
+			assertFalse(heavyHittersContainsString("fed_ba+*", "fed_*"));
+		}
+	}
 }
 
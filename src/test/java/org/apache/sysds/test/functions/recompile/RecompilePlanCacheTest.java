@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.recompile;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.Statistics;
+
+public class RecompilePlanCacheTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "recompile_plan_cache";
+	private final static String TEST_NAME2 = "recompile_plan_cache_values";
+	private final static String TEST_DIR = "functions/recompile/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + RecompilePlanCacheTest.class.getSimpleName() + "/";
+	private final static double eps = 1e-8;
+	
+	private final static int rows = 1050;
+	private final static int cols = 12;
+	private final static int batchSize = 100;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "S" }) );
+		addTestConfiguration(TEST_NAME2, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "S" }) );
+	}
+
+	@Test
+	public void testMiniBatchRecompileDense() {
+		runRecompilePlanCacheTest(1.0);
+	}
+	
+	@Test
+	public void testMiniBatchRecompileSparse() {
+		runRecompilePlanCacheTest(0.05);
+	}
+
+	@Test
+	public void testMiniBatchRecompileExplain() {
+		runRecompilePlanCacheTest(TEST_NAME1, 1.0, true);
+	}
+
+	@Test
+	public void testMiniBatchRecompileMatrixValues() {
+		//matrix values folded into literals change across iterations w/ same sizes
+		runRecompilePlanCacheTest(TEST_NAME2, 1.0, false);
+	}
+
+	private void runRecompilePlanCacheTest( double sparsity ) {
+		runRecompilePlanCacheTest(TEST_NAME1, sparsity, false);
+	}
+
+	private void runRecompilePlanCacheTest( String testName, double sparsity, boolean explain )
+	{
+		boolean oldFlag = OptimizerUtils.ALLOW_RECOMPILE_PLAN_CACHE;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(testName);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testName + ".dml";
+			programArgs = explain ?
+				new String[]{"-stats", "-explain", "recompile_hops", "-args",
+					input("X"), Integer.toString(batchSize), output("S") } :
+				new String[]{"-stats", "-args", input("X"), 
+					Integer.toString(batchSize), output("S") };
+			if( explain )
+				setOutputBuffering(true);
+			
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			writeInputMatrixWithMTD("X", X, true);
+			
+			//run without plan cache as baseline
+			OptimizerUtils.ALLOW_RECOMPILE_PLAN_CACHE = false;
+			String out1 = String.valueOf(runTest(true, false, null, -1));
+			Assert.assertEquals(0, Statistics.getRecompilePlanCacheHits());
+			long numRecompiles = Statistics.getHopRecompiledSBDAGs();
+			HashMap<CellIndex, Double> ref = readDMLMatrixFromOutputDir("S");
+			
+			//run with plan cache (same batch sizes -> reused plans)
+			OptimizerUtils.ALLOW_RECOMPILE_PLAN_CACHE = true;
+			String out2 = String.valueOf(runTest(true, false, null, -1));
+			if( explain ) {
+				//no cache probes, identical explain output
+				Assert.assertEquals(0, Statistics.getRecompilePlanCacheHits());
+				Assert.assertEquals(countExplain(out1), countExplain(out2));
+				Assert.assertTrue(countExplain(out2) > 0);
+			}
+			else {
+				Assert.assertTrue("No recompile plan cache hits.",
+					Statistics.getRecompilePlanCacheHits() > 0);
+			}
+			//reused plans still count as statement block recompilations
+			Assert.assertEquals(numRecompiles, Statistics.getHopRecompiledSBDAGs());
+			HashMap<CellIndex, Double> ret = readDMLMatrixFromOutputDir("S");
+			TestUtils.compareMatrices(ref, ret, eps, "Ref", "Cache");
+		}
+		finally {
+			OptimizerUtils.ALLOW_RECOMPILE_PLAN_CACHE = oldFlag;
+		}
+	}
+	
+	private static int countExplain(String out) {
+		return out.split("EXPLAIN RECOMPILE", -1).length - 1;
+	}
+}
@@ -29,6 +29,7 @@ import org.apache.sysds.test.TestConfiguration;
 public class SVDFactorizeTest extends AutomatedTestBase 
 {
 	private final static String TEST_NAME1 = "svd";
+	private final static String TEST_NAME2 = "svd_rank";
 	private final static String TEST_DIR = "functions/unary/matrix/";
 	private static final String TEST_CLASS_DIR = TEST_DIR + SVDFactorizeTest.class.getSimpleName() + "/";
 
@@ -37,11 +38,14 @@ public class SVDFactorizeTest extends AutomatedTestBase
 	private final static int cols1 = 400;
 	private final static int cols2 = 1200;
 	private final static double sparsity = 0.9;
+	private final static int rank = 7;
 	
 	@Override
 	public void setUp() {
 		addTestConfiguration(TEST_NAME1, 
 			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "D" }));
+		addTestConfiguration(TEST_NAME2, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "D" }));
 	}
 	
 	@Test
@@ -74,6 +78,16 @@ public class SVDFactorizeTest extends AutomatedTestBase
 		runTestSVDFactorize( rows2, cols2, ExecMode.HYBRID );
 	}
 	
+	@Test
+	public void testRandomizedSVDFactorizeDenseCP() {
+		runTestRandomizedSVDFactorize( rows1, cols1, ExecMode.SINGLE_NODE );
+	}
+	
+	@Test
+	public void testLargeRandomizedSVDFactorizeDenseCP() {
+		runTestRandomizedSVDFactorize( rows2, cols2, ExecMode.SINGLE_NODE );
+	}
+	
 	private void runTestSVDFactorize( int rows, int cols, ExecMode rt)
 	{
 		ExecMode rtold = rtplatform;
@@ -109,4 +123,40 @@ public class SVDFactorizeTest extends AutomatedTestBase
 			
 		}
 	}
+	
+	private void runTestRandomizedSVDFactorize( int rows, int cols, ExecMode rt)
+	{
+		ExecMode rtold = rtplatform;
+		rtplatform = rt;
+		
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME2);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME2 + ".dml";
+			programArgs = new String[]{"-args", input("A"), String.valueOf(rank), output("D") };
+			
+			// input of exact rank: A = X %*% Y
+			double[][] X = getRandomMatrix(rows, rank, 0, 1, 1.0, 11);
+			double[][] Y = getRandomMatrix(rank, cols, 0, 1, 1.0, 12);
+			double[][] A = new double[rows][cols];
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					for( int p=0; p<rank; p++ )
+						A[i][j] += X[i][p] * Y[p][j];
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, -1);
+			writeInputMatrixWithMTD("A", A, false, mc);
+			
+			// Expected matrix = 1x1 zero matrix 
+			double[][] D  = new double[1][1];
+			writeExpectedMatrix("D", D);
+			
+			runTest(true, false, null, -1);
+			compareResults(1e-6);
+		}
+		finally {
+			rtplatform = rtold;
+		}
+	}
 }